@@ -11,6 +11,7 @@ import android.app.PendingIntent;
 import android.app.Service;
 import android.content.Context;
 import android.content.Intent;
+import android.content.SharedPreferences;
 import android.os.IBinder;
 import android.util.Log;
 import io.flutter.app.FlutterActivity;
@@ -18,13 +19,20 @@ import io.flutter.app.FlutterApplication;
 import io.flutter.plugin.common.PluginRegistry.PluginRegistrantCallback;
 import io.flutter.view.FlutterMain;
 import io.flutter.view.FlutterNativeView;
+import java.util.List;
 
 public class AlarmService extends Service {
   public static final String TAG = "AlarmService";
+  private static final String PREFERENCES_NAME = "io.flutter.android_alarm_manager";
+  private static final String KEY_ISOLATE_ENTRYPOINT = "background_isolate_entrypoint";
+  private static final String KEY_IDLE_TIMEOUT_MILLIS = "background_isolate_idle_timeout_millis";
+  private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 30 * 60 * 1000;
   private static FlutterNativeView sSharedFlutterView;
   private static PluginRegistrantCallback sPluginRegistrantCallback;
 
   private FlutterNativeView mFlutterView;
+  private BackgroundIsolate mBackgroundIsolate;
+  private boolean mBackgroundIsolateFailed;
   private String appBundlePath;
 
   public static void setOneShot(
@@ -63,6 +71,27 @@ public class AlarmService extends Service {
     manager.cancel(existingIntent);
   }
 
+  /**
+   * Makes alarms run in a background isolate that is kept running between alarms, instead of
+   * running each alarm's entrypoint in a new isolate. The isolate is started with {@code
+   * entrypoint}, and is shut down after no alarm has fired for {@code idleTimeoutMillis}.
+   *
+   * <p>Passing a null {@code entrypoint} restores running each alarm's entrypoint directly.
+   */
+  public static void setBackgroundIsolate(
+      Context context, String entrypoint, long idleTimeoutMillis) {
+    SharedPreferences.Editor editor =
+        context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE).edit();
+    if (entrypoint == null) {
+      editor.remove(KEY_ISOLATE_ENTRYPOINT).remove(KEY_IDLE_TIMEOUT_MILLIS);
+    } else {
+      editor
+          .putString(KEY_ISOLATE_ENTRYPOINT, entrypoint)
+          .putLong(KEY_IDLE_TIMEOUT_MILLIS, idleTimeoutMillis);
+    }
+    editor.apply();
+  }
+
   public static FlutterNativeView getSharedFlutterView() {
     return sSharedFlutterView;
   }
@@ -103,6 +132,56 @@ public class AlarmService extends Service {
     return;
   }
 
+  // Starts the background isolate if one has been set and is not running yet. Returns false if
+  // no background isolate has been set, or if it failed to start while this service was running.
+  private boolean ensureBackgroundIsolate() {
+    if (mBackgroundIsolate != null) {
+      return true;
+    }
+    if (mBackgroundIsolateFailed) {
+      return false;
+    }
+    SharedPreferences preferences = getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+    String entrypoint = preferences.getString(KEY_ISOLATE_ENTRYPOINT, null);
+    if (entrypoint == null || appBundlePath == null) {
+      return false;
+    }
+    mBackgroundIsolate =
+        new BackgroundIsolate(
+            getApplicationContext(),
+            appBundlePath,
+            entrypoint,
+            sPluginRegistrantCallback,
+            preferences.getLong(KEY_IDLE_TIMEOUT_MILLIS, DEFAULT_IDLE_TIMEOUT_MILLIS),
+            new BackgroundIsolate.Listener() {
+              @Override
+              public void onIdle() {
+                Log.i(TAG, "Background isolate is idle, stopping");
+                stopSelf();
+              }
+
+              @Override
+              public void onStartupTimeout(List<String> pendingCallbacks) {
+                Log.e(TAG, "Background isolate failed to start, running alarms without it");
+                mBackgroundIsolate.destroy();
+                mBackgroundIsolate = null;
+                mBackgroundIsolateFailed = true;
+                for (String callbackName : pendingCallbacks) {
+                  runInNewIsolate(callbackName);
+                }
+              }
+            });
+    return true;
+  }
+
+  // Runs the alarm callback named entrypoint as the entrypoint of a new isolate.
+  private void runInNewIsolate(String entrypoint) {
+    ensureFlutterView();
+    if (appBundlePath != null) {
+      mFlutterView.runFromBundle(appBundlePath, null, entrypoint, true);
+    }
+  }
+
   // This returns the FlutterView for the main FlutterActivity if there is one.
   private static FlutterNativeView viewFromAppContext(Context context) {
     Application app = (Application) context;
@@ -137,20 +216,25 @@ public class AlarmService extends Service {
 
   @Override
   public void onDestroy() {
+    if (mBackgroundIsolate != null) {
+      mBackgroundIsolate.destroy();
+      mBackgroundIsolate = null;
+    }
+
     // Try to find the native view of the main activity if there is one.
     Context context = getApplicationContext();
     FlutterNativeView nativeView = viewFromAppContext(context);
 
     // Don't destroy mFlutterView if it is the same as the native view for the
     // main activity, or the same as the shared native view.
-    if (mFlutterView != nativeView && mFlutterView != sSharedFlutterView) {
+    if (mFlutterView != null && mFlutterView != nativeView && mFlutterView != sSharedFlutterView) {
       mFlutterView.destroy();
     }
     mFlutterView = null;
 
     // Don't destroy the shared native view if it is the same native view as
     // for the main activity.
-    if (sSharedFlutterView != nativeView) {
+    if (sSharedFlutterView != null && sSharedFlutterView != nativeView) {
       sSharedFlutterView.destroy();
     }
     sSharedFlutterView = null;
@@ -158,15 +242,16 @@ public class AlarmService extends Service {
 
   @Override
   public int onStartCommand(Intent intent, int flags, int startId) {
-    ensureFlutterView();
     String entrypoint = intent.getStringExtra("entrypoint");
     if (entrypoint == null) {
       Log.i(TAG, "onStartCommand got a null entrypoint. Bailing out");
       return START_NOT_STICKY;
     }
-    if (appBundlePath != null) {
-      mFlutterView.runFromBundle(appBundlePath, null, entrypoint, true);
+    if (ensureBackgroundIsolate()) {
+      mBackgroundIsolate.dispatch(entrypoint);
+      return START_NOT_STICKY;
     }
+    runInNewIsolate(entrypoint);
     return START_NOT_STICKY;
   }
 
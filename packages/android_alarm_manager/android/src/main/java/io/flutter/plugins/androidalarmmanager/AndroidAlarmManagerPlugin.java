@@ -50,6 +50,9 @@ public class AndroidAlarmManagerPlugin implements MethodCallHandler, ViewDestroy
       } else if (method.equals("Alarm.cancel")) {
         cancel((JSONArray) arguments);
         result.success(true);
+      } else if (method.equals("Alarm.setBackgroundIsolate")) {
+        setBackgroundIsolate((JSONArray) arguments);
+        result.success(true);
       } else {
         result.notImplemented();
       }
@@ -83,6 +86,12 @@ public class AndroidAlarmManagerPlugin implements MethodCallHandler, ViewDestroy
     AlarmService.cancel(mContext, requestCode);
   }
 
+  private void setBackgroundIsolate(JSONArray arguments) throws JSONException {
+    String entrypoint = arguments.isNull(0) ? null : arguments.getString(0);
+    long idleTimeoutMillis = arguments.getLong(1);
+    AlarmService.setBackgroundIsolate(mContext, entrypoint, idleTimeoutMillis);
+  }
+
   @Override
   public boolean onViewDestroy(FlutterNativeView nativeView) {
     return AlarmService.setSharedFlutterView(nativeView);
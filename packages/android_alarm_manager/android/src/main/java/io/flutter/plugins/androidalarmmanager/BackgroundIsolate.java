@@ -0,0 +1,166 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.androidalarmmanager;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import io.flutter.plugin.common.JSONMethodCodec;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
+import io.flutter.plugin.common.MethodChannel.Result;
+import io.flutter.plugin.common.PluginRegistry.PluginRegistrantCallback;
+import io.flutter.view.FlutterNativeView;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONArray;
+
+/**
+ * A Flutter isolate that is kept running between alarms, so that alarms don't each start a new
+ * isolate.
+ *
+ * <p>The isolate runs the entrypoint given to {@code AndroidAlarmManager.setBackgroundIsolate},
+ * which reports back once it is ready to run alarm callbacks. Alarms that fire before then are
+ * queued, up to {@link #MAX_PENDING_CALLBACKS}. If the isolate doesn't report back within {@link
+ * #STARTUP_TIMEOUT_MILLIS}, the listener is handed the queued callbacks so the owner can destroy
+ * the isolate and run them some other way. Once no alarm callback has run for the idle timeout,
+ * the listener is notified so the owner can destroy the isolate.
+ */
+class BackgroundIsolate implements MethodCallHandler {
+  private static final String TAG = "AlarmBackgroundIsolate";
+  static final String CHANNEL_NAME = "plugins.flutter.io/android_alarm_manager_background";
+  private static final long STARTUP_TIMEOUT_MILLIS = 60 * 1000;
+  private static final int MAX_PENDING_CALLBACKS = 100;
+
+  /** Notified of the end of the isolate's usefulness, on the main thread. */
+  interface Listener {
+    /** No alarm callback has run for the idle timeout. */
+    void onIdle();
+
+    /** The isolate did not get ready in time. {@code pendingCallbacks} have not run. */
+    void onStartupTimeout(List<String> pendingCallbacks);
+  }
+
+  private final FlutterNativeView view;
+  private final MethodChannel channel;
+  private final long idleTimeoutMillis;
+  private final Listener listener;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable onIdle =
+      new Runnable() {
+        @Override
+        public void run() {
+          listener.onIdle();
+        }
+      };
+  private final Runnable onStartupTimeout =
+      new Runnable() {
+        @Override
+        public void run() {
+          Log.e(TAG, "The background isolate did not initialize in time");
+          final List<String> callbacks = new ArrayList<>(pendingCallbacks);
+          pendingCallbacks.clear();
+          listener.onStartupTimeout(callbacks);
+        }
+      };
+  // Alarm callbacks that fired before the isolate was ready to run them.
+  private final List<String> pendingCallbacks = new ArrayList<>();
+  private boolean initialized;
+  private int runningCallbacks;
+
+  BackgroundIsolate(
+      Context context,
+      String appBundlePath,
+      String entrypoint,
+      PluginRegistrantCallback pluginRegistrantCallback,
+      long idleTimeoutMillis,
+      Listener listener) {
+    this.idleTimeoutMillis = idleTimeoutMillis;
+    this.listener = listener;
+    view = new FlutterNativeView(context);
+    if (pluginRegistrantCallback != null) {
+      pluginRegistrantCallback.registerWith(view.getPluginRegistry());
+    }
+    channel = new MethodChannel(view, CHANNEL_NAME, JSONMethodCodec.INSTANCE);
+    channel.setMethodCallHandler(this);
+    view.runFromBundle(appBundlePath, null, entrypoint, true);
+    handler.postDelayed(onStartupTimeout, STARTUP_TIMEOUT_MILLIS);
+  }
+
+  /** Runs the alarm callback named {@code callbackName}, once the isolate is ready. */
+  void dispatch(String callbackName) {
+    handler.removeCallbacks(onIdle);
+    if (initialized) {
+      invoke(callbackName);
+      return;
+    }
+    if (pendingCallbacks.size() == MAX_PENDING_CALLBACKS) {
+      Log.w(TAG, "Too many alarms before the background isolate initialized, dropping the oldest");
+      pendingCallbacks.remove(0);
+    }
+    pendingCallbacks.add(callbackName);
+  }
+
+  void destroy() {
+    handler.removeCallbacks(onIdle);
+    handler.removeCallbacks(onStartupTimeout);
+    view.destroy();
+  }
+
+  @Override
+  public void onMethodCall(MethodCall call, Result result) {
+    if (call.method.equals("AlarmService.initialized")) {
+      handler.removeCallbacks(onStartupTimeout);
+      initialized = true;
+      for (String callbackName : pendingCallbacks) {
+        invoke(callbackName);
+      }
+      pendingCallbacks.clear();
+      scheduleIdleTimeout();
+      result.success(true);
+    } else {
+      result.notImplemented();
+    }
+  }
+
+  private void invoke(final String callbackName) {
+    runningCallbacks++;
+    channel.invokeMethod(
+        "Alarm.invoke",
+        new JSONArray().put(callbackName),
+        new Result() {
+          @Override
+          public void success(Object o) {
+            onDone();
+          }
+
+          @Override
+          public void error(String errorCode, String errorMessage, Object errorDetails) {
+            Log.e(TAG, "Alarm callback " + callbackName + " failed: " + errorMessage);
+            onDone();
+          }
+
+          @Override
+          public void notImplemented() {
+            Log.e(TAG, "The background isolate did not register " + callbackName);
+            onDone();
+          }
+        });
+  }
+
+  private void onDone() {
+    runningCallbacks--;
+    scheduleIdleTimeout();
+  }
+
+  private void scheduleIdleTimeout() {
+    if (runningCallbacks == 0) {
+      handler.removeCallbacks(onIdle);
+      handler.postDelayed(onIdle, idleTimeoutMillis);
+    }
+  }
+}
@@ -67,6 +67,11 @@ void printOneShot() {
   printHelloMessage("Hello, once!");
 }
 
+void alarmIsolateMain() {
+  AndroidAlarmManager.initializeBackgroundIsolate(
+      <dynamic Function()>[printHello, printGoodbye, printOneShot]);
+}
+
 Future<Null> main() async {
   final int helloAlarmID = 0;
   final int goodbyeAlarmID = 1;
@@ -74,6 +79,7 @@ Future<Null> main() async {
   printHelloMessage("Hello, main()!");
   runApp(const Center(
       child: const Text('Hello, world!', textDirection: TextDirection.ltr)));
+  await AndroidAlarmManager.setBackgroundIsolate(alarmIsolateMain);
   await AndroidAlarmManager.periodic(
       const Duration(minutes: 1), helloAlarmID, printHello);
   await AndroidAlarmManager.periodic(
@@ -14,6 +14,74 @@ class AndroidAlarmManager {
   static const String _channelName = 'plugins.flutter.io/android_alarm_manager';
   static const MethodChannel _channel =
       const MethodChannel(_channelName, const JSONMethodCodec());
+  static const MethodChannel _backgroundChannel = const MethodChannel(
+      'plugins.flutter.io/android_alarm_manager_background',
+      const JSONMethodCodec());
+
+  /// Runs alarm callbacks in one background Isolate that is kept running
+  /// between alarms, instead of starting a new Isolate for every alarm.
+  ///
+  /// The background Isolate is started with `entrypoint` when an alarm fires,
+  /// and is shut down once no alarm has fired for `idleTimeout`. `entrypoint`
+  /// must be a top-level function in the application's root library that
+  /// calls [initializeBackgroundIsolate] with the callbacks of all alarms.
+  /// While a background Isolate is set, alarm callbacks run in it even when
+  /// the main application is running.
+  ///
+  /// The setting persists across application restarts until
+  /// [clearBackgroundIsolate] is called.
+  ///
+  /// Returns a [Future] that resolves to `true` on success and `false` on
+  /// failure.
+  static Future<bool> setBackgroundIsolate(
+    dynamic Function() entrypoint, {
+    Duration idleTimeout: const Duration(minutes: 30),
+  }) async {
+    final String functionName = _nameOfFunction(entrypoint);
+    if (functionName == null) {
+      return false;
+    }
+    final dynamic r = await _channel.invokeMethod('Alarm.setBackgroundIsolate',
+        <dynamic>[functionName, idleTimeout.inMilliseconds]);
+    return (r == null) ? false : r;
+  }
+
+  /// Stops running alarm callbacks in a background Isolate set with
+  /// [setBackgroundIsolate].
+  ///
+  /// Returns a [Future] that resolves to `true` on success and `false` on
+  /// failure.
+  static Future<bool> clearBackgroundIsolate() async {
+    final dynamic r = await _channel
+        .invokeMethod('Alarm.setBackgroundIsolate', <dynamic>[null, 0]);
+    return (r == null) ? false : r;
+  }
+
+  /// Starts running the alarm callbacks in `callbacks` in the current Isolate.
+  ///
+  /// Must be called by the entrypoint given to [setBackgroundIsolate]. Alarms
+  /// whose callback is not in `callbacks` are not run. If a callback returns a
+  /// [Future], the background Isolate is not shut down before it completes.
+  static Future<Null> initializeBackgroundIsolate(
+      List<dynamic Function()> callbacks) async {
+    final Map<String, dynamic Function()> callbacksByName =
+        <String, dynamic Function()>{};
+    for (dynamic Function() callback in callbacks) {
+      callbacksByName[_nameOfFunction(callback)] = callback;
+    }
+    _backgroundChannel.setMethodCallHandler((MethodCall call) async {
+      if (call.method != 'Alarm.invoke') {
+        throw new MissingPluginException();
+      }
+      final dynamic Function() callback = callbacksByName[call.arguments[0]];
+      if (callback == null) {
+        throw new MissingPluginException();
+      }
+      await callback();
+      return true;
+    });
+    await _backgroundChannel.invokeMethod('AlarmService.initialized');
+  }
 
   /// Schedules a one-shot timer to run `callback` after time `delay`.
   ///
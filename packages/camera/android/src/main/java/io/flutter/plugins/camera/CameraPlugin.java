@@ -21,6 +21,8 @@ import android.media.ImageReader;
 import android.media.MediaRecorder;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.util.Size;
@@ -45,6 +47,9 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 public class CameraPlugin implements MethodCallHandler {
 
@@ -60,7 +65,18 @@ public class CameraPlugin implements MethodCallHandler {
         }
       };
 
+  // Writes pictures to disk, one at a time and in the order they were taken.
+  private static final ExecutorService fileExecutor =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+              return new Thread(runnable, "camera-io");
+            }
+          });
+
   private static CameraManager cameraManager;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
   private final FlutterView view;
   private Camera camera;
   private Activity activity;
@@ -523,13 +539,36 @@ public class CameraPlugin implements MethodCallHandler {
           new ImageReader.OnImageAvailableListener() {
             @Override
             public void onImageAvailable(ImageReader reader) {
-              try (Image image = reader.acquireLatestImage()) {
-                ByteBuffer buffer = image.getPlanes()[0].getBuffer();
-                writeToFile(buffer, file);
-                result.success(null);
-              } catch (IOException e) {
-                result.error("IOError", "Failed saving image", null);
-              }
+              final Image image = reader.acquireLatestImage();
+              // Encoded pictures are several megabytes, so they are written off the main thread.
+              fileExecutor.execute(
+                  new Runnable() {
+                    @Override
+                    public void run() {
+                      boolean saved = false;
+                      try {
+                        ByteBuffer buffer = image.getPlanes()[0].getBuffer();
+                        writeToFile(buffer, file);
+                        saved = true;
+                      } catch (IOException e) {
+                        // Reported below.
+                      } finally {
+                        image.close();
+                      }
+                      final boolean success = saved;
+                      mainHandler.post(
+                          new Runnable() {
+                            @Override
+                            public void run() {
+                              if (success) {
+                                result.success(null);
+                              } else {
+                                result.error("IOError", "Failed saving image", null);
+                              }
+                            }
+                          });
+                    }
+                  });
             }
           },
           null);
@@ -4,7 +4,8 @@
 
 package io.flutter.plugins.firebase.cloudfirestore;
 
-import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.util.SparseArray;
@@ -44,6 +45,10 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 public class CloudFirestorePlugin implements MethodCallHandler {
@@ -60,6 +65,18 @@ public class CloudFirestorePlugin implements MethodCallHandler {
   private final SparseArray<WriteBatch> batches = new SparseArray<>();
   private final SparseArray<Transaction> transactions = new SparseArray<>();
   private final SparseArray<TaskCompletionSource> completionTasks = new SparseArray<>();
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  // A single named thread, unlike the process-wide AsyncTask executor, so that blocked transaction
+  // operations don't wait behind unrelated tasks. Operations must run one at a time, in the order
+  // they were called, as a transaction's writes depend on its earlier reads.
+  private final ExecutorService transactionExecutor =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+              return new Thread(runnable, "cloud_firestore-transactions");
+            }
+          });
 
   public static void registerWith(PluginRegistry.Registrar registrar) {
     final MethodChannel channel =
@@ -74,6 +91,40 @@ public class CloudFirestorePlugin implements MethodCallHandler {
     this.channel = channel;
   }
 
+  /**
+   * Runs {@code operation} on a transaction on a background thread, as it blocks until the
+   * transaction handles it, and replies to {@code result} on the main thread.
+   */
+  private void runTransactionOperation(
+      final Callable<Object> operation, final String errorCode, final Result result) {
+    transactionExecutor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            Object value = null;
+            Exception exception = null;
+            try {
+              value = operation.call();
+            } catch (Exception e) {
+              exception = e;
+            }
+            final Object operationResult = value;
+            final Exception operationException = exception;
+            mainHandler.post(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    if (operationException != null) {
+                      result.error(errorCode, operationException.getMessage(), null);
+                    } else {
+                      result.success(operationResult);
+                    }
+                  }
+                });
+          }
+        });
+  }
+
   private FirebaseFirestore getFirestore(Map<String, Object> arguments) {
     String appName = (String) arguments.get("app");
     return FirebaseFirestore.getInstance(FirebaseApp.getInstance(appName));
@@ -319,74 +370,74 @@ public class CloudFirestorePlugin implements MethodCallHandler {
         {
           final Map<String, Object> arguments = call.arguments();
           final Transaction transaction = getTransaction(arguments);
-          new AsyncTask<Void, Void, Void>() {
-            @Override
-            protected Void doInBackground(Void... voids) {
-              try {
-                DocumentSnapshot documentSnapshot =
-                    transaction.get(getDocumentReference(arguments));
-                Map<String, Object> snapshotMap = new HashMap<>();
-                snapshotMap.put("path", documentSnapshot.getReference().getPath());
-                if (documentSnapshot.exists()) {
-                  snapshotMap.put("data", documentSnapshot.getData());
-                } else {
-                  snapshotMap.put("data", null);
+          runTransactionOperation(
+              new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                  DocumentSnapshot documentSnapshot =
+                      transaction.get(getDocumentReference(arguments));
+                  Map<String, Object> snapshotMap = new HashMap<>();
+                  snapshotMap.put("path", documentSnapshot.getReference().getPath());
+                  if (documentSnapshot.exists()) {
+                    snapshotMap.put("data", documentSnapshot.getData());
+                  } else {
+                    snapshotMap.put("data", null);
+                  }
+                  return snapshotMap;
                 }
-                result.success(snapshotMap);
-              } catch (FirebaseFirestoreException e) {
-                result.error("Error performing Transaction#get", e.getMessage(), null);
-              }
-              return null;
-            }
-          }.execute();
+              },
+              "Error performing Transaction#get",
+              result);
           break;
         }
       case "Transaction#update":
         {
           final Map<String, Object> arguments = call.arguments();
           final Transaction transaction = getTransaction(arguments);
-          new AsyncTask<Void, Void, Void>() {
-            @Override
-            protected Void doInBackground(Void... voids) {
-              Map<String, Object> data = (Map<String, Object>) arguments.get("data");
-              try {
-                transaction.update(getDocumentReference(arguments), data);
-                result.success(null);
-              } catch (IllegalStateException e) {
-                result.error("Error performing Transaction#update", e.getMessage(), null);
-              }
-              return null;
-            }
-          }.execute();
+          runTransactionOperation(
+              new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                  Map<String, Object> data = (Map<String, Object>) arguments.get("data");
+                  transaction.update(getDocumentReference(arguments), data);
+                  return null;
+                }
+              },
+              "Error performing Transaction#update",
+              result);
           break;
         }
       case "Transaction#set":
         {
           final Map<String, Object> arguments = call.arguments();
           final Transaction transaction = getTransaction(arguments);
-          new AsyncTask<Void, Void, Void>() {
-            @Override
-            protected Void doInBackground(Void... voids) {
-              Map<String, Object> data = (Map<String, Object>) arguments.get("data");
-              transaction.set(getDocumentReference(arguments), data);
-              result.success(null);
-              return null;
-            }
-          }.execute();
+          runTransactionOperation(
+              new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                  Map<String, Object> data = (Map<String, Object>) arguments.get("data");
+                  transaction.set(getDocumentReference(arguments), data);
+                  return null;
+                }
+              },
+              "Error performing Transaction#set",
+              result);
           break;
         }
       case "Transaction#delete":
         {
           final Map<String, Object> arguments = call.arguments();
           final Transaction transaction = getTransaction(arguments);
-          new AsyncTask<Void, Void, Void>() {
-            @Override
-            protected Void doInBackground(Void... voids) {
-              transaction.delete(getDocumentReference(arguments));
-              result.success(null);
-              return null;
-            }
-          }.execute();
+          runTransactionOperation(
+              new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                  transaction.delete(getDocumentReference(arguments));
+                  return null;
+                }
+              },
+              "Error performing Transaction#delete",
+              result);
           break;
         }
       case "WriteBatch#create":
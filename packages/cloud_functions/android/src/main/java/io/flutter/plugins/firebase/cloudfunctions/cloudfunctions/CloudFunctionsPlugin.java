@@ -4,9 +4,14 @@
 
 package io.flutter.plugins.firebase.cloudfunctions.cloudfunctions;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import com.google.android.gms.tasks.OnCompleteListener;
 import com.google.android.gms.tasks.Task;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.functions.FirebaseFunctions;
 import com.google.firebase.functions.FirebaseFunctionsException;
 import com.google.firebase.functions.HttpsCallableReference;
@@ -16,15 +21,55 @@ import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
 import io.flutter.plugin.common.MethodChannel.Result;
 import io.flutter.plugin.common.PluginRegistry.Registrar;
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
-/** CloudFunctionsPlugin */
+/**
+ * CloudFunctionsPlugin
+ *
+ * <p>Calls given a cache TTL are answered from the {@link ResponseCache} while their response is
+ * fresh, and identical calls of that kind that are in flight at the same time share one call to the
+ * function. At most {@code maxConcurrentCalls} calls to functions are in flight, the others wait in
+ * a queue. All state is only accessed on the main thread.
+ */
 public class CloudFunctionsPlugin implements MethodCallHandler {
+  private static final int DEFAULT_MAX_CONCURRENT_CALLS = 4;
+
+  private final ResponseCache cache;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final Executor diskExecutor =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+              return new Thread(runnable, "cloud_functions-cache");
+            }
+          });
+  // Results waiting for the cacheable call with the same key that is in flight.
+  private final Map<String, List<Result>> callsInFlight = new HashMap<>();
+  private final Queue<Runnable> queuedCalls = new ArrayDeque<>();
+  private int runningCalls;
+  private int maxConcurrentCalls = DEFAULT_MAX_CONCURRENT_CALLS;
+  private Long defaultTimeoutMillis;
+
   /** Plugin registration. */
   public static void registerWith(Registrar registrar) {
     final MethodChannel channel = new MethodChannel(registrar.messenger(), "cloud_functions");
-    channel.setMethodCallHandler(new CloudFunctionsPlugin());
+    channel.setMethodCallHandler(
+        new CloudFunctionsPlugin(new File(registrar.context().getCacheDir(), "cloud_functions")));
+  }
+
+  private CloudFunctionsPlugin(File cacheDirectory) {
+    this.cache = new ResponseCache(cacheDirectory);
   }
 
   @Override
@@ -32,39 +77,207 @@ public class CloudFunctionsPlugin implements MethodCallHandler {
     switch (call.method) {
       case "CloudFunctions#call":
         String functionName = call.argument("functionName");
-        HttpsCallableReference httpsCallableReference =
-            FirebaseFunctions.getInstance().getHttpsCallable(functionName);
         Map<String, Object> parameters = call.argument("parameters");
-        httpsCallableReference
-            .call(parameters)
-            .addOnCompleteListener(
-                new OnCompleteListener<HttpsCallableResult>() {
+        Number cacheTtlMillis = call.argument("cacheTtlMillis");
+        Number timeoutMillis = call.argument("timeoutMillis");
+        Long timeout = timeoutMillis != null ? timeoutMillis.longValue() : defaultTimeoutMillis;
+        if (cacheTtlMillis == null) {
+          enqueueCall(functionName, parameters, timeout, result);
+        } else {
+          callCached(functionName, parameters, timeout, cacheTtlMillis.longValue(), result);
+        }
+        break;
+      case "CloudFunctions#configure":
+        // Settings that are not passed keep their current value.
+        Number maxConcurrentCalls = call.argument("maxConcurrentCalls");
+        Number defaultTimeoutMillis = call.argument("timeoutMillis");
+        if (maxConcurrentCalls != null && maxConcurrentCalls.intValue() <= 0) {
+          result.error(
+              "invalidArgument",
+              "maxConcurrentCalls must be positive: " + maxConcurrentCalls,
+              null);
+          break;
+        }
+        if (defaultTimeoutMillis != null && defaultTimeoutMillis.longValue() <= 0) {
+          result.error(
+              "invalidArgument", "timeoutMillis must be positive: " + defaultTimeoutMillis, null);
+          break;
+        }
+        if (maxConcurrentCalls != null) {
+          this.maxConcurrentCalls = maxConcurrentCalls.intValue();
+        }
+        if (defaultTimeoutMillis != null) {
+          this.defaultTimeoutMillis = defaultTimeoutMillis.longValue();
+        }
+        runQueuedCalls();
+        result.success(null);
+        break;
+      case "CloudFunctions#clearCache":
+        diskExecutor.execute(
+            new Runnable() {
+              @Override
+              public void run() {
+                cache.clear();
+                mainHandler.post(
+                    new Runnable() {
+                      @Override
+                      public void run() {
+                        result.success(null);
+                      }
+                    });
+              }
+            });
+        break;
+      default:
+        result.notImplemented();
+    }
+  }
+
+  private void callCached(
+      final String functionName,
+      final Map<String, Object> parameters,
+      final Long timeoutMillis,
+      final long cacheTtlMillis,
+      Result result) {
+    final String key =
+        ResponseCache.keyOf(
+            FirebaseApp.getInstance().getName(), currentUid(), functionName, parameters);
+    if (cache.containsInMemory(key)) {
+      result.success(cache.getDataFromMemory(key));
+      return;
+    }
+    List<Result> waiting = callsInFlight.get(key);
+    if (waiting != null) {
+      waiting.add(result);
+      return;
+    }
+    waiting = new ArrayList<>();
+    waiting.add(result);
+    callsInFlight.put(key, waiting);
+
+    final Result sharedResult =
+        new Result() {
+          @Override
+          public void success(Object data) {
+            cache.putInMemory(key, data, cacheTtlMillis);
+            diskExecutor.execute(
+                new Runnable() {
                   @Override
-                  public void onComplete(@NonNull Task<HttpsCallableResult> task) {
-                    if (task.isSuccessful()) {
-                      result.success(task.getResult().getData());
-                    } else {
-                      if (task.getException() instanceof FirebaseFunctionsException) {
-                        FirebaseFunctionsException exception =
-                            (FirebaseFunctionsException) task.getException();
-                        Map<String, Object> exceptionMap = new HashMap<>();
-                        exceptionMap.put("code", exception.getCode().name());
-                        exceptionMap.put("message", exception.getMessage());
-                        exceptionMap.put("details", exception.getDetails());
-                        result.error(
-                            "functionsError",
-                            "Cloud function failed with exception.",
-                            exceptionMap);
-                      } else {
-                        Exception exception = task.getException();
-                        result.error(null, exception.getMessage(), null);
+                  public void run() {
+                    cache.writeToDisk(key);
+                  }
+                });
+            for (Result result : callsInFlight.remove(key)) {
+              result.success(data);
+            }
+          }
+
+          @Override
+          public void error(String errorCode, String errorMessage, Object errorDetails) {
+            for (Result result : callsInFlight.remove(key)) {
+              result.error(errorCode, errorMessage, errorDetails);
+            }
+          }
+
+          @Override
+          public void notImplemented() {
+            for (Result result : callsInFlight.remove(key)) {
+              result.notImplemented();
+            }
+          }
+        };
+    diskExecutor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            final boolean loaded = cache.loadFromDisk(key);
+            mainHandler.post(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    if (loaded && cache.containsInMemory(key)) {
+                      final Object data = cache.getDataFromMemory(key);
+                      for (Result result : callsInFlight.remove(key)) {
+                        result.success(data);
                       }
+                    } else {
+                      enqueueCall(functionName, parameters, timeoutMillis, sharedResult);
                     }
                   }
                 });
-        break;
-      default:
-        result.notImplemented();
+          }
+        });
+  }
+
+  // Returns the uid of the signed in user, or an empty string if there is none or the app doesn't
+  // use Firebase Auth, in which case calls are not authenticated.
+  private static String currentUid() {
+    try {
+      final FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+      return user == null ? "" : user.getUid();
+    } catch (NoClassDefFoundError e) {
+      return "";
     }
   }
+
+  private void enqueueCall(
+      final String functionName,
+      final Map<String, Object> parameters,
+      final Long timeoutMillis,
+      final Result result) {
+    queuedCalls.add(
+        new Runnable() {
+          @Override
+          public void run() {
+            callFunction(functionName, parameters, timeoutMillis, result);
+          }
+        });
+    runQueuedCalls();
+  }
+
+  private void runQueuedCalls() {
+    while (runningCalls < maxConcurrentCalls && !queuedCalls.isEmpty()) {
+      runningCalls++;
+      queuedCalls.remove().run();
+    }
+  }
+
+  private void callFunction(
+      String functionName,
+      Map<String, Object> parameters,
+      Long timeoutMillis,
+      final Result result) {
+    HttpsCallableReference httpsCallableReference =
+        FirebaseFunctions.getInstance().getHttpsCallable(functionName);
+    if (timeoutMillis != null) {
+      httpsCallableReference.setTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+    httpsCallableReference
+        .call(parameters)
+        .addOnCompleteListener(
+            new OnCompleteListener<HttpsCallableResult>() {
+              @Override
+              public void onComplete(@NonNull Task<HttpsCallableResult> task) {
+                runningCalls--;
+                runQueuedCalls();
+                if (task.isSuccessful()) {
+                  result.success(task.getResult().getData());
+                } else {
+                  if (task.getException() instanceof FirebaseFunctionsException) {
+                    FirebaseFunctionsException exception =
+                        (FirebaseFunctionsException) task.getException();
+                    Map<String, Object> exceptionMap = new HashMap<>();
+                    exceptionMap.put("code", exception.getCode().name());
+                    exceptionMap.put("message", exception.getMessage());
+                    exceptionMap.put("details", exception.getDetails());
+                    result.error(
+                        "functionsError", "Cloud function failed with exception.", exceptionMap);
+                  } else {
+                    Exception exception = task.getException();
+                    result.error(null, exception.getMessage(), null);
+                  }
+                }
+              }
+            });
+  }
 }
@@ -0,0 +1,235 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.firebase.cloudfunctions.cloudfunctions;
+
+import android.util.Log;
+import android.util.LruCache;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Cache of callable function responses, kept in memory and in files in the application's cache
+ * directory.
+ *
+ * <p>Responses are keyed by {@link #keyOf}, which is the same for calls to the same function with
+ * equal parameters by the same user. Entries expire at a wall clock time, so files remain usable
+ * across restarts of the application. The memory cache may be used from any thread, the disk
+ * methods must not be used on the main thread.
+ */
+final class ResponseCache {
+  private static final String TAG = "CloudFunctionsPlugin";
+  private static final int MAX_MEMORY_ENTRIES = 100;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final class Entry {
+    final Object data;
+    final long expiresAtMillis;
+
+    Entry(Object data, long expiresAtMillis) {
+      this.data = data;
+      this.expiresAtMillis = expiresAtMillis;
+    }
+  }
+
+  private final File directory;
+  private final LruCache<String, Entry> memory = new LruCache<>(MAX_MEMORY_ENTRIES);
+
+  ResponseCache(File directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Returns the cache key of a call to {@code functionName} with {@code parameters}, made by the
+   * user with {@code uid} of the app named {@code appName}. Responses may depend on the caller, so
+   * they are never shared between apps or users.
+   */
+  static String keyOf(String appName, String uid, String functionName, Object parameters) {
+    return appName + " " + uid + " " + functionName + " " + toCanonicalJson(parameters);
+  }
+
+  /** Returns whether a fresh response for {@code key} is cached in memory. */
+  boolean containsInMemory(String key) {
+    return getFromMemory(key) != null;
+  }
+
+  /**
+   * Returns the data of the fresh response cached in memory for {@code key}. Only valid after
+   * {@link #containsInMemory} returned true, as the data itself may be null.
+   */
+  Object getDataFromMemory(String key) {
+    final Entry entry = getFromMemory(key);
+    return entry == null ? null : entry.data;
+  }
+
+  /**
+   * Loads the response for {@code key} from disk into memory, and returns whether it was fresh.
+   */
+  boolean loadFromDisk(String key) {
+    final File file = fileOf(key);
+    if (!file.exists()) {
+      return false;
+    }
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8))) {
+      final long expiresAtMillis = Long.parseLong(reader.readLine());
+      if (expiresAtMillis <= System.currentTimeMillis()) {
+        file.delete();
+        return false;
+      }
+      final Object data = fromJson(new JSONArray(reader.readLine()).get(0));
+      memory.put(key, new Entry(data, expiresAtMillis));
+      return true;
+    } catch (IOException | JSONException | RuntimeException e) {
+      Log.w(TAG, "Discarding unreadable cached response", e);
+      file.delete();
+      return false;
+    }
+  }
+
+  /** Caches {@code data} in memory for {@code ttlMillis}. */
+  void putInMemory(String key, Object data, long ttlMillis) {
+    memory.put(key, new Entry(data, System.currentTimeMillis() + ttlMillis));
+  }
+
+  /** Writes the response cached in memory for {@code key} to disk. */
+  void writeToDisk(String key) {
+    final Entry entry = memory.get(key);
+    if (entry == null) {
+      return;
+    }
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      Log.w(TAG, "Could not create the response cache directory");
+      return;
+    }
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(fileOf(key)), UTF_8)) {
+      // The data is wrapped in an array, as it may be a string or number rather than an object.
+      final JSONArray json = new JSONArray().put(toJson(entry.data));
+      writer.write(entry.expiresAtMillis + "\n" + json + "\n");
+    } catch (IOException e) {
+      Log.w(TAG, "Failed to write cached response", e);
+    }
+  }
+
+  /** Removes all cached responses, in memory and on disk. */
+  void clear() {
+    memory.evictAll();
+    final File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+  }
+
+  private Entry getFromMemory(String key) {
+    final Entry entry = memory.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+      memory.remove(key);
+      return null;
+    }
+    return entry;
+  }
+
+  private File fileOf(String key) {
+    try {
+      final byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(UTF_8));
+      final StringBuilder name = new StringBuilder();
+      for (byte b : digest) {
+        name.append(String.format("%02x", b));
+      }
+      return new File(directory, name.toString());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // Parameters are encoded with map keys sorted, so that equal parameters have the same key.
+  private static String toCanonicalJson(Object value) {
+    return new JSONArray().put(toJson(sortKeys(value))).toString();
+  }
+
+  private static Object sortKeys(Object value) {
+    if (value instanceof Map) {
+      final Map<String, Object> sorted = new TreeMap<>();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        sorted.put(String.valueOf(entry.getKey()), sortKeys(entry.getValue()));
+      }
+      return sorted;
+    }
+    if (value instanceof List) {
+      final List<Object> list = new ArrayList<>();
+      for (Object element : (List<?>) value) {
+        list.add(sortKeys(element));
+      }
+      return list;
+    }
+    return value;
+  }
+
+  private static Object toJson(Object value) {
+    if (value instanceof Map) {
+      final JSONObject json = new JSONObject();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        try {
+          json.put(String.valueOf(entry.getKey()), toJson(entry.getValue()));
+        } catch (JSONException e) {
+          throw new IllegalArgumentException(e);
+        }
+      }
+      return json;
+    }
+    if (value instanceof List) {
+      final JSONArray json = new JSONArray();
+      for (Object element : (List<?>) value) {
+        json.put(toJson(element));
+      }
+      return json;
+    }
+    return value == null ? JSONObject.NULL : value;
+  }
+
+  private static Object fromJson(Object json) throws JSONException {
+    if (json instanceof JSONObject) {
+      final JSONObject object = (JSONObject) json;
+      final Map<String, Object> map = new HashMap<>();
+      final Iterator<String> keys = object.keys();
+      while (keys.hasNext()) {
+        final String key = keys.next();
+        map.put(key, fromJson(object.get(key)));
+      }
+      return map;
+    }
+    if (json instanceof JSONArray) {
+      final JSONArray array = (JSONArray) json;
+      final List<Object> list = new ArrayList<>(array.length());
+      for (int i = 0; i < array.length(); i++) {
+        list.add(fromJson(array.get(i)));
+      }
+      return list;
+    }
+    return json == JSONObject.NULL ? null : json;
+  }
+}
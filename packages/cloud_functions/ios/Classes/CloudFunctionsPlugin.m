@@ -59,6 +59,10 @@
               result(callableResult.data);
             }
           }];
+  } else if ([@"CloudFunctions#configure" isEqualToString:call.method] ||
+             [@"CloudFunctions#clearCache" isEqualToString:call.method]) {
+    // Caching, timeouts and limiting concurrent calls are only supported on Android.
+    result(nil);
   } else {
     result(FlutterMethodNotImplemented);
   }
@@ -26,18 +26,76 @@ class CloudFunctions {
 
   static CloudFunctions get instance => _instance;
 
+  final Map<String, Duration> _cacheTtls = <String, Duration>{};
+
+  /// Caches the responses of the function named `functionName` for `ttl`.
+  ///
+  /// Only use this for functions that don't change anything, as calls to them
+  /// are answered from the cache while the response to a call with the same
+  /// parameters is fresh. Identical calls that are made while one is in flight
+  /// share its response. Responses are cached in memory and on disk. Passing a
+  /// null `ttl` stops caching responses of the function.
+  ///
+  /// Responses are cached per Firebase app and per signed-in Firebase Auth
+  /// user, so a response is never returned to a different user than the one
+  /// who made the call. Use [clearCache] to also drop the responses cached for
+  /// a user who signs out.
+  ///
+  /// Caching is only supported on Android.
+  void setCacheTtl(String functionName, Duration ttl) {
+    if (ttl == null) {
+      _cacheTtls.remove(functionName);
+    } else {
+      _cacheTtls[functionName] = ttl;
+    }
+  }
+
+  /// Sets the default `timeout` of calls, and the maximum number of calls that
+  /// are in flight at the same time. Calls beyond `maxConcurrentCalls` wait
+  /// until earlier calls complete. Both must be positive, and a setting that
+  /// is not given keeps its current value.
+  ///
+  /// Only supported on Android.
+  Future<Null> configure({Duration timeout, int maxConcurrentCalls}) async {
+    assert(timeout == null || timeout > Duration.zero);
+    assert(maxConcurrentCalls == null || maxConcurrentCalls > 0);
+    await channel.invokeMethod('CloudFunctions#configure', <String, dynamic>{
+      'timeoutMillis': timeout?.inMilliseconds,
+      'maxConcurrentCalls': maxConcurrentCalls,
+    });
+  }
+
+  /// Removes all responses cached because of [setCacheTtl].
+  ///
+  /// Only supported on Android.
+  Future<Null> clearCache() async {
+    await channel.invokeMethod('CloudFunctions#clearCache');
+  }
+
   /// Executes this Callable HTTPS trigger asynchronously.
   ///
   /// @param functionName The name of the callable function being triggered.
   /// @param parameters Parameters to be passed to the callable function.
+  /// @param timeout How long to wait for the function before failing, instead
+  /// of the timeout given to [configure]. Only supported on Android.
   Future<dynamic> call(
-      {@required String functionName, Map<String, dynamic> parameters}) async {
+      {@required String functionName,
+      Map<String, dynamic> parameters,
+      Duration timeout}) async {
+    final Map<String, dynamic> arguments = <String, dynamic>{
+      'functionName': functionName,
+      'parameters': parameters,
+    };
+    final Duration cacheTtl = _cacheTtls[functionName];
+    if (cacheTtl != null) {
+      arguments['cacheTtlMillis'] = cacheTtl.inMilliseconds;
+    }
+    if (timeout != null) {
+      arguments['timeoutMillis'] = timeout.inMilliseconds;
+    }
     try {
       final dynamic response =
-          await channel.invokeMethod('CloudFunctions#call', <String, dynamic>{
-        'functionName': functionName,
-        'parameters': parameters,
-      });
+          await channel.invokeMethod('CloudFunctions#call', arguments);
       return response;
     } on PlatformException catch (e) {
       if (e.code == 'functionsError') {
@@ -54,5 +54,72 @@ void main() {
         ],
       );
     });
+
+    test('call with cache TTL and timeout', () async {
+      CloudFunctions.instance
+          .setCacheTtl('baz', const Duration(minutes: 5));
+      await CloudFunctions.instance.call(functionName: 'baz');
+      await CloudFunctions.instance.call(
+          functionName: 'qux', timeout: const Duration(seconds: 10));
+      CloudFunctions.instance.setCacheTtl('baz', null);
+      await CloudFunctions.instance.call(functionName: 'baz');
+      expect(
+        log,
+        <Matcher>[
+          isMethodCall(
+            'CloudFunctions#call',
+            arguments: <String, dynamic>{
+              'functionName': 'baz',
+              'parameters': null,
+              'cacheTtlMillis': 300000,
+            },
+          ),
+          isMethodCall(
+            'CloudFunctions#call',
+            arguments: <String, dynamic>{
+              'functionName': 'qux',
+              'parameters': null,
+              'timeoutMillis': 10000,
+            },
+          ),
+          isMethodCall(
+            'CloudFunctions#call',
+            arguments: <String, dynamic>{
+              'functionName': 'baz',
+              'parameters': null,
+            },
+          ),
+        ],
+      );
+    });
+
+    test('configure', () async {
+      await CloudFunctions.instance.configure(
+          timeout: const Duration(seconds: 30), maxConcurrentCalls: 2);
+      await CloudFunctions.instance.clearCache();
+      expect(
+        log,
+        <Matcher>[
+          isMethodCall(
+            'CloudFunctions#configure',
+            arguments: <String, dynamic>{
+              'timeoutMillis': 30000,
+              'maxConcurrentCalls': 2,
+            },
+          ),
+          isMethodCall('CloudFunctions#clearCache', arguments: null),
+        ],
+      );
+    });
+
+    test('configure rejects non-positive settings', () async {
+      expect(() => CloudFunctions.instance.configure(maxConcurrentCalls: 0),
+          throwsA(isInstanceOf<AssertionError>()));
+      expect(
+          () => CloudFunctions.instance
+              .configure(timeout: const Duration(seconds: -1)),
+          throwsA(isInstanceOf<AssertionError>()));
+      expect(log, isEmpty);
+    });
   });
 }
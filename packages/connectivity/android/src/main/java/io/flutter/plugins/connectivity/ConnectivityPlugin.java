@@ -31,9 +31,13 @@ public class ConnectivityPlugin implements MethodCallHandler, StreamHandler {
         new MethodChannel(registrar.messenger(), "plugins.flutter.io/connectivity");
     final EventChannel eventChannel =
         new EventChannel(registrar.messenger(), "plugins.flutter.io/connectivity_status");
+    final EventChannel networkEventChannel =
+        new EventChannel(registrar.messenger(), "plugins.flutter.io/connectivity_network");
     ConnectivityPlugin instance = new ConnectivityPlugin(registrar);
     channel.setMethodCallHandler(instance);
     eventChannel.setStreamHandler(instance);
+    networkEventChannel.setStreamHandler(
+        new NetworkStateStreamHandler(registrar.context(), instance.manager));
   }
 
   private ConnectivityPlugin(Registrar registrar) {
@@ -56,7 +60,7 @@ public class ConnectivityPlugin implements MethodCallHandler, StreamHandler {
     receiver = null;
   }
 
-  private static String getNetworkType(int type) {
+  static String getNetworkType(int type) {
     switch (type) {
       case ConnectivityManager.TYPE_ETHERNET:
       case ConnectivityManager.TYPE_WIFI:
@@ -86,16 +90,23 @@ public class ConnectivityPlugin implements MethodCallHandler, StreamHandler {
 
   private BroadcastReceiver createReceiver(final EventSink events) {
     return new BroadcastReceiver() {
+      // The broadcast is sent for changes to any network, so the same result is not sent again.
+      private String lastResult;
+
       @Override
       public void onReceive(Context context, Intent intent) {
+        String result;
         boolean isLost = intent.getBooleanExtra(ConnectivityManager.EXTRA_NO_CONNECTIVITY, false);
         if (isLost) {
-          events.success("none");
-          return;
+          result = "none";
+        } else {
+          int type = intent.getIntExtra(ConnectivityManager.EXTRA_NETWORK_TYPE, -1);
+          result = getNetworkType(type);
+        }
+        if (!result.equals(lastResult)) {
+          lastResult = result;
+          events.success(result);
         }
-
-        int type = intent.getIntExtra(ConnectivityManager.EXTRA_NETWORK_TYPE, -1);
-        events.success(getNetworkType(type));
       }
     };
   }
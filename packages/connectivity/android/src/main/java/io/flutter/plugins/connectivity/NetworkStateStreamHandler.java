@@ -0,0 +1,188 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.connectivity;
+
+import android.annotation.TargetApi;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.NetworkInfo;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import io.flutter.plugin.common.EventChannel.EventSink;
+import io.flutter.plugin.common.EventChannel.StreamHandler;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams the state of the default network along with its capabilities.
+ *
+ * <p>From Android N, the state is tracked with a {@link ConnectivityManager.NetworkCallback} on the
+ * default network. On older versions, it is read from the active network whenever a {@code
+ * CONNECTIVITY_ACTION} broadcast is received. Only changes are sent, so repeated callbacks and
+ * broadcasts for the same state don't produce events.
+ */
+class NetworkStateStreamHandler implements StreamHandler {
+  private final Context context;
+  private final ConnectivityManager manager;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+  private EventSink events;
+  private Map<String, Object> lastState;
+  private ConnectivityManager.NetworkCallback networkCallback;
+  private BroadcastReceiver receiver;
+
+  NetworkStateStreamHandler(Context context, ConnectivityManager manager) {
+    this.context = context;
+    this.manager = manager;
+  }
+
+  @Override
+  public void onListen(Object arguments, EventSink events) {
+    this.events = events;
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+      registerNetworkCallback();
+    } else {
+      receiver =
+          new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+              send(getActiveNetworkState());
+            }
+          };
+      context.registerReceiver(receiver, new IntentFilter(ConnectivityManager.CONNECTIVITY_ACTION));
+    }
+  }
+
+  @Override
+  public void onCancel(Object arguments) {
+    if (networkCallback != null) {
+      unregisterNetworkCallback();
+    }
+    if (receiver != null) {
+      context.unregisterReceiver(receiver);
+      receiver = null;
+    }
+    events = null;
+    lastState = null;
+  }
+
+  @TargetApi(Build.VERSION_CODES.N)
+  private void registerNetworkCallback() {
+    networkCallback =
+        new ConnectivityManager.NetworkCallback() {
+          @Override
+          public void onAvailable(Network network) {
+            post(toState(manager.getNetworkCapabilities(network)));
+          }
+
+          @Override
+          public void onCapabilitiesChanged(Network network, NetworkCapabilities capabilities) {
+            post(toState(capabilities));
+          }
+
+          @Override
+          public void onLost(Network network) {
+            post(toState(null));
+          }
+        };
+    final Network network = manager.getActiveNetwork();
+    send(toState(network == null ? null : manager.getNetworkCapabilities(network)));
+    manager.registerDefaultNetworkCallback(networkCallback);
+  }
+
+  // Only called once registerNetworkCallback has run, which requires Android N.
+  @TargetApi(Build.VERSION_CODES.N)
+  private void unregisterNetworkCallback() {
+    manager.unregisterNetworkCallback(networkCallback);
+    networkCallback = null;
+  }
+
+  // Network callbacks are invoked on a thread of the connectivity manager.
+  private void post(final Map<String, Object> state) {
+    mainHandler.post(
+        new Runnable() {
+          @Override
+          public void run() {
+            send(state);
+          }
+        });
+  }
+
+  private void send(Map<String, Object> state) {
+    if (events == null || state.equals(lastState)) {
+      return;
+    }
+    lastState = state;
+    events.success(state);
+  }
+
+  @SuppressWarnings("deprecation")
+  private Map<String, Object> getActiveNetworkState() {
+    final NetworkInfo info = manager.getActiveNetworkInfo();
+    if (info == null || !info.isConnected()) {
+      return toState(null);
+    }
+    final Map<String, Object> state = new HashMap<>();
+    final String type = ConnectivityPlugin.getNetworkType(info.getType());
+    state.put("type", type);
+    final List<String> transports = new ArrayList<>();
+    if (!type.equals("none")) {
+      transports.add(type.equals("wifi") ? "wifi" : "cellular");
+    }
+    state.put("transports", transports);
+    state.put("metered", manager.isActiveNetworkMetered());
+    return state;
+  }
+
+  @TargetApi(Build.VERSION_CODES.N)
+  private static Map<String, Object> toState(NetworkCapabilities capabilities) {
+    final Map<String, Object> state = new HashMap<>();
+    final List<String> transports = new ArrayList<>();
+    if (capabilities == null) {
+      state.put("type", "none");
+      state.put("transports", transports);
+      return state;
+    }
+    if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI)) {
+      transports.add("wifi");
+    }
+    if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR)) {
+      transports.add("cellular");
+    }
+    if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET)) {
+      transports.add("ethernet");
+    }
+    if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_BLUETOOTH)) {
+      transports.add("bluetooth");
+    }
+    if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_VPN)) {
+      transports.add("vpn");
+    }
+    if (transports.contains("wifi") || transports.contains("ethernet")) {
+      state.put("type", "wifi");
+    } else if (transports.contains("cellular")) {
+      state.put("type", "mobile");
+    } else {
+      state.put("type", "none");
+    }
+    state.put("transports", transports);
+    state.put(
+        "metered",
+        !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED));
+    state.put(
+        "validated", capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED));
+    state.put("downstreamKbps", capabilities.getLinkDownstreamBandwidthKbps());
+    state.put("upstreamKbps", capabilities.getLinkUpstreamBandwidthKbps());
+    return state;
+  }
+}
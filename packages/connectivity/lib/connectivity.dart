@@ -3,6 +3,8 @@
 // found in the LICENSE file.
 
 import 'dart:async';
+import 'dart:io';
+import 'dart:ui' show hashList, hashValues;
 
 import 'package:flutter/services.dart';
 
@@ -19,8 +21,92 @@ const MethodChannel _methodChannel =
 const EventChannel _eventChannel =
     const EventChannel('plugins.flutter.io/connectivity_status');
 
+const EventChannel _networkEventChannel =
+    const EventChannel('plugins.flutter.io/connectivity_network');
+
+/// A way in which the device is connected to the network.
+enum NetworkTransport { wifi, cellular, ethernet, bluetooth, vpn }
+
+/// The state of the device's default network.
+///
+/// Apart from [result], the properties are only known on Android. Those that
+/// are not known are null.
+class NetworkState {
+  NetworkState._(this.result,
+      {this.transports: const <NetworkTransport>[],
+      this.isMetered,
+      this.isValidated,
+      this.downstreamBandwidthKbps,
+      this.upstreamBandwidthKbps});
+
+  NetworkState._fromMap(Map<dynamic, dynamic> map)
+      : result = _parseConnectivityResult(map['type']),
+        transports = new List<NetworkTransport>.unmodifiable(
+            map['transports'].map<NetworkTransport>(_parseTransport).where(
+                (NetworkTransport transport) => transport != null)),
+        isMetered = map['metered'],
+        isValidated = map['validated'],
+        downstreamBandwidthKbps = map['downstreamKbps'],
+        upstreamBandwidthKbps = map['upstreamKbps'];
+
+  final ConnectivityResult result;
+
+  /// The ways in which the network is connected.
+  final List<NetworkTransport> transports;
+
+  /// Whether data sent over the network may be charged for.
+  final bool isMetered;
+
+  /// Whether the network was found to provide access to the internet.
+  ///
+  /// Only known from Android N.
+  final bool isValidated;
+
+  /// The estimated bandwidth of the network's downstream link.
+  ///
+  /// Only known from Android N.
+  final int downstreamBandwidthKbps;
+
+  /// The estimated bandwidth of the network's upstream link.
+  ///
+  /// Only known from Android N.
+  final int upstreamBandwidthKbps;
+
+  @override
+  bool operator ==(dynamic other) {
+    if (other is! NetworkState) {
+      return false;
+    }
+    final NetworkState typedOther = other;
+    if (transports.length != typedOther.transports.length) {
+      return false;
+    }
+    for (int i = 0; i < transports.length; i++) {
+      if (transports[i] != typedOther.transports[i]) {
+        return false;
+      }
+    }
+    return result == typedOther.result &&
+        isMetered == typedOther.isMetered &&
+        isValidated == typedOther.isValidated &&
+        downstreamBandwidthKbps == typedOther.downstreamBandwidthKbps &&
+        upstreamBandwidthKbps == typedOther.upstreamBandwidthKbps;
+  }
+
+  @override
+  int get hashCode => hashValues(result, hashList(transports), isMetered,
+      isValidated, downstreamBandwidthKbps, upstreamBandwidthKbps);
+
+  @override
+  String toString() => '$runtimeType($result, transports: $transports, '
+      'metered: $isMetered, validated: $isValidated, '
+      'downstream: $downstreamBandwidthKbps kbps, '
+      'upstream: $upstreamBandwidthKbps kbps)';
+}
+
 class Connectivity {
   Stream<ConnectivityResult> _onConnectivityChanged;
+  Stream<NetworkState> _onNetworkStateChanged;
 
   /// Fires whenever the connectivity state changes.
   Stream<ConnectivityResult> get onConnectivityChanged {
@@ -32,6 +118,34 @@ class Connectivity {
     return _onConnectivityChanged;
   }
 
+  /// Fires with the state of the default network when listened to, and
+  /// whenever it changes.
+  ///
+  /// On Android, changes to the network's capabilities are reported as well,
+  /// such as whether it is metered or its estimated bandwidth. On iOS, only
+  /// the [ConnectivityResult] is reported.
+  ///
+  /// If `debounce` is given, a state is only reported once the network has
+  /// not changed for that long, so that a network that connects and
+  /// disconnects repeatedly results in a single event. States equal to the
+  /// last one reported are never reported again.
+  Stream<NetworkState> onNetworkStateChanged({Duration debounce}) {
+    if (_onNetworkStateChanged == null) {
+      if (Platform.isAndroid) {
+        _onNetworkStateChanged = _networkEventChannel
+            .receiveBroadcastStream()
+            .map((dynamic event) => new NetworkState._fromMap(event));
+      } else {
+        _onNetworkStateChanged = onConnectivityChanged
+            .map((ConnectivityResult result) => new NetworkState._(result));
+      }
+    }
+    if (debounce == null || debounce == Duration.zero) {
+      return _onNetworkStateChanged.distinct();
+    }
+    return _debounce(_onNetworkStateChanged, debounce).distinct();
+  }
+
   /// Checks the connection status of the device.
   ///
   /// Do not use the result of this function to decide whether you can reliably
@@ -44,6 +158,49 @@ class Connectivity {
   }
 }
 
+Stream<T> _debounce<T>(Stream<T> stream, Duration duration) {
+  StreamController<T> controller;
+  StreamSubscription<T> subscription;
+  Timer timer;
+  controller = new StreamController<T>(
+    onListen: () {
+      subscription = stream.listen(
+        (T event) {
+          timer?.cancel();
+          timer = new Timer(duration, () => controller.add(event));
+        },
+        onError: controller.addError,
+        onDone: () {
+          timer?.cancel();
+          controller.close();
+        },
+      );
+    },
+    onCancel: () {
+      timer?.cancel();
+      return subscription.cancel();
+    },
+  );
+  return controller.stream;
+}
+
+NetworkTransport _parseTransport(dynamic transport) {
+  switch (transport) {
+    case 'wifi':
+      return NetworkTransport.wifi;
+    case 'cellular':
+      return NetworkTransport.cellular;
+    case 'ethernet':
+      return NetworkTransport.ethernet;
+    case 'bluetooth':
+      return NetworkTransport.bluetooth;
+    case 'vpn':
+      return NetworkTransport.vpn;
+    default:
+      return null;
+  }
+}
+
 ConnectivityResult _parseConnectivityResult(String state) {
   switch (state) {
     case 'wifi':
@@ -4,6 +4,7 @@
 
 package io.flutter.plugins.deviceinfo;
 
+import android.content.Context;
 import android.os.Build;
 import android.os.Build.VERSION;
 import android.os.Build.VERSION_CODES;
@@ -26,64 +27,76 @@ public class DeviceInfoPlugin implements MethodCallHandler {
   public static void registerWith(Registrar registrar) {
     final MethodChannel channel =
         new MethodChannel(registrar.messenger(), "plugins.flutter.io/device_info");
-    channel.setMethodCallHandler(new DeviceInfoPlugin());
+    channel.setMethodCallHandler(new DeviceInfoPlugin(registrar.context()));
   }
 
+  private final Context context;
+
   /** Do not allow direct instantiation. */
-  private DeviceInfoPlugin() {}
+  private DeviceInfoPlugin(Context context) {
+    this.context = context;
+    // Starts reading the device information, so that it is ready when first asked for.
+    DeviceInfoSnapshot.get(context);
+  }
 
   @Override
   public void onMethodCall(MethodCall call, Result result) {
     if (call.method.equals("getAndroidDeviceInfo")) {
-      Map<String, Object> build = new HashMap<>();
-      build.put("board", Build.BOARD);
-      build.put("bootloader", Build.BOOTLOADER);
-      build.put("brand", Build.BRAND);
-      build.put("device", Build.DEVICE);
-      build.put("display", Build.DISPLAY);
-      build.put("fingerprint", Build.FINGERPRINT);
-      build.put("hardware", Build.HARDWARE);
-      build.put("host", Build.HOST);
-      build.put("id", Build.ID);
-      build.put("manufacturer", Build.MANUFACTURER);
-      build.put("model", Build.MODEL);
-      build.put("product", Build.PRODUCT);
-      if (VERSION.SDK_INT >= VERSION_CODES.LOLLIPOP) {
-        build.put("supported32BitAbis", Arrays.asList(Build.SUPPORTED_32_BIT_ABIS));
-        build.put("supported64BitAbis", Arrays.asList(Build.SUPPORTED_64_BIT_ABIS));
-        build.put("supportedAbis", Arrays.asList(Build.SUPPORTED_ABIS));
-      } else {
-        build.put("supported32BitAbis", Arrays.asList(EMPTY_STRING_LIST));
-        build.put("supported64BitAbis", Arrays.asList(EMPTY_STRING_LIST));
-        build.put("supportedAbis", Arrays.asList(EMPTY_STRING_LIST));
-      }
-      build.put("tags", Build.TAGS);
-      build.put("type", Build.TYPE);
-      build.put("isPhysicalDevice", !isEmulator());
-
-      Map<String, Object> version = new HashMap<>();
-      if (VERSION.SDK_INT >= VERSION_CODES.M) {
-        version.put("baseOS", VERSION.BASE_OS);
-        version.put("previewSdkInt", VERSION.PREVIEW_SDK_INT);
-        version.put("securityPatch", VERSION.SECURITY_PATCH);
-      }
-      version.put("codename", VERSION.CODENAME);
-      version.put("incremental", VERSION.INCREMENTAL);
-      version.put("release", VERSION.RELEASE);
-      version.put("sdkInt", VERSION.SDK_INT);
-      build.put("version", version);
-
-      result.success(build);
+      DeviceInfoSnapshot.get(context).replyWithDeviceInfo(result);
+    } else if (call.method.equals("getAndroidEnvironment")) {
+      DeviceInfoSnapshot.get(context).replyWithEnvironment(result);
     } else {
       result.notImplemented();
     }
   }
 
+  /** Reads the device information from {@link Build}. */
+  static Map<String, Object> readDeviceInfo() {
+    Map<String, Object> build = new HashMap<>();
+    build.put("board", Build.BOARD);
+    build.put("bootloader", Build.BOOTLOADER);
+    build.put("brand", Build.BRAND);
+    build.put("device", Build.DEVICE);
+    build.put("display", Build.DISPLAY);
+    build.put("fingerprint", Build.FINGERPRINT);
+    build.put("hardware", Build.HARDWARE);
+    build.put("host", Build.HOST);
+    build.put("id", Build.ID);
+    build.put("manufacturer", Build.MANUFACTURER);
+    build.put("model", Build.MODEL);
+    build.put("product", Build.PRODUCT);
+    if (VERSION.SDK_INT >= VERSION_CODES.LOLLIPOP) {
+      build.put("supported32BitAbis", Arrays.asList(Build.SUPPORTED_32_BIT_ABIS));
+      build.put("supported64BitAbis", Arrays.asList(Build.SUPPORTED_64_BIT_ABIS));
+      build.put("supportedAbis", Arrays.asList(Build.SUPPORTED_ABIS));
+    } else {
+      build.put("supported32BitAbis", Arrays.asList(EMPTY_STRING_LIST));
+      build.put("supported64BitAbis", Arrays.asList(EMPTY_STRING_LIST));
+      build.put("supportedAbis", Arrays.asList(EMPTY_STRING_LIST));
+    }
+    build.put("tags", Build.TAGS);
+    build.put("type", Build.TYPE);
+    build.put("isPhysicalDevice", !isEmulator());
+
+    Map<String, Object> version = new HashMap<>();
+    if (VERSION.SDK_INT >= VERSION_CODES.M) {
+      version.put("baseOS", VERSION.BASE_OS);
+      version.put("previewSdkInt", VERSION.PREVIEW_SDK_INT);
+      version.put("securityPatch", VERSION.SECURITY_PATCH);
+    }
+    version.put("codename", VERSION.CODENAME);
+    version.put("incremental", VERSION.INCREMENTAL);
+    version.put("release", VERSION.RELEASE);
+    version.put("sdkInt", VERSION.SDK_INT);
+    build.put("version", version);
+    return build;
+  }
+
   /**
    * A simple emulator-detection based on the flutter tools detection logic and a couple of legacy
    * detection systems
    */
-  private boolean isEmulator() {
+  private static boolean isEmulator() {
     return (Build.BRAND.startsWith("generic") && Build.DEVICE.startsWith("generic"))
         || Build.FINGERPRINT.startsWith("generic")
         || Build.FINGERPRINT.startsWith("unknown")
@@ -0,0 +1,115 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.deviceinfo;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import io.flutter.plugin.common.MethodChannel.Result;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The device information, and the package information of the application, read once per process.
+ *
+ * <p>Reading the package information takes a call to the package manager and loading the
+ * application label, so both are read on a background thread as soon as the plugin is registered.
+ * Requests made before that is done are answered once it is.
+ */
+final class DeviceInfoSnapshot {
+  private static final String TAG = "DeviceInfoPlugin";
+  private static DeviceInfoSnapshot instance;
+
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  // Accessed on the main thread only.
+  private Map<String, Object> deviceInfo;
+  private Map<String, Object> environment;
+  private final List<Result> waitingForDeviceInfo = new ArrayList<>();
+  private final List<Result> waitingForEnvironment = new ArrayList<>();
+
+  /** Returns the snapshot of this process, starting to read it if this is the first call. */
+  static synchronized DeviceInfoSnapshot get(Context context) {
+    if (instance == null) {
+      instance = new DeviceInfoSnapshot();
+      instance.read(context.getApplicationContext());
+    }
+    return instance;
+  }
+
+  private DeviceInfoSnapshot() {}
+
+  /** Answers {@code result} with the device information. Must be called on the main thread. */
+  void replyWithDeviceInfo(Result result) {
+    if (deviceInfo != null) {
+      result.success(deviceInfo);
+    } else {
+      waitingForDeviceInfo.add(result);
+    }
+  }
+
+  /**
+   * Answers {@code result} with both the device information and the package information. Must be
+   * called on the main thread.
+   */
+  void replyWithEnvironment(Result result) {
+    if (environment != null) {
+      result.success(environment);
+    } else {
+      waitingForEnvironment.add(result);
+    }
+  }
+
+  private void read(final Context context) {
+    final Thread thread =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                final Map<String, Object> readDeviceInfo = DeviceInfoPlugin.readDeviceInfo();
+                final Map<String, Object> readEnvironment = new HashMap<>();
+                readEnvironment.put("device", readDeviceInfo);
+                readEnvironment.put("package", readPackageInfo(context));
+                mainHandler.post(
+                    new Runnable() {
+                      @Override
+                      public void run() {
+                        deviceInfo = readDeviceInfo;
+                        environment = readEnvironment;
+                        for (Result result : waitingForDeviceInfo) {
+                          result.success(deviceInfo);
+                        }
+                        waitingForDeviceInfo.clear();
+                        for (Result result : waitingForEnvironment) {
+                          result.success(environment);
+                        }
+                        waitingForEnvironment.clear();
+                      }
+                    });
+              }
+            },
+            "device_info");
+    thread.start();
+  }
+
+  private static Map<String, Object> readPackageInfo(Context context) {
+    Map<String, Object> map = new HashMap<>();
+    try {
+      PackageManager pm = context.getPackageManager();
+      PackageInfo info = pm.getPackageInfo(context.getPackageName(), 0);
+      map.put("appName", info.applicationInfo.loadLabel(pm).toString());
+      map.put("version", info.versionName);
+      map.put("buildNumber", String.valueOf(info.versionCode));
+    } catch (PackageManager.NameNotFoundException e) {
+      Log.w(TAG, "Could not read package information", e);
+    }
+    map.put("packageName", context.getPackageName());
+    return map;
+  }
+}
@@ -24,6 +24,20 @@ class DeviceInfoPlugin {
       _cachedAndroidDeviceInfo ??= AndroidDeviceInfo._fromMap(
           await channel.invokeMethod('getAndroidDeviceInfo'));
 
+  /// This information does not change from call to call. Cache it.
+  AndroidEnvironment _cachedAndroidEnvironment;
+
+  /// The information of [androidInfo] along with the package information of
+  /// the application, retrieved in a single call.
+  Future<AndroidEnvironment> get androidEnvironment async {
+    if (_cachedAndroidEnvironment == null) {
+      _cachedAndroidEnvironment = AndroidEnvironment._fromMap(
+          await channel.invokeMethod('getAndroidEnvironment'));
+      _cachedAndroidDeviceInfo ??= _cachedAndroidEnvironment.deviceInfo;
+    }
+    return _cachedAndroidEnvironment;
+  }
+
   /// This information does not change from call to call. Cache it.
   IosDeviceInfo _cachedIosDeviceInfo;
 
@@ -152,6 +166,45 @@ class AndroidDeviceInfo {
   }
 }
 
+/// Information about the device and the application on Android.
+class AndroidEnvironment {
+  AndroidEnvironment._({
+    this.deviceInfo,
+    this.appName,
+    this.packageName,
+    this.version,
+    this.buildNumber,
+  });
+
+  /// Information derived from `android.os.Build`.
+  final AndroidDeviceInfo deviceInfo;
+
+  /// The label of the application.
+  final String appName;
+
+  /// The package name of the application.
+  final String packageName;
+
+  /// The `versionName` of the application.
+  final String version;
+
+  /// The `versionCode` of the application.
+  final String buildNumber;
+
+  /// Deserializes from the message received from [_kChannel].
+  static AndroidEnvironment _fromMap(dynamic message) {
+    final Map<dynamic, dynamic> map = message;
+    final Map<dynamic, dynamic> package = map['package'];
+    return new AndroidEnvironment._(
+      deviceInfo: AndroidDeviceInfo._fromMap(map['device']),
+      appName: package['appName'],
+      packageName: package['packageName'],
+      version: package['version'],
+      buildNumber: package['buildNumber'],
+    );
+  }
+}
+
 /// Version values of the current Android operating system build derived from
 /// `android.os.Build.VERSION`.
 ///
@@ -0,0 +1,227 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.firebaseadmob;
+
+import android.app.Activity;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import com.google.android.gms.ads.AdListener;
+import com.google.android.gms.ads.InterstitialAd;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Interstitial ads loaded ahead of time, per ad unit, and the load and show metrics of ad units.
+ *
+ * <p>Once an ad unit is configured with a depth, that many interstitials are kept loading or loaded
+ * for it. Loading an interstitial for the ad unit then takes a loaded one from the pool, and a
+ * replacement starts loading right away. Loaded ads are evicted and replaced once they are older
+ * than the validity window of the ad unit, as AdMob doesn't show stale ads. Must only be used on
+ * the main thread.
+ */
+final class AdPreloadPool {
+  private static final String TAG = "flutter";
+  // AdMob ads expire an hour after they were loaded.
+  static final long DEFAULT_VALIDITY_MILLIS = 60 * 60 * 1000;
+  private static final long RETRY_DELAY_MILLIS = 60 * 1000;
+
+  private static final class Config {
+    final Activity activity;
+    final int depth;
+    final Map<String, Object> targetingInfo;
+    final long validityMillis;
+
+    Config(Activity activity, int depth, Map<String, Object> targetingInfo, long validityMillis) {
+      this.activity = activity;
+      this.depth = depth;
+      this.targetingInfo = targetingInfo;
+      this.validityMillis = validityMillis;
+    }
+  }
+
+  private static final class Metrics {
+    int requests;
+    int fills;
+    int failures;
+    int expirations;
+    int poolHits;
+    int poolMisses;
+    int shows;
+    long totalTimeToShowMillis;
+
+    Map<String, Object> toMap() {
+      Map<String, Object> map = new HashMap<String, Object>();
+      map.put("requests", requests);
+      map.put("fills", fills);
+      map.put("failures", failures);
+      map.put("expirations", expirations);
+      map.put("poolHits", poolHits);
+      map.put("poolMisses", poolMisses);
+      map.put("shows", shows);
+      map.put("totalTimeToShowMillis", totalTimeToShowMillis);
+      return map;
+    }
+  }
+
+  private final class PreloadedAd extends AdListener {
+    final String adUnitId;
+    final InterstitialAd interstitial;
+    long loadedAtMillis;
+
+    PreloadedAd(String adUnitId, Config config) {
+      this.adUnitId = adUnitId;
+      interstitial = new InterstitialAd(config.activity);
+      interstitial.setAdUnitId(adUnitId);
+      interstitial.setAdListener(this);
+      AdRequestBuilderFactory factory = new AdRequestBuilderFactory(config.targetingInfo);
+      interstitial.loadAd(factory.createAdRequestBuilder().build());
+      recordRequest(adUnitId);
+    }
+
+    boolean isLoaded() {
+      return loadedAtMillis != 0;
+    }
+
+    @Override
+    public void onAdLoaded() {
+      loadedAtMillis = SystemClock.elapsedRealtime();
+      recordFill(adUnitId);
+      Config config = configs.get(adUnitId);
+      if (config != null) {
+        handler.postDelayed(refillRunnable(adUnitId), config.validityMillis);
+      }
+    }
+
+    @Override
+    public void onAdFailedToLoad(int errorCode) {
+      Log.w(TAG, "preloading failed for ad unit " + adUnitId + ": " + errorCode);
+      recordFailure(adUnitId);
+      Deque<PreloadedAd> pool = pools.get(adUnitId);
+      if (pool != null) pool.remove(this);
+      // Try again later rather than right away, as the ad unit is likely to have no fill.
+      handler.postDelayed(refillRunnable(adUnitId), RETRY_DELAY_MILLIS);
+    }
+  }
+
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Map<String, Config> configs = new HashMap<String, Config>();
+  private final Map<String, Deque<PreloadedAd>> pools = new HashMap<String, Deque<PreloadedAd>>();
+  private final Map<String, Metrics> metrics = new HashMap<String, Metrics>();
+
+  /**
+   * Keeps {@code depth} interstitials of {@code adUnitId} preloaded, each valid for {@code
+   * validityMillis}. A depth of 0 stops preloading the ad unit and drops its preloaded ads.
+   */
+  void configure(
+      Activity activity,
+      String adUnitId,
+      int depth,
+      Map<String, Object> targetingInfo,
+      long validityMillis) {
+    if (depth <= 0) {
+      configs.remove(adUnitId);
+      pools.remove(adUnitId);
+      return;
+    }
+    configs.put(adUnitId, new Config(activity, depth, targetingInfo, validityMillis));
+    refill(adUnitId);
+  }
+
+  /**
+   * Returns a loaded interstitial of {@code adUnitId} that is still valid, or null if there is
+   * none, and starts loading a replacement for it.
+   */
+  InterstitialAd take(String adUnitId) {
+    if (!configs.containsKey(adUnitId)) return null;
+    evictExpired(adUnitId);
+    Deque<PreloadedAd> pool = pools.get(adUnitId);
+    Iterator<PreloadedAd> iterator = pool.iterator();
+    while (iterator.hasNext()) {
+      PreloadedAd ad = iterator.next();
+      if (ad.isLoaded()) {
+        iterator.remove();
+        getMetrics(adUnitId).poolHits++;
+        refill(adUnitId);
+        return ad.interstitial;
+      }
+    }
+    getMetrics(adUnitId).poolMisses++;
+    return null;
+  }
+
+  void recordRequest(String adUnitId) {
+    getMetrics(adUnitId).requests++;
+  }
+
+  void recordFill(String adUnitId) {
+    getMetrics(adUnitId).fills++;
+  }
+
+  void recordFailure(String adUnitId) {
+    getMetrics(adUnitId).failures++;
+  }
+
+  /** Records that an ad of {@code adUnitId} opened {@code timeToShowMillis} after it was shown. */
+  void recordShow(String adUnitId, long timeToShowMillis) {
+    Metrics unitMetrics = getMetrics(adUnitId);
+    unitMetrics.shows++;
+    unitMetrics.totalTimeToShowMillis += timeToShowMillis;
+  }
+
+  Map<String, Object> getMetricsMap(String adUnitId) {
+    return getMetrics(adUnitId).toMap();
+  }
+
+  private Metrics getMetrics(String adUnitId) {
+    Metrics unitMetrics = metrics.get(adUnitId);
+    if (unitMetrics == null) {
+      unitMetrics = new Metrics();
+      metrics.put(adUnitId, unitMetrics);
+    }
+    return unitMetrics;
+  }
+
+  private Runnable refillRunnable(final String adUnitId) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        refill(adUnitId);
+      }
+    };
+  }
+
+  private void refill(String adUnitId) {
+    Config config = configs.get(adUnitId);
+    if (config == null) return;
+    evictExpired(adUnitId);
+    Deque<PreloadedAd> pool = pools.get(adUnitId);
+    while (pool.size() < config.depth) {
+      pool.add(new PreloadedAd(adUnitId, config));
+    }
+  }
+
+  private void evictExpired(String adUnitId) {
+    Config config = configs.get(adUnitId);
+    Deque<PreloadedAd> pool = pools.get(adUnitId);
+    if (pool == null) {
+      pool = new ArrayDeque<PreloadedAd>();
+      pools.put(adUnitId, pool);
+    }
+    long now = SystemClock.elapsedRealtime();
+    Iterator<PreloadedAd> iterator = pool.iterator();
+    while (iterator.hasNext()) {
+      PreloadedAd ad = iterator.next();
+      if (ad.isLoaded() && now - ad.loadedAtMillis >= config.validityMillis) {
+        iterator.remove();
+        getMetrics(adUnitId).expirations++;
+      }
+    }
+  }
+}
@@ -0,0 +1,86 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.firebaseadmob;
+
+import android.os.SystemClock;
+import com.google.android.gms.ads.AdListener;
+import com.google.android.gms.ads.AdSize;
+import com.google.android.gms.ads.AdView;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loaded banner views of disposed banners, kept for banners of the same ad unit and size.
+ *
+ * <p>A banner that is disposed hands its view back here, paused and detached from the view tree,
+ * instead of destroying it. The next banner created for the same ad unit and size then shows that
+ * view and its ad right away, without creating a view or requesting an ad. Views that have shown
+ * the same ad for longer than its validity window are destroyed instead of being reused. Must
+ * only be used on the main thread.
+ */
+final class AdViewPool {
+  private static final int MAX_IDLE_VIEWS_PER_KEY = 2;
+  private static final AdListener NO_LISTENER = new AdListener() {};
+
+  /** A banner view and the time its ad was loaded at. */
+  static final class IdleView {
+    final AdView adView;
+    final long loadedAtMillis;
+
+    private IdleView(AdView adView, long loadedAtMillis) {
+      this.adView = adView;
+      this.loadedAtMillis = loadedAtMillis;
+    }
+  }
+
+  private final Map<String, Deque<IdleView>> idleViews = new HashMap<String, Deque<IdleView>>();
+
+  /**
+   * Returns a loaded view for {@code adUnitId} and {@code adSize}, resumed and with {@code
+   * listener} set, or null if there is none.
+   */
+  IdleView acquire(String adUnitId, AdSize adSize, AdListener listener) {
+    Deque<IdleView> views = idleViews.get(keyOf(adUnitId, adSize));
+    if (views == null) return null;
+    long now = SystemClock.elapsedRealtime();
+    while (!views.isEmpty()) {
+      IdleView view = views.removeLast();
+      if (now - view.loadedAtMillis >= AdPreloadPool.DEFAULT_VALIDITY_MILLIS) {
+        view.adView.destroy();
+        continue;
+      }
+      view.adView.setAdListener(listener);
+      view.adView.resume();
+      return view;
+    }
+    return null;
+  }
+
+  /**
+   * Keeps {@code adView}, which must be detached from its parent, for reuse by a later banner. The
+   * view is destroyed if enough views are kept for its ad unit and size already.
+   */
+  void release(AdView adView, long loadedAtMillis) {
+    String key = keyOf(adView.getAdUnitId(), adView.getAdSize());
+    Deque<IdleView> views = idleViews.get(key);
+    if (views == null) {
+      views = new ArrayDeque<IdleView>();
+      idleViews.put(key, views);
+    }
+    if (views.size() == MAX_IDLE_VIEWS_PER_KEY) {
+      adView.destroy();
+      return;
+    }
+    adView.pause();
+    adView.setAdListener(NO_LISTENER);
+    views.add(new IdleView(adView, loadedAtMillis));
+  }
+
+  private static String keyOf(String adUnitId, AdSize adSize) {
+    return adUnitId + " " + adSize;
+  }
+}
@@ -20,6 +20,8 @@ public class FirebaseAdMobPlugin implements MethodCallHandler {
 
   private final Registrar registrar;
   private final MethodChannel channel;
+  private final AdPreloadPool preloadPool = new AdPreloadPool();
+  private final AdViewPool viewPool = new AdViewPool();
 
   RewardedVideoAdWrapper rewardedWrapper;
 
@@ -33,7 +35,7 @@ public class FirebaseAdMobPlugin implements MethodCallHandler {
     this.registrar = registrar;
     this.channel = channel;
     FirebaseApp.initializeApp(registrar.context());
-    rewardedWrapper = new RewardedVideoAdWrapper(registrar.activity(), channel);
+    rewardedWrapper = new RewardedVideoAdWrapper(registrar.activity(), channel, preloadPool);
   }
 
   private void callInitialize(MethodCall call, Result result) {
@@ -79,7 +81,7 @@ public class FirebaseAdMobPlugin implements MethodCallHandler {
       adSize = new AdSize(width, height);
     }
 
-    MobileAd.Banner banner = MobileAd.createBanner(id, adSize, activity, channel);
+    MobileAd.Banner banner = MobileAd.createBanner(id, adSize, activity, channel, viewPool);
 
     if (banner.status != MobileAd.Status.CREATED) {
       if (banner.status == MobileAd.Status.FAILED)
@@ -137,6 +139,36 @@ public class FirebaseAdMobPlugin implements MethodCallHandler {
     result.success(Boolean.TRUE);
   }
 
+  private void callPreloadInterstitialAds(Activity activity, MethodCall call, Result result) {
+    String adUnitId = call.argument("adUnitId");
+    if (adUnitId == null || adUnitId.isEmpty()) {
+      result.error("no_adunit_id", "a null or empty adUnitId was provided for preloading", null);
+      return;
+    }
+    int depth = call.argument("depth");
+    Map<String, Object> targetingInfo = call.argument("targetingInfo");
+    preloadPool.configure(activity, adUnitId, depth, targetingInfo, getValidityMillis(call));
+    result.success(Boolean.TRUE);
+  }
+
+  private void callPreloadRewardedVideoAd(MethodCall call, Result result) {
+    String adUnitId = call.argument("adUnitId");
+    if (adUnitId != null && adUnitId.isEmpty()) {
+      result.error("no_ad_unit_id", "an empty adUnitId was provided for rewarded video", null);
+      return;
+    }
+    Map<String, Object> targetingInfo = call.argument("targetingInfo");
+    rewardedWrapper.preload(adUnitId, targetingInfo, getValidityMillis(call));
+    result.success(Boolean.TRUE);
+  }
+
+  private static long getValidityMillis(MethodCall call) {
+    Number validityMillis = call.argument("validityMillis");
+    return validityMillis != null
+        ? validityMillis.longValue()
+        : AdPreloadPool.DEFAULT_VALIDITY_MILLIS;
+  }
+
   private void callShowAd(int id, MethodCall call, Result result) {
     MobileAd ad = MobileAd.getAdForId(id);
     if (ad == null) {
@@ -154,6 +186,17 @@ public class FirebaseAdMobPlugin implements MethodCallHandler {
     result.success(Boolean.TRUE);
   }
 
+  private void callRefreshBannerAd(int id, MethodCall call, Result result) {
+    MobileAd ad = MobileAd.getAdForId(id);
+    if (!(ad instanceof MobileAd.Banner)) {
+      result.error("no_banner_for_id", "refresh failed, no banner exists for id=" + id, null);
+      return;
+    }
+    Map<String, Object> targetingInfo = call.argument("targetingInfo");
+    ((MobileAd.Banner) ad).refresh(targetingInfo);
+    result.success(Boolean.TRUE);
+  }
+
   private void callShowRewardedVideoAd(MethodCall call, Result result) {
     if (rewardedWrapper.getStatus() == RewardedVideoAdWrapper.Status.LOADED) {
       rewardedWrapper.show();
@@ -194,7 +237,17 @@ public class FirebaseAdMobPlugin implements MethodCallHandler {
         callLoadBannerAd(id, activity, channel, call, result);
         break;
       case "loadInterstitialAd":
-        callLoadInterstitialAd(MobileAd.createInterstitial(id, activity, channel), call, result);
+        callLoadInterstitialAd(
+            MobileAd.createInterstitial(id, activity, channel, preloadPool), call, result);
+        break;
+      case "preloadInterstitialAds":
+        callPreloadInterstitialAds(activity, call, result);
+        break;
+      case "preloadRewardedVideoAd":
+        callPreloadRewardedVideoAd(call, result);
+        break;
+      case "getAdUnitMetrics":
+        result.success(preloadPool.getMetricsMap((String) call.argument("adUnitId")));
         break;
       case "loadRewardedVideoAd":
         callLoadRewardedVideoAd(call, result);
@@ -202,6 +255,9 @@ public class FirebaseAdMobPlugin implements MethodCallHandler {
       case "showAd":
         callShowAd(id, call, result);
         break;
+      case "refreshBannerAd":
+        callRefreshBannerAd(id, call, result);
+        break;
       case "showRewardedVideoAd":
         callShowRewardedVideoAd(call, result);
         break;
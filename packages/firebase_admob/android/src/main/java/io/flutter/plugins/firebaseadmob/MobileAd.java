@@ -5,10 +5,10 @@
 package io.flutter.plugins.firebaseadmob;
 
 import android.app.Activity;
+import android.os.SystemClock;
 import android.util.Log;
 import android.util.SparseArray;
 import android.view.Gravity;
-import android.view.View;
 import android.view.ViewGroup;
 import android.widget.LinearLayout;
 import com.google.android.gms.ads.AdListener;
@@ -48,14 +48,16 @@ abstract class MobileAd extends AdListener {
     allAds.put(id, this);
   }
 
-  static Banner createBanner(Integer id, AdSize adSize, Activity activity, MethodChannel channel) {
+  static Banner createBanner(
+      Integer id, AdSize adSize, Activity activity, MethodChannel channel, AdViewPool viewPool) {
     MobileAd ad = getAdForId(id);
-    return (ad != null) ? (Banner) ad : new Banner(id, adSize, activity, channel);
+    return (ad != null) ? (Banner) ad : new Banner(id, adSize, activity, channel, viewPool);
   }
 
-  static Interstitial createInterstitial(Integer id, Activity activity, MethodChannel channel) {
+  static Interstitial createInterstitial(
+      Integer id, Activity activity, MethodChannel channel, AdPreloadPool preloadPool) {
     MobileAd ad = getAdForId(id);
-    return (ad != null) ? (Interstitial) ad : new Interstitial(id, activity, channel);
+    return (ad != null) ? (Interstitial) ad : new Interstitial(id, activity, channel, preloadPool);
   }
 
   static MobileAd getAdForId(Integer id) {
@@ -122,12 +124,17 @@ abstract class MobileAd extends AdListener {
   }
 
   static class Banner extends MobileAd {
+    private final AdViewPool viewPool;
     private AdView adView;
     private AdSize adSize;
+    private LinearLayout content;
+    private long loadedAtMillis;
 
-    private Banner(Integer id, AdSize adSize, Activity activity, MethodChannel channel) {
+    private Banner(
+        Integer id, AdSize adSize, Activity activity, MethodChannel channel, AdViewPool viewPool) {
       super(id, activity, channel);
       this.adSize = adSize;
+      this.viewPool = viewPool;
     }
 
     @Override
@@ -135,6 +142,14 @@ abstract class MobileAd extends AdListener {
       if (status != Status.CREATED) return;
       status = Status.LOADING;
 
+      AdViewPool.IdleView idleView = viewPool.acquire(adUnitId, adSize, this);
+      if (idleView != null) {
+        adView = idleView.adView;
+        loadedAtMillis = idleView.loadedAtMillis;
+        super.onAdLoaded();
+        return;
+      }
+
       adView = new AdView(activity);
       adView.setAdSize(adSize);
       adView.setAdUnitId(adUnitId);
@@ -144,6 +159,23 @@ abstract class MobileAd extends AdListener {
       adView.loadAd(factory.createAdRequestBuilder().build());
     }
 
+    /**
+     * Requests a new ad for the existing view, which keeps showing the current ad until the new
+     * one has loaded.
+     */
+    void refresh(Map<String, Object> targetingInfo) {
+      if (adView == null) return;
+      if (status == Status.FAILED) status = Status.LOADING;
+      AdRequestBuilderFactory factory = new AdRequestBuilderFactory(targetingInfo);
+      adView.loadAd(factory.createAdRequestBuilder().build());
+    }
+
+    @Override
+    public void onAdLoaded() {
+      loadedAtMillis = SystemClock.elapsedRealtime();
+      super.onAdLoaded();
+    }
+
     @Override
     void show() {
       if (status == Status.LOADING) {
@@ -152,20 +184,22 @@ abstract class MobileAd extends AdListener {
       }
       if (status != Status.LOADED) return;
 
-      if (activity.findViewById(id) == null) {
-        LinearLayout content = new LinearLayout(activity);
+      if (content == null) {
+        content = new LinearLayout(activity);
         content.setId(id);
         content.setOrientation(LinearLayout.VERTICAL);
-        content.setGravity(anchorType);
         content.addView(adView);
-        final float scale = activity.getResources().getDisplayMetrics().density;
-
-        if (anchorType == Gravity.BOTTOM) {
-          content.setPadding(0, 0, 0, (int) (anchorOffset * scale));
-        } else {
-          content.setPadding(0, (int) (anchorOffset * scale), 0, 0);
-        }
+      }
+      content.setGravity(anchorType);
+      final float scale = activity.getResources().getDisplayMetrics().density;
+      if (anchorType == Gravity.BOTTOM) {
+        content.setPadding(0, 0, 0, (int) (anchorOffset * scale));
+      } else {
+        content.setPadding(0, (int) (anchorOffset * scale), 0, 0);
+      }
 
+      // Showing a banner that is already shown only moves it.
+      if (content.getParent() == null) {
         activity.addContentView(
             content,
             new ViewGroup.LayoutParams(
@@ -176,27 +210,49 @@ abstract class MobileAd extends AdListener {
     @Override
     void dispose() {
       super.dispose();
+      if (adView == null) return;
 
-      View contentView = activity.findViewById(id);
-      if (contentView == null || !(contentView.getParent() instanceof ViewGroup)) return;
-
-      adView.destroy();
+      if (content != null) {
+        if (content.getParent() instanceof ViewGroup) {
+          ((ViewGroup) content.getParent()).removeView(content);
+        }
+        content.removeView(adView);
+        content = null;
+      }
 
-      ViewGroup contentParent = (ViewGroup) (contentView.getParent());
-      contentParent.removeView(contentView);
+      // Keep the view and its ad for the next banner of the same ad unit and size.
+      if (status == Status.LOADED) {
+        viewPool.release(adView, loadedAtMillis);
+      } else {
+        adView.destroy();
+      }
+      adView = null;
     }
   }
 
   static class Interstitial extends MobileAd {
+    private final AdPreloadPool preloadPool;
     private InterstitialAd interstitial = null;
+    private String adUnitId;
+    private long showRequestedAtMillis;
 
-    private Interstitial(int id, Activity activity, MethodChannel channel) {
+    private Interstitial(
+        int id, Activity activity, MethodChannel channel, AdPreloadPool preloadPool) {
       super(id, activity, channel);
+      this.preloadPool = preloadPool;
     }
 
     @Override
     void load(String adUnitId, Map<String, Object> targetingInfo) {
       status = Status.LOADING;
+      this.adUnitId = adUnitId;
+
+      interstitial = preloadPool.take(adUnitId);
+      if (interstitial != null) {
+        interstitial.setAdListener(this);
+        super.onAdLoaded();
+        return;
+      }
 
       interstitial = new InterstitialAd(activity);
       interstitial.setAdUnitId(adUnitId);
@@ -204,10 +260,12 @@ abstract class MobileAd extends AdListener {
       interstitial.setAdListener(this);
       AdRequestBuilderFactory factory = new AdRequestBuilderFactory(targetingInfo);
       interstitial.loadAd(factory.createAdRequestBuilder().build());
+      preloadPool.recordRequest(adUnitId);
     }
 
     @Override
     void show() {
+      if (showRequestedAtMillis == 0) showRequestedAtMillis = SystemClock.elapsedRealtime();
       if (status == Status.LOADING) {
         status = Status.PENDING;
         return;
@@ -215,6 +273,27 @@ abstract class MobileAd extends AdListener {
       interstitial.show();
     }
 
+    @Override
+    public void onAdLoaded() {
+      preloadPool.recordFill(adUnitId);
+      super.onAdLoaded();
+    }
+
+    @Override
+    public void onAdFailedToLoad(int errorCode) {
+      preloadPool.recordFailure(adUnitId);
+      super.onAdFailedToLoad(errorCode);
+    }
+
+    @Override
+    public void onAdOpened() {
+      if (showRequestedAtMillis != 0) {
+        preloadPool.recordShow(adUnitId, SystemClock.elapsedRealtime() - showRequestedAtMillis);
+        showRequestedAtMillis = 0;
+      }
+      super.onAdOpened();
+    }
+
     // It is not possible to hide/remove/destroy an AdMob interstitial Ad.
   }
 }
@@ -5,6 +5,9 @@
 package io.flutter.plugins.firebaseadmob;
 
 import android.app.Activity;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
 import com.google.android.gms.ads.MobileAds;
 import com.google.android.gms.ads.reward.RewardItem;
@@ -14,22 +17,54 @@ import io.flutter.plugin.common.MethodChannel;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Wraps the rewarded video ad singleton of the AdMob SDK.
+ *
+ * <p>As the SDK loads only one rewarded video ad at a time, preloading keeps that one ad loaded
+ * rather than a pool of them: once preloading is enabled, the ad is reloaded after it was shown,
+ * after it failed to load, and once it is older than the validity window.
+ */
 public class RewardedVideoAdWrapper implements RewardedVideoAdListener {
   private static final String TAG = "flutter";
+  private static final long RETRY_DELAY_MILLIS = 60 * 1000;
 
   final RewardedVideoAd rewardedInstance;
   final Activity activity;
   final MethodChannel channel;
+  final AdPreloadPool preloadPool;
   Status status;
 
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable reloadRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          if (preloadAdUnitId != null && status != Status.LOADING) {
+            load(preloadAdUnitId, preloadTargetingInfo);
+          }
+        }
+      };
+  private String adUnitId;
+  private String preloadAdUnitId;
+  private Map<String, Object> preloadTargetingInfo;
+  private long validityMillis = AdPreloadPool.DEFAULT_VALIDITY_MILLIS;
+  private long showRequestedAtMillis;
+
   @Override
   public void onRewardedVideoAdLoaded() {
     status = Status.LOADED;
+    preloadPool.recordFill(adUnitId);
+    if (preloadAdUnitId != null) handler.postDelayed(reloadRunnable, validityMillis);
     channel.invokeMethod("onRewardedVideoAdLoaded", argumentsMap());
   }
 
   @Override
   public void onRewardedVideoAdOpened() {
+    handler.removeCallbacks(reloadRunnable);
+    if (showRequestedAtMillis != 0) {
+      preloadPool.recordShow(adUnitId, SystemClock.elapsedRealtime() - showRequestedAtMillis);
+      showRequestedAtMillis = 0;
+    }
     channel.invokeMethod("onRewardedVideoAdOpened", argumentsMap());
   }
 
@@ -42,6 +77,7 @@ public class RewardedVideoAdWrapper implements RewardedVideoAdListener {
   public void onRewardedVideoAdClosed() {
     this.status = Status.CREATED;
     channel.invokeMethod("onRewardedVideoAdClosed", argumentsMap());
+    if (preloadAdUnitId != null) load(preloadAdUnitId, preloadTargetingInfo);
   }
 
   @Override
@@ -65,6 +101,8 @@ public class RewardedVideoAdWrapper implements RewardedVideoAdListener {
   public void onRewardedVideoAdFailedToLoad(int errorCode) {
     Log.w(TAG, "onRewardedVideoAdFailedToLoad: " + errorCode);
     status = Status.FAILED;
+    preloadPool.recordFailure(adUnitId);
+    if (preloadAdUnitId != null) handler.postDelayed(reloadRunnable, RETRY_DELAY_MILLIS);
     channel.invokeMethod("onRewardedVideoAdFailedToLoad", argumentsMap("errorCode", errorCode));
   }
 
@@ -75,9 +113,11 @@ public class RewardedVideoAdWrapper implements RewardedVideoAdListener {
     LOADED
   }
 
-  public RewardedVideoAdWrapper(Activity activity, MethodChannel channel) {
+  public RewardedVideoAdWrapper(
+      Activity activity, MethodChannel channel, AdPreloadPool preloadPool) {
     this.activity = activity;
     this.channel = channel;
+    this.preloadPool = preloadPool;
     this.status = Status.CREATED;
     this.rewardedInstance = MobileAds.getRewardedVideoAdInstance(activity);
     this.rewardedInstance.setRewardedVideoAdListener(this);
@@ -88,13 +128,34 @@ public class RewardedVideoAdWrapper implements RewardedVideoAdListener {
   }
 
   public void load(String adUnitId, Map<String, Object> targetingInfo) {
+    handler.removeCallbacks(reloadRunnable);
     status = Status.LOADING;
+    this.adUnitId = adUnitId;
     AdRequestBuilderFactory factory = new AdRequestBuilderFactory(targetingInfo);
     rewardedInstance.loadAd(adUnitId, factory.createAdRequestBuilder().build());
+    preloadPool.recordRequest(adUnitId);
+  }
+
+  /**
+   * Keeps an ad of {@code adUnitId} loaded, each valid for {@code validityMillis}, or stops doing
+   * so if {@code adUnitId} is null.
+   */
+  void preload(String adUnitId, Map<String, Object> targetingInfo, long validityMillis) {
+    handler.removeCallbacks(reloadRunnable);
+    preloadAdUnitId = adUnitId;
+    preloadTargetingInfo = targetingInfo;
+    this.validityMillis = validityMillis;
+    if (adUnitId == null) return;
+    if (status == Status.LOADED && adUnitId.equals(this.adUnitId)) {
+      handler.postDelayed(reloadRunnable, validityMillis);
+    } else if (status != Status.LOADING) {
+      load(adUnitId, targetingInfo);
+    }
   }
 
   public void show() {
     if (rewardedInstance.isLoaded()) {
+      showRequestedAtMillis = SystemClock.elapsedRealtime();
       rewardedInstance.show();
     }
   }
@@ -27,6 +27,7 @@ typedef enum : NSUInteger {
 + (instancetype)withId:(NSNumber *)mobileAdId
                 adSize:(GADAdSize)adSize
                channel:(FlutterMethodChannel *)channel;
+- (void)refreshWithTargetingInfo:(NSDictionary *)targetingInfo;
 @end
 
 @interface FLTInterstitialAd : FLTMobileAd<GADInterstitialDelegate>
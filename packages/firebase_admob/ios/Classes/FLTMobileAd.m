@@ -130,6 +130,13 @@ GADAdSize _adSize;
   [_banner loadRequest:[factory createRequest]];
 }
 
+- (void)refreshWithTargetingInfo:(NSDictionary *)targetingInfo {
+  if (_banner == nil) return;
+  if (_status == FAILED) _status = LOADING;
+  FLTRequestFactory *factory = [[FLTRequestFactory alloc] initWithTargetingInfo:targetingInfo];
+  [_banner loadRequest:[factory createRequest]];
+}
+
 - (void)show {
   if (_status == LOADING) {
     _status = PENDING;
@@ -210,6 +210,21 @@
   result([NSNumber numberWithBool:YES]);
 }
 
+- (void)callRefreshBannerAd:(NSNumber *)mobileAdId
+                      call:(FlutterMethodCall *)call
+                    result:(FlutterResult)result {
+  FLTMobileAd *ad = [FLTMobileAd getAdForId:mobileAdId];
+  if (![ad isKindOfClass:[FLTBannerAd class]]) {
+    NSString *message = [NSString
+        stringWithFormat:@"refresh failed, no banner exists for id=%d", mobileAdId.intValue];
+    result([FlutterError errorWithCode:@"no_banner_for_id" message:message details:nil]);
+    return;
+  }
+
+  [(FLTBannerAd *)ad refreshWithTargetingInfo:call.arguments[@"targetingInfo"]];
+  result([NSNumber numberWithBool:YES]);
+}
+
 - (void)callShowRewardedVideoAd:(FlutterMethodCall *)call result:(FlutterResult)result {
   if (self.rewardedWrapper.status != FLTRewardedVideoAdStatusLoaded) {
     result([FlutterError errorWithCode:@"ad_not_loaded"
@@ -252,6 +267,18 @@
     return;
   }
 
+  // Preloading is only implemented on Android.
+  if ([call.method isEqualToString:@"preloadInterstitialAds"] ||
+      [call.method isEqualToString:@"preloadRewardedVideoAd"]) {
+    result([NSNumber numberWithBool:NO]);
+    return;
+  }
+
+  if ([call.method isEqualToString:@"getAdUnitMetrics"]) {
+    result(nil);
+    return;
+  }
+
   NSNumber *mobileAdId = (NSNumber *)call.arguments[@"id"];
   if (mobileAdId == nil) {
     NSString *message =
@@ -270,6 +297,8 @@
                           result:result];
   } else if ([call.method isEqualToString:@"showAd"]) {
     [self callShowAd:mobileAdId call:call result:result];
+  } else if ([call.method isEqualToString:@"refreshBannerAd"]) {
+    [self callRefreshBannerAd:mobileAdId call:call result:result];
   } else if ([call.method isEqualToString:@"disposeAd"]) {
     [self callDisposeAd:mobileAdId call:call result:result];
   } else {
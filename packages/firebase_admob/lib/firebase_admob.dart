@@ -220,6 +220,10 @@ abstract class MobileAd {
   ///
   /// Disposing a banner ad that's been shown removes it from the screen.
   /// Interstitial ads can't be programmatically removed from view.
+  ///
+  /// On Android, the loaded ad of a disposed banner is kept for a while, and
+  /// shown by the next banner created with the same ad unit and size without
+  /// requesting a new ad.
   Future<bool> dispose() {
     assert(_allAds[id] != null);
     _allAds[id] = null;
@@ -261,6 +265,18 @@ class BannerAd extends MobileAd {
       'adSizeType': size.adSizeType.toString(),
     });
   }
+
+  /// Requests a new ad for this banner, in place.
+  ///
+  /// The banner keeps showing its current ad until the new one has loaded,
+  /// which is reported as [MobileAdEvent.loaded]. The new ad is requested with
+  /// [targetingInfo] if given, or else the [targetingInfo] of this banner.
+  Future<bool> refresh({MobileAdTargetingInfo targetingInfo}) {
+    return _invokeBooleanMethod("refreshBannerAd", <String, dynamic>{
+      'id': id,
+      'targetingInfo': (targetingInfo ?? this.targetingInfo)?.toJson(),
+    });
+  }
 }
 
 /// A full-screen interstitial ad for the [FirebaseAdMobPlugin].
@@ -292,6 +308,36 @@ class InterstitialAd extends MobileAd {
       'targetingInfo': targetingInfo?.toJson(),
     });
   }
+
+  /// Keeps [depth] interstitials of [adUnitId] loaded ahead of time.
+  ///
+  /// Interstitials created for [adUnitId] then take an ad that has already
+  /// been loaded, so that they are [MobileAdEvent.loaded] right away and can
+  /// be shown without waiting for the network. Each ad taken from the pool is
+  /// replaced in the background. Preloaded ads older than [validity] (one hour
+  /// by default) are discarded and replaced, as AdMob doesn't show stale ads.
+  ///
+  /// A [depth] of 0 stops preloading [adUnitId].
+  ///
+  /// Preloading is only supported on Android, and completes with false on iOS.
+  static Future<bool> preload({
+    @required String adUnitId,
+    int depth: 1,
+    MobileAdTargetingInfo targetingInfo,
+    Duration validity,
+  }) {
+    assert(adUnitId != null && adUnitId.isNotEmpty);
+    assert(depth != null && depth >= 0);
+    final Map<String, dynamic> arguments = <String, dynamic>{
+      'adUnitId': adUnitId,
+      'depth': depth,
+      'targetingInfo': targetingInfo?.toJson(),
+    };
+    if (validity != null) {
+      arguments['validityMillis'] = validity.inMilliseconds;
+    }
+    return _invokeBooleanMethod("preloadInterstitialAds", arguments);
+  }
 }
 
 /// [RewardedVideoAd] status changes reported to [RewardedVideoAdListener]s.
@@ -383,6 +429,92 @@ class RewardedVideoAd {
       'targetingInfo': targetingInfo?.toJson(),
     });
   }
+
+  /// Keeps a rewarded video ad of [adUnitId] loaded until [stopPreloading].
+  ///
+  /// The ad is loaded now if needed, and loaded again after it has been
+  /// shown, after it failed to load, and once it is older than [validity]
+  /// (one hour by default). Only one rewarded video ad can be loaded at a
+  /// time, so there is no depth to configure.
+  ///
+  /// Preloading is only supported on Android, and completes with false on iOS.
+  Future<bool> preload({
+    @required String adUnitId,
+    MobileAdTargetingInfo targetingInfo,
+    Duration validity,
+  }) {
+    assert(adUnitId != null && adUnitId.isNotEmpty);
+    final Map<String, dynamic> arguments = <String, dynamic>{
+      'adUnitId': adUnitId,
+      'targetingInfo': targetingInfo?.toJson(),
+    };
+    if (validity != null) {
+      arguments['validityMillis'] = validity.inMilliseconds;
+    }
+    return _invokeBooleanMethod("preloadRewardedVideoAd", arguments);
+  }
+
+  /// Stops keeping a rewarded video ad loaded, as started by [preload].
+  Future<bool> stopPreloading() {
+    return _invokeBooleanMethod(
+        "preloadRewardedVideoAd", <String, dynamic>{'adUnitId': null});
+  }
+}
+
+/// Load and show statistics of an ad unit, since the application started.
+///
+/// See [FirebaseAdMob.getAdUnitMetrics].
+class AdUnitMetrics {
+  AdUnitMetrics._(Map<dynamic, dynamic> data)
+      : requests = data['requests'],
+        fills = data['fills'],
+        failures = data['failures'],
+        expirations = data['expirations'],
+        poolHits = data['poolHits'],
+        poolMisses = data['poolMisses'],
+        shows = data['shows'],
+        totalTimeToShow =
+            new Duration(milliseconds: data['totalTimeToShowMillis']);
+
+  /// The number of ad requests made, including those made for preloading.
+  final int requests;
+
+  /// The number of ad requests that returned an ad.
+  final int fills;
+
+  /// The number of ad requests that failed.
+  final int failures;
+
+  /// The number of preloaded ads discarded for being older than their
+  /// validity window.
+  final int expirations;
+
+  /// The number of ads that were taken from the preload pool when loaded.
+  final int poolHits;
+
+  /// The number of ads loaded from the network while the ad unit was
+  /// preloaded, because no preloaded ad was ready.
+  final int poolMisses;
+
+  /// The number of ads shown.
+  final int shows;
+
+  /// The total time from calls to show to the ads being opened.
+  final Duration totalTimeToShow;
+
+  /// The ratio of ad requests that returned an ad, or null without requests.
+  double get fillRate => requests == 0 ? null : fills / requests;
+
+  /// The average time from a call to show to the ad being opened, or null if
+  /// no ad was shown.
+  Duration get averageTimeToShow =>
+      shows == 0 ? null : totalTimeToShow ~/ shows;
+
+  @override
+  String toString() => '$runtimeType(requests: $requests, fills: $fills, '
+      'failures: $failures, expirations: $expirations, poolHits: $poolHits, '
+      'poolMisses: $poolMisses, shows: $shows, '
+      'totalTimeToShow: $totalTimeToShow)';
 }
 
 /// Support for Google AdMob mobile ads.
@@ -466,6 +598,19 @@ class FirebaseAdMob {
     });
   }
 
+  /// Returns the load and show statistics of [adUnitId].
+  ///
+  /// Metrics are only collected on Android, and this completes with null on
+  /// iOS.
+  Future<AdUnitMetrics> getAdUnitMetrics(String adUnitId) async {
+    assert(adUnitId != null && adUnitId.isNotEmpty);
+    final Map<dynamic, dynamic> data = await _channel.invokeMethod(
+      'getAdUnitMetrics',
+      <String, dynamic>{'adUnitId': adUnitId},
+    );
+    return data == null ? null : new AdUnitMetrics._(data);
+  }
+
   Future<dynamic> _handleMethod(MethodCall call) {
     assert(call.arguments is Map);
     final Map<dynamic, dynamic> argumentsMap = call.arguments;
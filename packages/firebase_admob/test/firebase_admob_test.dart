@@ -27,7 +27,21 @@ void main() {
           case 'showAd':
           case 'showRewardedVideoAd':
           case 'disposeAd':
+          case 'refreshBannerAd':
+          case 'preloadInterstitialAds':
+          case 'preloadRewardedVideoAd':
             return new Future<bool>.value(true);
+          case 'getAdUnitMetrics':
+            return <String, dynamic>{
+              'requests': 4,
+              'fills': 3,
+              'failures': 1,
+              'expirations': 0,
+              'poolHits': 2,
+              'poolMisses': 1,
+              'shows': 2,
+              'totalTimeToShowMillis': 300,
+            };
           default:
             assert(false);
         }
@@ -80,6 +94,41 @@ void main() {
       ]);
     });
 
+    test('refresh banner', () async {
+      log.clear();
+
+      final BannerAd banner = new BannerAd(
+        adUnitId: BannerAd.testAdUnitId,
+        size: AdSize.banner,
+      );
+      final int id = banner.id;
+
+      expect(await banner.refresh(), true);
+      expect(
+          await banner.refresh(
+              targetingInfo:
+                  const MobileAdTargetingInfo(keywords: <String>['flutter'])),
+          true);
+      expect(await banner.dispose(), true);
+
+      expect(log, <Matcher>[
+        isMethodCall('refreshBannerAd', arguments: <String, dynamic>{
+          'id': id,
+          'targetingInfo': <String, String>{'requestAgent': 'flutter-alpha'},
+        }),
+        isMethodCall('refreshBannerAd', arguments: <String, dynamic>{
+          'id': id,
+          'targetingInfo': <String, dynamic>{
+            'requestAgent': 'flutter-alpha',
+            'keywords': <String>['flutter'],
+          },
+        }),
+        isMethodCall('disposeAd', arguments: <String, dynamic>{
+          'id': id,
+        }),
+      ]);
+    });
+
     test('interstitial', () async {
       log.clear();
 
@@ -131,5 +180,75 @@ void main() {
         isMethodCall('showRewardedVideoAd', arguments: null),
       ]);
     });
+
+    test('preload interstitials', () async {
+      log.clear();
+
+      expect(
+          await InterstitialAd.preload(
+            adUnitId: InterstitialAd.testAdUnitId,
+            depth: 2,
+            validity: const Duration(minutes: 30),
+          ),
+          true);
+      expect(
+          await InterstitialAd.preload(
+              adUnitId: InterstitialAd.testAdUnitId, depth: 0),
+          true);
+
+      expect(log, <Matcher>[
+        isMethodCall('preloadInterstitialAds', arguments: <String, dynamic>{
+          'adUnitId': InterstitialAd.testAdUnitId,
+          'depth': 2,
+          'targetingInfo': null,
+          'validityMillis': 1800000,
+        }),
+        isMethodCall('preloadInterstitialAds', arguments: <String, dynamic>{
+          'adUnitId': InterstitialAd.testAdUnitId,
+          'depth': 0,
+          'targetingInfo': null,
+        }),
+      ]);
+    });
+
+    test('preload rewarded', () async {
+      log.clear();
+
+      expect(
+          await RewardedVideoAd.instance.preload(
+              adUnitId: RewardedVideoAd.testAdUnitId,
+              targetingInfo: const MobileAdTargetingInfo()),
+          true);
+      expect(await RewardedVideoAd.instance.stopPreloading(), true);
+
+      expect(log, <Matcher>[
+        isMethodCall('preloadRewardedVideoAd', arguments: <String, dynamic>{
+          'adUnitId': RewardedVideoAd.testAdUnitId,
+          'targetingInfo': <String, String>{'requestAgent': 'flutter-alpha'},
+        }),
+        isMethodCall('preloadRewardedVideoAd', arguments: <String, dynamic>{
+          'adUnitId': null,
+        }),
+      ]);
+    });
+
+    test('getAdUnitMetrics', () async {
+      log.clear();
+
+      final AdUnitMetrics metrics =
+          await admob.getAdUnitMetrics(InterstitialAd.testAdUnitId);
+
+      expect(log, <Matcher>[
+        isMethodCall('getAdUnitMetrics', arguments: <String, dynamic>{
+          'adUnitId': InterstitialAd.testAdUnitId,
+        }),
+      ]);
+      expect(metrics.requests, 4);
+      expect(metrics.fills, 3);
+      expect(metrics.poolHits, 2);
+      expect(metrics.poolMisses, 1);
+      expect(metrics.fillRate, 0.75);
+      expect(metrics.averageTimeToShow, const Duration(milliseconds: 150));
+    });
   });
 }
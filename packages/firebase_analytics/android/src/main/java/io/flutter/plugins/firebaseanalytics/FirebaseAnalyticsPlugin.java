@@ -6,6 +6,9 @@ package io.flutter.plugins.firebaseanalytics;
 
 import android.app.Activity;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.analytics.FirebaseAnalytics;
 import io.flutter.plugin.common.MethodCall;
@@ -13,12 +16,35 @@ import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
 import io.flutter.plugin.common.MethodChannel.Result;
 import io.flutter.plugin.common.PluginRegistry;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
-/** Flutter plugin for Firebase Analytics. */
+/**
+ * Flutter plugin for Firebase Analytics.
+ *
+ * <p>Events are converted and logged on a background thread, one batch after the other, so that
+ * bursts of events don't hold up the main thread. Calls are answered once their events are logged.
+ * Changes to the user and screen that events are attributed to are made in order with the events.
+ */
 public class FirebaseAnalyticsPlugin implements MethodCallHandler {
+  private static final String TAG = "FirebaseAnalytics";
+
   private final PluginRegistry.Registrar registrar;
   private final FirebaseAnalytics firebaseAnalytics;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final Executor eventExecutor =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+              return new Thread(runnable, "firebase_analytics-events");
+            }
+          });
 
   public static void registerWith(PluginRegistry.Registrar registrar) {
     final MethodChannel channel =
@@ -38,6 +64,9 @@ public class FirebaseAnalyticsPlugin implements MethodCallHandler {
       case "logEvent":
         handleLogEvent(call, result);
         break;
+      case "logEvents":
+        handleLogEvents(call, result);
+        break;
       case "setUserId":
         handleSetUserId(call, result);
         break;
@@ -65,24 +94,97 @@ public class FirebaseAnalyticsPlugin implements MethodCallHandler {
   private void handleLogEvent(MethodCall call, Result result) {
     @SuppressWarnings("unchecked")
     Map<String, Object> arguments = (Map<String, Object>) call.arguments;
-    final String eventName = (String) arguments.get("name");
+    final List<Object> events = new ArrayList<>(2);
+    events.add(arguments.get("name"));
+    events.add(arguments.get("parameters"));
+    logEvents(events, result);
+  }
 
+  private void handleLogEvents(MethodCall call, Result result) {
     @SuppressWarnings("unchecked")
-    final Bundle parameterBundle =
-        createBundleFromMap((Map<String, Object>) arguments.get("parameters"));
-    firebaseAnalytics.logEvent(eventName, parameterBundle);
-    result.success(null);
+    final List<Object> events = (List<Object>) call.arguments;
+    logEvents(events, result);
+  }
+
+  /** Logs {@code events}, which alternates event names and parameters, in the background. */
+  private void logEvents(final List<Object> events, final Result result) {
+    eventExecutor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            for (int i = 0; i + 1 < events.size(); i += 2) {
+              final String eventName = (String) events.get(i);
+              @SuppressWarnings("unchecked")
+              final Bundle parameterBundle =
+                  createBundleFromMap((Map<String, Object>) events.get(i + 1));
+              firebaseAnalytics.logEvent(eventName, parameterBundle);
+            }
+            mainHandler.post(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    result.success(null);
+                  }
+                });
+          }
+        });
+  }
+
+  /**
+   * Runs {@code action} once the events logged before it are, on the main thread if {@code
+   * onMainThread}, and answers {@code result} once it ran. Events logged after it wait for it.
+   */
+  private void runAfterEvents(
+      final Runnable action, final boolean onMainThread, final Result result) {
+    eventExecutor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            if (!onMainThread) {
+              action.run();
+            } else {
+              final CountDownLatch done = new CountDownLatch(1);
+              mainHandler.post(
+                  new Runnable() {
+                    @Override
+                    public void run() {
+                      action.run();
+                      done.countDown();
+                    }
+                  });
+              try {
+                done.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            }
+            mainHandler.post(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    result.success(null);
+                  }
+                });
+          }
+        });
   }
 
   private void handleSetUserId(MethodCall call, Result result) {
     final String id = (String) call.arguments;
-    firebaseAnalytics.setUserId(id);
-    result.success(null);
+    runAfterEvents(
+        new Runnable() {
+          @Override
+          public void run() {
+            firebaseAnalytics.setUserId(id);
+          }
+        },
+        false,
+        result);
   }
 
   private void handleSetCurrentScreen(MethodCall call, Result result) {
     @SuppressWarnings("unchecked")
-    Activity activity = registrar.activity();
+    final Activity activity = registrar.activity();
     if (activity == null) {
       result.error("no_activity", "handleSetCurrentScreen requires a foreground activity", null);
       return;
@@ -91,8 +193,16 @@ public class FirebaseAnalyticsPlugin implements MethodCallHandler {
     final String screenName = (String) arguments.get("screenName");
     final String screenClassOverride = (String) arguments.get("screenClassOverride");
 
-    firebaseAnalytics.setCurrentScreen(activity, screenName, screenClassOverride);
-    result.success(null);
+    // setCurrentScreen must be called on the main thread.
+    runAfterEvents(
+        new Runnable() {
+          @Override
+          public void run() {
+            firebaseAnalytics.setCurrentScreen(activity, screenName, screenClassOverride);
+          }
+        },
+        true,
+        result);
   }
 
   private void handleSetAnalyticsCollectionEnabled(MethodCall call, Result result) {
@@ -119,8 +229,15 @@ public class FirebaseAnalyticsPlugin implements MethodCallHandler {
     final String name = (String) arguments.get("name");
     final String value = (String) arguments.get("value");
 
-    firebaseAnalytics.setUserProperty(name, value);
-    result.success(null);
+    runAfterEvents(
+        new Runnable() {
+          @Override
+          public void run() {
+            firebaseAnalytics.setUserProperty(name, value);
+          }
+        },
+        false,
+        result);
   }
 
   private static Bundle createBundleFromMap(Map<String, Object> map) {
@@ -142,11 +259,60 @@ public class FirebaseAnalyticsPlugin implements MethodCallHandler {
         bundle.putDouble(key, (Double) value);
       } else if (value instanceof Boolean) {
         bundle.putBoolean(key, (Boolean) value);
-      } else {
-        throw new IllegalArgumentException(
-            "Unsupported value type: " + value.getClass().getCanonicalName());
+      } else if (value instanceof Map) {
+        @SuppressWarnings("unchecked")
+        final Map<String, Object> nestedMap = (Map<String, Object>) value;
+        bundle.putBundle(key, createBundleFromMap(nestedMap));
+      } else if (value instanceof List) {
+        putList(bundle, key, (List<?>) value);
+      } else if (value != null) {
+        Log.w(TAG, "Dropping parameter " + key + " of unsupported type " + value.getClass());
       }
     }
     return bundle;
   }
+
+  // Lists of maps, such as the items of ecommerce events, become lists of bundles.
+  private static void putList(Bundle bundle, String key, List<?> list) {
+    if (allInstancesOf(list, Map.class)) {
+      final ArrayList<Bundle> bundles = new ArrayList<>(list.size());
+      for (Object element : list) {
+        @SuppressWarnings("unchecked")
+        final Map<String, Object> map = (Map<String, Object>) element;
+        bundles.add(createBundleFromMap(map));
+      }
+      bundle.putParcelableArrayList(key, bundles);
+    } else if (allInstancesOf(list, String.class)) {
+      @SuppressWarnings("unchecked")
+      final List<String> strings = (List<String>) list;
+      bundle.putStringArrayList(key, new ArrayList<>(strings));
+    } else if (allInstancesOf(list, Integer.class)) {
+      @SuppressWarnings("unchecked")
+      final List<Integer> integers = (List<Integer>) list;
+      bundle.putIntegerArrayList(key, new ArrayList<>(integers));
+    } else if (allInstancesOf(list, Number.class)) {
+      final double[] doubles = new double[list.size()];
+      for (int i = 0; i < doubles.length; i++) {
+        doubles[i] = ((Number) list.get(i)).doubleValue();
+      }
+      bundle.putDoubleArray(key, doubles);
+    } else if (allInstancesOf(list, Boolean.class)) {
+      final boolean[] booleans = new boolean[list.size()];
+      for (int i = 0; i < booleans.length; i++) {
+        booleans[i] = (Boolean) list.get(i);
+      }
+      bundle.putBooleanArray(key, booleans);
+    } else {
+      Log.w(TAG, "Dropping parameter " + key + ", a list of mixed or unsupported types");
+    }
+  }
+
+  private static boolean allInstancesOf(List<?> list, Class<?> type) {
+    for (Object element : list) {
+      if (!type.isInstance(element)) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
@@ -38,6 +38,15 @@
       [FIRAnalytics logEventWithName:eventName parameters:nil];
     }
 
+    result(nil);
+  } else if ([@"logEvents" isEqualToString:call.method]) {
+    // Event names and parameters alternate in the arguments.
+    NSArray *events = call.arguments;
+    for (NSUInteger i = 0; i + 1 < events.count; i += 2) {
+      id parameterMap = events[i + 1];
+      [FIRAnalytics logEventWithName:events[i]
+                          parameters:parameterMap != [NSNull null] ? parameterMap : nil];
+    }
     result(nil);
   } else if ([@"setUserId" isEqualToString:call.method]) {
     NSString *userId = call.arguments;
@@ -8,6 +8,7 @@ import 'package:meta/meta.dart';
 
 import 'package:flutter/services.dart';
 import 'package:flutter/foundation.dart';
+import 'package:flutter/widgets.dart';
 
 /// Firebase Analytics API.
 class FirebaseAnalytics {
@@ -40,7 +41,49 @@ class FirebaseAnalytics {
   ///     analytics.android?.setMinimumSessionDuration(200000);
   final FirebaseAnalyticsAndroid android;
 
+  _EventBuffer _eventBuffer;
+
+  /// Buffers the events logged by this instance, and sends them to the
+  /// platform in batches.
+  ///
+  /// Events are sent once [maxEvents] of them are buffered, [maxDelay] after
+  /// the first of them was buffered, when the app is paused, and before the
+  /// user id, the current screen or a user property is set. This saves the
+  /// overhead of sending each event on its own, for apps that log many events.
+  /// The futures returned for buffered events complete once they are sent.
+  ///
+  /// Buffering is disabled by passing false for [enabled], which sends the
+  /// buffered events.
+  Future<Null> setEventBuffering({
+    bool enabled: true,
+    int maxEvents: 20,
+    Duration maxDelay: const Duration(seconds: 5),
+  }) {
+    assert(enabled != null);
+    assert(maxEvents != null && maxEvents > 0);
+    assert(maxDelay != null);
+    final _EventBuffer previousBuffer = _eventBuffer;
+    _eventBuffer =
+        enabled ? new _EventBuffer(_channel, maxEvents, maxDelay) : null;
+    if (_eventBuffer != null) {
+      WidgetsBinding.instance?.addObserver(_eventBuffer);
+    }
+    if (previousBuffer == null) {
+      return new Future<Null>.value();
+    }
+    WidgetsBinding.instance?.removeObserver(previousBuffer);
+    return previousBuffer.flush();
+  }
+
+  /// Sends the events buffered because of [setEventBuffering] right away.
+  Future<Null> flushEvents() {
+    return _eventBuffer?.flush() ?? new Future<Null>.value();
+  }
+
   /// Logs a custom Flutter Analytics event with the given [name] and event [parameters].
+  ///
+  /// Parameters may be strings, numbers and booleans, as well as lists and maps
+  /// of those.
   Future<Null> logEvent(
       {@required String name, Map<String, dynamic> parameters}) async {
     if (_reservedEventNames.contains(name)) {
@@ -55,6 +98,10 @@ class FirebaseAnalytics {
           'Prefix "$kReservedPrefix" is reserved and cannot be used.');
     }
 
+    if (_eventBuffer != null) {
+      return _eventBuffer.add(name, parameters);
+    }
+
     await _channel.invokeMethod('logEvent', <String, dynamic>{
       'name': name,
       'parameters': parameters,
@@ -71,6 +118,7 @@ class FirebaseAnalytics {
       throw new ArgumentError.notNull('id');
     }
 
+    await flushEvents();
     await _channel.invokeMethod('setUserId', id);
   }
 
@@ -98,6 +146,7 @@ class FirebaseAnalytics {
       throw new ArgumentError.notNull('screenName');
     }
 
+    await flushEvents();
     await _channel.invokeMethod('setCurrentScreen', <String, String>{
       'screenName': screenName,
       'screenClassOverride': screenClassOverride,
@@ -133,6 +182,7 @@ class FirebaseAnalytics {
       throw new ArgumentError.value(
           name, 'name', '"firebase_" prefix is reserved');
 
+    await flushEvents();
     await _channel.invokeMethod('setUserProperty', <String, String>{
       'name': name,
       'value': value,
@@ -818,6 +868,63 @@ class FirebaseAnalyticsAndroid {
   }
 }
 
+/// Events logged while buffering is enabled with
+/// [FirebaseAnalytics.setEventBuffering], waiting to be sent in a batch.
+class _EventBuffer extends WidgetsBindingObserver {
+  _EventBuffer(this._channel, this._maxEvents, this._maxDelay);
+
+  final MethodChannel _channel;
+  final int _maxEvents;
+  final Duration _maxDelay;
+
+  // Event names and parameters, alternating, as expected by `logEvents`.
+  List<dynamic> _events = <dynamic>[];
+  Completer<Null> _sent = new Completer<Null>();
+  Timer _timer;
+
+  Future<Null> add(String name, Map<String, dynamic> parameters) {
+    _events..add(name)..add(parameters);
+    final Future<Null> sent = _sent.future;
+    if (_events.length ~/ 2 >= _maxEvents) {
+      flush();
+    } else {
+      _timer ??= new Timer(_maxDelay, flush);
+    }
+    return sent;
+  }
+
+  Future<Null> flush() {
+    _timer?.cancel();
+    _timer = null;
+    if (_events.isEmpty) {
+      return new Future<Null>.value();
+    }
+    final List<dynamic> events = _events;
+    final Completer<Null> sent = _sent;
+    _events = <dynamic>[];
+    _sent = new Completer<Null>();
+    _send(events, sent);
+    return sent.future;
+  }
+
+  Future<Null> _send(List<dynamic> events, Completer<Null> sent) async {
+    try {
+      await _channel.invokeMethod('logEvents', events);
+    } catch (error, stackTrace) {
+      sent.completeError(error, stackTrace);
+      return;
+    }
+    sent.complete();
+  }
+
+  @override
+  void didChangeAppLifecycleState(AppLifecycleState state) {
+    if (state == AppLifecycleState.paused) {
+      flush();
+    }
+  }
+}
+
 /// Creates a new map containing all of the key/value pairs from [parameters]
 /// except those whose value is `null`.
 @visibleForTesting
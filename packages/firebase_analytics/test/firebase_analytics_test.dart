@@ -32,17 +32,20 @@ void main() {
 
     String invokedMethod;
     dynamic arguments;
+    List<String> invokedMethods;
 
     setUp(() {
       final MockPlatformChannel mockChannel = new MockPlatformChannel();
 
       invokedMethod = null;
       arguments = null;
+      invokedMethods = <String>[];
 
       when(mockChannel.invokeMethod(typed(any), any))
           .thenAnswer((Invocation invocation) {
         invokedMethod = invocation.positionalArguments[0];
         arguments = invocation.positionalArguments[1];
+        invokedMethods.add(invokedMethod);
       });
 
       analytics = new FirebaseAnalytics.private(mockChannel);
@@ -93,6 +96,64 @@ void main() {
           throwsArgumentError);
     });
 
+    test('buffered events are sent once maxEvents are logged', () async {
+      await analytics.setEventBuffering(maxEvents: 2);
+
+      final Future<Null> first = analytics.logEvent(name: 'first');
+      expect(invokedMethods, isEmpty);
+      final Future<Null> second = analytics.logEvent(
+        name: 'second',
+        parameters: <String, dynamic>{
+          'items': <Map<String, dynamic>>[
+            <String, dynamic>{'item_id': 'a'},
+          ],
+        },
+      );
+      await Future.wait(<Future<Null>>[first, second]);
+
+      expect(invokedMethods, <String>['logEvents']);
+      expect(arguments, <dynamic>[
+        'first',
+        null,
+        'second',
+        <String, dynamic>{
+          'items': <Map<String, dynamic>>[
+            <String, dynamic>{'item_id': 'a'},
+          ],
+        },
+      ]);
+    });
+
+    test('buffered events are sent after maxDelay', () async {
+      await analytics.setEventBuffering(maxDelay: Duration.zero);
+
+      await analytics.logEvent(name: 'delayed');
+
+      expect(invokedMethods, <String>['logEvents']);
+      expect(arguments, <dynamic>['delayed', null]);
+    });
+
+    test('buffered events are sent before the current screen is set',
+        () async {
+      await analytics.setEventBuffering();
+
+      analytics.logEvent(name: 'before_screen');
+      await analytics.setCurrentScreen(screenName: 'test-screen-name');
+
+      expect(invokedMethods, <String>['logEvents', 'setCurrentScreen']);
+    });
+
+    test('disabling buffering sends buffered events', () async {
+      await analytics.setEventBuffering();
+
+      analytics.logEvent(name: 'buffered');
+      await analytics.setEventBuffering(enabled: false);
+      expect(invokedMethods, <String>['logEvents']);
+
+      await analytics.logEvent(name: 'unbuffered');
+      expect(invokedMethods, <String>['logEvents', 'logEvent']);
+    });
+
     test('setAnalyticsCollectionEnabled', () async {
       await analytics.android.setAnalyticsCollectionEnabled(false);
       expect(invokedMethod, 'setAnalyticsCollectionEnabled');
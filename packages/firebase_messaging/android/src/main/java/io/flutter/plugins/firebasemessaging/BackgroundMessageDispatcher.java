@@ -0,0 +1,151 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.firebasemessaging;
+
+import android.content.Context;
+import android.util.Log;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
+import io.flutter.plugin.common.MethodChannel.Result;
+import io.flutter.plugin.common.PluginRegistry.PluginRegistrantCallback;
+import io.flutter.view.FlutterMain;
+import io.flutter.view.FlutterNativeView;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Delivers messages received while no activity is listening to a background isolate.
+ *
+ * <p>The isolate is started with the entrypoint set by {@code
+ * FirebaseMessaging.setBackgroundEntrypoint} when the first such message arrives, and is reused
+ * for later messages for as long as the process lives. Messages that arrive while it starts up are
+ * queued, dropping the oldest beyond {@link #MAX_PENDING_MESSAGES}. Messages are acknowledged in
+ * the {@link MessageInbox} once handled; dropped messages stay there and are delivered to {@code
+ * onMessage} once the application runs. Must only be used on the main thread.
+ */
+final class BackgroundMessageDispatcher implements MethodCallHandler {
+  private static final String TAG = "FirebaseMessaging";
+  private static final String CHANNEL_NAME = "plugins.flutter.io/firebase_messaging_background";
+  private static final String PREFERENCES_NAME = "io.flutter.firebase_messaging";
+  private static final String KEY_ENTRYPOINT = "background_entrypoint";
+  private static final int MAX_PENDING_MESSAGES = 100;
+
+  private static BackgroundMessageDispatcher instance;
+  private static PluginRegistrantCallback pluginRegistrantCallback;
+
+  private static final class PendingMessage {
+    final long id;
+    final Map<String, String> data;
+    final Runnable onDone;
+
+    PendingMessage(long id, Map<String, String> data, Runnable onDone) {
+      this.id = id;
+      this.data = data;
+      this.onDone = onDone;
+    }
+  }
+
+  private final MethodChannel channel;
+  private final MessageInbox inbox;
+  private final Queue<PendingMessage> pendingMessages = new ArrayDeque<>();
+  private boolean initialized;
+
+  private BackgroundMessageDispatcher(Context context, String entrypoint) {
+    FlutterMain.ensureInitializationComplete(context, null);
+    inbox = MessageInbox.getInstance(context);
+    final FlutterNativeView view = new FlutterNativeView(context);
+    if (pluginRegistrantCallback != null) {
+      pluginRegistrantCallback.registerWith(view.getPluginRegistry());
+    }
+    channel = new MethodChannel(view, CHANNEL_NAME);
+    channel.setMethodCallHandler(this);
+    view.runFromBundle(FlutterMain.findAppBundlePath(context), null, entrypoint, true);
+  }
+
+  static void setPluginRegistrant(PluginRegistrantCallback callback) {
+    pluginRegistrantCallback = callback;
+  }
+
+  /** Sets the entrypoint of the background isolate, or clears it if {@code entrypoint} is null. */
+  static void setEntrypoint(Context context, String entrypoint) {
+    context
+        .getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE)
+        .edit()
+        .putString(KEY_ENTRYPOINT, entrypoint)
+        .apply();
+  }
+
+  static String getEntrypoint(Context context) {
+    return context
+        .getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE)
+        .getString(KEY_ENTRYPOINT, null);
+  }
+
+  /**
+   * Delivers the message with {@code id} and {@code data} to the background isolate started with
+   * {@code entrypoint}, starting it if needed, and runs {@code onDone} once the isolate has handled
+   * it or it was dropped.
+   */
+  static void dispatch(
+      Context context, String entrypoint, long id, Map<String, String> data, Runnable onDone) {
+    if (instance == null) {
+      instance = new BackgroundMessageDispatcher(context.getApplicationContext(), entrypoint);
+    }
+    instance.dispatch(new PendingMessage(id, data, onDone));
+  }
+
+  private void dispatch(PendingMessage message) {
+    if (initialized) {
+      deliver(message);
+      return;
+    }
+    if (pendingMessages.size() == MAX_PENDING_MESSAGES) {
+      Log.w(TAG, "Too many messages while the isolate is starting, leaving one in the inbox");
+      pendingMessages.remove().onDone.run();
+    }
+    pendingMessages.add(message);
+  }
+
+  @Override
+  public void onMethodCall(MethodCall call, Result result) {
+    if ("initialized".equals(call.method)) {
+      initialized = true;
+      while (!pendingMessages.isEmpty()) {
+        deliver(pendingMessages.remove());
+      }
+      result.success(null);
+    } else {
+      result.notImplemented();
+    }
+  }
+
+  private void deliver(final PendingMessage message) {
+    channel.invokeMethod(
+        "onBackgroundMessage",
+        message.data,
+        new Result() {
+          @Override
+          public void success(Object o) {
+            inbox.acknowledge(Collections.singletonList(message.id));
+            message.onDone.run();
+          }
+
+          @Override
+          public void error(String errorCode, String errorMessage, Object errorDetails) {
+            Log.e(TAG, "Background message handler failed: " + errorMessage);
+            message.onDone.run();
+          }
+
+          @Override
+          public void notImplemented() {
+            Log.e(TAG, "No background message handler was registered");
+            message.onDone.run();
+          }
+        });
+  }
+}
@@ -10,39 +10,55 @@ import android.content.Intent;
 import android.content.IntentFilter;
 import android.os.Bundle;
 import android.support.v4.content.LocalBroadcastManager;
+import android.util.Log;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.messaging.FirebaseMessaging;
-import com.google.firebase.messaging.RemoteMessage;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
 import io.flutter.plugin.common.MethodChannel.Result;
 import io.flutter.plugin.common.PluginRegistry.NewIntentListener;
 import io.flutter.plugin.common.PluginRegistry.Registrar;
+import io.flutter.plugin.common.PluginRegistry.ViewDestroyListener;
+import io.flutter.view.FlutterNativeView;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /** FirebaseMessagingPlugin */
 public class FirebaseMessagingPlugin extends BroadcastReceiver
-    implements MethodCallHandler, NewIntentListener {
+    implements MethodCallHandler, NewIntentListener, ViewDestroyListener {
   private final Registrar registrar;
   private final MethodChannel channel;
+  private final MessageInbox inbox;
+  private boolean configured;
+  private boolean deliveringMessages;
 
+  private static final String TAG = "FirebaseMessaging";
   private static final String CLICK_ACTION_VALUE = "FLUTTER_NOTIFICATION_CLICK";
+  private static final int MAX_BATCH_SIZE = 50;
 
   public static void registerWith(Registrar registrar) {
     final MethodChannel channel =
         new MethodChannel(registrar.messenger(), "plugins.flutter.io/firebase_messaging");
     final FirebaseMessagingPlugin plugin = new FirebaseMessagingPlugin(registrar, channel);
     registrar.addNewIntentListener(plugin);
+    registrar.addViewDestroyListener(plugin);
     channel.setMethodCallHandler(plugin);
   }
 
   private FirebaseMessagingPlugin(Registrar registrar, MethodChannel channel) {
     this.registrar = registrar;
     this.channel = channel;
+    this.inbox = MessageInbox.getInstance(registrar.context());
     FirebaseApp.initializeApp(registrar.context());
 
+    // Only an activity's plugin listens for messages. Messages received while there is none are
+    // delivered to the background isolate, which has a plugin instance of its own.
+    if (registrar.activity() == null) {
+      return;
+    }
     IntentFilter intentFilter = new IntentFilter();
     intentFilter.addAction(FlutterFirebaseInstanceIDService.ACTION_TOKEN);
     intentFilter.addAction(FlutterFirebaseMessagingService.ACTION_REMOTE_MESSAGE);
@@ -58,20 +74,67 @@ public class FirebaseMessagingPlugin extends BroadcastReceiver
       String token = intent.getStringExtra(FlutterFirebaseInstanceIDService.EXTRA_TOKEN);
       channel.invokeMethod("onToken", token);
     } else if (action.equals(FlutterFirebaseMessagingService.ACTION_REMOTE_MESSAGE)) {
-      RemoteMessage message =
-          intent.getParcelableExtra(FlutterFirebaseMessagingService.EXTRA_REMOTE_MESSAGE);
-      channel.invokeMethod("onMessage", message.getData());
+      deliverMessages();
     }
   }
 
+  // Sends the messages in the inbox to Dart in batches, one batch at a time. A batch is removed
+  // from the inbox once Dart has handled it, so messages received before configure or while Dart
+  // is busy are delivered later rather than lost.
+  private void deliverMessages() {
+    if (!configured || deliveringMessages) {
+      return;
+    }
+    final List<MessageInbox.Message> batch = inbox.peek(MAX_BATCH_SIZE);
+    if (batch.isEmpty()) {
+      return;
+    }
+    final List<Long> ids = new ArrayList<>(batch.size());
+    final List<Map<String, String>> messages = new ArrayList<>(batch.size());
+    for (MessageInbox.Message message : batch) {
+      ids.add(message.id);
+      messages.add(message.data);
+    }
+    deliveringMessages = true;
+    channel.invokeMethod(
+        "onMessages",
+        messages,
+        new Result() {
+          @Override
+          public void success(Object o) {
+            inbox.acknowledge(ids);
+            deliveringMessages = false;
+            deliverMessages();
+          }
+
+          @Override
+          public void error(String errorCode, String errorMessage, Object errorDetails) {
+            // The batch is delivered again along with the next message.
+            Log.e(TAG, "Failed to deliver messages: " + errorMessage);
+            deliveringMessages = false;
+          }
+
+          @Override
+          public void notImplemented() {
+            deliveringMessages = false;
+          }
+        });
+  }
+
   @Override
   public void onMethodCall(MethodCall call, Result result) {
     if ("configure".equals(call.method)) {
+      configured = true;
       FlutterFirebaseInstanceIDService.broadcastToken(registrar.context());
       if (registrar.activity() != null) {
         sendMessageFromIntent("onLaunch", registrar.activity().getIntent());
       }
       result.success(null);
+      deliverMessages();
+    } else if ("setBackgroundEntrypoint".equals(call.method)) {
+      String entrypoint = call.arguments();
+      BackgroundMessageDispatcher.setEntrypoint(registrar.context(), entrypoint);
+      result.success(null);
     } else if ("subscribeToTopic".equals(call.method)) {
       String topic = call.arguments();
       FirebaseMessaging.getInstance().subscribeToTopic(topic);
@@ -85,6 +148,12 @@ public class FirebaseMessagingPlugin extends BroadcastReceiver
     }
   }
 
+  @Override
+  public boolean onViewDestroy(FlutterNativeView view) {
+    LocalBroadcastManager.getInstance(registrar.context()).unregisterReceiver(this);
+    return false;
+  }
+
   @Override
   public boolean onNewIntent(Intent intent) {
     boolean res = sendMessageFromIntent("onResume", intent);
@@ -4,26 +4,84 @@
 
 package io.flutter.plugins.firebasemessaging;
 
+import android.content.Context;
 import android.content.Intent;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.v4.content.LocalBroadcastManager;
 import com.google.firebase.messaging.FirebaseMessagingService;
 import com.google.firebase.messaging.RemoteMessage;
+import io.flutter.plugin.common.PluginRegistry.PluginRegistrantCallback;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public class FlutterFirebaseMessagingService extends FirebaseMessagingService {
 
   public static final String ACTION_REMOTE_MESSAGE =
       "io.flutter.plugins.firebasemessaging.NOTIFICATION";
   public static final String EXTRA_REMOTE_MESSAGE = "notification";
+  // How long to keep the service running for the background isolate to handle a message.
+  private static final long BACKGROUND_MESSAGE_TIMEOUT_SECONDS = 9;
+
+  /**
+   * Sets the callback that registers plugins with the background isolate that handles messages
+   * received while the application is not running, typically the application's {@code
+   * GeneratedPluginRegistrant}.
+   */
+  public static void setPluginRegistrant(PluginRegistrantCallback callback) {
+    BackgroundMessageDispatcher.setPluginRegistrant(callback);
+  }
 
   /**
    * Called when message is received.
    *
+   * <p>Messages are written to the {@link MessageInbox} first, so that they are not lost before
+   * Dart has handled them. They are then delivered to the plugin if an activity is listening, and
+   * otherwise to the background isolate if one has been set.
+   *
    * @param remoteMessage Object representing the message received from Firebase Cloud Messaging.
    */
   @Override
   public void onMessageReceived(RemoteMessage remoteMessage) {
+    final long id = MessageInbox.getInstance(this).add(remoteMessage.getData());
     Intent intent = new Intent(ACTION_REMOTE_MESSAGE);
     intent.putExtra(EXTRA_REMOTE_MESSAGE, remoteMessage);
-    LocalBroadcastManager.getInstance(this).sendBroadcast(intent);
+    if (LocalBroadcastManager.getInstance(this).sendBroadcast(intent)) {
+      return;
+    }
+    final String entrypoint = BackgroundMessageDispatcher.getEntrypoint(this);
+    if (entrypoint == null) {
+      return;
+    }
+
+    // This runs on a background thread, which is blocked until the message has been handled so
+    // that the process is kept awake meanwhile.
+    final Context context = getApplicationContext();
+    final Map<String, String> data = remoteMessage.getData();
+    final CountDownLatch handled = new CountDownLatch(1);
+    new Handler(Looper.getMainLooper())
+        .post(
+            new Runnable() {
+              @Override
+              public void run() {
+                BackgroundMessageDispatcher.dispatch(
+                    context,
+                    entrypoint,
+                    id,
+                    data,
+                    new Runnable() {
+                      @Override
+                      public void run() {
+                        handled.countDown();
+                      }
+                    });
+              }
+            });
+    try {
+      handled.await(BACKGROUND_MESSAGE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
   }
 }
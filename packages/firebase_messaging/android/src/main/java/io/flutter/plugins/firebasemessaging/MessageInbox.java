@@ -0,0 +1,217 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.firebasemessaging;
+
+import android.content.Context;
+import android.util.Log;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Journal of received data messages that have not been handled by Dart yet.
+ *
+ * <p>Messages are appended to a file as they are received, so they survive until Dart acknowledges
+ * them, even when the process dies before then. Each line of the file holds the id of a message and
+ * its data as JSON. Acknowledged messages are removed by rewriting the file. Only the newest {@link
+ * #MAX_MESSAGES} messages are kept.
+ */
+final class MessageInbox {
+  private static final String TAG = "FirebaseMessaging";
+  private static final String FILE_NAME = "io.flutter.firebase_messaging.inbox";
+  private static final int MAX_MESSAGES = 1000;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static MessageInbox instance;
+
+  /** A message that has not been acknowledged yet. */
+  static final class Message {
+    final long id;
+    final Map<String, String> data;
+
+    Message(long id, Map<String, String> data) {
+      this.id = id;
+      this.data = data;
+    }
+  }
+
+  private final File file;
+  private final Executor writeExecutor =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+              return new Thread(runnable, "firebase_messaging-inbox");
+            }
+          });
+  private final LinkedHashMap<Long, Map<String, String>> messages = new LinkedHashMap<>();
+  private long nextId;
+
+  private MessageInbox(File file) {
+    this.file = file;
+    load();
+  }
+
+  static synchronized MessageInbox getInstance(Context context) {
+    if (instance == null) {
+      final File directory = context.getApplicationContext().getFilesDir();
+      instance = new MessageInbox(new File(directory, FILE_NAME));
+    }
+    return instance;
+  }
+
+  /** Appends {@code data} to the journal, and returns the id of the new message. */
+  synchronized long add(Map<String, String> data) {
+    final long id = nextId++;
+    messages.put(id, data);
+    if (messages.size() > MAX_MESSAGES) {
+      Log.w(TAG, "Inbox is full, dropping the oldest message");
+      final Iterator<Long> oldest = messages.keySet().iterator();
+      oldest.next();
+      oldest.remove();
+      rewrite();
+      return id;
+    }
+    try (FileOutputStream output = new FileOutputStream(file, true)) {
+      final Writer writer = new OutputStreamWriter(output, UTF_8);
+      writer.write(toLine(id, data));
+      writer.flush();
+      output.getFD().sync();
+    } catch (IOException e) {
+      Log.e(TAG, "Failed to write message to inbox", e);
+    }
+    return id;
+  }
+
+  /** Returns the oldest {@code max} messages that have not been acknowledged. */
+  synchronized List<Message> peek(int max) {
+    final List<Message> result = new ArrayList<>(Math.min(max, messages.size()));
+    for (Map.Entry<Long, Map<String, String>> entry : messages.entrySet()) {
+      if (result.size() == max) {
+        break;
+      }
+      result.add(new Message(entry.getKey(), entry.getValue()));
+    }
+    return result;
+  }
+
+  /**
+   * Removes the messages with ids in {@code ids}, once they have been handled. The file is
+   * rewritten in the background, so this can be called on the main thread.
+   */
+  synchronized void acknowledge(Collection<Long> ids) {
+    boolean changed = false;
+    for (Long id : ids) {
+      changed |= messages.remove(id) != null;
+    }
+    if (changed) {
+      writeExecutor.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              synchronized (MessageInbox.this) {
+                rewrite();
+              }
+            }
+          });
+    }
+  }
+
+  private void load() {
+    if (!file.exists()) {
+      return;
+    }
+    boolean torn = false;
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        final int tab = line.indexOf('\t');
+        try {
+          final long id = Long.parseLong(line.substring(0, tab));
+          messages.put(id, toData(new JSONObject(line.substring(tab + 1))));
+          nextId = Math.max(nextId, id + 1);
+        } catch (RuntimeException | JSONException e) {
+          // A line cut short by the process dying while it was being written.
+          Log.w(TAG, "Skipping unreadable inbox entry");
+          torn = true;
+        }
+      }
+    } catch (IOException e) {
+      Log.e(TAG, "Failed to read inbox", e);
+      return;
+    }
+    // Rewrite the file without a torn last line, as the next message would otherwise be appended
+    // to it and be unreadable too.
+    if (torn || !endsWithNewline()) {
+      rewrite();
+    }
+  }
+
+  private boolean endsWithNewline() {
+    final long length = file.length();
+    if (length == 0) {
+      return true;
+    }
+    try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+      input.seek(length - 1);
+      return input.read() == '\n';
+    } catch (IOException e) {
+      Log.e(TAG, "Failed to read inbox", e);
+      return false;
+    }
+  }
+
+  private void rewrite() {
+    final File temporaryFile = new File(file.getPath() + ".tmp");
+    try (FileOutputStream output = new FileOutputStream(temporaryFile)) {
+      final Writer writer = new OutputStreamWriter(output, UTF_8);
+      for (Map.Entry<Long, Map<String, String>> entry : messages.entrySet()) {
+        writer.write(toLine(entry.getKey(), entry.getValue()));
+      }
+      writer.flush();
+      output.getFD().sync();
+    } catch (IOException e) {
+      Log.e(TAG, "Failed to write inbox", e);
+      return;
+    }
+    if (!temporaryFile.renameTo(file)) {
+      Log.e(TAG, "Failed to replace inbox");
+    }
+  }
+
+  private static String toLine(long id, Map<String, String> data) {
+    return id + "\t" + new JSONObject(data).toString() + "\n";
+  }
+
+  private static Map<String, String> toData(JSONObject json) throws JSONException {
+    final Map<String, String> data = new HashMap<>();
+    final Iterator<String> keys = json.keys();
+    while (keys.hasNext()) {
+      final String key = keys.next();
+      data.put(key, json.getString(key));
+    }
+    return data;
+  }
+}
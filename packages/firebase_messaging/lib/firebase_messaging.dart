@@ -4,6 +4,7 @@
 
 import 'dart:async';
 
+import 'package:flutter/foundation.dart';
 import 'package:flutter/services.dart';
 import 'package:meta/meta.dart';
 import 'package:platform/platform.dart';
@@ -18,15 +19,21 @@ class FirebaseMessaging {
   factory FirebaseMessaging() => _instance;
 
   @visibleForTesting
-  FirebaseMessaging.private(MethodChannel channel, Platform platform)
+  FirebaseMessaging.private(MethodChannel channel, Platform platform,
+      [MethodChannel backgroundChannel = _defaultBackgroundChannel])
       : _channel = channel,
-        _platform = platform;
+        _platform = platform,
+        _backgroundChannel = backgroundChannel;
 
   static final FirebaseMessaging _instance = new FirebaseMessaging.private(
       const MethodChannel('plugins.flutter.io/firebase_messaging'),
       const LocalPlatform());
 
+  static const MethodChannel _defaultBackgroundChannel =
+      const MethodChannel('plugins.flutter.io/firebase_messaging_background');
+
   final MethodChannel _channel;
+  final MethodChannel _backgroundChannel;
   final Platform _platform;
 
   MessageHandler _onMessage;
@@ -70,6 +77,47 @@ class FirebaseMessaging {
     _channel.invokeMethod('configure');
   }
 
+  /// Sets the function that starts the background Isolate which handles data
+  /// messages received while the application is not running.
+  ///
+  /// `entrypoint` must be a top-level function in the application's root
+  /// library that calls [initializeBackgroundIsolate]. The Isolate is started
+  /// when the first such message arrives and is reused for later ones. Passing
+  /// null stops handling messages in the background.
+  ///
+  /// Does nothing on iOS.
+  Future<Null> setBackgroundEntrypoint(void Function() entrypoint) async {
+    if (!_platform.isAndroid) {
+      return;
+    }
+    String functionName;
+    if (entrypoint != null) {
+      functionName = _nameOfFunction(entrypoint);
+      if (functionName == null) {
+        throw new ArgumentError.value(
+            entrypoint, 'entrypoint', 'Not a top-level function');
+      }
+    }
+    await _channel.invokeMethod('setBackgroundEntrypoint', functionName);
+  }
+
+  /// Starts handling messages received in the background with
+  /// `onBackgroundMessage`.
+  ///
+  /// Must be called by the entrypoint given to [setBackgroundEntrypoint]. The
+  /// application is kept running until the [Future] returned by
+  /// `onBackgroundMessage` completes, for a few seconds at most.
+  Future<Null> initializeBackgroundIsolate(
+      MessageHandler onBackgroundMessage) async {
+    _backgroundChannel.setMethodCallHandler((MethodCall call) async {
+      if (call.method != 'onBackgroundMessage') {
+        throw new MissingPluginException();
+      }
+      await onBackgroundMessage(call.arguments.cast<String, dynamic>());
+    });
+    await _backgroundChannel.invokeMethod('initialized');
+  }
+
   final StreamController<String> _tokenStreamController =
       new StreamController<String>.broadcast();
 
@@ -113,6 +161,25 @@ class FirebaseMessaging {
         return null;
       case "onMessage":
         return _onMessage(call.arguments.cast<String, dynamic>());
+      case "onMessages":
+        // Batches of messages that were received while this handler was busy
+        // or not configured yet. The batch is acknowledged once every message
+        // in it has been handled.
+        for (dynamic message in call.arguments) {
+          try {
+            if (_onMessage != null) {
+              await _onMessage(message.cast<String, dynamic>());
+            }
+          } catch (exception, stack) {
+            FlutterError.reportError(new FlutterErrorDetails(
+              exception: exception,
+              stack: stack,
+              library: 'firebase_messaging',
+              context: 'while handling a message',
+            ));
+          }
+        }
+        return null;
       case "onLaunch":
         return _onLaunch(call.arguments.cast<String, dynamic>());
       case "onResume":
@@ -121,6 +188,20 @@ class FirebaseMessaging {
         throw new UnsupportedError("Unrecognized JSON message");
     }
   }
+
+  // Extracts the name of a top-level function from the .toString() of its
+  // closure-ization, as the Android side starts the background Isolate with
+  // the name of its entrypoint.
+  static String _nameOfFunction(Function function) {
+    final String longName = function.toString();
+    final int functionIndex = longName.indexOf('Function');
+    if (functionIndex == -1) return null;
+    final int openQuote = longName.indexOf("'", functionIndex + 1);
+    if (openQuote == -1) return null;
+    final int closeQuote = longName.indexOf("'", openQuote + 1);
+    if (closeQuote == -1) return null;
+    return longName.substring(openQuote + 1, closeQuote);
+  }
 }
 
 class IosNotificationSettings {
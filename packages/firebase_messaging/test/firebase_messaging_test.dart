@@ -4,6 +4,7 @@
 
 import 'dart:async';
 
+import 'package:flutter/foundation.dart';
 import 'package:flutter/services.dart';
 import 'package:firebase_messaging/firebase_messaging.dart';
 import 'package:mockito/mockito.dart';
@@ -131,6 +132,74 @@ void main() {
     expect(await onResume.future, onResumeMessage);
   });
 
+  test('setBackgroundEntrypoint on android', () async {
+    firebaseMessaging = new FirebaseMessaging.private(
+        mockChannel, new FakePlatform(operatingSystem: 'android'));
+
+    await firebaseMessaging.setBackgroundEntrypoint(backgroundEntrypoint);
+    verify(mockChannel.invokeMethod(
+        'setBackgroundEntrypoint', 'backgroundEntrypoint'));
+
+    await firebaseMessaging.setBackgroundEntrypoint(null);
+    verify(mockChannel.invokeMethod('setBackgroundEntrypoint', null));
+  });
+
+  test('setBackgroundEntrypoint on ios', () async {
+    await firebaseMessaging.setBackgroundEntrypoint(backgroundEntrypoint);
+    verifyZeroInteractions(mockChannel);
+  });
+
+  test('background messages', () async {
+    final MockMethodChannel mockBackgroundChannel = new MockMethodChannel();
+    firebaseMessaging = new FirebaseMessaging.private(mockChannel,
+        new FakePlatform(operatingSystem: 'android'), mockBackgroundChannel);
+    final Completer<dynamic> onBackgroundMessage = new Completer<dynamic>();
+
+    await firebaseMessaging.initializeBackgroundIsolate((dynamic m) {
+      onBackgroundMessage.complete(m);
+    });
+    final dynamic handler =
+        verify(mockBackgroundChannel.setMethodCallHandler(typed(captureAny)))
+            .captured
+            .single;
+    verify(mockBackgroundChannel.invokeMethod('initialized'));
+
+    final Map<String, dynamic> message = <String, dynamic>{'key': 'value'};
+    await handler(new MethodCall('onBackgroundMessage', message));
+    expect(await onBackgroundMessage.future, message);
+    verifyZeroInteractions(mockChannel);
+  });
+
+  test('incoming message batches', () async {
+    final List<Map<String, dynamic>> received = <Map<String, dynamic>>[];
+    firebaseMessaging.configure(onMessage: (Map<String, dynamic> m) async {
+      if (m['fail'] != null) {
+        throw new StateError('failed');
+      }
+      received.add(m);
+    });
+    final dynamic handler =
+        verify(mockChannel.setMethodCallHandler(typed(captureAny)))
+            .captured
+            .single;
+    final FlutterExceptionHandler onError = FlutterError.onError;
+    final List<FlutterErrorDetails> errors = <FlutterErrorDetails>[];
+    FlutterError.onError = errors.add;
+
+    await handler(new MethodCall('onMessages', <dynamic>[
+      <dynamic, dynamic>{'id': '1'},
+      <dynamic, dynamic>{'fail': 'true'},
+      <dynamic, dynamic>{'id': '2'},
+    ]));
+    FlutterError.onError = onError;
+
+    expect(received, <Map<String, dynamic>>[
+      <String, dynamic>{'id': '1'},
+      <String, dynamic>{'id': '2'},
+    ]);
+    expect(errors, hasLength(1));
+  });
+
   const String myTopic = 'Flutter';
 
   test('subscribe to topic', () {
@@ -144,4 +213,6 @@ void main() {
   });
 }
 
+void backgroundEntrypoint() {}
+
 class MockMethodChannel extends Mock implements MethodChannel {}
@@ -0,0 +1,176 @@
+package io.flutter.plugins.firebasemlvision;
+
+import com.google.firebase.ml.vision.common.FirebaseVisionImage;
+import io.flutter.plugin.common.MethodChannel;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Runs detections with a bounded number of them in flight at a time, queueing the rest.
+ *
+ * <p>Several detectors can be run on one decoded image with {@link #detectAll}, which answers with
+ * the results of all of them along with how long each detector took. Must only be used from the
+ * platform thread, which is also the thread detection results are delivered on.
+ */
+final class DetectionScheduler {
+  private static final int MAX_CONCURRENT_DETECTIONS = 2;
+  private static final double NANOS_PER_MILLI = 1e6;
+
+  /** Receives the outcome of a single detection and the time the detector took. */
+  interface Callback {
+    void onSuccess(Object results, long latencyNanos);
+
+    void onError(String errorCode, String errorMessage, long latencyNanos);
+  }
+
+  private final Queue<Runnable> queue = new ArrayDeque<>();
+  private int running;
+
+  /** Runs {@code detector} on {@code image} and answers {@code result} with its results. */
+  void detect(
+      Detector detector,
+      String errorCode,
+      FirebaseVisionImage image,
+      Map<String, Object> options,
+      final MethodChannel.Result result) {
+    detect(
+        detector,
+        errorCode,
+        image,
+        options,
+        new Callback() {
+          @Override
+          public void onSuccess(Object results, long latencyNanos) {
+            result.success(results);
+          }
+
+          @Override
+          public void onError(String errorCode, String errorMessage, long latencyNanos) {
+            result.error(errorCode, errorMessage, null);
+          }
+        });
+  }
+
+  /**
+   * Runs each of {@code detectors} on {@code image} with the options of the same name, and answers
+   * {@code result} once all of them have completed.
+   *
+   * <p>The reply maps detector names to their results, to errors for detectors that failed, and to
+   * their latency in milliseconds.
+   */
+  void detectAll(
+      FirebaseVisionImage image,
+      Map<String, Detector> detectors,
+      Map<String, Map<String, Object>> options,
+      final MethodChannel.Result result) {
+    final Map<String, Object> results = new HashMap<>();
+    final Map<String, Object> errors = new HashMap<>();
+    final Map<String, Object> latencies = new HashMap<>();
+    final int[] remaining = {detectors.size()};
+    for (Map.Entry<String, Detector> entry : detectors.entrySet()) {
+      final String name = entry.getKey();
+      detect(
+          entry.getValue(),
+          toErrorPrefix(name) + "Error",
+          image,
+          options.get(name),
+          new Callback() {
+            @Override
+            public void onSuccess(Object detected, long latencyNanos) {
+              results.put(name, detected);
+              onDone(latencyNanos);
+            }
+
+            @Override
+            public void onError(String errorCode, String errorMessage, long latencyNanos) {
+              final Map<String, Object> error = new HashMap<>();
+              error.put("code", errorCode);
+              error.put("message", errorMessage);
+              errors.put(name, error);
+              onDone(latencyNanos);
+            }
+
+            private void onDone(long latencyNanos) {
+              latencies.put(name, latencyNanos / NANOS_PER_MILLI);
+              if (--remaining[0] == 0) {
+                final Map<String, Object> reply = new HashMap<>();
+                reply.put("results", results);
+                reply.put("errors", errors);
+                reply.put("latencies", latencies);
+                result.success(reply);
+              }
+            }
+          });
+    }
+  }
+
+  /** Returns the prefix of error codes reported for the detector named {@code name}. */
+  static String toErrorPrefix(String name) {
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+
+  private void detect(
+      final Detector detector,
+      final String errorCode,
+      final FirebaseVisionImage image,
+      final Map<String, Object> options,
+      final Callback callback) {
+    queue.add(
+        new Runnable() {
+          @Override
+          public void run() {
+            final long startNanos = System.nanoTime();
+            final MethodChannel.Result result =
+                new MethodChannel.Result() {
+                  private boolean done;
+
+                  @Override
+                  public void success(Object o) {
+                    if (finish()) {
+                      callback.onSuccess(o, System.nanoTime() - startNanos);
+                      runNext();
+                    }
+                  }
+
+                  @Override
+                  public void error(String errorCode, String errorMessage, Object errorDetails) {
+                    if (finish()) {
+                      callback.onError(errorCode, errorMessage, System.nanoTime() - startNanos);
+                      runNext();
+                    }
+                  }
+
+                  @Override
+                  public void notImplemented() {
+                    error(errorCode, "Not implemented", null);
+                  }
+
+                  // Frees the slot of this detection, unless it was already completed.
+                  private boolean finish() {
+                    if (done) {
+                      return false;
+                    }
+                    done = true;
+                    running--;
+                    return true;
+                  }
+                };
+            try {
+              detector.handleDetection(image, options, result);
+            } catch (Exception e) {
+              result.error(errorCode, e.getLocalizedMessage(), null);
+            }
+          }
+        });
+    runNext();
+  }
+
+  private void runNext() {
+    while (running < MAX_CONCURRENT_DETECTIONS && !queue.isEmpty()) {
+      running++;
+      queue.remove().run();
+    }
+  }
+}
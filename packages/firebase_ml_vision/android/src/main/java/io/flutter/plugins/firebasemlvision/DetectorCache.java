@@ -0,0 +1,54 @@
+package io.flutter.plugins.firebasemlvision;
+
+import android.util.Log;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Detector instances keyed by the options they were created with, so that a detector is created
+ * once per option set instead of once per image.
+ *
+ * <p>The least recently used detector is closed once more than {@link #MAX_ENTRIES} option sets are
+ * in use.
+ */
+abstract class DetectorCache<T extends Closeable> {
+  private static final String TAG = "DetectorCache";
+  private static final int MAX_ENTRIES = 4;
+
+  private final Map<Map<String, Object>, T> detectors =
+      new LinkedHashMap<Map<String, Object>, T>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Map<String, Object>, T> eldest) {
+          if (size() <= MAX_ENTRIES) {
+            return false;
+          }
+          close(eldest.getValue());
+          return true;
+        }
+      };
+
+  /** Creates a detector configured with {@code options}. */
+  abstract T create(Map<String, Object> options);
+
+  synchronized T get(Map<String, Object> options) {
+    final Map<String, Object> key =
+        options == null ? new HashMap<String, Object>() : new HashMap<>(options);
+    T detector = detectors.get(key);
+    if (detector == null) {
+      detector = create(key);
+      detectors.put(key, detector);
+    }
+    return detector;
+  }
+
+  private static void close(Closeable detector) {
+    try {
+      detector.close();
+    } catch (IOException e) {
+      Log.w(TAG, "Failed to close detector", e);
+    }
+  }
+}
@@ -1,11 +1,156 @@
 package io.flutter.plugins.firebasemlvision;
 
+import android.graphics.Rect;
+import android.support.annotation.NonNull;
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.firebase.ml.vision.FirebaseVision;
 import com.google.firebase.ml.vision.common.FirebaseVisionImage;
+import com.google.firebase.ml.vision.common.FirebaseVisionPoint;
+import com.google.firebase.ml.vision.face.FirebaseVisionFace;
+import com.google.firebase.ml.vision.face.FirebaseVisionFaceDetector;
+import com.google.firebase.ml.vision.face.FirebaseVisionFaceDetectorOptions;
+import com.google.firebase.ml.vision.face.FirebaseVisionFaceLandmark;
 import io.flutter.plugin.common.MethodChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 class FaceDetector implements Detector {
+  public static final FaceDetector instance = new FaceDetector();
+  private static final DetectorCache<FirebaseVisionFaceDetector> detectors =
+      new DetectorCache<FirebaseVisionFaceDetector>() {
+        @Override
+        FirebaseVisionFaceDetector create(Map<String, Object> options) {
+          return FirebaseVision.getInstance().getVisionFaceDetector(parseOptions(options));
+        }
+      };
+
+  // Landmark types reported to Dart, in the same order as their names.
+  private static final int[] LANDMARK_TYPES = {
+    FirebaseVisionFaceLandmark.BOTTOM_MOUTH,
+    FirebaseVisionFaceLandmark.LEFT_CHEEK,
+    FirebaseVisionFaceLandmark.LEFT_EAR,
+    FirebaseVisionFaceLandmark.LEFT_EYE,
+    FirebaseVisionFaceLandmark.LEFT_MOUTH,
+    FirebaseVisionFaceLandmark.NOSE_BASE,
+    FirebaseVisionFaceLandmark.RIGHT_CHEEK,
+    FirebaseVisionFaceLandmark.RIGHT_EAR,
+    FirebaseVisionFaceLandmark.RIGHT_EYE,
+    FirebaseVisionFaceLandmark.RIGHT_MOUTH,
+  };
+  private static final String[] LANDMARK_NAMES = {
+    "bottomMouth",
+    "leftCheek",
+    "leftEar",
+    "leftEye",
+    "leftMouth",
+    "noseBase",
+    "rightCheek",
+    "rightEar",
+    "rightEye",
+    "rightMouth",
+  };
+
+  private FaceDetector() {}
+
   @Override
   public void handleDetection(
-      FirebaseVisionImage image, Map<String, Object> options, final MethodChannel.Result result) {}
+      FirebaseVisionImage image, Map<String, Object> options, final MethodChannel.Result result) {
+    detectors
+        .get(options)
+        .detectInImage(image)
+        .addOnSuccessListener(
+            new OnSuccessListener<List<FirebaseVisionFace>>() {
+              @Override
+              public void onSuccess(List<FirebaseVisionFace> firebaseVisionFaces) {
+                List<Map<String, Object>> faces = new ArrayList<>(firebaseVisionFaces.size());
+                for (FirebaseVisionFace face : firebaseVisionFaces) {
+                  Map<String, Object> faceData = new HashMap<>();
+
+                  Rect bounds = face.getBoundingBox();
+                  faceData.put("left", bounds.left);
+                  faceData.put("top", bounds.top);
+                  faceData.put("width", bounds.width());
+                  faceData.put("height", bounds.height());
+
+                  faceData.put("headEulerAngleY", (double) face.getHeadEulerAngleY());
+                  faceData.put("headEulerAngleZ", (double) face.getHeadEulerAngleZ());
+                  faceData.put(
+                      "leftEyeOpenProbability",
+                      toProbability(face.getLeftEyeOpenProbability()));
+                  faceData.put(
+                      "rightEyeOpenProbability",
+                      toProbability(face.getRightEyeOpenProbability()));
+                  faceData.put("smilingProbability", toProbability(face.getSmilingProbability()));
+                  if (face.getTrackingId() != FirebaseVisionFace.INVALID_ID) {
+                    faceData.put("trackingId", face.getTrackingId());
+                  }
+
+                  Map<String, Object> landmarks = new HashMap<>();
+                  for (int i = 0; i < LANDMARK_TYPES.length; i++) {
+                    FirebaseVisionFaceLandmark landmark = face.getLandmark(LANDMARK_TYPES[i]);
+                    if (landmark != null) {
+                      FirebaseVisionPoint position = landmark.getPosition();
+                      landmarks.put(
+                          LANDMARK_NAMES[i], new double[] {position.getX(), position.getY()});
+                    }
+                  }
+                  faceData.put("landmarks", landmarks);
+
+                  faces.add(faceData);
+                }
+                result.success(faces);
+              }
+            })
+        .addOnFailureListener(
+            new OnFailureListener() {
+              @Override
+              public void onFailure(@NonNull Exception exception) {
+                result.error("faceDetectorError", exception.getLocalizedMessage(), null);
+              }
+            });
+  }
+
+  private static Double toProbability(float probability) {
+    return probability == FirebaseVisionFace.UNCOMPUTED_PROBABILITY ? null : (double) probability;
+  }
+
+  private static FirebaseVisionFaceDetectorOptions parseOptions(Map<String, Object> options) {
+    int classification =
+        (boolean) options.get("enableClassification")
+            ? FirebaseVisionFaceDetectorOptions.ALL_CLASSIFICATIONS
+            : FirebaseVisionFaceDetectorOptions.NO_CLASSIFICATIONS;
+
+    int landmark =
+        (boolean) options.get("enableLandmarks")
+            ? FirebaseVisionFaceDetectorOptions.ALL_LANDMARKS
+            : FirebaseVisionFaceDetectorOptions.NO_LANDMARKS;
+
+    int mode;
+    switch ((String) options.get("mode")) {
+      case "accurate":
+        mode = FirebaseVisionFaceDetectorOptions.ACCURATE_MODE;
+        break;
+      case "fast":
+        mode = FirebaseVisionFaceDetectorOptions.FAST_MODE;
+        break;
+      default:
+        throw new IllegalArgumentException("Not a mode: " + options.get("mode"));
+    }
+
+    FirebaseVisionFaceDetectorOptions.Builder builder =
+        new FirebaseVisionFaceDetectorOptions.Builder()
+            .setClassificationType(classification)
+            .setLandmarkType(landmark)
+            .setMinFaceSize((float) ((double) options.get("minFaceSize")))
+            .setModeType(mode);
+
+    if ((boolean) options.get("enableTracking")) {
+      builder.setTrackingEnabled(true);
+    }
+
+    return builder.build();
+  }
 }
@@ -2,6 +2,7 @@ package io.flutter.plugins.firebasemlvision;
 
 import android.net.Uri;
 import com.google.firebase.ml.vision.common.FirebaseVisionImage;
+import com.google.firebase.ml.vision.common.FirebaseVisionImageMetadata;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
@@ -9,11 +10,21 @@ import io.flutter.plugin.common.MethodChannel.Result;
 import io.flutter.plugin.common.PluginRegistry.Registrar;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /** FirebaseMlVisionPlugin */
 public class FirebaseMlVisionPlugin implements MethodCallHandler {
   private Registrar registrar;
+  // Detector method and options of the byte buffer frames currently being processed. Method calls
+  // are received and answered on the platform thread only.
+  private final Set<List<Object>> framesInFlight = new HashSet<>();
+  private final DetectionScheduler scheduler = new DetectionScheduler();
 
   private FirebaseMlVisionPlugin(Registrar registrar) {
     this.registrar = registrar;
@@ -28,36 +39,148 @@ public class FirebaseMlVisionPlugin implements MethodCallHandler {
 
   @Override
   public void onMethodCall(MethodCall call, Result result) {
-    Map<String, Object> options = call.argument("options");
-    FirebaseVisionImage image;
     switch (call.method) {
       case "BarcodeDetector#detectInImage":
-        try {
-          image = filePathToVisionImage((String) call.argument("path"));
-          BarcodeDetector.instance.handleDetection(image, options, result);
-        } catch (IOException e) {
-          result.error("barcodeDetectorIOError", e.getLocalizedMessage(), null);
-        } catch (Exception e) {
-          result.error("barcodeDetectorError", e.getLocalizedMessage(), null);
-        }
-        break;
       case "FaceDetector#detectInImage":
-        break;
       case "LabelDetector#detectInImage":
-        break;
       case "TextDetector#detectInImage":
-        try {
-          image = filePathToVisionImage((String) call.argument("path"));
-          TextDetector.instance.handleDetection(image, options, result);
-        } catch (IOException e) {
-          result.error("textDetectorIOError", e.getLocalizedMessage(), null);
-        } catch (Exception e) {
-          result.error("textDetectorError", e.getLocalizedMessage(), null);
-        }
+        detectInImage(call, call.method.substring(0, call.method.indexOf('#')), result);
         break;
+      case "FirebaseVision#detectInImage":
+        detectAllInImage(call, result);
+        break;
+      default:
+        result.notImplemented();
+    }
+  }
+
+  private void detectInImage(MethodCall call, String name, Result result) {
+    final Map<String, Object> options = call.argument("options");
+    final String errorPrefix = DetectionScheduler.toErrorPrefix(name);
+    final FirebaseVisionImage image = toVisionImage(call, errorPrefix, result);
+    if (image == null) {
+      return;
+    }
+    result = acquireFrame(call, options, result);
+    if (result != null) {
+      scheduler.detect(toDetector(name), errorPrefix + "Error", image, options, result);
+    }
+  }
+
+  private void detectAllInImage(MethodCall call, Result result) {
+    final Map<String, Map<String, Object>> options = call.argument("options");
+    final Map<String, Detector> detectors = new HashMap<>();
+    for (String name : options.keySet()) {
+      final Detector detector = toDetector(name);
+      if (detector == null) {
+        result.error("firebaseVisionError", "Unknown detector: " + name, null);
+        return;
+      }
+      detectors.put(name, detector);
+    }
+    if (detectors.isEmpty()) {
+      result.error("firebaseVisionError", "No detectors", null);
+      return;
+    }
+    final FirebaseVisionImage image = toVisionImage(call, "firebaseVision", result);
+    if (image == null) {
+      return;
+    }
+    result = acquireFrame(call, options, result);
+    if (result != null) {
+      scheduler.detectAll(image, detectors, options, result);
+    }
+  }
+
+  private static Detector toDetector(String name) {
+    switch (name) {
+      case "BarcodeDetector":
+        return BarcodeDetector.instance;
+      case "FaceDetector":
+        return FaceDetector.instance;
+      case "LabelDetector":
+        return LabelDetector.instance;
+      case "TextDetector":
+        return TextDetector.instance;
       default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns the result to answer the detection with, or null if the image is a byte buffer frame
+   * that was dropped because the previous frame for the same detector and options is still being
+   * processed. Dropped frames are answered with null.
+   */
+  private Result acquireFrame(MethodCall call, Object options, final Result result) {
+    if (call.argument("bytes") == null) {
+      return result;
+    }
+    final List<Object> key = Arrays.<Object>asList(call.method, options);
+    if (!framesInFlight.add(key)) {
+      result.success(null);
+      return null;
+    }
+    return new Result() {
+      @Override
+      public void success(Object o) {
+        framesInFlight.remove(key);
+        result.success(o);
+      }
+
+      @Override
+      public void error(String errorCode, String errorMessage, Object errorDetails) {
+        framesInFlight.remove(key);
+        result.error(errorCode, errorMessage, errorDetails);
+      }
+
+      @Override
+      public void notImplemented() {
+        framesInFlight.remove(key);
         result.notImplemented();
+      }
+    };
+  }
+
+  /**
+   * Returns the image described by the arguments of {@code call}, or null if it could not be read,
+   * in which case {@code result} is answered with an error.
+   */
+  private FirebaseVisionImage toVisionImage(MethodCall call, String errorPrefix, Result result) {
+    try {
+      return toVisionImage(call);
+    } catch (IOException e) {
+      result.error(errorPrefix + "IOError", e.getLocalizedMessage(), null);
+    } catch (Exception e) {
+      result.error(errorPrefix + "Error", e.getLocalizedMessage(), null);
+    }
+    return null;
+  }
+
+  private FirebaseVisionImage toVisionImage(MethodCall call) throws IOException {
+    final byte[] bytes = call.argument("bytes");
+    if (bytes == null) {
+      return filePathToVisionImage((String) call.argument("path"));
+    }
+    final Map<String, Object> metadata = call.argument("metadata");
+    return FirebaseVisionImage.fromByteBuffer(
+        ByteBuffer.wrap(bytes),
+        new FirebaseVisionImageMetadata.Builder()
+            .setWidth((int) metadata.get("width"))
+            .setHeight((int) metadata.get("height"))
+            .setRotation((int) metadata.get("rotation"))
+            .setFormat(toImageFormat((String) metadata.get("format")))
+            .build());
+  }
+
+  private static int toImageFormat(String format) {
+    switch (format) {
+      case "nv21":
+        return FirebaseVisionImageMetadata.IMAGE_FORMAT_NV21;
+      case "yv12":
+        return FirebaseVisionImageMetadata.IMAGE_FORMAT_YV12;
     }
+    throw new IllegalArgumentException("Unsupported image format: " + format);
   }
 
   private FirebaseVisionImage filePathToVisionImage(String path) throws IOException {
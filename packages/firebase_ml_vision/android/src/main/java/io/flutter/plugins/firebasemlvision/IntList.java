@@ -0,0 +1,54 @@
+package io.flutter.plugins.firebasemlvision;
+
+import android.graphics.Point;
+import android.graphics.Rect;
+import java.util.Arrays;
+
+/** Growable array of ints, sent to Dart as an {@code Int32List}. */
+final class IntList {
+  // Written in place of the bounding box of results that do not have one. Only the width needs to
+  // be checked, as it is never negative otherwise.
+  static final int NO_BOUNDING_BOX = -1;
+
+  private int[] values = new int[64];
+  private int size;
+
+  int size() {
+    return size;
+  }
+
+  void add(int value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, size * 2);
+    }
+    values[size++] = value;
+  }
+
+  /** Adds left, top, width and height of {@code box}, or {@link #NO_BOUNDING_BOX} if null. */
+  void addBoundingBox(Rect box) {
+    if (box == null) {
+      for (int i = 0; i < 4; i++) {
+        add(NO_BOUNDING_BOX);
+      }
+    } else {
+      add(box.left);
+      add(box.top);
+      add(box.width());
+      add(box.height());
+    }
+  }
+
+  /** Adds the x and y coordinates of each of {@code points}, if any. */
+  void addPoints(Point[] points) {
+    if (points != null) {
+      for (Point point : points) {
+        add(point.x);
+        add(point.y);
+      }
+    }
+  }
+
+  int[] toArray() {
+    return Arrays.copyOf(values, size);
+  }
+}
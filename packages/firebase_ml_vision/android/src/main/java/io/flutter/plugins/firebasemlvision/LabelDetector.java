@@ -1,11 +1,64 @@
 package io.flutter.plugins.firebasemlvision;
 
+import android.support.annotation.NonNull;
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.firebase.ml.vision.FirebaseVision;
 import com.google.firebase.ml.vision.common.FirebaseVisionImage;
+import com.google.firebase.ml.vision.label.FirebaseVisionLabel;
+import com.google.firebase.ml.vision.label.FirebaseVisionLabelDetector;
+import com.google.firebase.ml.vision.label.FirebaseVisionLabelDetectorOptions;
 import io.flutter.plugin.common.MethodChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 class LabelDetector implements Detector {
+  public static final LabelDetector instance = new LabelDetector();
+  private static final DetectorCache<FirebaseVisionLabelDetector> detectors =
+      new DetectorCache<FirebaseVisionLabelDetector>() {
+        @Override
+        FirebaseVisionLabelDetector create(Map<String, Object> options) {
+          return FirebaseVision.getInstance().getVisionLabelDetector(parseOptions(options));
+        }
+      };
+
+  private LabelDetector() {}
+
   @Override
   public void handleDetection(
-      FirebaseVisionImage image, Map<String, Object> options, final MethodChannel.Result result) {}
+      FirebaseVisionImage image, Map<String, Object> options, final MethodChannel.Result result) {
+    detectors
+        .get(options)
+        .detectInImage(image)
+        .addOnSuccessListener(
+            new OnSuccessListener<List<FirebaseVisionLabel>>() {
+              @Override
+              public void onSuccess(List<FirebaseVisionLabel> firebaseVisionLabels) {
+                List<Map<String, Object>> labels = new ArrayList<>(firebaseVisionLabels.size());
+                for (FirebaseVisionLabel label : firebaseVisionLabels) {
+                  Map<String, Object> labelData = new HashMap<>();
+                  labelData.put("confidence", (double) label.getConfidence());
+                  labelData.put("entityId", label.getEntityId());
+                  labelData.put("label", label.getLabel());
+                  labels.add(labelData);
+                }
+                result.success(labels);
+              }
+            })
+        .addOnFailureListener(
+            new OnFailureListener() {
+              @Override
+              public void onFailure(@NonNull Exception exception) {
+                result.error("labelDetectorError", exception.getLocalizedMessage(), null);
+              }
+            });
+  }
+
+  private static FirebaseVisionLabelDetectorOptions parseOptions(Map<String, Object> options) {
+    return new FirebaseVisionLabelDetectorOptions.Builder()
+        .setConfidenceThreshold((float) ((double) options.get("confidenceThreshold")))
+        .build();
+  }
 }
@@ -0,0 +1,35 @@
+package io.flutter.plugins.firebasemlvision;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deduplicated strings of a packed detection result, referenced by their index.
+ *
+ * <p>Null strings are represented by index -1.
+ */
+final class StringTable {
+  static final int NULL = -1;
+
+  private final Map<String, Integer> indices = new HashMap<>();
+  private final List<String> strings = new ArrayList<>();
+
+  int indexOf(String string) {
+    if (string == null) {
+      return NULL;
+    }
+    Integer index = indices.get(string);
+    if (index == null) {
+      index = strings.size();
+      strings.add(string);
+      indices.put(string, index);
+    }
+    return index;
+  }
+
+  List<String> toList() {
+    return strings;
+  }
+}
@@ -10,56 +10,42 @@ import com.google.firebase.ml.vision.common.FirebaseVisionImage;
 import com.google.firebase.ml.vision.text.FirebaseVisionText;
 import com.google.firebase.ml.vision.text.FirebaseVisionTextDetector;
 import io.flutter.plugin.common.MethodChannel;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class TextDetector implements Detector {
   public static final TextDetector instance = new TextDetector();
-  private static FirebaseVisionTextDetector textDetector;
+  private static final DetectorCache<FirebaseVisionTextDetector> detectors =
+      new DetectorCache<FirebaseVisionTextDetector>() {
+        @Override
+        FirebaseVisionTextDetector create(Map<String, Object> options) {
+          return FirebaseVision.getInstance().getVisionTextDetector();
+        }
+      };
+
+  private static final int DEPTH_BLOCKS = 1;
+  private static final int DEPTH_LINES = 2;
+  private static final int DEPTH_ELEMENTS = 3;
+  // Number of values per block, line or element in the packed arrays.
+  private static final int STRIDE = 9;
 
   private TextDetector() {}
 
   @Override
   public void handleDetection(
       FirebaseVisionImage image, Map<String, Object> options, final MethodChannel.Result result) {
-    if (textDetector == null) textDetector = FirebaseVision.getInstance().getVisionTextDetector();
-    textDetector
+    final int depth = depthOf(options);
+    // The depth only affects how results are packed, so all depths share one detector.
+    detectors
+        .get(null)
         .detectInImage(image)
         .addOnSuccessListener(
             new OnSuccessListener<FirebaseVisionText>() {
               @Override
               public void onSuccess(FirebaseVisionText firebaseVisionText) {
-                List<Map<String, Object>> blocks = new ArrayList<>();
-                for (FirebaseVisionText.Block block : firebaseVisionText.getBlocks()) {
-                  Map<String, Object> blockData = new HashMap<>();
-                  addTextData(
-                      blockData, block.getBoundingBox(), block.getCornerPoints(), block.getText());
-
-                  List<Map<String, Object>> lines = new ArrayList<>();
-                  for (FirebaseVisionText.Line line : block.getLines()) {
-                    Map<String, Object> lineData = new HashMap<>();
-                    addTextData(
-                        lineData, line.getBoundingBox(), line.getCornerPoints(), line.getText());
-
-                    List<Map<String, Object>> elements = new ArrayList<>();
-                    for (FirebaseVisionText.Element element : line.getElements()) {
-                      Map<String, Object> elementData = new HashMap<>();
-                      addTextData(
-                          elementData,
-                          element.getBoundingBox(),
-                          element.getCornerPoints(),
-                          element.getText());
-                      elements.add(elementData);
-                    }
-                    lineData.put("elements", elements);
-                    lines.add(lineData);
-                  }
-                  blockData.put("lines", lines);
-                  blocks.add(blockData);
-                }
-                result.success(blocks);
+                result.success(pack(firebaseVisionText, depth));
               }
             })
         .addOnFailureListener(
@@ -71,23 +57,101 @@ public class TextDetector implements Detector {
             });
   }
 
-  private void addTextData(
-      Map<String, Object> addTo, Rect boundingBox, Point[] cornerPoints, String text) {
-    addTo.put("text", text);
-
-    if (boundingBox != null) {
-      addTo.put("left", boundingBox.left);
-      addTo.put("top", boundingBox.top);
-      addTo.put("width", boundingBox.width());
-      addTo.put("height", boundingBox.height());
+  private static int depthOf(Map<String, Object> options) {
+    final String depth = options == null ? null : (String) options.get("depth");
+    if (depth == null) {
+      return DEPTH_ELEMENTS;
     }
+    switch (depth) {
+      case "blocks":
+        return DEPTH_BLOCKS;
+      case "lines":
+        return DEPTH_LINES;
+      case "elements":
+        return DEPTH_ELEMENTS;
+    }
+    throw new IllegalArgumentException("Not a depth: " + depth);
+  }
 
-    List<int[]> points = new ArrayList<>();
-    if (cornerPoints != null) {
-      for (Point point : cornerPoints) {
-        points.add(new int[] {point.x, point.y});
+  /**
+   * Packs the blocks, lines and elements of {@code text} down to {@code depth} into flat arrays.
+   *
+   * <p>Each level is an int array with {@link #STRIDE} values per result: the index of its text in
+   * the string table, its bounding box, the index and number of its corner points in the shared
+   * points array, and the index and number of its children in the next level. Children of a
+   * result are adjacent, so no map is created per result.
+   */
+  private static Map<String, Object> pack(FirebaseVisionText text, int depth) {
+    final StringTable strings = new StringTable();
+    final IntList points = new IntList();
+    final IntList blocks = new IntList();
+    final IntList lines = new IntList();
+    final IntList elements = new IntList();
+    for (FirebaseVisionText.Block block : text.getBlocks()) {
+      final List<FirebaseVisionText.Line> blockLines =
+          depth >= DEPTH_LINES
+              ? block.getLines()
+              : Collections.<FirebaseVisionText.Line>emptyList();
+      addResult(
+          blocks,
+          strings,
+          points,
+          block.getText(),
+          block.getBoundingBox(),
+          block.getCornerPoints(),
+          lines.size() / STRIDE,
+          blockLines.size());
+      for (FirebaseVisionText.Line line : blockLines) {
+        final List<FirebaseVisionText.Element> lineElements =
+            depth >= DEPTH_ELEMENTS
+                ? line.getElements()
+                : Collections.<FirebaseVisionText.Element>emptyList();
+        addResult(
+            lines,
+            strings,
+            points,
+            line.getText(),
+            line.getBoundingBox(),
+            line.getCornerPoints(),
+            elements.size() / STRIDE,
+            lineElements.size());
+        for (FirebaseVisionText.Element element : lineElements) {
+          addResult(
+              elements,
+              strings,
+              points,
+              element.getText(),
+              element.getBoundingBox(),
+              element.getCornerPoints(),
+              0,
+              0);
+        }
       }
     }
-    addTo.put("points", points);
+    final Map<String, Object> packed = new HashMap<>();
+    packed.put("strings", strings.toList());
+    packed.put("points", points.toArray());
+    packed.put("blocks", blocks.toArray());
+    packed.put("lines", lines.toArray());
+    packed.put("elements", elements.toArray());
+    return packed;
+  }
+
+  private static void addResult(
+      IntList addTo,
+      StringTable strings,
+      IntList points,
+      String text,
+      Rect boundingBox,
+      Point[] cornerPoints,
+      int firstChild,
+      int childCount) {
+    addTo.add(strings.indexOf(text));
+    addTo.addBoundingBox(boundingBox);
+    addTo.add(points.size() / 2);
+    addTo.add(cornerPoints == null ? 0 : cornerPoints.length);
+    addTo.add(firstChild);
+    addTo.add(childCount);
+    points.addPoints(cornerPoints);
   }
 }
@@ -36,12 +36,16 @@
 }
 
 - (void)handleMethodCall:(FlutterMethodCall *)call result:(FlutterResult)result {
+  if (call.arguments[@"bytes"] && call.arguments[@"bytes"] != [NSNull null]) {
+    result([FlutterError errorWithCode:@"unsupportedImage"
+                               message:@"Raw frames are only supported on Android"
+                               details:nil]);
+    return;
+  }
   FIRVisionImage *image = [self filePathToVisionImage:call.arguments[@"path"]];
   NSDictionary *options = call.arguments[@"options"];
   if ([@"BarcodeDetector#detectInImage" isEqualToString:call.method]) {
     [BarcodeDetector handleDetection:image options:options result:result];
-  } else if ([@"FaceDetector#detectInImage" isEqualToString:call.method]) {
-  } else if ([@"LabelDetector#detectInImage" isEqualToString:call.method]) {
   } else if ([@"TextDetector#detectInImage" isEqualToString:call.method]) {
     [TextDetector handleDetection:image options:options result:result];
   } else {
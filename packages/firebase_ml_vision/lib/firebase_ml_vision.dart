@@ -7,6 +7,7 @@ library firebase_ml_vision;
 import 'dart:async';
 import 'dart:io';
 import 'dart:math';
+import 'dart:typed_data';
 
 import 'package:flutter/foundation.dart';
 import 'package:flutter/services.dart';
@@ -15,4 +16,5 @@ part 'src/barcode_detector.dart';
 part 'src/face_detector.dart';
 part 'src/firebase_vision.dart';
 part 'src/label_detector.dart';
+part 'src/packed_results.dart';
 part 'src/text_detector.dart';
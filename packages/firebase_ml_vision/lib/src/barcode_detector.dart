@@ -19,13 +19,25 @@ class BarcodeDetector extends FirebaseVisionDetector {
   /// The barcode scanning is performed asynchronously.
   @override
   Future<List<Barcode>> detectInImage(FirebaseVisionImage visionImage) async {
-    final List<dynamic> reply = await FirebaseVision.channel.invokeMethod(
-      'BarcodeDetector#detectInImage',
-      <String, dynamic>{
-        'path': visionImage.imageFile.path,
-        'options': <String, dynamic>{},
-      },
-    );
+    final dynamic reply = await _detectInImage(visionImage);
+    return reply == null ? null : _fromReply(reply);
+  }
+
+  @override
+  String get _name => 'BarcodeDetector';
+
+  @override
+  Map<String, dynamic> get _options => <String, dynamic>{};
+
+  @override
+  List<Barcode> _fromReply(dynamic reply) {
+    if (reply is Map) {
+      final _PackedBarcodes packed = new _PackedBarcodes(reply);
+      return new List<Barcode>.generate(
+        packed.count,
+        (int i) => new Barcode._fromPacked(packed, i),
+      );
+    }
 
     final List<Barcode> barcodes = <Barcode>[];
     reply.forEach((dynamic barcode) {
@@ -39,26 +51,51 @@ class BarcodeDetector extends FirebaseVisionDetector {
 /// Represents a single recognized barcode and its value.
 class Barcode {
   Barcode._(Map<dynamic, dynamic> _data)
-      : boundingBox = _data['left'] != null
-            ? Rectangle<int>(
-                _data['left'],
-                _data['top'],
-                _data['width'],
-                _data['height'],
-              )
-            : null,
-        rawValue = _data['raw_value'],
-        displayValue = _data['display_value'],
-        format = BarcodeFormat._(_data['format']),
-        _cornerPoints = _data['points'] == null
-            ? null
-            : _data['points']
-                .map<Point<int>>((dynamic item) => Point<int>(
-                      item[0],
-                      item[1],
-                    ))
-                .toList(),
-        valueType = BarcodeValueType.values.elementAt(_data['value_type']),
+      : this._fromFields(
+          _data['left'] != null
+              ? Rectangle<int>(
+                  _data['left'],
+                  _data['top'],
+                  _data['width'],
+                  _data['height'],
+                )
+              : null,
+          _data['raw_value'],
+          _data['display_value'],
+          _data['format'],
+          _data['points'] == null
+              ? null
+              : _data['points']
+                  .map<Point<int>>((dynamic item) => Point<int>(
+                        item[0],
+                        item[1],
+                      ))
+                  .toList(),
+          _data['value_type'],
+          _data,
+        );
+
+  Barcode._fromPacked(_PackedBarcodes packed, int index)
+      : this._fromFields(
+          packed.boundingBox(index),
+          packed.rawValue(index),
+          packed.displayValue(index),
+          packed.format(index),
+          packed.cornerPoints(index),
+          packed.valueType(index),
+          packed.values(index),
+        );
+
+  Barcode._fromFields(
+    this.boundingBox,
+    this.rawValue,
+    this.displayValue,
+    int format,
+    this._cornerPoints,
+    int valueType,
+    Map<dynamic, dynamic> _data,
+  )   : format = BarcodeFormat._(format),
+        valueType = BarcodeValueType.values.elementAt(valueType),
         email = _data['email'] == null ? null : BarcodeEmail._(_data['email']),
         phone = _data['phone'] == null ? null : BarcodePhone._(_data['phone']),
         sms = _data['sms'] == null ? null : BarcodeSMS._(_data['sms']),
@@ -41,20 +41,24 @@ class FaceDetector extends FirebaseVisionDetector {
   /// Detects faces in the input image.
   @override
   Future<List<Face>> detectInImage(FirebaseVisionImage visionImage) async {
-    final List<dynamic> reply = await FirebaseVision.channel.invokeMethod(
-      'FaceDetector#detectInImage',
-      <String, dynamic>{
-        'path': visionImage.imageFile.path,
-        'options': <String, dynamic>{
-          'enableClassification': options.enableClassification,
-          'enableLandmarks': options.enableLandmarks,
-          'enableTracking': options.enableTracking,
-          'minFaceSize': options.minFaceSize,
-          'mode': _enumToString(options.mode),
-        },
-      },
-    );
+    final List<dynamic> reply = await _detectInImage(visionImage);
+    return reply == null ? null : _fromReply(reply);
+  }
+
+  @override
+  String get _name => 'FaceDetector';
 
+  @override
+  Map<String, dynamic> get _options => <String, dynamic>{
+        'enableClassification': options.enableClassification,
+        'enableLandmarks': options.enableLandmarks,
+        'enableTracking': options.enableTracking,
+        'minFaceSize': options.minFaceSize,
+        'mode': _enumToString(options.mode),
+      };
+
+  @override
+  List<Face> _fromReply(dynamic reply) {
     final List<Face> faces = <Face>[];
     for (dynamic data in reply) {
       faces.add(Face._(data));
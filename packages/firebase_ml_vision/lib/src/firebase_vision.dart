@@ -44,33 +44,247 @@ class FirebaseVision {
   }
 
   /// Creates an instance of [TextDetector].
-  TextDetector textDetector() => new TextDetector._();
+  TextDetector textDetector([TextDetectorOptions options]) {
+    return new TextDetector._(options ?? const TextDetectorOptions());
+  }
+
+  final _FrameGate _frameGate = new _FrameGate();
+
+  /// Runs all [detectors] on [visionImage] in a single platform call.
+  ///
+  /// The image is only decoded once and then shared by the detectors, which
+  /// makes this cheaper than calling `detectInImage` on each of them. At most
+  /// one detector of each type may be passed.
+  ///
+  /// For raw frames created with [FirebaseVisionImage.fromBytes], completes
+  /// with null if the frame was dropped because a previous frame passed to
+  /// this method was still being processed.
+  Future<FirebaseVisionResults> detectInImage(
+    FirebaseVisionImage visionImage,
+    List<FirebaseVisionDetector> detectors,
+  ) async {
+    assert(detectors.isNotEmpty);
+    final Map<String, dynamic> options = <String, dynamic>{};
+    for (FirebaseVisionDetector detector in detectors) {
+      assert(!options.containsKey(detector._name));
+      options[detector._name] = detector._options;
+    }
+    final Map<dynamic, dynamic> reply = await _frameGate.run(
+      visionImage,
+      () => channel.invokeMethod(
+            'FirebaseVision#detectInImage',
+            visionImage._toArguments(options),
+          ),
+    );
+    return reply == null ? null : new FirebaseVisionResults._(detectors, reply);
+  }
 }
 
 /// Represents an image object used for both on-device and cloud API detectors.
 ///
 /// Create an instance by calling one of the factory constructors.
 class FirebaseVisionImage {
-  FirebaseVisionImage._(this.imageFile);
+  FirebaseVisionImage._(this.imageFile, this.bytes, this.metadata);
 
   /// Construct a [FirebaseVisionImage] from a file.
   factory FirebaseVisionImage.fromFile(File imageFile) {
     assert(imageFile != null);
-    return FirebaseVisionImage._(imageFile);
+    return FirebaseVisionImage._(imageFile, null, null);
   }
 
   /// Construct a [FirebaseVisionImage] from a file path.
   factory FirebaseVisionImage.fromFilePath(String imagePath) {
     assert(imagePath != null);
-    return FirebaseVisionImage._(new File(imagePath));
+    return FirebaseVisionImage._(new File(imagePath), null, null);
   }
 
-  /// The file location of the image.
+  /// Construct a [FirebaseVisionImage] from a raw camera frame, such as an
+  /// Android camera preview buffer, described by [metadata].
+  ///
+  /// The frame is passed to the detector directly, without being encoded to
+  /// and decoded from a file, which makes this suitable for real-time
+  /// detection. While a detector is still processing a frame, further frames
+  /// passed to it are dropped rather than queued.
+  ///
+  /// Android only.
+  factory FirebaseVisionImage.fromBytes(
+    Uint8List bytes,
+    FirebaseVisionImageMetadata metadata,
+  ) {
+    assert(bytes != null);
+    assert(metadata != null);
+    return FirebaseVisionImage._(null, bytes, metadata);
+  }
+
+  /// The file location of the image, or null for raw frames.
   final File imageFile;
+
+  /// The raw frame bytes, or null for images backed by a file.
+  final Uint8List bytes;
+
+  /// Describes [bytes], or null for images backed by a file.
+  final FirebaseVisionImageMetadata metadata;
+
+  Map<String, dynamic> _toArguments(Map<String, dynamic> options) {
+    if (imageFile != null) {
+      return <String, dynamic>{'path': imageFile.path, 'options': options};
+    }
+    return <String, dynamic>{
+      'bytes': bytes,
+      'metadata': metadata._toJson(),
+      'options': options,
+    };
+  }
+}
+
+/// Pixel layout of a raw frame passed to [FirebaseVisionImage.fromBytes].
+enum FirebaseVisionImageFormat {
+  /// YCrCb format used by Android camera previews by default.
+  nv21,
+
+  /// Planar YCrCb format with the V plane before the U plane.
+  yv12,
+}
+
+/// Clockwise rotation to apply to a raw frame to bring it upright.
+enum ImageRotation { rotation0, rotation90, rotation180, rotation270 }
+
+/// Describes the layout and orientation of a raw frame.
+class FirebaseVisionImageMetadata {
+  const FirebaseVisionImageMetadata({
+    @required this.width,
+    @required this.height,
+    this.rotation = ImageRotation.rotation0,
+    this.format = FirebaseVisionImageFormat.nv21,
+  })  : assert(width != null),
+        assert(height != null),
+        assert(rotation != null),
+        assert(format != null);
+
+  /// Width of the frame in pixels.
+  final int width;
+
+  /// Height of the frame in pixels.
+  final int height;
+
+  /// Rotation to apply to bring the frame upright.
+  final ImageRotation rotation;
+
+  /// Pixel layout of the frame.
+  final FirebaseVisionImageFormat format;
+
+  Map<String, dynamic> _toJson() => <String, dynamic>{
+        'width': width,
+        'height': height,
+        'rotation': rotation.index,
+        'format': format == FirebaseVisionImageFormat.nv21 ? 'nv21' : 'yv12',
+      };
+}
+
+/// Drops raw frames passed to a detector while a previous one is still being
+/// processed, so that frames are not queued up behind a slow detector.
+///
+/// Images backed by files always pass.
+class _FrameGate {
+  bool _busy = false;
+
+  /// Runs [detect] for [image], or returns null if [image] is a raw frame and
+  /// another frame is still being processed.
+  Future<T> run<T>(FirebaseVisionImage image, Future<T> detect()) async {
+    if (image.bytes == null) {
+      return detect();
+    }
+    if (_busy) {
+      return null;
+    }
+    _busy = true;
+    try {
+      return await detect();
+    } finally {
+      _busy = false;
+    }
+  }
 }
 
 /// Abstract class for detectors in [FirebaseVision] API.
 abstract class FirebaseVisionDetector {
+  final _FrameGate _frameGate = new _FrameGate();
+
   /// Uses machine learning model to detect objects of interest in an image.
+  ///
+  /// For raw frames created with [FirebaseVisionImage.fromBytes], completes
+  /// with null if the frame was dropped because the detector was still
+  /// processing a previous frame.
   Future<dynamic> detectInImage(FirebaseVisionImage visionImage);
+
+  /// Name of the detector on the platform side.
+  String get _name;
+
+  /// Options the platform detector is configured with.
+  Map<String, dynamic> get _options;
+
+  /// Converts the platform reply for a non-dropped image to results.
+  dynamic _fromReply(dynamic reply);
+
+  Future<dynamic> _detectInImage(FirebaseVisionImage visionImage) {
+    return _frameGate.run(
+      visionImage,
+      () => FirebaseVision.channel.invokeMethod(
+            '$_name#detectInImage',
+            visionImage._toArguments(_options),
+          ),
+    );
+  }
+}
+
+/// Results of running several detectors on the same image with
+/// [FirebaseVision.detectInImage].
+class FirebaseVisionResults {
+  FirebaseVisionResults._(
+    List<FirebaseVisionDetector> detectors,
+    Map<dynamic, dynamic> data,
+  ) {
+    final Map<dynamic, dynamic> results = data['results'];
+    final Map<dynamic, dynamic> errors = data['errors'];
+    final Map<dynamic, dynamic> latencies = data['latencies'];
+    for (FirebaseVisionDetector detector in detectors) {
+      final Map<dynamic, dynamic> error = errors[detector._name];
+      if (error != null) {
+        _errors[detector] = new PlatformException(
+          code: error['code'],
+          message: error['message'],
+        );
+      } else {
+        _results[detector] = detector._fromReply(results[detector._name]);
+      }
+      final double latencyMs = latencies[detector._name];
+      _latencies[detector] =
+          new Duration(microseconds: (latencyMs * 1000).round());
+    }
+  }
+
+  final Map<FirebaseVisionDetector, dynamic> _results =
+      <FirebaseVisionDetector, dynamic>{};
+  final Map<FirebaseVisionDetector, PlatformException> _errors =
+      <FirebaseVisionDetector, PlatformException>{};
+  final Map<FirebaseVisionDetector, Duration> _latencies =
+      <FirebaseVisionDetector, Duration>{};
+
+  /// The results of [detector], of the same type as those returned by its
+  /// `detectInImage` method.
+  ///
+  /// Throws a [PlatformException] if [detector] failed.
+  dynamic resultsOf(FirebaseVisionDetector detector) {
+    assert(_latencies.containsKey(detector));
+    final PlatformException error = _errors[detector];
+    if (error != null) {
+      throw error;
+    }
+    return _results[detector];
+  }
+
+  /// How long [detector] took to process the image.
+  ///
+  /// Does not include time spent waiting for other detections to finish.
+  Duration latencyOf(FirebaseVisionDetector detector) => _latencies[detector];
 }
@@ -31,16 +31,20 @@ class LabelDetector extends FirebaseVisionDetector {
   /// Performed asynchronously.
   @override
   Future<List<Label>> detectInImage(FirebaseVisionImage visionImage) async {
-    final List<dynamic> reply = await FirebaseVision.channel.invokeMethod(
-      'LabelDetector#detectInImage',
-      <String, dynamic>{
-        'path': visionImage.imageFile.path,
-        'options': <String, dynamic>{
-          'confidenceThreshold': options.confidenceThreshold,
-        },
-      },
-    );
+    final List<dynamic> reply = await _detectInImage(visionImage);
+    return reply == null ? null : _fromReply(reply);
+  }
+
+  @override
+  String get _name => 'LabelDetector';
 
+  @override
+  Map<String, dynamic> get _options => <String, dynamic>{
+        'confidenceThreshold': options.confidenceThreshold,
+      };
+
+  @override
+  List<Label> _fromReply(dynamic reply) {
     final List<Label> labels = <Label>[];
     for (dynamic data in reply) {
       labels.add(Label._(data));
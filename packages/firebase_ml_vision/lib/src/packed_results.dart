@@ -0,0 +1,117 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+part of firebase_ml_vision;
+
+/// Detection results sent by the platform as flat int arrays.
+///
+/// Strings are sent once in a string table and referenced by their index, -1
+/// standing for null. Corner points of all results are sent in a single array
+/// of x and y coordinates, referenced by the index and number of a result's
+/// points. A negative width marks a missing bounding box.
+abstract class _PackedResults {
+  _PackedResults(Map<dynamic, dynamic> data)
+      : _strings = data['strings'],
+        _points = data['points'];
+
+  final List<dynamic> _strings;
+  final List<int> _points;
+
+  String _string(int index) => index < 0 ? null : _strings[index];
+
+  /// Reads left, top, width and height starting at [offset] in [values].
+  Rectangle<int> _boundingBox(List<int> values, int offset) {
+    if (values[offset + 2] < 0) {
+      return null;
+    }
+    return Rectangle<int>(
+      values[offset],
+      values[offset + 1],
+      values[offset + 2],
+      values[offset + 3],
+    );
+  }
+
+  /// Reads the index and number of points starting at [offset] in [values].
+  List<Point<int>> _cornerPoints(List<int> values, int offset) {
+    final int first = values[offset] * 2;
+    return List<Point<int>>.generate(
+      values[offset + 1],
+      (int i) => Point<int>(_points[first + 2 * i], _points[first + 2 * i + 1]),
+    );
+  }
+}
+
+/// Packed [TextBlock]s, [TextLine]s and [TextElement]s.
+///
+/// Each level has [_stride] values per result: its text, bounding box, corner
+/// points and the index and number of its children in the next level.
+class _PackedText extends _PackedResults {
+  _PackedText(Map<dynamic, dynamic> data)
+      : blocks = data['blocks'],
+        lines = data['lines'],
+        elements = data['elements'],
+        super(data);
+
+  static const int _stride = 9;
+
+  final List<int> blocks;
+  final List<int> lines;
+  final List<int> elements;
+
+  int count(List<int> level) => level.length ~/ _stride;
+
+  String text(List<int> level, int index) => _string(level[index * _stride]);
+
+  Rectangle<int> boundingBox(List<int> level, int index) =>
+      _boundingBox(level, index * _stride + 1);
+
+  List<Point<int>> cornerPoints(List<int> level, int index) =>
+      _cornerPoints(level, index * _stride + 5);
+
+  /// Indices of the children of a result in the next level.
+  Iterable<int> children(List<int> level, int index) {
+    final int first = level[index * _stride + 7];
+    return Iterable<int>.generate(
+      level[index * _stride + 8],
+      (int i) => first + i,
+    );
+  }
+}
+
+/// Packed [Barcode]s.
+///
+/// Each barcode has [_stride] values: its raw and display values, format,
+/// value type, bounding box and corner points. Parsed values are sent as maps,
+/// or null for barcodes without one.
+class _PackedBarcodes extends _PackedResults {
+  _PackedBarcodes(Map<dynamic, dynamic> data)
+      : _barcodes = data['barcodes'],
+        _values = data['values'],
+        super(data);
+
+  static const int _stride = 10;
+
+  final List<int> _barcodes;
+  final List<dynamic> _values;
+
+  int get count => _barcodes.length ~/ _stride;
+
+  String rawValue(int index) => _string(_barcodes[index * _stride]);
+
+  String displayValue(int index) => _string(_barcodes[index * _stride + 1]);
+
+  int format(int index) => _barcodes[index * _stride + 2];
+
+  int valueType(int index) => _barcodes[index * _stride + 3];
+
+  Rectangle<int> boundingBox(int index) =>
+      _boundingBox(_barcodes, index * _stride + 4);
+
+  List<Point<int>> cornerPoints(int index) =>
+      _cornerPoints(_barcodes, index * _stride + 8);
+
+  Map<dynamic, dynamic> values(int index) =>
+      _values[index] ?? const <dynamic, dynamic>{};
+}
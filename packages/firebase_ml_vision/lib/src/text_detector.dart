@@ -4,6 +4,9 @@
 
 part of firebase_ml_vision;
 
+/// How far down the hierarchy of blocks, lines and elements text is reported.
+enum TextRecognitionDepth { blocks, lines, elements }
+
 /// Detector for performing optical character recognition(OCR) on an input image.
 ///
 /// A text detector is created via `textDetector()` in [FirebaseVision]:
@@ -11,21 +14,38 @@ part of firebase_ml_vision;
 /// ```dart
 /// TextDetector textDetector = FirebaseVision.instance.textDetector();
 /// ```
-class TextDetector implements FirebaseVisionDetector {
-  TextDetector._();
+class TextDetector extends FirebaseVisionDetector {
+  TextDetector._(this.options) : assert(options != null);
+
+  /// The options for the text detector.
+  final TextDetectorOptions options;
 
   /// Detects text in the input image.
   ///
   /// The OCR is performed asynchronously.
   @override
   Future<List<TextBlock>> detectInImage(FirebaseVisionImage visionImage) async {
-    final List<dynamic> reply = await FirebaseVision.channel.invokeMethod(
-      'TextDetector#detectInImage',
-      <String, dynamic>{
-        'path': visionImage.imageFile.path,
-        'options': <String, dynamic>{},
-      },
-    );
+    final dynamic reply = await _detectInImage(visionImage);
+    return reply == null ? null : _fromReply(reply);
+  }
+
+  @override
+  String get _name => 'TextDetector';
+
+  @override
+  Map<String, dynamic> get _options => <String, dynamic>{
+        'depth': _enumToString(options.depth),
+      };
+
+  @override
+  List<TextBlock> _fromReply(dynamic reply) {
+    if (reply is Map) {
+      final _PackedText packed = new _PackedText(reply);
+      return new List<TextBlock>.generate(
+        packed.count(packed.blocks),
+        (int i) => new TextBlock._fromPacked(packed, i),
+      );
+    }
 
     final List<TextBlock> blocks = <TextBlock>[];
     reply.forEach((dynamic block) {
@@ -36,6 +56,21 @@ class TextDetector implements FirebaseVisionDetector {
   }
 }
 
+/// Immutable options for configuring [TextDetector].
+class TextDetectorOptions {
+  /// Constructor for [TextDetectorOptions].
+  const TextDetectorOptions({this.depth = TextRecognitionDepth.elements})
+      : assert(depth != null);
+
+  /// The deepest level of results to report.
+  ///
+  /// Results below this level are not sent from the platform, which makes
+  /// detection cheaper for dense text when only blocks or lines are needed.
+  /// For example, with [TextRecognitionDepth.blocks], [TextBlock.lines] is
+  /// always empty.
+  final TextRecognitionDepth depth;
+}
+
 /// Abstract class representing dimensions of recognized text in an image.
 abstract class TextContainer {
   TextContainer._(Map<dynamic, dynamic> data)
@@ -55,6 +90,11 @@ abstract class TextContainer {
             .toList(),
         text = data['text'];
 
+  TextContainer._fromPacked(_PackedText packed, List<int> level, int index)
+      : boundingBox = packed.boundingBox(level, index),
+        _cornerPoints = packed.cornerPoints(level, index),
+        text = packed.text(level, index);
+
   final List<Point<int>> _cornerPoints;
 
   /// Axis-aligned bounding rectangle of the detected text.
@@ -87,6 +127,13 @@ class TextBlock extends TextContainer {
             .toList(),
         super._(block);
 
+  TextBlock._fromPacked(_PackedText packed, int index)
+      : _lines = packed
+            .children(packed.blocks, index)
+            .map<TextLine>((int line) => TextLine._fromPacked(packed, line))
+            .toList(),
+        super._fromPacked(packed, packed.blocks, index);
+
   final List<TextLine> _lines;
 
   /// The contents of the text block, broken down into individual lines.
@@ -101,6 +148,14 @@ class TextLine extends TextContainer {
             .toList(),
         super._(line);
 
+  TextLine._fromPacked(_PackedText packed, int index)
+      : _elements = packed
+            .children(packed.lines, index)
+            .map<TextElement>(
+                (int element) => TextElement._fromPacked(packed, element))
+            .toList(),
+        super._fromPacked(packed, packed.lines, index);
+
   final List<TextElement> _elements;
 
   /// The contents of this line, broken down into individual elements.
@@ -116,4 +171,7 @@ class TextLine extends TextContainer {
 /// separate element.
 class TextElement extends TextContainer {
   TextElement._(Map<dynamic, dynamic> element) : super._(element);
+
+  TextElement._fromPacked(_PackedText packed, int index)
+      : super._fromPacked(packed, packed.elements, index);
 }
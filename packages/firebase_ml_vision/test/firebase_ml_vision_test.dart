@@ -3,6 +3,7 @@
 // found in the LICENSE file.
 
 import 'dart:math';
+import 'dart:typed_data';
 
 import 'package:firebase_ml_vision/firebase_ml_vision.dart';
 import 'package:flutter/services.dart';
@@ -27,6 +28,8 @@ void main() {
             return returnValue;
           case 'TextDetector#detectInImage':
             return returnValue;
+          case 'FirebaseVision#detectInImage':
+            return returnValue;
           default:
             return null;
         }
@@ -34,6 +37,74 @@ void main() {
       log.clear();
     });
 
+    group('detectInImage with several detectors', () {
+      test('decodes results of each detector', () async {
+        returnValue = <dynamic, dynamic>{
+          'results': <dynamic, dynamic>{
+            'LabelDetector': <dynamic>[
+              <dynamic, dynamic>{
+                'confidence': 0.6,
+                'entityId': 'hello',
+                'label': 'friend',
+              },
+            ],
+          },
+          'errors': <dynamic, dynamic>{
+            'TextDetector': <dynamic, dynamic>{
+              'code': 'textDetectorError',
+              'message': 'failed',
+            },
+          },
+          'latencies': <dynamic, dynamic>{
+            'LabelDetector': 1.5,
+            'TextDetector': 2.0,
+          },
+        };
+
+        final LabelDetector labelDetector =
+            FirebaseVision.instance.labelDetector(
+          LabelDetectorOptions(confidenceThreshold: 0.2),
+        );
+        final TextDetector textDetector =
+            FirebaseVision.instance.textDetector();
+        final FirebaseVisionImage image =
+            new FirebaseVisionImage.fromFilePath('empty');
+
+        final FirebaseVisionResults results = await FirebaseVision.instance
+            .detectInImage(image, <FirebaseVisionDetector>[
+          labelDetector,
+          textDetector,
+        ]);
+
+        expect(log, <Matcher>[
+          isMethodCall(
+            'FirebaseVision#detectInImage',
+            arguments: <String, dynamic>{
+              'path': 'empty',
+              'options': <String, dynamic>{
+                'LabelDetector': <String, dynamic>{
+                  'confidenceThreshold': 0.2,
+                },
+                'TextDetector': <String, dynamic>{'depth': 'elements'},
+              },
+            },
+          ),
+        ]);
+
+        final List<Label> labels = results.resultsOf(labelDetector);
+        expect(labels, hasLength(1));
+        expect(labels[0].label, 'friend');
+        expect(
+          () => results.resultsOf(textDetector),
+          throwsA(isInstanceOf<PlatformException>()),
+        );
+        expect(results.latencyOf(labelDetector),
+            const Duration(microseconds: 1500));
+        expect(results.latencyOf(textDetector),
+            const Duration(milliseconds: 2));
+      });
+    });
+
     group('$BarcodeDetector', () {
       test('detectInImage unknown', () async {
         final Map<dynamic, dynamic> _barcode = <dynamic, dynamic>{
@@ -80,6 +151,53 @@ void main() {
         ]);
       });
 
+      test('detectInImage packed', () async {
+        returnValue = <dynamic, dynamic>{
+          'strings': <dynamic>['hello:raw', 'hello:display', 'mailto:a@b.c'],
+          'points': new Int32List.fromList(<int>[5, 6, 7, 8]),
+          'barcodes': new Int32List.fromList(<int>[
+            0, 1, 0, 0, 1, 2, 3, 4, 0, 2, //
+            2, -1, 0, 2, -1, -1, -1, -1, 2, 0,
+          ]),
+          'values': <dynamic>[
+            null,
+            <dynamic, dynamic>{
+              'email': <dynamic, dynamic>{
+                'address': 'a@b.c',
+                'body': 'body',
+                'subject': 'subject',
+                'type': 1,
+              },
+            },
+          ],
+        };
+
+        final BarcodeDetector detector =
+            FirebaseVision.instance.barcodeDetector();
+        final FirebaseVisionImage image =
+            new FirebaseVisionImage.fromFilePath('empty');
+
+        final List<Barcode> barcodes = await detector.detectInImage(image);
+
+        expect(barcodes, hasLength(2));
+        expect(barcodes[0].rawValue, 'hello:raw');
+        expect(barcodes[0].displayValue, 'hello:display');
+        expect(barcodes[0].valueType, BarcodeValueType.Unknown);
+        expect(barcodes[0].boundingBox, const Rectangle<int>(1, 2, 3, 4));
+        expect(barcodes[0].cornerPoints, const <Point<int>>[
+          Point<int>(5, 6),
+          Point<int>(7, 8),
+        ]);
+        expect(barcodes[0].email, null);
+
+        expect(barcodes[1].rawValue, 'mailto:a@b.c');
+        expect(barcodes[1].displayValue, null);
+        expect(barcodes[1].boundingBox, null);
+        expect(barcodes[1].cornerPoints, isEmpty);
+        expect(barcodes[1].email.address, 'a@b.c');
+        expect(barcodes[1].email.type, BarcodeEmailType.Work);
+      });
+
       test('detectInImage email', () async {
         final Map<dynamic, dynamic> email = <dynamic, dynamic>{
           'address': 'a',
@@ -962,7 +1080,7 @@ void main() {
             'TextDetector#detectInImage',
             arguments: <String, dynamic>{
               'path': 'empty',
-              'options': <String, dynamic>{},
+              'options': <String, dynamic>{'depth': 'elements'},
             },
           ),
         ]);
@@ -1006,7 +1124,7 @@ void main() {
             'TextDetector#detectInImage',
             arguments: <String, dynamic>{
               'path': 'empty',
-              'options': <String, dynamic>{},
+              'options': <String, dynamic>{'depth': 'elements'},
             },
           ),
         ]);
@@ -1037,7 +1155,7 @@ void main() {
             'TextDetector#detectInImage',
             arguments: <String, dynamic>{
               'path': 'empty',
-              'options': <String, dynamic>{},
+              'options': <String, dynamic>{'depth': 'elements'},
             },
           ),
         ]);
@@ -1050,6 +1168,111 @@ void main() {
           Point<int>(19, 20),
         ]);
       });
+
+      test('detectInImage packed', () async {
+        returnValue = <dynamic, dynamic>{
+          'strings': <dynamic>['hello my', 'hello', 'my'],
+          'points': new Int32List.fromList(<int>[1, 2, 3, 4, 5, 6]),
+          'blocks': new Int32List.fromList(
+            <int>[0, 1, 2, 3, 4, 0, 2, 0, 2],
+          ),
+          'lines': new Int32List.fromList(<int>[
+            1, 5, 6, 7, 8, 2, 1, 0, 0, //
+            2, -1, -1, -1, -1, 0, 0, 0, 0,
+          ]),
+          'elements': new Int32List(0),
+        };
+
+        final TextDetector detector = FirebaseVision.instance.textDetector(
+          const TextDetectorOptions(depth: TextRecognitionDepth.lines),
+        );
+        final FirebaseVisionImage image =
+            new FirebaseVisionImage.fromFilePath('empty');
+
+        final List<TextBlock> blocks = await detector.detectInImage(image);
+
+        expect(log, <Matcher>[
+          isMethodCall(
+            'TextDetector#detectInImage',
+            arguments: <String, dynamic>{
+              'path': 'empty',
+              'options': <String, dynamic>{'depth': 'lines'},
+            },
+          ),
+        ]);
+
+        expect(blocks, hasLength(1));
+        final TextBlock block = blocks[0];
+        expect(block.text, 'hello my');
+        expect(block.boundingBox, const Rectangle<int>(1, 2, 3, 4));
+        expect(block.cornerPoints, const <Point<int>>[
+          Point<int>(1, 2),
+          Point<int>(3, 4),
+        ]);
+
+        final List<TextLine> lines = block.lines;
+        expect(lines, hasLength(2));
+        expect(lines[0].text, 'hello');
+        expect(lines[0].boundingBox, const Rectangle<int>(5, 6, 7, 8));
+        expect(lines[0].cornerPoints, const <Point<int>>[Point<int>(5, 6)]);
+        expect(lines[0].elements, isEmpty);
+        expect(lines[1].text, 'my');
+        expect(lines[1].boundingBox, null);
+        expect(lines[1].cornerPoints, isEmpty);
+      });
+
+      test('detectInImage raw frame', () async {
+        returnValue = <dynamic>[];
+
+        final TextDetector detector = FirebaseVision.instance.textDetector();
+        final Uint8List bytes = new Uint8List.fromList(<int>[1, 2, 3]);
+        final FirebaseVisionImage image = new FirebaseVisionImage.fromBytes(
+          bytes,
+          const FirebaseVisionImageMetadata(
+            width: 640,
+            height: 480,
+            rotation: ImageRotation.rotation90,
+          ),
+        );
+
+        final List<TextBlock> blocks = await detector.detectInImage(image);
+
+        expect(log, <Matcher>[
+          isMethodCall(
+            'TextDetector#detectInImage',
+            arguments: <String, dynamic>{
+              'bytes': bytes,
+              'metadata': <String, dynamic>{
+                'width': 640,
+                'height': 480,
+                'rotation': 1,
+                'format': 'nv21',
+              },
+              'options': <String, dynamic>{'depth': 'elements'},
+            },
+          ),
+        ]);
+        expect(blocks, isEmpty);
+      });
+
+      test('detectInImage drops raw frames while busy', () async {
+        returnValue = <dynamic>[];
+
+        final TextDetector detector = FirebaseVision.instance.textDetector();
+        final FirebaseVisionImage image = new FirebaseVisionImage.fromBytes(
+          new Uint8List(4),
+          const FirebaseVisionImageMetadata(width: 2, height: 2),
+        );
+
+        final Future<List<TextBlock>> first = detector.detectInImage(image);
+        final List<TextBlock> dropped = await detector.detectInImage(image);
+
+        expect(dropped, isNull);
+        expect(await first, isEmpty);
+        expect(log, hasLength(1));
+        expect(await detector.detectInImage(image), isEmpty);
+        expect(log, hasLength(2));
+      });
     });
   });
 }
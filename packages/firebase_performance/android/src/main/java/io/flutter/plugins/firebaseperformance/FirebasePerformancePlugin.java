@@ -12,14 +12,44 @@ import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
 import io.flutter.plugin.common.MethodChannel.Result;
+import io.flutter.plugin.common.PluginRegistry;
 import io.flutter.plugin.common.PluginRegistry.Registrar;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /** FirebasePerformancePlugin */
 public class FirebasePerformancePlugin implements MethodCallHandler {
+  /**
+   * Counter values received in batches from Dart for a running trace, applied to the trace when it
+   * stops. Values are indexed like the names.
+   */
+  private static final class TraceCounters {
+    final List<String> names = new ArrayList<>();
+    long[] values = new long[8];
+
+    void add(List<String> newNames, long[] deltas) {
+      names.addAll(newNames);
+      if (values.length < names.size()) {
+        values = Arrays.copyOf(values, Math.max(names.size(), values.length * 2));
+      }
+      for (int i = 0; i < deltas.length; i++) {
+        values[i] += deltas[i];
+      }
+    }
+
+    void applyTo(Trace trace) {
+      for (int i = 0; i < names.size(); i++) {
+        if (values[i] != 0) trace.incrementCounter(names.get(i), values[i]);
+      }
+    }
+  }
+
   private FirebasePerformance firebasePerformance;
 
   private final SparseArray<Trace> traces = new SparseArray<>();
+  private final SparseArray<TraceCounters> traceCounters = new SparseArray<>();
   private final SparseArray<HttpMetric> httpMetrics = new SparseArray<>();
 
   public static void registerWith(Registrar registrar) {
@@ -32,6 +62,24 @@ public class FirebasePerformancePlugin implements MethodCallHandler {
     firebasePerformance = FirebasePerformance.getInstance();
   }
 
+  /**
+   * Returns a registry that registers plugins with {@code registry}, and reports the time taken by
+   * each method call to their method channels, as well as the size of its arguments and result and
+   * how often it fails. Calls are aggregated per channel and method, and reported as custom traces
+   * every minute.
+   *
+   * <p>To instrument all plugins, register them with this registry in the main activity:
+   *
+   * <pre>{@code
+   * GeneratedPluginRegistrant.registerWith(
+   *     FirebasePerformancePlugin.instrumentPluginRegistry(this));
+   * }</pre>
+   */
+  public static PluginRegistry instrumentPluginRegistry(PluginRegistry registry) {
+    return new InstrumentedPluginRegistry(
+        registry, new MethodChannelMetrics(FirebasePerformance.getInstance()));
+  }
+
   @Override
   public void onMethodCall(MethodCall call, Result result) {
     switch (call.method) {
@@ -49,6 +97,9 @@ public class FirebasePerformancePlugin implements MethodCallHandler {
       case "Trace#stop":
         handleTraceStop(call, result);
         break;
+      case "Trace#addCounterDeltas":
+        handleTraceAddCounterDeltas(call, result);
+        break;
       case "HttpMetric#start":
         handleHttpMetricStart(call, result);
         break;
@@ -76,6 +127,12 @@ public class FirebasePerformancePlugin implements MethodCallHandler {
     Integer handle = call.argument("handle");
     Trace trace = traces.get(handle);
 
+    TraceCounters aggregatedCounters = traceCounters.get(handle);
+    if (aggregatedCounters != null) {
+      aggregatedCounters.applyTo(trace);
+      traceCounters.remove(handle);
+    }
+
     Map<String, Integer> counters = call.argument("counters");
     for (Map.Entry<String, Integer> entry : counters.entrySet()) {
       trace.incrementCounter(entry.getKey(), entry.getValue());
@@ -91,6 +148,26 @@ public class FirebasePerformancePlugin implements MethodCallHandler {
     result.success(null);
   }
 
+  // The arguments hold the handle of each trace, the names of its counters that are new since the
+  // previous batch, and the increments of all its counters.
+  private void handleTraceAddCounterDeltas(MethodCall call, Result result) {
+    @SuppressWarnings("unchecked")
+    List<Object> batch = (List<Object>) call.arguments;
+    for (int i = 0; i + 2 < batch.size(); i += 3) {
+      Integer handle = (Integer) batch.get(i);
+      if (traces.get(handle) == null) continue;
+      TraceCounters counters = traceCounters.get(handle);
+      if (counters == null) {
+        counters = new TraceCounters();
+        traceCounters.put(handle, counters);
+      }
+      @SuppressWarnings("unchecked")
+      List<String> newNames = (List<String>) batch.get(i + 1);
+      counters.add(newNames, (long[]) batch.get(i + 2));
+    }
+    result.success(null);
+  }
+
   private void handleHttpMetricStart(MethodCall call, Result result) {
     Integer handle = call.argument("handle");
     String url = call.argument("url");
@@ -0,0 +1,114 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.firebaseperformance;
+
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.JSONMethodCodec;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * A {@link BinaryMessenger} that times the handlers set on it.
+ *
+ * <p>Each message is recorded in {@link MethodChannelMetrics} once the handler replies, with the
+ * time it took, the size of the message and of the reply, and whether the reply was an error. The
+ * method name is read from the start of the message, without decoding its arguments.
+ */
+final class InstrumentedMessenger implements BinaryMessenger {
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  // Type of string values, and marker of error envelopes, in the standard codec.
+  private static final byte STANDARD_STRING = 7;
+  private static final byte STANDARD_ERROR_ENVELOPE = 1;
+  private static final String UNKNOWN_METHOD = "unknown";
+
+  private final BinaryMessenger messenger;
+  private final MethodChannelMetrics metrics;
+
+  InstrumentedMessenger(BinaryMessenger messenger, MethodChannelMetrics metrics) {
+    this.messenger = messenger;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void send(String channel, ByteBuffer message) {
+    messenger.send(channel, message);
+  }
+
+  @Override
+  public void send(String channel, ByteBuffer message, BinaryReply callback) {
+    messenger.send(channel, message, callback);
+  }
+
+  @Override
+  public void setMessageHandler(final String channel, final BinaryMessageHandler handler) {
+    if (handler == null) {
+      messenger.setMessageHandler(channel, null);
+      return;
+    }
+    messenger.setMessageHandler(
+        channel,
+        new BinaryMessageHandler() {
+          @Override
+          public void onMessage(ByteBuffer message, final BinaryReply reply) {
+            final long startNanos = System.nanoTime();
+            final int requestBytes = message == null ? 0 : message.remaining();
+            final String method = methodNameOf(message);
+            handler.onMessage(
+                message,
+                new BinaryReply() {
+                  @Override
+                  public void reply(ByteBuffer response) {
+                    metrics.record(
+                        channel,
+                        method,
+                        System.nanoTime() - startNanos,
+                        requestBytes,
+                        response == null ? 0 : response.remaining(),
+                        isError(response));
+                    reply.reply(response);
+                  }
+                });
+          }
+        });
+  }
+
+  private static String methodNameOf(ByteBuffer message) {
+    if (message == null || message.remaining() < 2) return UNKNOWN_METHOD;
+    final int position = message.position();
+    final byte type = message.get(position);
+    if (type == STANDARD_STRING) {
+      // Method names are short, so their size takes a single byte.
+      final int size = message.get(position + 1) & 0xff;
+      if (size < 254 && message.remaining() >= 2 + size) {
+        final byte[] bytes = new byte[size];
+        final ByteBuffer name = message.duplicate();
+        name.position(position + 2);
+        name.get(bytes);
+        return new String(bytes, UTF_8);
+      }
+    } else if (type == '{') {
+      try {
+        return JSONMethodCodec.INSTANCE.decodeMethodCall(message.duplicate()).method;
+      } catch (RuntimeException e) {
+        return UNKNOWN_METHOD;
+      }
+    }
+    return UNKNOWN_METHOD;
+  }
+
+  private static boolean isError(ByteBuffer response) {
+    if (response == null || !response.hasRemaining()) return false;
+    final byte first = response.get(response.position());
+    if (first == STANDARD_ERROR_ENVELOPE) return true;
+    if (first == '[') {
+      try {
+        JSONMethodCodec.INSTANCE.decodeEnvelope(response.duplicate());
+      } catch (RuntimeException e) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
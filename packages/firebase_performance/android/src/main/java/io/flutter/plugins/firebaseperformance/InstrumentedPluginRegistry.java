@@ -0,0 +1,130 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.firebaseperformance;
+
+import android.app.Activity;
+import android.content.Context;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.PluginRegistry;
+import io.flutter.view.FlutterView;
+import io.flutter.view.TextureRegistry;
+
+/**
+ * A {@link PluginRegistry} whose registrars hand out an {@link InstrumentedMessenger}, so that the
+ * method channel handlers of the plugins registered with it are timed.
+ */
+final class InstrumentedPluginRegistry implements PluginRegistry {
+  private final PluginRegistry registry;
+  private final MethodChannelMetrics metrics;
+
+  InstrumentedPluginRegistry(PluginRegistry registry, MethodChannelMetrics metrics) {
+    this.registry = registry;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public Registrar registrarFor(String pluginKey) {
+    final Registrar registrar = registry.registrarFor(pluginKey);
+    return new InstrumentedRegistrar(
+        registrar, new InstrumentedMessenger(registrar.messenger(), metrics));
+  }
+
+  @Override
+  public boolean hasPlugin(String key) {
+    return registry.hasPlugin(key);
+  }
+
+  @Override
+  public <T> T valuePublishedByPlugin(String pluginKey) {
+    return registry.valuePublishedByPlugin(pluginKey);
+  }
+
+  private static final class InstrumentedRegistrar implements Registrar {
+    private final Registrar registrar;
+    private final BinaryMessenger messenger;
+
+    InstrumentedRegistrar(Registrar registrar, BinaryMessenger messenger) {
+      this.registrar = registrar;
+      this.messenger = messenger;
+    }
+
+    @Override
+    public Activity activity() {
+      return registrar.activity();
+    }
+
+    @Override
+    public Context context() {
+      return registrar.context();
+    }
+
+    @Override
+    public Context activeContext() {
+      return registrar.activeContext();
+    }
+
+    @Override
+    public BinaryMessenger messenger() {
+      return messenger;
+    }
+
+    @Override
+    public TextureRegistry textures() {
+      return registrar.textures();
+    }
+
+    @Override
+    public FlutterView view() {
+      return registrar.view();
+    }
+
+    @Override
+    public String lookupKeyForAsset(String asset) {
+      return registrar.lookupKeyForAsset(asset);
+    }
+
+    @Override
+    public String lookupKeyForAsset(String asset, String packageName) {
+      return registrar.lookupKeyForAsset(asset, packageName);
+    }
+
+    @Override
+    public Registrar publish(Object value) {
+      registrar.publish(value);
+      return this;
+    }
+
+    @Override
+    public Registrar addRequestPermissionsResultListener(
+        RequestPermissionsResultListener listener) {
+      registrar.addRequestPermissionsResultListener(listener);
+      return this;
+    }
+
+    @Override
+    public Registrar addActivityResultListener(ActivityResultListener listener) {
+      registrar.addActivityResultListener(listener);
+      return this;
+    }
+
+    @Override
+    public Registrar addNewIntentListener(NewIntentListener listener) {
+      registrar.addNewIntentListener(listener);
+      return this;
+    }
+
+    @Override
+    public Registrar addUserLeaveHintListener(UserLeaveHintListener listener) {
+      registrar.addUserLeaveHintListener(listener);
+      return this;
+    }
+
+    @Override
+    public Registrar addViewDestroyListener(ViewDestroyListener listener) {
+      registrar.addViewDestroyListener(listener);
+      return this;
+    }
+  }
+}
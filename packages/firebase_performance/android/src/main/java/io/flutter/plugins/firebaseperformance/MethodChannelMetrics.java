@@ -0,0 +1,113 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.firebaseperformance;
+
+import android.os.Handler;
+import android.os.Looper;
+import com.google.firebase.perf.FirebasePerformance;
+import com.google.firebase.perf.metrics.Trace;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Calls to plugin method channels, aggregated per channel and method.
+ *
+ * <p>Calls are recorded from any thread. Every {@link #FLUSH_INTERVAL_MILLIS}, the aggregates of
+ * each method called since the last flush are reported as a custom trace, named after the channel
+ * and the method, with the number of calls, of errors, their total and maximum latency, and their
+ * total request and response sizes as counters.
+ */
+final class MethodChannelMetrics {
+  private static final long FLUSH_INTERVAL_MILLIS = 60 * 1000;
+  private static final int MAX_TRACE_NAME_LENGTH = 100;
+
+  private static final class Aggregate {
+    final String channel;
+    final String method;
+    long calls;
+    long errors;
+    long totalLatencyMicros;
+    long maxLatencyMicros;
+    long requestBytes;
+    long responseBytes;
+
+    Aggregate(String channel, String method) {
+      this.channel = channel;
+      this.method = method;
+    }
+  }
+
+  private final FirebasePerformance firebasePerformance;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable flushRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          flush();
+          handler.postDelayed(this, FLUSH_INTERVAL_MILLIS);
+        }
+      };
+  private Map<String, Aggregate> aggregates = new HashMap<>();
+
+  MethodChannelMetrics(FirebasePerformance firebasePerformance) {
+    this.firebasePerformance = firebasePerformance;
+    handler.postDelayed(flushRunnable, FLUSH_INTERVAL_MILLIS);
+  }
+
+  synchronized void record(
+      String channel,
+      String method,
+      long latencyNanos,
+      int requestBytes,
+      int responseBytes,
+      boolean error) {
+    final String key = channel + "#" + method;
+    Aggregate aggregate = aggregates.get(key);
+    if (aggregate == null) {
+      aggregate = new Aggregate(channel, method);
+      aggregates.put(key, aggregate);
+    }
+    final long latencyMicros = latencyNanos / 1000;
+    aggregate.calls++;
+    if (error) aggregate.errors++;
+    aggregate.totalLatencyMicros += latencyMicros;
+    aggregate.maxLatencyMicros = Math.max(aggregate.maxLatencyMicros, latencyMicros);
+    aggregate.requestBytes += requestBytes;
+    aggregate.responseBytes += responseBytes;
+  }
+
+  /** Reports the calls recorded since the last flush. */
+  void flush() {
+    final Map<String, Aggregate> flushed;
+    synchronized (this) {
+      if (aggregates.isEmpty()) return;
+      flushed = aggregates;
+      aggregates = new HashMap<>();
+    }
+    for (Map.Entry<String, Aggregate> entry : flushed.entrySet()) {
+      final Aggregate aggregate = entry.getValue();
+      String name = entry.getKey();
+      if (name.length() > MAX_TRACE_NAME_LENGTH) {
+        name = name.substring(name.length() - MAX_TRACE_NAME_LENGTH);
+      }
+      final Trace trace = firebasePerformance.newTrace(name);
+      trace.start();
+      trace.incrementCounter("calls", aggregate.calls);
+      trace.incrementCounter("errors", aggregate.errors);
+      trace.incrementCounter("latency_total_us", aggregate.totalLatencyMicros);
+      trace.incrementCounter("latency_max_us", aggregate.maxLatencyMicros);
+      trace.incrementCounter("request_bytes", aggregate.requestBytes);
+      trace.incrementCounter("response_bytes", aggregate.responseBytes);
+      trace.putAttribute("channel", truncate(aggregate.channel));
+      trace.putAttribute("method", truncate(aggregate.method));
+      trace.stop();
+    }
+  }
+
+  // Attribute values are limited to 100 characters.
+  private static String truncate(String value) {
+    return value.length() > 100 ? value.substring(0, 100) : value;
+  }
+}
@@ -9,6 +9,7 @@
 @interface FLTFirebasePerformancePlugin ()
 @property(nonatomic, retain) NSMutableDictionary *traces;
 @property(nonatomic, retain) NSMutableDictionary *httpMetrics;
+@property(nonatomic, retain) NSMutableDictionary *traceCounterNames;
 @end
 
 @implementation FLTFirebasePerformancePlugin
@@ -27,6 +28,7 @@
       [FIRApp configure];
       _traces = [[NSMutableDictionary alloc] init];
     }
+    _traceCounterNames = [[NSMutableDictionary alloc] init];
   }
 
   return self;
@@ -43,6 +45,8 @@
     [self handleTraceStart:call result:result];
   } else if ([@"Trace#stop" isEqualToString:call.method]) {
     [self handleTraceStop:call result:result];
+  } else if ([@"Trace#addCounterDeltas" isEqualToString:call.method]) {
+    [self handleTraceAddCounterDeltas:call result:result];
   } else if ([@"HttpMetric#start" isEqualToString:call.method]) {
     [self handleHttpMetricStart:call result:result];
   } else if ([@"HttpMetric#stop" isEqualToString:call.method]) {
@@ -78,6 +82,33 @@
 
   [trace stop];
   [_traces removeObjectForKey:handle];
+  [_traceCounterNames removeObjectForKey:handle];
+  result(nil);
+}
+
+// The arguments hold the handle of each trace, the names of its counters that are new since the
+// previous batch, and the increments of all its counters.
+- (void)handleTraceAddCounterDeltas:(FlutterMethodCall *)call result:(FlutterResult)result {
+  NSArray *batch = call.arguments;
+  for (NSUInteger i = 0; i + 2 < batch.count; i += 3) {
+    NSNumber *handle = batch[i];
+    FIRTrace *trace = [_traces objectForKey:handle];
+    if (trace == nil) continue;
+
+    NSMutableArray *names = [_traceCounterNames objectForKey:handle];
+    if (names == nil) {
+      names = [[NSMutableArray alloc] init];
+      [_traceCounterNames setObject:names forKey:handle];
+    }
+    [names addObjectsFromArray:batch[i + 1]];
+
+    FlutterStandardTypedData *deltas = batch[i + 2];
+    const int64_t *values = deltas.data.bytes;
+    NSUInteger count = MIN(deltas.elementCount, names.count);
+    for (NSUInteger j = 0; j < count; j++) {
+      if (values[j] != 0) [trace incrementCounterNamed:names[j] by:values[j]];
+    }
+  }
   result(nil);
 }
 
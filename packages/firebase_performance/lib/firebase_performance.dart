@@ -6,6 +6,8 @@ library firebase_performance;
 
 import 'dart:async';
 import 'dart:collection';
+import 'dart:math' as math;
+import 'dart:typed_data';
 
 import 'package:flutter/services.dart';
 import 'package:flutter/foundation.dart';
@@ -14,3 +16,4 @@ part 'src/firebase_performance.dart';
 part 'src/http_metric.dart';
 part 'src/performance_attributes.dart';
 part 'src/trace.dart';
+part 'src/trace_counter.dart';
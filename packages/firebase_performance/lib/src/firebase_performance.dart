@@ -16,6 +16,16 @@ class FirebasePerformance {
   static int _traceCount = 0;
   static int _httpMetricCount = 0;
 
+  static final math.Random _random = new math.Random();
+
+  // Sampled traces that have started and not stopped yet.
+  static final Set<Trace> _startedTraces = new HashSet<Trace>();
+  static Timer _counterFlushTimer;
+
+  /// How long increments of [TraceCounter]s of running traces are batched
+  /// before they are sent to the platform.
+  static Duration counterFlushInterval = const Duration(seconds: 10);
+
   @visibleForTesting
   static const MethodChannel channel =
       const MethodChannel('plugins.flutter.io/firebase_performance');
@@ -48,8 +58,14 @@ class FirebasePerformance {
   /// The [name] requires no leading or trailing whitespace, no leading
   /// underscore _ character, max length of [Trace.maxTraceNameLength]
   /// characters.
-  Trace newTrace(String name) {
-    return new Trace._(_traceCount++, name);
+  ///
+  /// Only a [samplingRate] fraction of the traces created with a rate below 1
+  /// report data, see [Trace.isSampled].
+  Trace newTrace(String name, {double samplingRate: 1.0}) {
+    assert(samplingRate != null && samplingRate >= 0.0 && samplingRate <= 1.0);
+    final bool isSampled =
+        samplingRate >= 1.0 || _random.nextDouble() < samplingRate;
+    return new Trace._(_traceCount++, name, isSampled);
   }
 
   /// Creates [HttpMetric] for collecting performance for one request/response.
@@ -62,9 +78,31 @@ class FirebasePerformance {
   /// The [name] requires no leading or trailing whitespace, no leading
   /// underscore _ character, max length of [Trace.maxTraceNameLength]
   /// characters.
-  static Future<Trace> startTrace(String name) async {
-    final Trace trace = instance.newTrace(name);
+  static Future<Trace> startTrace(String name,
+      {double samplingRate: 1.0}) async {
+    final Trace trace = instance.newTrace(name, samplingRate: samplingRate);
     await trace.start();
     return trace;
   }
+
+  /// Sends the pending increments of the [TraceCounter]s of running traces to
+  /// the platform in one batch.
+  static Future<void> flushCounters() {
+    _counterFlushTimer?.cancel();
+    _counterFlushTimer = null;
+    final List<dynamic> batch = <dynamic>[];
+    for (Trace trace in _startedTraces) {
+      if (trace._hasCounterDeltas) {
+        trace._takeCounterDeltas(batch);
+      }
+    }
+    if (batch.isEmpty) {
+      return new Future<void>.value();
+    }
+    return channel.invokeMethod('Trace#addCounterDeltas', batch);
+  }
+
+  static void _scheduleCounterFlush() {
+    _counterFlushTimer ??= new Timer(counterFlushInterval, flushCounters);
+  }
 }
@@ -0,0 +1,30 @@
+// Copyright 2018, the Flutter project authors.  Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+part of firebase_performance;
+
+/// A counter of a [Trace], as returned by [Trace.counter].
+///
+/// Increments only update a slot in an array held by the trace. While the
+/// trace runs, the increments of all traces are sent to the platform together
+/// every [FirebasePerformance.counterFlushInterval], and the rest are sent
+/// when the trace stops.
+class TraceCounter {
+  TraceCounter._(this._trace, this._index);
+
+  final Trace _trace;
+  final int _index;
+
+  /// Increments this counter by [incrementBy], or by 1 if it was not passed.
+  ///
+  /// If the trace has already been stopped, an assertion error is thrown.
+  void increment([int incrementBy = 1]) {
+    assert(!_trace._hasStopped);
+    _trace._counterValues[_index] += incrementBy;
+    if (!_trace._hasCounterDeltas && _trace._hasStarted) {
+      _trace._hasCounterDeltas = true;
+      FirebasePerformance._scheduleCounterFlush();
+    }
+  }
+}
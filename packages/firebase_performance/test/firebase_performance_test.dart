@@ -216,6 +216,74 @@ void main() {
           ),
         ]);
       });
+
+      test('counter', () async {
+        final Trace trace = performance.newTrace('test');
+        final TraceCounter counter = trace.counter('counter1');
+        expect(trace.counter('counter1'), same(counter));
+
+        await trace.start();
+        counter.increment();
+        counter.increment(4);
+        trace.incrementCounter('counter2');
+        await FirebasePerformance.flushCounters();
+
+        counter.increment(2);
+        await trace.stop();
+
+        expect(log, <Matcher>[
+          isMethodCall(
+            'Trace#start',
+            arguments: <String, Object>{
+              'handle': currentTraceHandle,
+              'name': 'test',
+            },
+          ),
+          isMethodCall(
+            'Trace#addCounterDeltas',
+            arguments: <dynamic>[
+              currentTraceHandle,
+              <String>['counter1', 'counter2'],
+              <int>[5, 1],
+            ],
+          ),
+          isMethodCall(
+            'Trace#stop',
+            arguments: <String, dynamic>{
+              'handle': currentTraceHandle,
+              'name': 'test',
+              'counters': <String, int>{'counter1': 2},
+              'attributes': <String, String>{},
+            },
+          ),
+        ]);
+      });
+
+      test('flushCounters without increments', () async {
+        await testTrace.start();
+        log.clear();
+
+        await FirebasePerformance.flushCounters();
+        await testTrace.stop();
+
+        expect(log.map((MethodCall call) => call.method), <String>[
+          'Trace#stop',
+        ]);
+      });
+
+      test('unsampled', () async {
+        final Trace trace = performance.newTrace('test', samplingRate: 0.0);
+        expect(trace.isSampled, isFalse);
+        expect(testTrace.isSampled, isTrue);
+
+        await trace.start();
+        trace.counter('counter1').increment();
+        trace.putAttribute('attr1', 'apple');
+        await FirebasePerformance.flushCounters();
+        await trace.stop();
+
+        expect(log, isEmpty);
+      });
     });
 
     group('$HttpMetric', () {
@@ -0,0 +1,202 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
+import io.flutter.view.FlutterMain;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Least recently used cache of marker icons, keyed by their JSON-like description.
+ *
+ * <p>Default markers and assets are created synchronously on first use. Byte array and network
+ * icons are decoded on a background thread; callbacks waiting for the same icon are coalesced and
+ * invoked on the platform thread once it is available. Must only be used from the platform thread.
+ */
+final class BitmapDescriptorCache {
+  private static final String TAG = "BitmapDescriptorCache";
+  private static final int MAX_ENTRIES = 128;
+  private static final int DECODER_THREADS = 2;
+  private static final int NETWORK_TIMEOUT_MILLIS = 15000;
+
+  interface Callback {
+    void onBitmapDescriptor(BitmapDescriptor bitmapDescriptor);
+  }
+
+  private final Map<String, BitmapDescriptor> cache =
+      new LinkedHashMap<String, BitmapDescriptor>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BitmapDescriptor> eldest) {
+          return size() > MAX_ENTRIES;
+        }
+      };
+  private final Map<String, List<Callback>> pending = new HashMap<>();
+  private final Handler platformHandler = new Handler(Looper.getMainLooper());
+  private ExecutorService decoder;
+
+  /**
+   * Invokes {@code callback} with the icon described by {@code o}, immediately if it is cached or
+   * can be created synchronously and later otherwise. The callback is not invoked if loading the
+   * icon fails.
+   */
+  void load(Object o, Callback callback) {
+    final List<?> data = (List<?>) o;
+    final String type = (String) data.get(0);
+    final String key = toKey(type, data);
+    final BitmapDescriptor cached = cache.get(key);
+    if (cached != null) {
+      callback.onBitmapDescriptor(cached);
+      return;
+    }
+    switch (type) {
+      case "defaultMarker":
+      case "fromAsset":
+        final BitmapDescriptor bitmapDescriptor = create(type, data);
+        cache.put(key, bitmapDescriptor);
+        callback.onBitmapDescriptor(bitmapDescriptor);
+        return;
+      case "fromBytes":
+      case "fromNetwork":
+        List<Callback> callbacks = pending.get(key);
+        if (callbacks == null) {
+          callbacks = new ArrayList<>();
+          pending.put(key, callbacks);
+          decodeInBackground(key, type, data.get(1));
+        }
+        callbacks.add(callback);
+        return;
+    }
+    throw new IllegalArgumentException("Cannot interpret " + o + " as BitmapDescriptor");
+  }
+
+  private static String toKey(String type, List<?> data) {
+    switch (type) {
+      case "fromBytes":
+        return type + ":" + digest((byte[]) data.get(1));
+      default:
+        return data.toString();
+    }
+  }
+
+  private static BitmapDescriptor create(String type, List<?> data) {
+    if (type.equals("defaultMarker")) {
+      if (data.size() == 1) {
+        return BitmapDescriptorFactory.defaultMarker();
+      } else {
+        return BitmapDescriptorFactory.defaultMarker(((Number) data.get(1)).floatValue());
+      }
+    }
+    final String assetName = (String) data.get(1);
+    if (data.size() == 2) {
+      return BitmapDescriptorFactory.fromAsset(FlutterMain.getLookupKeyForAsset(assetName));
+    } else {
+      return BitmapDescriptorFactory.fromAsset(
+          FlutterMain.getLookupKeyForAsset(assetName, (String) data.get(2)));
+    }
+  }
+
+  private void decodeInBackground(final String key, final String type, final Object source) {
+    if (decoder == null) {
+      decoder = Executors.newFixedThreadPool(DECODER_THREADS);
+    }
+    decoder.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            Bitmap decoded = null;
+            try {
+              decoded =
+                  type.equals("fromBytes")
+                      ? decodeBytes((byte[]) source)
+                      : downloadAndDecode((String) source);
+            } catch (IOException e) {
+              Log.w(TAG, "Failed to load icon " + source, e);
+            }
+            final Bitmap bitmap = decoded;
+            platformHandler.post(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    onDecoded(key, bitmap);
+                  }
+                });
+          }
+        });
+  }
+
+  private void onDecoded(String key, Bitmap bitmap) {
+    final List<Callback> callbacks = pending.remove(key);
+    if (bitmap == null) {
+      return;
+    }
+    final BitmapDescriptor bitmapDescriptor = BitmapDescriptorFactory.fromBitmap(bitmap);
+    cache.put(key, bitmapDescriptor);
+    for (Callback callback : callbacks) {
+      callback.onBitmapDescriptor(bitmapDescriptor);
+    }
+  }
+
+  private static Bitmap decodeBytes(byte[] bytes) throws IOException {
+    final Bitmap bitmap = BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
+    if (bitmap == null) {
+      throw new IOException("Unsupported image format");
+    }
+    return bitmap;
+  }
+
+  private static Bitmap downloadAndDecode(String url) throws IOException {
+    final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+    connection.setConnectTimeout(NETWORK_TIMEOUT_MILLIS);
+    connection.setReadTimeout(NETWORK_TIMEOUT_MILLIS);
+    try {
+      if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+        throw new IOException("HTTP " + connection.getResponseCode());
+      }
+      final InputStream stream = connection.getInputStream();
+      try {
+        final Bitmap bitmap = BitmapFactory.decodeStream(stream);
+        if (bitmap == null) {
+          throw new IOException("Unsupported image format");
+        }
+        return bitmap;
+      } finally {
+        stream.close();
+      }
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  private static String digest(byte[] bytes) {
+    try {
+      final byte[] hash = MessageDigest.getInstance("SHA-1").digest(bytes);
+      final StringBuilder builder = new StringBuilder(hash.length * 2);
+      for (byte b : hash) {
+        builder.append(String.format("%02x", b));
+      }
+      return builder.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
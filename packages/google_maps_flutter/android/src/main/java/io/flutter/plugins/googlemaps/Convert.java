@@ -5,14 +5,15 @@
 package io.flutter.plugins.googlemaps;
 
 import android.graphics.Point;
+import android.view.InputDevice;
+import android.view.MotionEvent;
 import com.google.android.gms.maps.CameraUpdate;
 import com.google.android.gms.maps.CameraUpdateFactory;
 import com.google.android.gms.maps.model.BitmapDescriptor;
-import com.google.android.gms.maps.model.BitmapDescriptorFactory;
 import com.google.android.gms.maps.model.CameraPosition;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.LatLngBounds;
-import io.flutter.view.FlutterMain;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -20,26 +21,7 @@ import java.util.Map;
 
 /** Conversions between JSON-like values and GoogleMaps data types. */
 class Convert {
-  private static BitmapDescriptor toBitmapDescriptor(Object o) {
-    final List<?> data = toList(o);
-    switch (toString(data.get(0))) {
-      case "defaultMarker":
-        if (data.size() == 1) {
-          return BitmapDescriptorFactory.defaultMarker();
-        } else {
-          return BitmapDescriptorFactory.defaultMarker(toFloat(data.get(1)));
-        }
-      case "fromAsset":
-        if (data.size() == 2) {
-          return BitmapDescriptorFactory.fromAsset(
-              FlutterMain.getLookupKeyForAsset(toString(data.get(1))));
-        } else {
-          return BitmapDescriptorFactory.fromAsset(
-              FlutterMain.getLookupKeyForAsset(toString(data.get(1)), toString(data.get(2))));
-        }
-    }
-    throw new IllegalArgumentException("Cannot interpret " + o + " as BitmapDescriptor");
-  }
+  private static final BitmapDescriptorCache bitmapDescriptors = new BitmapDescriptorCache();
 
   private static boolean toBoolean(Object o) {
     return (Boolean) o;
@@ -87,7 +69,7 @@ class Convert {
     throw new IllegalArgumentException("Cannot interpret " + o + " as CameraUpdate");
   }
 
-  private static double toDouble(Object o) {
+  static double toDouble(Object o) {
     return ((Number) o).doubleValue();
   }
 
@@ -115,7 +97,28 @@ class Convert {
     return data;
   }
 
-  private static Object toJson(LatLng latLng) {
+  /** Packs a camera position as {@code [lat, lng, zoom, tilt, bearing]}. */
+  static double[] toPacked(CameraPosition position) {
+    return new double[] {
+      position.target.latitude,
+      position.target.longitude,
+      position.zoom,
+      position.tilt,
+      position.bearing
+    };
+  }
+
+  /** Packs bounds as {@code [swLat, swLng, neLat, neLng]}. */
+  static double[] toPacked(LatLngBounds bounds) {
+    return new double[] {
+      bounds.southwest.latitude,
+      bounds.southwest.longitude,
+      bounds.northeast.latitude,
+      bounds.northeast.longitude
+    };
+  }
+
+  static Object toJson(LatLng latLng) {
     return Arrays.asList(latLng.latitude, latLng.longitude);
   }
 
@@ -144,7 +147,7 @@ class Convert {
     return (Map<?, ?>) o;
   }
 
-  private static float toFractionalPixels(Object o, float density) {
+  static float toFractionalPixels(Object o, float density) {
     return toFloat(o) * density;
   }
 
@@ -157,6 +160,46 @@ class Convert {
     return new Point(toPixels(data.get(0), density), toPixels(data.get(1), density));
   }
 
+  /**
+   * Builds a touch event from pointers packed as {@code [id, x, y, ...]} in logical pixels.
+   *
+   * <p>{@code action} and {@code actionIndex} follow {@link MotionEvent#getActionMasked()} and
+   * {@link MotionEvent#getActionIndex()}.
+   */
+  static MotionEvent toMotionEvent(
+      long downTime, long eventTime, int action, int actionIndex, Object o, float density) {
+    final double[] packed = (double[]) o;
+    final int pointerCount = packed.length / 3;
+    final MotionEvent.PointerProperties[] properties =
+        new MotionEvent.PointerProperties[pointerCount];
+    final MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[pointerCount];
+    for (int i = 0; i < pointerCount; i++) {
+      properties[i] = new MotionEvent.PointerProperties();
+      properties[i].id = (int) packed[3 * i];
+      properties[i].toolType = MotionEvent.TOOL_TYPE_FINGER;
+      coords[i] = new MotionEvent.PointerCoords();
+      coords[i].x = (float) packed[3 * i + 1] * density;
+      coords[i].y = (float) packed[3 * i + 2] * density;
+      coords[i].pressure = 1;
+      coords[i].size = 1;
+    }
+    return MotionEvent.obtain(
+        downTime,
+        eventTime,
+        action | (actionIndex << MotionEvent.ACTION_POINTER_INDEX_SHIFT),
+        pointerCount,
+        properties,
+        coords,
+        0,
+        0,
+        1,
+        1,
+        0,
+        0,
+        InputDevice.SOURCE_TOUCHSCREEN,
+        0);
+  }
+
   private static String toString(Object o) {
     return (String) o;
   }
@@ -167,6 +210,10 @@ class Convert {
     if (cameraPosition != null) {
       sink.setCameraPosition(toCameraPosition(cameraPosition));
     }
+    final Object cameraMoveInterval = data.get("cameraMoveInterval");
+    if (cameraMoveInterval != null) {
+      sink.setCameraMoveInterval(toInt(cameraMoveInterval));
+    }
     final Object cameraTargetBounds = data.get("cameraTargetBounds");
     if (cameraTargetBounds != null) {
       final List<?> targetData = toList(cameraTargetBounds);
@@ -209,7 +256,25 @@ class Convert {
     }
   }
 
-  static void interpretMarkerOptions(Object o, MarkerOptionsSink sink) {
+  static List<MarkerTemplate> toMarkerTemplates(Object o) {
+    final List<?> data = toList(o);
+    final List<MarkerTemplate> templates = new ArrayList<>(data.size());
+    for (Object options : data) {
+      final MarkerTemplate template = new MarkerTemplate();
+      interpretMarkerOptions(options, template);
+      if (toMap(options).get("icon") != null && !template.hasIcon()) {
+        template.setIconPending();
+      }
+      templates.add(template);
+    }
+    return templates;
+  }
+
+  /**
+   * Applies marker options to {@code sink}. Icons that are not yet loaded are applied to the sink
+   * once they are, possibly after this method returns.
+   */
+  static void interpretMarkerOptions(Object o, final MarkerOptionsSink sink) {
     final Map<?, ?> data = toMap(o);
     final Object alpha = data.get("alpha");
     if (alpha != null) {
@@ -234,7 +299,15 @@ class Convert {
     }
     final Object icon = data.get("icon");
     if (icon != null) {
-      sink.setIcon(toBitmapDescriptor(icon));
+      final int iconGeneration = sink.requestIcon();
+      bitmapDescriptors.load(
+          icon,
+          new BitmapDescriptorCache.Callback() {
+            @Override
+            public void onBitmapDescriptor(BitmapDescriptor bitmapDescriptor) {
+              sink.setRequestedIcon(bitmapDescriptor, iconGeneration);
+            }
+          });
     }
     final Object infoWindowAnchor = data.get("infoWindowAnchor");
     if (infoWindowAnchor != null) {
@@ -0,0 +1,83 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accumulates frame timing statistics for a single map.
+ *
+ * <p>With live rendering, a frame is counted for every camera change rendered by the map, and
+ * intervals are only measured while the camera is moving so idle periods between gestures do not
+ * inflate the averages. In snapshot mode every texture upload counts as a frame, and snapshot
+ * latency and upload time are recorded instead of intervals.
+ */
+final class FrameTimings {
+  private static final double NANOS_PER_MILLI = 1e6;
+
+  private long frameCount;
+  private long lastFrameNanos;
+  private long intervalCount;
+  private long intervalSumNanos;
+  private long maxIntervalNanos;
+  private long snapshotCount;
+  private long snapshotLatencySumNanos;
+  private long uploadCount;
+  private long uploadSumNanos;
+
+  synchronized void onFrame(long nowNanos) {
+    frameCount++;
+    if (lastFrameNanos != 0) {
+      final long interval = nowNanos - lastFrameNanos;
+      intervalCount++;
+      intervalSumNanos += interval;
+      maxIntervalNanos = Math.max(maxIntervalNanos, interval);
+    }
+    lastFrameNanos = nowNanos;
+  }
+
+  synchronized void onMotionStopped() {
+    lastFrameNanos = 0;
+  }
+
+  synchronized void onSnapshot(long latencyNanos) {
+    snapshotCount++;
+    snapshotLatencySumNanos += latencyNanos;
+  }
+
+  synchronized void onTextureUpload(long durationNanos) {
+    frameCount++;
+    uploadCount++;
+    uploadSumNanos += durationNanos;
+  }
+
+  synchronized Map<String, Object> toJson() {
+    final Map<String, Object> data = new HashMap<>();
+    data.put("frameCount", frameCount);
+    data.put("averageFrameIntervalMs", average(intervalSumNanos, intervalCount));
+    data.put("maxFrameIntervalMs", maxIntervalNanos / NANOS_PER_MILLI);
+    data.put("snapshotCount", snapshotCount);
+    data.put("averageSnapshotLatencyMs", average(snapshotLatencySumNanos, snapshotCount));
+    data.put("averageTextureUploadMs", average(uploadSumNanos, uploadCount));
+    return data;
+  }
+
+  synchronized void reset() {
+    frameCount = 0;
+    lastFrameNanos = 0;
+    intervalCount = 0;
+    intervalSumNanos = 0;
+    maxIntervalNanos = 0;
+    snapshotCount = 0;
+    snapshotLatencySumNanos = 0;
+    uploadCount = 0;
+    uploadSumNanos = 0;
+  }
+
+  private static double average(long sumNanos, long count) {
+    return count == 0 ? 0.0 : sumNanos / NANOS_PER_MILLI / count;
+  }
+}
@@ -14,6 +14,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 class GoogleMapBuilder implements GoogleMapOptionsSink {
   private final GoogleMapOptions options = new GoogleMapOptions();
   private boolean trackCameraPosition = false;
+  private int cameraMoveIntervalMillis = 0;
+  private boolean liveRendering = false;
 
   GoogleMapController build(
       AtomicInteger state,
@@ -23,16 +25,27 @@ class GoogleMapBuilder implements GoogleMapOptionsSink {
       MethodChannel.Result result) {
     final GoogleMapController controller =
         new GoogleMapController(state, registrar, width, height, options, result);
+    controller.setLiveRendering(liveRendering);
     controller.init();
     controller.setTrackCameraPosition(trackCameraPosition);
+    controller.setCameraMoveInterval(cameraMoveIntervalMillis);
     return controller;
   }
 
+  void setLiveRendering(boolean liveRendering) {
+    this.liveRendering = liveRendering;
+  }
+
   @Override
   public void setCameraPosition(CameraPosition position) {
     options.camera(position);
   }
 
+  @Override
+  public void setCameraMoveInterval(int cameraMoveIntervalMillis) {
+    this.cameraMoveIntervalMillis = cameraMoveIntervalMillis;
+  }
+
   @Override
   public void setCompassEnabled(boolean compassEnabled) {
     options.compassEnabled(compassEnabled);
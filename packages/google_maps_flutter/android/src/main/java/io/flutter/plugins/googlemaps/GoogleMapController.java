@@ -16,6 +16,10 @@ import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.MotionEvent;
 import android.view.Surface;
 import android.widget.FrameLayout;
 import com.google.android.gms.maps.CameraUpdate;
@@ -25,6 +29,7 @@ import com.google.android.gms.maps.GoogleMapOptions;
 import com.google.android.gms.maps.MapView;
 import com.google.android.gms.maps.OnMapReadyCallback;
 import com.google.android.gms.maps.model.CameraPosition;
+import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
@@ -61,12 +66,38 @@ final class GoogleMapController
   private final MethodChannel.Result result;
   private final Timer timer;
   private final Map<String, MarkerController> markers;
+  // Markers added through batches, keyed by the client-supplied marker ID.
+  private final Map<String, MarkerController> keyedMarkers = new HashMap<>();
+  private final FrameTimings frameTimings = new FrameTimings();
+  private VirtualDisplayRenderer virtualDisplayRenderer;
+  private boolean liveRendering = false;
+  private volatile long snapshotRequestNanos;
   private OnMarkerTappedListener onMarkerTappedListener;
   private OnCameraMoveListener onCameraMoveListener;
   private OnInfoWindowTappedListener onInfoWindowTappedListener;
+  private OnClusterTappedListener onClusterTappedListener;
+  private MarkerClusterer clusterer;
   private GoogleMap googleMap;
   private Surface surface;
   private boolean trackCameraPosition = false;
+  // Camera move events are coalesced: at most one is pending at any time, and it reports the
+  // camera position at the time it is sent.
+  private final Handler cameraMoveHandler = new Handler(Looper.getMainLooper());
+  private final Runnable sendCameraMove =
+      new Runnable() {
+        @Override
+        public void run() {
+          cameraMovePending = false;
+          if (disposed || !trackCameraPosition || onCameraMoveListener == null) {
+            return;
+          }
+          lastCameraMoveMillis = SystemClock.uptimeMillis();
+          onCameraMoveListener.onCameraMove(googleMap.getCameraPosition());
+        }
+      };
+  private int cameraMoveIntervalMillis = 0;
+  private long lastCameraMoveMillis;
+  private boolean cameraMovePending = false;
   private boolean disposed = false;
 
   GoogleMapController(
@@ -103,6 +134,23 @@ final class GoogleMapController
     this.onInfoWindowTappedListener = listener;
   }
 
+  void setOnClusterTappedListener(OnClusterTappedListener listener) {
+    this.onClusterTappedListener = listener;
+  }
+
+  /**
+   * Renders the map directly into the texture through a virtual display instead of periodic
+   * snapshots. Must be called before {@link #init()}; ignored where virtual displays are not
+   * supported.
+   */
+  void setLiveRendering(boolean liveRendering) {
+    this.liveRendering = liveRendering && VirtualDisplayRenderer.isSupported();
+  }
+
+  boolean isLiveRendering() {
+    return liveRendering;
+  }
+
   void init() {
     switch (activityState.get()) {
       case STOPPED:
@@ -132,8 +180,14 @@ final class GoogleMapController
         break;
     }
     registrar.activity().getApplication().registerActivityLifecycleCallbacks(this);
-    final FrameLayout.LayoutParams layoutParams = new FrameLayout.LayoutParams(width, height);
-    parent.addView(mapView, 0, layoutParams);
+    if (liveRendering) {
+      virtualDisplayRenderer =
+          new VirtualDisplayRenderer(registrar.activity(), mapView, surface, width, height);
+      virtualDisplayRenderer.show();
+    } else {
+      final FrameLayout.LayoutParams layoutParams = new FrameLayout.LayoutParams(width, height);
+      parent.addView(mapView, 0, layoutParams);
+    }
     mapView.getMapAsync(this);
   }
 
@@ -142,7 +196,8 @@ final class GoogleMapController
   }
 
   void showOverlay(int x, int y) {
-    if (disposed) {
+    // With live rendering the texture is always current and receives touches from Flutter.
+    if (disposed || liveRendering) {
       return;
     }
     parent.removeView(mapView);
@@ -153,7 +208,7 @@ final class GoogleMapController
   }
 
   void hideOverlay() {
-    if (disposed) {
+    if (disposed || liveRendering) {
       return;
     }
     googleMap.stopAnimation();
@@ -173,6 +228,22 @@ final class GoogleMapController
     return trackCameraPosition ? googleMap.getCameraPosition() : null;
   }
 
+  void dispatchTouchEvent(MotionEvent event) {
+    if (disposed || !liveRendering) {
+      return;
+    }
+    mapView.dispatchTouchEvent(event);
+  }
+
+  Map<String, Object> getFrameTimings(boolean reset) {
+    final Map<String, Object> timings = frameTimings.toJson();
+    timings.put("renderMode", liveRendering ? "virtualDisplay" : "snapshot");
+    if (reset) {
+      frameTimings.reset();
+    }
+    return timings;
+  }
+
   MarkerBuilder newMarkerBuilder() {
     return new MarkerBuilder(this);
   }
@@ -188,7 +259,101 @@ final class GoogleMapController
     final MarkerController markerController = markers.remove(markerId);
     if (markerController != null) {
       markerController.remove();
+      if (!keyedMarkers.isEmpty()) {
+        keyedMarkers.values().remove(markerController);
+      }
+    }
+  }
+
+  /**
+   * Applies a packed batch of marker additions, changes and removals keyed by client-supplied
+   * marker IDs, in that order.
+   *
+   * <p>Positions are packed as {@code [lat, lng, ...]} double arrays, with NaN marking an unchanged
+   * position. Options are shared through a table of distinct option maps referenced by index, -1
+   * meaning none. Changes to and removals of unknown IDs are ignored.
+   *
+   * @return the platform IDs of the added markers, in order.
+   */
+  List<String> applyMarkerBatch(
+      List<MarkerTemplate> templates,
+      List<?> addIds,
+      double[] addPositions,
+      int[] addOptions,
+      List<?> changeIds,
+      double[] changePositions,
+      int[] changeOptions,
+      List<?> removeIds) {
+    final List<String> addedIds = new ArrayList<>(addIds.size());
+    for (int i = 0; i < addIds.size(); i++) {
+      final String key = (String) addIds.get(i);
+      removeKeyedMarker(key);
+      final MarkerBuilder builder = newMarkerBuilder();
+      if (addOptions[i] >= 0) {
+        templates.get(addOptions[i]).applyTo(builder);
+      }
+      builder.setPosition(new LatLng(addPositions[2 * i], addPositions[2 * i + 1]));
+      final String markerId = builder.build();
+      keyedMarkers.put(key, markers.get(markerId));
+      addedIds.add(markerId);
+    }
+    for (int i = 0; i < changeIds.size(); i++) {
+      final MarkerController marker = keyedMarkers.get(changeIds.get(i));
+      if (marker == null) {
+        continue;
+      }
+      if (changeOptions[i] >= 0) {
+        templates.get(changeOptions[i]).applyTo(marker);
+      }
+      if (!Double.isNaN(changePositions[2 * i])) {
+        marker.setPosition(new LatLng(changePositions[2 * i], changePositions[2 * i + 1]));
+      }
+    }
+    for (Object key : removeIds) {
+      removeKeyedMarker((String) key);
+    }
+    return addedIds;
+  }
+
+  private void removeKeyedMarker(String key) {
+    final MarkerController marker = keyedMarkers.remove(key);
+    if (marker != null) {
+      markers.remove(marker.id());
+      marker.remove();
+    }
+  }
+
+  /**
+   * Replaces the items shown through the marker clusterer. See {@link MarkerClusterer#setItems}.
+   */
+  void setClusterItems(
+      List<?> ids,
+      double[] positions,
+      int[] options,
+      List<MarkerTemplate> templates,
+      double radius,
+      int maxClusterZoom) {
+    if (clusterer == null) {
+      clusterer =
+          new MarkerClusterer(
+              googleMap,
+              registrar.context().getResources().getDisplayMetrics().density,
+              onClusterTappedListener,
+              new Runnable() {
+                @Override
+                public void run() {
+                  if (!liveRendering && !disposed) {
+                    timer.schedule(newSnapshotTask(), 0);
+                  }
+                }
+              });
     }
+    clusterer.setItems(ids, positions, options, templates, radius, maxClusterZoom);
+  }
+
+  /** Returns the marker with the given ID, or null if there is none. */
+  MarkerController findMarker(String markerId) {
+    return markers.get(markerId);
   }
 
   MarkerController marker(String markerId) {
@@ -203,9 +368,11 @@ final class GoogleMapController
     if (disposed) {
       return;
     }
+    final long start = System.nanoTime();
     final Canvas canvas = surface.lockCanvas(null);
     canvas.drawBitmap(bitmap, 0, 0, new Paint());
     surface.unlockCanvasAndPost(canvas);
+    frameTimings.onTextureUpload(System.nanoTime() - start);
   }
 
   @Override
@@ -217,6 +384,9 @@ final class GoogleMapController
     googleMap.setOnCameraMoveListener(this);
     googleMap.setOnCameraIdleListener(this);
     googleMap.setOnMarkerClickListener(this);
+    if (liveRendering) {
+      return;
+    }
     // Take snapshots until the dust settles.
     timer.schedule(newSnapshotTask(), 0);
     timer.schedule(newSnapshotTask(), 500);
@@ -239,14 +409,32 @@ final class GoogleMapController
 
   @Override
   public void onCameraMove() {
-    if (trackCameraPosition && onCameraMoveListener != null) {
-      onCameraMoveListener.onCameraMove(googleMap.getCameraPosition());
+    if (liveRendering) {
+      // The map invokes this once for every rendered frame while the camera moves.
+      frameTimings.onFrame(System.nanoTime());
+    }
+    if (trackCameraPosition && !cameraMovePending) {
+      cameraMovePending = true;
+      final long delay =
+          lastCameraMoveMillis + cameraMoveIntervalMillis - SystemClock.uptimeMillis();
+      cameraMoveHandler.postDelayed(sendCameraMove, Math.max(0, delay));
     }
   }
 
   @Override
   public void onCameraIdle() {
-    onCameraMoveListener.onCameraIdle();
+    // The idle event carries the final position, superseding any pending move event.
+    cameraMoveHandler.removeCallbacks(sendCameraMove);
+    cameraMovePending = false;
+    onCameraMoveListener.onCameraIdle(
+        getCameraPosition(), googleMap.getProjection().getVisibleRegion().latLngBounds);
+    frameTimings.onMotionStopped();
+    if (clusterer != null) {
+      clusterer.onCameraIdle();
+    }
+    if (liveRendering) {
+      return;
+    }
     // Take snapshots until the dust settles.
     timer.schedule(newSnapshotTask(), 500);
     timer.schedule(newSnapshotTask(), 1500);
@@ -256,11 +444,15 @@ final class GoogleMapController
   @Override
   public boolean onMarkerClick(Marker marker) {
     final MarkerController markerController = markers.get(marker.getId());
-    return (markerController != null && markerController.onTap());
+    if (markerController != null) {
+      return markerController.onTap();
+    }
+    return clusterer != null && clusterer.onMarkerClick(marker);
   }
 
   @Override
   public void onSnapshotReady(Bitmap bitmap) {
+    frameTimings.onSnapshot(System.nanoTime() - snapshotRequestNanos);
     updateTexture();
   }
 
@@ -270,7 +462,16 @@ final class GoogleMapController
     }
     disposed = true;
     timer.cancel();
-    parent.removeView(mapView);
+    cameraMoveHandler.removeCallbacks(sendCameraMove);
+    if (clusterer != null) {
+      clusterer.dispose();
+    }
+    if (virtualDisplayRenderer != null) {
+      virtualDisplayRenderer.dispose();
+      virtualDisplayRenderer = null;
+    } else {
+      parent.removeView(mapView);
+    }
     textureEntry.release();
     mapView.onDestroy();
     registrar.activity().getApplication().unregisterActivityLifecycleCallbacks(this);
@@ -353,6 +554,7 @@ final class GoogleMapController
       if (disposed || activityState.get() != RESUMED) {
         return;
       }
+      snapshotRequestNanos = System.nanoTime();
       googleMap.snapshot(GoogleMapController.this, bitmap);
     }
   }
@@ -369,6 +571,11 @@ final class GoogleMapController
     googleMap.setLatLngBoundsForCameraTarget(bounds);
   }
 
+  @Override
+  public void setCameraMoveInterval(int cameraMoveIntervalMillis) {
+    this.cameraMoveIntervalMillis = cameraMoveIntervalMillis;
+  }
+
   @Override
   public void setCompassEnabled(boolean compassEnabled) {
     googleMap.getUiSettings().setCompassEnabled(compassEnabled);
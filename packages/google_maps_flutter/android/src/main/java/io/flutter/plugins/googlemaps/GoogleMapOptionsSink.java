@@ -11,6 +11,8 @@ import com.google.android.gms.maps.model.LatLngBounds;
 interface GoogleMapOptionsSink {
   void setCameraPosition(CameraPosition position);
 
+  void setCameraMoveInterval(int cameraMoveIntervalMillis);
+
   void setCameraTargetBounds(LatLngBounds bounds);
 
   void setCompassEnabled(boolean compassEnabled);
@@ -7,16 +7,20 @@ package io.flutter.plugins.googlemaps;
 import android.app.Activity;
 import android.app.Application;
 import android.os.Bundle;
+import android.os.SystemClock;
+import android.view.MotionEvent;
 import com.google.android.gms.maps.CameraUpdate;
 import com.google.android.gms.maps.model.CameraPosition;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.Marker;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
 import io.flutter.plugin.common.MethodChannel.Result;
 import io.flutter.plugin.common.PluginRegistry.Registrar;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -38,6 +42,8 @@ public class GoogleMapsPlugin implements MethodCallHandler, Application.Activity
   private final MethodChannel channel;
   private final float density;
   private final AtomicInteger state = new AtomicInteger(0);
+  // Start time of the touch sequence currently forwarded to a live-rendered map.
+  private long touchDownTime;
 
   public static void registerWith(Registrar registrar) {
     final MethodChannel channel =
@@ -72,6 +78,7 @@ public class GoogleMapsPlugin implements MethodCallHandler, Application.Activity
           final Map<?, ?> options = Convert.toMap(call.argument("options"));
           final GoogleMapBuilder builder = new GoogleMapBuilder();
           Convert.interpretGoogleMapOptions(options, builder);
+          builder.setLiveRendering("virtualDisplay".equals(call.argument("renderMode")));
           final GoogleMapController controller =
               builder.build(state, registrar, width, height, result);
           googleMaps.put(controller.id(), controller);
@@ -89,14 +96,19 @@ public class GoogleMapsPlugin implements MethodCallHandler, Application.Activity
                 public void onCameraMove(CameraPosition position) {
                   final Map<String, Object> arguments = new HashMap<>(2);
                   arguments.put("map", controller.id());
-                  arguments.put("position", Convert.toJson(position));
+                  arguments.put("position", Convert.toPacked(position));
                   channel.invokeMethod("camera#onMove", arguments);
                 }
 
                 @Override
-                public void onCameraIdle() {
-                  channel.invokeMethod(
-                      "camera#onIdle", Collections.singletonMap("map", controller.id()));
+                public void onCameraIdle(CameraPosition position, LatLngBounds visibleRegion) {
+                  final Map<String, Object> arguments = new HashMap<>(4);
+                  arguments.put("map", controller.id());
+                  if (position != null) {
+                    arguments.put("position", Convert.toPacked(position));
+                  }
+                  arguments.put("visibleRegion", Convert.toPacked(visibleRegion));
+                  channel.invokeMethod("camera#onIdle", arguments);
                 }
               });
           controller.setOnMarkerTappedListener(
@@ -109,6 +121,18 @@ public class GoogleMapsPlugin implements MethodCallHandler, Application.Activity
                   channel.invokeMethod("marker#onTap", arguments);
                 }
               });
+          controller.setOnClusterTappedListener(
+              new OnClusterTappedListener() {
+                @Override
+                public void onClusterTapped(LatLng position, int count, String itemId) {
+                  final Map<String, Object> arguments = new HashMap<>(4);
+                  arguments.put("map", controller.id());
+                  arguments.put("position", Convert.toJson(position));
+                  arguments.put("count", count);
+                  arguments.put("item", itemId);
+                  channel.invokeMethod("cluster#onTap", arguments);
+                }
+              });
           controller.setOnInfoWindowTappedListener(
               new OnInfoWindowTappedListener() {
                 @Override
@@ -174,6 +198,35 @@ public class GoogleMapsPlugin implements MethodCallHandler, Application.Activity
           result.success(null);
           break;
         }
+      case "markers#apply":
+        {
+          final GoogleMapController controller = mapsController(call);
+          final List<String> markerIds =
+              controller.applyMarkerBatch(
+                  Convert.toMarkerTemplates(call.argument("options")),
+                  (List<?>) call.argument("addIds"),
+                  (double[]) call.argument("addPositions"),
+                  (int[]) call.argument("addOptions"),
+                  (List<?>) call.argument("changeIds"),
+                  (double[]) call.argument("changePositions"),
+                  (int[]) call.argument("changeOptions"),
+                  (List<?>) call.argument("removeIds"));
+          result.success(markerIds);
+          break;
+        }
+      case "clusters#set":
+        {
+          final GoogleMapController controller = mapsController(call);
+          controller.setClusterItems(
+              (List<?>) call.argument("ids"),
+              (double[]) call.argument("positions"),
+              (int[]) call.argument("itemOptions"),
+              Convert.toMarkerTemplates(call.argument("options")),
+              Convert.toDouble(call.argument("radius")),
+              Convert.toInt(call.argument("maxClusterZoom")));
+          result.success(null);
+          break;
+        }
       case "map#show":
         {
           final GoogleMapController controller = mapsController(call);
@@ -190,6 +243,34 @@ public class GoogleMapsPlugin implements MethodCallHandler, Application.Activity
           result.success(null);
           break;
         }
+      case "map#touch":
+        {
+          final GoogleMapController controller = mapsController(call);
+          final int action = call.argument("action");
+          final long now = SystemClock.uptimeMillis();
+          if (action == MotionEvent.ACTION_DOWN) {
+            touchDownTime = now;
+          }
+          final MotionEvent event =
+              Convert.toMotionEvent(
+                  touchDownTime,
+                  now,
+                  action,
+                  (int) call.argument("actionIndex"),
+                  call.argument("pointers"),
+                  density);
+          controller.dispatchTouchEvent(event);
+          event.recycle();
+          result.success(null);
+          break;
+        }
+      case "map#frameTimings":
+        {
+          final GoogleMapController controller = mapsController(call);
+          final Boolean reset = call.argument("reset");
+          result.success(controller.getFrameTimings(reset != null && reset));
+          break;
+        }
       case "map#dispose":
         {
           final GoogleMapController controller = mapsController(call);
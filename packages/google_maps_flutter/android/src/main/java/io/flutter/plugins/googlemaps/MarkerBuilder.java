@@ -13,6 +13,8 @@ class MarkerBuilder implements MarkerOptionsSink {
   private final GoogleMapController mapController;
   private final MarkerOptions markerOptions;
   private boolean consumesTapEvents;
+  private String markerId;
+  private int iconGeneration;
 
   MarkerBuilder(GoogleMapController mapController) {
     this.mapController = mapController;
@@ -21,7 +23,8 @@ class MarkerBuilder implements MarkerOptionsSink {
 
   String build() {
     final Marker marker = mapController.addMarker(markerOptions, consumesTapEvents);
-    return marker.getId();
+    markerId = marker.getId();
+    return markerId;
   }
 
   @Override
@@ -51,9 +54,32 @@ class MarkerBuilder implements MarkerOptionsSink {
 
   @Override
   public void setIcon(BitmapDescriptor bitmapDescriptor) {
+    iconGeneration++;
     markerOptions.icon(bitmapDescriptor);
   }
 
+  @Override
+  public int requestIcon() {
+    return ++iconGeneration;
+  }
+
+  @Override
+  public void setRequestedIcon(BitmapDescriptor bitmapDescriptor, int generation) {
+    if (generation != iconGeneration) {
+      return;
+    }
+    if (markerId == null) {
+      markerOptions.icon(bitmapDescriptor);
+      return;
+    }
+    // The icon finished loading after the marker was built, so it is the marker's first requested
+    // icon. It is dropped if the marker was given another icon since.
+    final MarkerController marker = mapController.findMarker(markerId);
+    if (marker != null) {
+      marker.setRequestedIcon(bitmapDescriptor, 0);
+    }
+  }
+
   @Override
   public void setInfoWindowAnchor(float u, float v) {
     markerOptions.infoWindowAnchor(u, v);
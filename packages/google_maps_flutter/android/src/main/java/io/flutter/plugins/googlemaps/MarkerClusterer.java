@@ -0,0 +1,408 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.os.Handler;
+import android.os.Looper;
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.gms.maps.model.Marker;
+import com.google.android.gms.maps.model.MarkerOptions;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Groups a large set of items into clusters and keeps map markers only for the clusters and items
+ * currently in view.
+ *
+ * <p>Item positions are projected once to normalized Web Mercator coordinates. For each integer
+ * zoom level, items are hashed into a grid whose cells are the cluster radius wide at that zoom,
+ * and the resulting clusters are cached until the items change. All of this happens on a
+ * background thread when the camera stops moving. Only clusters within the visible region, padded
+ * by half a screen on each side, are then materialized as markers on the platform thread, and
+ * markers still in view are kept as they are.
+ */
+final class MarkerClusterer {
+  private static final int TILE_SIZE_DP = 256;
+  private static final int MAX_ZOOM = 22;
+  private static final double VISIBLE_REGION_PADDING = 0.5;
+  private static final int CLUSTER_ICON_SIZE_DP = 40;
+  private static final int CLUSTER_COLOR = 0xFF1E88E5;
+  private static final long CELL_MASK = (1L << 29) - 1;
+
+  private final GoogleMap googleMap;
+  private final float density;
+  private final Handler platformHandler = new Handler(Looper.getMainLooper());
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+  private final Map<Long, MarkerController> markersByKey = new HashMap<>();
+  private final Map<String, Cluster> clustersByMarkerId = new HashMap<>();
+  private final Map<String, BitmapDescriptor> clusterIcons = new HashMap<>();
+  private final OnClusterTappedListener onClusterTappedListener;
+  private final Runnable onMarkersChanged;
+  private ItemIndex index;
+  private int generation;
+  private boolean disposed;
+
+  MarkerClusterer(
+      GoogleMap googleMap,
+      float density,
+      OnClusterTappedListener onClusterTappedListener,
+      Runnable onMarkersChanged) {
+    this.googleMap = googleMap;
+    this.density = density;
+    this.onClusterTappedListener = onClusterTappedListener;
+    this.onMarkersChanged = onMarkersChanged;
+  }
+
+  /**
+   * Replaces all clustered items.
+   *
+   * @param ids the item IDs.
+   * @param positions the item positions, packed as {@code [lat, lng, ...]}.
+   * @param options for each item, an index into {@code templates} or -1 for default options.
+   * @param radius the cluster radius in logical pixels.
+   * @param maxClusterZoom the highest zoom level at which items are clustered.
+   */
+  void setItems(
+      List<?> ids,
+      double[] positions,
+      int[] options,
+      List<MarkerTemplate> templates,
+      double radius,
+      int maxClusterZoom) {
+    removeAllMarkers();
+    index =
+        ids.isEmpty()
+            ? null
+            : new ItemIndex(ids, positions, options, templates, radius, maxClusterZoom);
+    generation++;
+    onCameraIdle();
+  }
+
+  void onCameraIdle() {
+    if (disposed || index == null) {
+      return;
+    }
+    final ItemIndex index = this.index;
+    final int zoom = Math.max(0, Math.min(MAX_ZOOM, (int) googleMap.getCameraPosition().zoom));
+    final LatLngBounds bounds = googleMap.getProjection().getVisibleRegion().latLngBounds;
+    final int generation = ++this.generation;
+    executor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            final List<Cluster> visible = index.visibleClusters(zoom, bounds);
+            platformHandler.post(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    // Drop results superseded by a later camera change or item update.
+                    if (!disposed && generation == MarkerClusterer.this.generation) {
+                      render(index, visible);
+                    }
+                  }
+                });
+          }
+        });
+  }
+
+  /** Returns true if the marker is shown by this clusterer and the tap was consumed. */
+  boolean onMarkerClick(Marker marker) {
+    final Cluster cluster = clustersByMarkerId.get(marker.getId());
+    if (cluster == null) {
+      return false;
+    }
+    final ItemIndex index = this.index;
+    final String itemId = cluster.count == 1 ? (String) index.ids.get(cluster.item) : null;
+    if (onClusterTappedListener != null) {
+      onClusterTappedListener.onClusterTapped(marker.getPosition(), cluster.count, itemId);
+    }
+    if (itemId == null) {
+      return true;
+    }
+    final int option = index.options[cluster.item];
+    return option >= 0 && index.templates.get(option).consumesTapEvents();
+  }
+
+  void dispose() {
+    disposed = true;
+    executor.shutdownNow();
+  }
+
+  private void render(ItemIndex index, List<Cluster> visible) {
+    final Map<Long, Cluster> wanted = new HashMap<>(visible.size());
+    for (Cluster cluster : visible) {
+      wanted.put(cluster.key, cluster);
+    }
+    final Iterator<Map.Entry<Long, MarkerController>> iterator =
+        markersByKey.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<Long, MarkerController> entry = iterator.next();
+      if (!wanted.containsKey(entry.getKey())) {
+        clustersByMarkerId.remove(entry.getValue().id());
+        entry.getValue().remove();
+        iterator.remove();
+      }
+    }
+    for (Cluster cluster : visible) {
+      if (!markersByKey.containsKey(cluster.key)) {
+        final MarkerController marker =
+            new MarkerController(googleMap.addMarker(toMarkerOptions(index, cluster)), false, null);
+        if (cluster.count == 1 && index.options[cluster.item] >= 0) {
+          index.templates.get(index.options[cluster.item]).applyPendingIconTo(marker);
+        }
+        markersByKey.put(cluster.key, marker);
+        clustersByMarkerId.put(marker.id(), cluster);
+      }
+    }
+    if (onMarkersChanged != null) {
+      onMarkersChanged.run();
+    }
+  }
+
+  private void removeAllMarkers() {
+    for (MarkerController marker : markersByKey.values()) {
+      marker.remove();
+    }
+    markersByKey.clear();
+    clustersByMarkerId.clear();
+  }
+
+  private MarkerOptions toMarkerOptions(ItemIndex index, Cluster cluster) {
+    final MarkerOptions options = new MarkerOptions();
+    if (cluster.count == 1) {
+      final int option = index.options[cluster.item];
+      if (option >= 0) {
+        index.templates.get(option).applyTo(options);
+      }
+      options.position(
+          new LatLng(index.positions[2 * cluster.item], index.positions[2 * cluster.item + 1]));
+    } else {
+      options.position(cluster.position());
+      options.icon(clusterIcon(cluster.count));
+      options.anchor(0.5f, 0.5f);
+    }
+    return options;
+  }
+
+  private BitmapDescriptor clusterIcon(int count) {
+    final String label = clusterLabel(count);
+    BitmapDescriptor icon = clusterIcons.get(label);
+    if (icon == null) {
+      icon = BitmapDescriptorFactory.fromBitmap(drawClusterIcon(label));
+      clusterIcons.put(label, icon);
+    }
+    return icon;
+  }
+
+  // Large counts are bucketed so that few distinct icons are ever created.
+  private static String clusterLabel(int count) {
+    if (count < 100) {
+      return Integer.toString(count);
+    } else if (count < 1000) {
+      return (count / 100 * 100) + "+";
+    } else {
+      return (count / 1000) + "k+";
+    }
+  }
+
+  private Bitmap drawClusterIcon(String label) {
+    final int size = (int) (CLUSTER_ICON_SIZE_DP * density);
+    final Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+    final Canvas canvas = new Canvas(bitmap);
+    final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    paint.setColor(CLUSTER_COLOR);
+    canvas.drawCircle(size / 2f, size / 2f, size / 2f, paint);
+    paint.setColor(Color.WHITE);
+    paint.setTypeface(Typeface.DEFAULT_BOLD);
+    paint.setTextAlign(Paint.Align.CENTER);
+    paint.setTextSize(size * (label.length() <= 2 ? 0.4f : 0.3f));
+    final float baseline = size / 2f - (paint.descent() + paint.ascent()) / 2f;
+    canvas.drawText(label, size / 2f, baseline, paint);
+    return bitmap;
+  }
+
+  private static double toMercatorX(double longitude) {
+    return (longitude + 180) / 360;
+  }
+
+  private static double toMercatorY(double latitude) {
+    final double sin = Math.max(-0.9999, Math.min(0.9999, Math.sin(Math.toRadians(latitude))));
+    return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+  }
+
+  /**
+   * A group of items close to each other at some zoom level.
+   *
+   * <p>Single items are keyed by their index so their markers survive zoom changes; clusters are
+   * keyed by zoom level and grid cell.
+   */
+  private static final class Cluster {
+    final long key;
+    final int item;
+    int count;
+    double sumX;
+    double sumY;
+
+    Cluster(long key, int item) {
+      this.key = key;
+      this.item = item;
+    }
+
+    static Cluster single(int item, double x, double y) {
+      final Cluster cluster = new Cluster(-1L - item, item);
+      cluster.add(x, y);
+      return cluster;
+    }
+
+    void add(double x, double y) {
+      count++;
+      sumX += x;
+      sumY += y;
+    }
+
+    double x() {
+      return sumX / count;
+    }
+
+    double y() {
+      return sumY / count;
+    }
+
+    LatLng position() {
+      final double longitude = x() * 360 - 180;
+      final double latitude = Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y()))));
+      return new LatLng(latitude, longitude);
+    }
+  }
+
+  /**
+   * Immutable set of items, with clusters computed lazily per zoom level.
+   *
+   * <p>Projection and clustering happen on the clusterer's background thread only.
+   */
+  private static final class ItemIndex {
+    final List<?> ids;
+    final double[] positions;
+    final int[] options;
+    final List<MarkerTemplate> templates;
+    final double radius;
+    final int maxClusterZoom;
+    private final Cluster[][] clustersByZoom = new Cluster[MAX_ZOOM + 1][];
+    private double[] x;
+    private double[] y;
+
+    ItemIndex(
+        List<?> ids,
+        double[] positions,
+        int[] options,
+        List<MarkerTemplate> templates,
+        double radius,
+        int maxClusterZoom) {
+      this.ids = ids;
+      this.positions = positions;
+      this.options = options;
+      this.templates = templates;
+      this.radius = radius;
+      this.maxClusterZoom = maxClusterZoom;
+    }
+
+    List<Cluster> visibleClusters(int zoom, LatLngBounds bounds) {
+      final double minY = toMercatorY(bounds.northeast.latitude);
+      final double maxY = toMercatorY(bounds.southwest.latitude);
+      final double west = toMercatorX(bounds.southwest.longitude);
+      double width = toMercatorX(bounds.northeast.longitude) - west;
+      if (width < 0) {
+        // The visible region crosses the antimeridian.
+        width += 1;
+      }
+      final double padX = width * VISIBLE_REGION_PADDING;
+      final double padY = (maxY - minY) * VISIBLE_REGION_PADDING;
+      final double spanX = width + 2 * padX;
+      final double minX = west - padX;
+
+      final Cluster[] clusters = clusters(zoom);
+      final List<Cluster> visible = new ArrayList<>();
+      for (Cluster cluster : clusters) {
+        final double y = cluster.y();
+        if (y < minY - padY || y > maxY + padY) {
+          continue;
+        }
+        final double dx = cluster.x() - minX;
+        if (spanX >= 1 || dx - Math.floor(dx) <= spanX) {
+          visible.add(cluster);
+        }
+      }
+      return visible;
+    }
+
+    private Cluster[] clusters(int zoom) {
+      Cluster[] clusters = clustersByZoom[zoom];
+      if (clusters == null) {
+        clusters = computeClusters(zoom);
+        clustersByZoom[zoom] = clusters;
+      }
+      return clusters;
+    }
+
+    private Cluster[] computeClusters(int zoom) {
+      project();
+      final int count = x.length;
+      if (zoom > maxClusterZoom) {
+        final Cluster[] singles = new Cluster[count];
+        for (int i = 0; i < count; i++) {
+          singles[i] = Cluster.single(i, x[i], y[i]);
+        }
+        return singles;
+      }
+      final double cellsPerSide = TILE_SIZE_DP * Math.pow(2, zoom) / radius;
+      final Map<Long, Cluster> grid = new HashMap<>();
+      for (int i = 0; i < count; i++) {
+        final long cellX = (long) (x[i] * cellsPerSide) & CELL_MASK;
+        final long cellY = (long) (y[i] * cellsPerSide) & CELL_MASK;
+        final long key = ((long) zoom << 58) | (cellX << 29) | cellY;
+        Cluster cluster = grid.get(key);
+        if (cluster == null) {
+          cluster = new Cluster(key, i);
+          grid.put(key, cluster);
+        }
+        cluster.add(x[i], y[i]);
+      }
+      final Cluster[] clusters = new Cluster[grid.size()];
+      int n = 0;
+      for (Cluster cluster : grid.values()) {
+        clusters[n++] =
+            cluster.count == 1 ? Cluster.single(cluster.item, cluster.sumX, cluster.sumY) : cluster;
+      }
+      return clusters;
+    }
+
+    private void project() {
+      if (x != null) {
+        return;
+      }
+      final int count = positions.length / 2;
+      x = new double[count];
+      y = new double[count];
+      for (int i = 0; i < count; i++) {
+        y[i] = toMercatorY(positions[2 * i]);
+        x[i] = toMercatorX(positions[2 * i + 1]);
+      }
+    }
+  }
+}
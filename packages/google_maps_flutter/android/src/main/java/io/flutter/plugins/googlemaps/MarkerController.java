@@ -13,6 +13,10 @@ class MarkerController implements MarkerOptionsSink {
   private final Marker marker;
   private final OnMarkerTappedListener onTappedListener;
   private boolean consumeTapEvents;
+  private boolean removed;
+  // Generation of the latest icon set or requested. Generation 0 is the icon requested before the
+  // marker was built.
+  private int iconGeneration;
 
   MarkerController(
       Marker marker, boolean consumeTapEvents, OnMarkerTappedListener onTappedListener) {
@@ -21,6 +25,10 @@ class MarkerController implements MarkerOptionsSink {
     this.onTappedListener = onTappedListener;
   }
 
+  String id() {
+    return marker.getId();
+  }
+
   boolean onTap() {
     if (onTappedListener != null) {
       onTappedListener.onMarkerTapped(marker);
@@ -29,6 +37,7 @@ class MarkerController implements MarkerOptionsSink {
   }
 
   void remove() {
+    removed = true;
     marker.remove();
   }
 
@@ -59,6 +68,25 @@ class MarkerController implements MarkerOptionsSink {
 
   @Override
   public void setIcon(BitmapDescriptor bitmapDescriptor) {
+    iconGeneration++;
+    if (removed) {
+      return;
+    }
+    marker.setIcon(bitmapDescriptor);
+  }
+
+  @Override
+  public int requestIcon() {
+    return ++iconGeneration;
+  }
+
+  @Override
+  public void setRequestedIcon(BitmapDescriptor bitmapDescriptor, int generation) {
+    // Asynchronously loaded icons may arrive after a newer icon was set or requested, or after the
+    // marker has been removed.
+    if (generation != iconGeneration || removed) {
+      return;
+    }
     marker.setIcon(bitmapDescriptor);
   }
 
@@ -21,6 +21,15 @@ interface MarkerOptionsSink {
 
   void setIcon(BitmapDescriptor bitmapDescriptor);
 
+  /**
+   * Starts loading an icon and returns the generation of the request. Icons that are set or
+   * requested after it supersede the requested icon.
+   */
+  int requestIcon();
+
+  /** Sets the icon of request {@code generation}, unless it was superseded. */
+  void setRequestedIcon(BitmapDescriptor bitmapDescriptor, int generation);
+
   void setInfoWindowAnchor(float u, float v);
 
   void setInfoWindowText(String title, String snippet);
@@ -0,0 +1,226 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.MarkerOptions;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Marker options interpreted once and replayed onto any number of markers.
+ *
+ * <p>Used by batched marker updates so that options shared by many markers, including their icon,
+ * are only converted from their JSON-like representation once per batch.
+ */
+class MarkerTemplate implements MarkerOptionsSink {
+  private Float alpha;
+  private float[] anchor;
+  private Boolean consumesTapEvents;
+  private Boolean draggable;
+  private Boolean flat;
+  private BitmapDescriptor icon;
+  private float[] infoWindowAnchor;
+  private String[] infoWindowText;
+  private LatLng position;
+  private Float rotation;
+  private Boolean visible;
+  private Float zIndex;
+  private int iconGeneration;
+  // Sinks this template was applied to while its icon was still loading, and their requests.
+  private List<PendingIcon> iconPendingSinks;
+
+  private static final class PendingIcon {
+    final MarkerOptionsSink sink;
+    final int generation;
+
+    PendingIcon(MarkerOptionsSink sink, int generation) {
+      this.sink = sink;
+      this.generation = generation;
+    }
+  }
+
+  boolean hasIcon() {
+    return icon != null;
+  }
+
+  /** Marks the icon as loading; it is applied to all sinks once {@link #setIcon} is called. */
+  void setIconPending() {
+    iconPendingSinks = new ArrayList<>();
+  }
+
+  /** Applies the icon to {@code sink} once it is loaded, if it is still loading. */
+  void applyPendingIconTo(MarkerOptionsSink sink) {
+    if (icon == null && iconPendingSinks != null) {
+      iconPendingSinks.add(new PendingIcon(sink, sink.requestIcon()));
+    }
+  }
+
+  boolean consumesTapEvents() {
+    return consumesTapEvents != null && consumesTapEvents;
+  }
+
+  void applyTo(MarkerOptions options) {
+    if (alpha != null) {
+      options.alpha(alpha);
+    }
+    if (anchor != null) {
+      options.anchor(anchor[0], anchor[1]);
+    }
+    if (draggable != null) {
+      options.draggable(draggable);
+    }
+    if (flat != null) {
+      options.flat(flat);
+    }
+    if (icon != null) {
+      options.icon(icon);
+    }
+    if (infoWindowAnchor != null) {
+      options.infoWindowAnchor(infoWindowAnchor[0], infoWindowAnchor[1]);
+    }
+    if (infoWindowText != null) {
+      options.title(infoWindowText[0]);
+      options.snippet(infoWindowText[1]);
+    }
+    if (position != null) {
+      options.position(position);
+    }
+    if (rotation != null) {
+      options.rotation(rotation);
+    }
+    if (visible != null) {
+      options.visible(visible);
+    }
+    if (zIndex != null) {
+      options.zIndex(zIndex);
+    }
+  }
+
+  void applyTo(MarkerOptionsSink sink) {
+    if (alpha != null) {
+      sink.setAlpha(alpha);
+    }
+    if (anchor != null) {
+      sink.setAnchor(anchor[0], anchor[1]);
+    }
+    if (consumesTapEvents != null) {
+      sink.setConsumeTapEvents(consumesTapEvents);
+    }
+    if (draggable != null) {
+      sink.setDraggable(draggable);
+    }
+    if (flat != null) {
+      sink.setFlat(flat);
+    }
+    if (icon != null) {
+      sink.setIcon(icon);
+    } else {
+      applyPendingIconTo(sink);
+    }
+    if (infoWindowAnchor != null) {
+      sink.setInfoWindowAnchor(infoWindowAnchor[0], infoWindowAnchor[1]);
+    }
+    if (infoWindowText != null) {
+      sink.setInfoWindowText(infoWindowText[0], infoWindowText[1]);
+    }
+    if (position != null) {
+      sink.setPosition(position);
+    }
+    if (rotation != null) {
+      sink.setRotation(rotation);
+    }
+    if (visible != null) {
+      sink.setVisible(visible);
+    }
+    if (zIndex != null) {
+      sink.setZIndex(zIndex);
+    }
+  }
+
+  @Override
+  public void setAlpha(float alpha) {
+    this.alpha = alpha;
+  }
+
+  @Override
+  public void setAnchor(float u, float v) {
+    this.anchor = new float[] {u, v};
+  }
+
+  @Override
+  public void setConsumeTapEvents(boolean consumesTapEvents) {
+    this.consumesTapEvents = consumesTapEvents;
+  }
+
+  @Override
+  public void setDraggable(boolean draggable) {
+    this.draggable = draggable;
+  }
+
+  @Override
+  public void setFlat(boolean flat) {
+    this.flat = flat;
+  }
+
+  @Override
+  public void setIcon(BitmapDescriptor bitmapDescriptor) {
+    iconGeneration++;
+    applyIcon(bitmapDescriptor);
+  }
+
+  @Override
+  public int requestIcon() {
+    return ++iconGeneration;
+  }
+
+  @Override
+  public void setRequestedIcon(BitmapDescriptor bitmapDescriptor, int generation) {
+    if (generation == iconGeneration) {
+      applyIcon(bitmapDescriptor);
+    }
+  }
+
+  private void applyIcon(BitmapDescriptor bitmapDescriptor) {
+    this.icon = bitmapDescriptor;
+    if (iconPendingSinks != null) {
+      for (PendingIcon pending : iconPendingSinks) {
+        pending.sink.setRequestedIcon(bitmapDescriptor, pending.generation);
+      }
+      iconPendingSinks = null;
+    }
+  }
+
+  @Override
+  public void setInfoWindowAnchor(float u, float v) {
+    this.infoWindowAnchor = new float[] {u, v};
+  }
+
+  @Override
+  public void setInfoWindowText(String title, String snippet) {
+    this.infoWindowText = new String[] {title, snippet};
+  }
+
+  @Override
+  public void setPosition(LatLng position) {
+    this.position = position;
+  }
+
+  @Override
+  public void setRotation(float rotation) {
+    this.rotation = rotation;
+  }
+
+  @Override
+  public void setVisible(boolean visible) {
+    this.visible = visible;
+  }
+
+  @Override
+  public void setZIndex(float zIndex) {
+    this.zIndex = zIndex;
+  }
+}
@@ -5,11 +5,18 @@
 package io.flutter.plugins.googlemaps;
 
 import com.google.android.gms.maps.model.CameraPosition;
+import com.google.android.gms.maps.model.LatLngBounds;
 
 interface OnCameraMoveListener {
   void onCameraMoveStarted(boolean isGesture);
 
   void onCameraMove(CameraPosition newPosition);
 
-  void onCameraIdle();
+  /**
+   * Called when the camera stops moving.
+   *
+   * @param position the final camera position, or null if camera position tracking is disabled.
+   * @param visibleRegion the bounding box of the visible region.
+   */
+  void onCameraIdle(CameraPosition position, LatLngBounds visibleRegion);
 }
@@ -0,0 +1,17 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import com.google.android.gms.maps.model.LatLng;
+
+interface OnClusterTappedListener {
+  /**
+   * Called when a marker shown by a {@link MarkerClusterer} is tapped.
+   *
+   * @param itemId the ID of the item shown by the marker, or null if the marker shows a cluster of
+   *     {@code count} items.
+   */
+  void onClusterTapped(LatLng position, int count, String itemId);
+}
@@ -0,0 +1,81 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.annotation.TargetApi;
+import android.app.Presentation;
+import android.content.Context;
+import android.hardware.display.DisplayManager;
+import android.hardware.display.VirtualDisplay;
+import android.os.Build;
+import android.os.Bundle;
+import android.view.Display;
+import android.view.Surface;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.WindowManager;
+import android.widget.FrameLayout;
+
+/**
+ * Renders a view into a Flutter texture by hosting it on a virtual display whose output surface is
+ * the texture's surface.
+ *
+ * <p>The view is drawn by the platform at display rate, so the texture always shows the live
+ * view instead of a periodically copied snapshot.
+ */
+@TargetApi(Build.VERSION_CODES.KITKAT)
+final class VirtualDisplayRenderer {
+  private final VirtualDisplay virtualDisplay;
+  private final ViewPresentation presentation;
+
+  VirtualDisplayRenderer(Context context, View view, Surface surface, int width, int height) {
+    final DisplayManager displayManager =
+        (DisplayManager) context.getSystemService(Context.DISPLAY_SERVICE);
+    final int densityDpi = context.getResources().getDisplayMetrics().densityDpi;
+    virtualDisplay =
+        displayManager.createVirtualDisplay(
+            "flutter-google-map", width, height, densityDpi, surface, 0);
+    presentation = new ViewPresentation(context, virtualDisplay.getDisplay(), view);
+  }
+
+  static boolean isSupported() {
+    return Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT;
+  }
+
+  void show() {
+    presentation.show();
+  }
+
+  void dispose() {
+    presentation.dismiss();
+    virtualDisplay.release();
+  }
+
+  private static final class ViewPresentation extends Presentation {
+    private final View view;
+
+    ViewPresentation(Context outerContext, Display display, View view) {
+      super(outerContext, display);
+      this.view = view;
+      // The view receives touches forwarded from Flutter; it must never steal input focus from
+      // the Flutter view.
+      getWindow()
+          .setFlags(
+              WindowManager.LayoutParams.FLAG_NOT_FOCUSABLE,
+              WindowManager.LayoutParams.FLAG_NOT_FOCUSABLE);
+    }
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+      super.onCreate(savedInstanceState);
+      final FrameLayout container = new FrameLayout(getContext());
+      container.addView(
+          view,
+          new FrameLayout.LayoutParams(
+              ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+      setContentView(container);
+    }
+  }
+}
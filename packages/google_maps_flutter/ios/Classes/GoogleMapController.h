@@ -10,7 +10,9 @@
 @protocol FLTGoogleMapDelegate
 - (void)onCameraMoveStartedOnMap:(id)mapId gesture:(BOOL)gesture;
 - (void)onCameraMoveOnMap:(id)mapId cameraPosition:(GMSCameraPosition*)cameraPosition;
-- (void)onCameraIdleOnMap:(id)mapId;
+- (void)onCameraIdleOnMap:(id)mapId
+            cameraPosition:(GMSCameraPosition*)cameraPosition
+             visibleRegion:(GMSCoordinateBounds*)visibleRegion;
 - (void)onMarkerTappedOnMap:(id)mapId marker:(NSString*)markerId;
 - (void)onInfoWindowTappedOnMap:(id)mapId marker:(NSString*)markerId;
 @end
@@ -18,6 +20,7 @@
 // Defines map UI options writable from Flutter.
 @protocol FLTGoogleMapOptionsSink
 - (void)setCamera:(GMSCameraPosition*)camera;
+- (void)setCameraMoveInterval:(NSTimeInterval)interval;
 - (void)setCameraTargetBounds:(GMSCoordinateBounds*)bounds;
 - (void)setCompassEnabled:(BOOL)enabled;
 - (void)setMapType:(GMSMapViewType)type;
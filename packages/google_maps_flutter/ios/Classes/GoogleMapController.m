@@ -10,6 +10,12 @@ static uint64_t _nextMapId = 0;
   GMSMapView* _mapView;
   NSMutableDictionary* _markers;
   BOOL _trackCameraPosition;
+  // Camera move events are coalesced: at most one is pending at any time, and it reports the
+  // camera position at the time it is sent.
+  NSTimeInterval _cameraMoveInterval;
+  CFTimeInterval _lastCameraMoveTime;
+  BOOL _cameraMovePending;
+  NSUInteger _cameraMoveGeneration;
 }
 
 + (instancetype)controllerWithWidth:(CGFloat)width
@@ -120,6 +126,10 @@ static uint64_t _nextMapId = 0;
   _mapView.settings.tiltGestures = enabled;
 }
 
+- (void)setCameraMoveInterval:(NSTimeInterval)interval {
+  _cameraMoveInterval = interval;
+}
+
 - (void)setTrackCameraPosition:(BOOL)enabled {
   _trackCameraPosition = enabled;
 }
@@ -135,13 +145,38 @@ static uint64_t _nextMapId = 0;
 }
 
 - (void)mapView:(GMSMapView*)mapView didChangeCameraPosition:(GMSCameraPosition*)position {
-  if (_trackCameraPosition) {
-    [_delegate onCameraMoveOnMap:_mapId cameraPosition:position];
+  if (!_trackCameraPosition || _cameraMovePending) {
+    return;
+  }
+  _cameraMovePending = YES;
+  NSUInteger generation = _cameraMoveGeneration;
+  NSTimeInterval delay = MAX(0, _lastCameraMoveTime + _cameraMoveInterval - CACurrentMediaTime());
+  __weak FLTGoogleMapController* weakSelf = self;
+  dispatch_after(dispatch_time(DISPATCH_TIME_NOW, (int64_t)(delay * NSEC_PER_SEC)),
+                 dispatch_get_main_queue(), ^{
+                   [weakSelf sendCameraMoveForGeneration:generation];
+                 });
+}
+
+- (void)sendCameraMoveForGeneration:(NSUInteger)generation {
+  // Moves superseded by an idle event are dropped.
+  if (generation != _cameraMoveGeneration || !_trackCameraPosition) {
+    return;
   }
+  _cameraMovePending = NO;
+  _lastCameraMoveTime = CACurrentMediaTime();
+  [_delegate onCameraMoveOnMap:_mapId cameraPosition:_mapView.camera];
 }
 
 - (void)mapView:(GMSMapView*)mapView idleAtCameraPosition:(GMSCameraPosition*)position {
-  [_delegate onCameraIdleOnMap:_mapId];
+  // The idle event carries the final position, superseding any pending move event.
+  _cameraMoveGeneration++;
+  _cameraMovePending = NO;
+  GMSCoordinateBounds* visibleRegion =
+      [[GMSCoordinateBounds alloc] initWithRegion:mapView.projection.visibleRegion];
+  [_delegate onCameraIdleOnMap:_mapId
+                cameraPosition:(_trackCameraPosition ? position : nil)
+                 visibleRegion:visibleRegion];
 }
 
 - (BOOL)mapView:(GMSMapView*)mapView didTapMarker:(GMSMarker*)marker {
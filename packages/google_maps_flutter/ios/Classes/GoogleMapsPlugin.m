@@ -9,6 +9,8 @@
 #pragma mark - Conversion of JSON-like values sent via platform channels. Forward declarations.
 
 static id positionToJson(GMSCameraPosition* position);
+static id positionToPacked(GMSCameraPosition* position);
+static id boundsToPacked(GMSCoordinateBounds* bounds);
 static double toDouble(id json);
 static CLLocationCoordinate2D toLocation(id json);
 static GMSCameraPosition* toOptionalCameraPosition(id json);
@@ -24,6 +26,8 @@ static void interpretMarkerOptions(id json, id<FLTGoogleMapMarkerOptionsSink> si
   NSObject<FlutterPluginRegistrar>* _registrar;
   FlutterMethodChannel* _channel;
   NSMutableDictionary* _mapControllers;
+  // Per map, marker IDs of markers added through batches keyed by client-supplied IDs.
+  NSMutableDictionary* _keyedMarkerIds;
 }
 
 + (void)registerWithRegistrar:(NSObject<FlutterPluginRegistrar>*)registrar {
@@ -42,6 +46,7 @@ static void interpretMarkerOptions(id json, id<FLTGoogleMapMarkerOptionsSink> si
     _registrar = registrar;
     _channel = channel;
     _mapControllers = [NSMutableDictionary dictionaryWithCapacity:1];
+    _keyedMarkerIds = [NSMutableDictionary dictionaryWithCapacity:1];
   }
   return self;
 }
@@ -52,6 +57,7 @@ static void interpretMarkerOptions(id json, id<FLTGoogleMapMarkerOptionsSink> si
       [controller removeFromView];
     }
     [_mapControllers removeAllObjects];
+    [_keyedMarkerIds removeAllObjects];
     result(nil);
   } else if ([call.method isEqualToString:@"map#create"]) {
     NSDictionary* options = call.arguments[@"options"];
@@ -97,6 +103,8 @@ static void interpretMarkerOptions(id json, id<FLTGoogleMapMarkerOptionsSink> si
       interpretMarkerOptions(call.arguments[@"options"],
                              [controller markerWithId:call.arguments[@"marker"]], _registrar);
       result(nil);
+    } else if ([call.method isEqualToString:@"markers#apply"]) {
+      result([self applyMarkerBatch:call.arguments toMap:controller]);
     } else if ([call.method isEqualToString:@"marker#remove"]) {
       [controller removeMarkerWithId:call.arguments[@"marker"]];
       result(nil);
@@ -106,6 +114,64 @@ static void interpretMarkerOptions(id json, id<FLTGoogleMapMarkerOptionsSink> si
   }
 }
 
+- (NSArray*)applyMarkerBatch:(NSDictionary*)batch toMap:(FLTGoogleMapController*)controller {
+  NSMutableDictionary* keyedMarkerIds = _keyedMarkerIds[controller.mapId];
+  if (!keyedMarkerIds) {
+    keyedMarkerIds = [NSMutableDictionary dictionary];
+    _keyedMarkerIds[controller.mapId] = keyedMarkerIds;
+  }
+  NSArray* options = batch[@"options"];
+
+  NSArray* addIds = batch[@"addIds"];
+  const double* addPositions = ((FlutterStandardTypedData*)batch[@"addPositions"]).data.bytes;
+  const int32_t* addOptions = ((FlutterStandardTypedData*)batch[@"addOptions"]).data.bytes;
+  NSMutableArray* addedIds = [NSMutableArray arrayWithCapacity:addIds.count];
+  for (NSUInteger i = 0; i < addIds.count; i++) {
+    NSString* existingId = keyedMarkerIds[addIds[i]];
+    if (existingId) {
+      [controller removeMarkerWithId:existingId];
+    }
+    CLLocationCoordinate2D position =
+        CLLocationCoordinate2DMake(addPositions[2 * i], addPositions[2 * i + 1]);
+    NSString* markerId = [controller addMarkerWithPosition:position];
+    FLTGoogleMapMarkerController* marker = [controller markerWithId:markerId];
+    if (addOptions[i] >= 0) {
+      interpretMarkerOptions(options[addOptions[i]], marker, _registrar);
+    }
+    [marker setPosition:position];
+    keyedMarkerIds[addIds[i]] = markerId;
+    [addedIds addObject:markerId];
+  }
+
+  NSArray* changeIds = batch[@"changeIds"];
+  const double* changePositions =
+      ((FlutterStandardTypedData*)batch[@"changePositions"]).data.bytes;
+  const int32_t* changeOptions = ((FlutterStandardTypedData*)batch[@"changeOptions"]).data.bytes;
+  for (NSUInteger i = 0; i < changeIds.count; i++) {
+    NSString* markerId = keyedMarkerIds[changeIds[i]];
+    FLTGoogleMapMarkerController* marker = markerId ? [controller markerWithId:markerId] : nil;
+    if (!marker) {
+      continue;
+    }
+    if (changeOptions[i] >= 0) {
+      interpretMarkerOptions(options[changeOptions[i]], marker, _registrar);
+    }
+    if (!isnan(changePositions[2 * i])) {
+      [marker setPosition:CLLocationCoordinate2DMake(changePositions[2 * i],
+                                                     changePositions[2 * i + 1])];
+    }
+  }
+
+  for (NSString* key in batch[@"removeIds"]) {
+    NSString* markerId = keyedMarkerIds[key];
+    if (markerId) {
+      [controller removeMarkerWithId:markerId];
+      [keyedMarkerIds removeObjectForKey:key];
+    }
+  }
+  return addedIds;
+}
+
 - (FLTGoogleMapController*)mapFromCall:(FlutterMethodCall*)call error:(FlutterError**)error {
   id mapId = call.arguments[@"map"];
   FLTGoogleMapController* controller = _mapControllers[mapId];
@@ -127,11 +193,19 @@ static void interpretMarkerOptions(id json, id<FLTGoogleMapMarkerOptionsSink> si
 
 - (void)onCameraMoveOnMap:(id)mapId cameraPosition:(GMSCameraPosition*)cameraPosition {
   [_channel invokeMethod:@"camera#onMove"
-               arguments:@{@"map" : mapId, @"position" : positionToJson(cameraPosition)}];
+               arguments:@{@"map" : mapId, @"position" : positionToPacked(cameraPosition)}];
 }
 
-- (void)onCameraIdleOnMap:(id)mapId {
-  [_channel invokeMethod:@"camera#onIdle" arguments:@{@"map" : mapId}];
+- (void)onCameraIdleOnMap:(id)mapId
+            cameraPosition:(GMSCameraPosition*)cameraPosition
+             visibleRegion:(GMSCoordinateBounds*)visibleRegion {
+  NSMutableDictionary* arguments = [NSMutableDictionary dictionaryWithCapacity:3];
+  arguments[@"map"] = mapId;
+  if (cameraPosition) {
+    arguments[@"position"] = positionToPacked(cameraPosition);
+  }
+  arguments[@"visibleRegion"] = boundsToPacked(visibleRegion);
+  [_channel invokeMethod:@"camera#onIdle" arguments:arguments];
 }
 
 - (void)onMarkerTappedOnMap:(id)mapId marker:(NSString*)markerId {
@@ -148,6 +222,22 @@ static id locationToJson(CLLocationCoordinate2D position) {
   return @[ @(position.latitude), @(position.longitude) ];
 }
 
+// Packs a camera position as [lat, lng, zoom, tilt, bearing].
+static id positionToPacked(GMSCameraPosition* position) {
+  double packed[] = {position.target.latitude, position.target.longitude, position.zoom,
+                     position.viewingAngle, position.bearing};
+  return [FlutterStandardTypedData
+      typedDataWithFloat64:[NSData dataWithBytes:packed length:sizeof(packed)]];
+}
+
+// Packs bounds as [swLat, swLng, neLat, neLng].
+static id boundsToPacked(GMSCoordinateBounds* bounds) {
+  double packed[] = {bounds.southWest.latitude, bounds.southWest.longitude,
+                     bounds.northEast.latitude, bounds.northEast.longitude};
+  return [FlutterStandardTypedData
+      typedDataWithFloat64:[NSData dataWithBytes:packed length:sizeof(packed)]];
+}
+
 static id positionToJson(GMSCameraPosition* position) {
   if (!position) {
     return nil;
@@ -253,6 +343,10 @@ static void interpretMapOptions(id json, id<FLTGoogleMapOptionsSink> sink) {
   if (cameraPosition) {
     [sink setCamera:toCameraPosition(cameraPosition)];
   }
+  id cameraMoveInterval = data[@"cameraMoveInterval"];
+  if (cameraMoveInterval) {
+    [sink setCameraMoveInterval:toDouble(cameraMoveInterval) / 1000.0];
+  }
   id cameraTargetBounds = data[@"cameraTargetBounds"];
   if (cameraTargetBounds) {
     [sink setCameraTargetBounds:toOptionalBounds(cameraTargetBounds)];
@@ -294,6 +388,67 @@ static void interpretMapOptions(id json, id<FLTGoogleMapOptionsSink> sink) {
   }
 }
 
+// Network icons are downloaded once per URL and kept in a shared cache.
+static NSCache* networkIconCache() {
+  static NSCache* cache;
+  static dispatch_once_t onceToken;
+  dispatch_once(&onceToken, ^{
+    cache = [[NSCache alloc] init];
+    cache.countLimit = 128;
+  });
+  return cache;
+}
+
+static void loadNetworkIcon(NSString* url, id<FLTGoogleMapMarkerOptionsSink> sink) {
+  UIImage* cached = [networkIconCache() objectForKey:url];
+  if (cached) {
+    [sink setIcon:cached];
+    return;
+  }
+  NSURLSessionDataTask* task = [[NSURLSession sharedSession]
+        dataTaskWithURL:[NSURL URLWithString:url]
+      completionHandler:^(NSData* data, NSURLResponse* response, NSError* error) {
+        // Decoding happens on the session's background queue.
+        UIImage* image = data ? [UIImage imageWithData:data scale:[UIScreen mainScreen].scale]
+                              : nil;
+        if (!image) {
+          NSLog(@"Failed to load marker icon %@: %@", url, error);
+          return;
+        }
+        [networkIconCache() setObject:image forKey:url];
+        dispatch_async(dispatch_get_main_queue(), ^{
+          [sink setIcon:image];
+        });
+      }];
+  [task resume];
+}
+
+static void interpretIcon(NSArray* iconData, id<FLTGoogleMapMarkerOptionsSink> sink,
+                          NSObject<FlutterPluginRegistrar>* registrar) {
+  UIImage* image;
+  if ([iconData[0] isEqualToString:@"defaultMarker"]) {
+    CGFloat hue = (iconData.count == 1) ? 0.0f : toDouble(iconData[1]);
+    image = [GMSMarker markerImageWithColor:[UIColor colorWithHue:hue / 360.0
+                                                       saturation:1.0
+                                                       brightness:0.7
+                                                            alpha:1.0]];
+  } else if ([iconData[0] isEqualToString:@"fromAsset"]) {
+    if (iconData.count == 2) {
+      image = [UIImage imageNamed:[registrar lookupKeyForAsset:iconData[1]]];
+    } else {
+      image =
+          [UIImage imageNamed:[registrar lookupKeyForAsset:iconData[1] fromPackage:iconData[2]]];
+    }
+  } else if ([iconData[0] isEqualToString:@"fromBytes"]) {
+    FlutterStandardTypedData* bytes = iconData[1];
+    image = [UIImage imageWithData:bytes.data scale:[UIScreen mainScreen].scale];
+  } else if ([iconData[0] isEqualToString:@"fromNetwork"]) {
+    loadNetworkIcon(iconData[1], sink);
+    return;
+  }
+  [sink setIcon:image];
+}
+
 static void interpretMarkerOptions(id json, id<FLTGoogleMapMarkerOptionsSink> sink,
                                    NSObject<FlutterPluginRegistrar>* registrar) {
   NSDictionary* data = json;
@@ -311,23 +466,7 @@ static void interpretMarkerOptions(id json, id<FLTGoogleMapMarkerOptionsSink> si
   }
   id icon = data[@"icon"];
   if (icon) {
-    NSArray* iconData = icon;
-    UIImage* image;
-    if ([iconData[0] isEqualToString:@"defaultMarker"]) {
-      CGFloat hue = (iconData.count == 1) ? 0.0f : toDouble(iconData[1]);
-      image = [GMSMarker markerImageWithColor:[UIColor colorWithHue:hue / 360.0
-                                                         saturation:1.0
-                                                         brightness:0.7
-                                                              alpha:1.0]];
-    } else if ([iconData[0] isEqualToString:@"fromAsset"]) {
-      if (iconData.count == 2) {
-        image = [UIImage imageNamed:[registrar lookupKeyForAsset:iconData[1]]];
-      } else {
-        image =
-            [UIImage imageNamed:[registrar lookupKeyForAsset:iconData[1] fromPackage:iconData[2]]];
-      }
-    }
-    [sink setIcon:image];
+    interpretIcon(icon, sink, registrar);
   }
   id flat = data[@"flat"];
   if (flat) {
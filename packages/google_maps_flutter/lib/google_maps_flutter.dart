@@ -5,6 +5,7 @@
 library google_maps_flutter;
 
 import 'dart:async';
+import 'dart:typed_data';
 import 'dart:ui';
 
 import 'package:flutter/foundation.dart';
@@ -17,6 +18,7 @@ export 'dart:async';
 part 'src/bitmap.dart';
 part 'src/callbacks.dart';
 part 'src/camera.dart';
+part 'src/cluster.dart';
 part 'src/controller.dart';
 part 'src/marker.dart';
 part 'src/location.dart';
@@ -43,6 +43,27 @@ class BitmapDescriptor {
     }
   }
 
+  /// Creates a BitmapDescriptor from encoded image data, such as PNG bytes.
+  ///
+  /// The image is decoded off the platform thread. Markers show their previous
+  /// icon, or the default marker image, until decoding completes. Icons with
+  /// identical bytes are decoded once and shared.
+  static BitmapDescriptor fromBytes(Uint8List bytes) {
+    assert(bytes != null);
+    return new BitmapDescriptor._(<dynamic>['fromBytes', bytes]);
+  }
+
+  /// Creates a BitmapDescriptor from an image downloaded from [url].
+  ///
+  /// The image is downloaded and decoded off the platform thread. Markers show
+  /// their previous icon, or the default marker image, until it is available.
+  /// Markers sharing the same [url] trigger a single download. Icons that fail
+  /// to load are ignored.
+  static BitmapDescriptor fromNetwork(String url) {
+    assert(url != null);
+    return new BitmapDescriptor._(<dynamic>['fromNetwork', url]);
+  }
+
   final dynamic _json;
 
   dynamic _toJson() => _json;
@@ -62,6 +62,9 @@ class CameraPosition {
     if (json == null) {
       return null;
     }
+    if (json is Float64List) {
+      return _fromPacked(json);
+    }
     return new CameraPosition(
       bearing: json['bearing'],
       target: LatLng._fromJson(json['target']),
@@ -69,6 +72,16 @@ class CameraPosition {
       zoom: json['zoom'],
     );
   }
+
+  // Unpacks [lat, lng, zoom, tilt, bearing] as sent with camera events.
+  static CameraPosition _fromPacked(Float64List packed) {
+    return new CameraPosition(
+      target: new LatLng(packed[0], packed[1]),
+      zoom: packed[2],
+      tilt: packed[3],
+      bearing: packed[4],
+    );
+  }
 }
 
 /// Defines a camera move, supporting absolute moves as well as moves relative
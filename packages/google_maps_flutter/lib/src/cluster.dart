@@ -0,0 +1,44 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+part of google_maps_flutter;
+
+/// A point shown on the map through marker clustering.
+///
+/// See [GoogleMapController.setClusterItems].
+class ClusterItem {
+  const ClusterItem(this.id, this.position, [this.options]);
+
+  /// Application supplied identifier of this item, reported on taps.
+  final String id;
+
+  /// The geographical location of this item.
+  final LatLng position;
+
+  /// Options of the marker shown for this item while it is not part of a
+  /// cluster.
+  ///
+  /// Options not specified take their default values. The position in
+  /// [options] is ignored in favor of [position].
+  final MarkerOptions options;
+}
+
+/// A tap on a marker shown through marker clustering.
+class ClusterTap {
+  ClusterTap._(this.position, this.count, this.itemId);
+
+  /// The position of the tapped marker. For clusters, this is the center of
+  /// the clustered items.
+  final LatLng position;
+
+  /// The number of items shown by the tapped marker.
+  final int count;
+
+  /// The [ClusterItem.id] of the item shown by the tapped marker, if the
+  /// marker shows a single item; null otherwise.
+  final String itemId;
+
+  /// True if the tapped marker shows more than one item.
+  bool get isCluster => count > 1;
+}
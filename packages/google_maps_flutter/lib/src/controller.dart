@@ -7,6 +7,74 @@ part of google_maps_flutter;
 final MethodChannel _channel =
     const MethodChannel('plugins.flutter.io/google_maps');
 
+/// How a GoogleMap is rendered into the [Texture] shown while its platform
+/// overlay is hidden.
+enum GoogleMapRenderMode {
+  /// Bitmap snapshots of the map are copied into the texture a few times after
+  /// the map is created and after the camera stops moving.
+  ///
+  /// The texture is stale while the camera moves, so interaction relies on the
+  /// platform overlay.
+  snapshot,
+
+  /// The map is rendered directly into the texture at display rate through an
+  /// Android virtual display, and touches on the texture are forwarded to the
+  /// map. The platform overlay is not used.
+  ///
+  /// Android only, and requires API level 19. Falls back to [snapshot]
+  /// elsewhere.
+  virtualDisplay,
+}
+
+/// Frame timing statistics collected by the platform side of a GoogleMap.
+class MapFrameTimings {
+  MapFrameTimings._fromJson(Map<dynamic, dynamic> json)
+      : renderMode = json['renderMode'] == 'virtualDisplay'
+            ? GoogleMapRenderMode.virtualDisplay
+            : GoogleMapRenderMode.snapshot,
+        frameCount = json['frameCount'],
+        averageFrameInterval = _millis(json['averageFrameIntervalMs']),
+        maxFrameInterval = _millis(json['maxFrameIntervalMs']),
+        snapshotCount = json['snapshotCount'],
+        averageSnapshotLatency = _millis(json['averageSnapshotLatencyMs']),
+        averageTextureUpload = _millis(json['averageTextureUploadMs']);
+
+  static Duration _millis(dynamic value) =>
+      new Duration(microseconds: (value * 1000).round());
+
+  /// The render mode actually in use on the platform side.
+  final GoogleMapRenderMode renderMode;
+
+  /// Number of frames delivered to the texture.
+  final int frameCount;
+
+  /// Average time between frames while the camera is moving.
+  ///
+  /// Only measured in [GoogleMapRenderMode.virtualDisplay] mode.
+  final Duration averageFrameInterval;
+
+  /// Longest time between two frames while the camera is moving.
+  ///
+  /// Only measured in [GoogleMapRenderMode.virtualDisplay] mode.
+  final Duration maxFrameInterval;
+
+  /// Number of bitmap snapshots taken in [GoogleMapRenderMode.snapshot] mode.
+  final int snapshotCount;
+
+  /// Average time from requesting a snapshot until it is ready.
+  final Duration averageSnapshotLatency;
+
+  /// Average time spent copying a snapshot into the texture.
+  final Duration averageTextureUpload;
+
+  @override
+  String toString() => '$runtimeType(renderMode: $renderMode, '
+      'frameCount: $frameCount, averageFrameInterval: $averageFrameInterval, '
+      'maxFrameInterval: $maxFrameInterval, snapshotCount: $snapshotCount, '
+      'averageSnapshotLatency: $averageSnapshotLatency, '
+      'averageTextureUpload: $averageTextureUpload)';
+}
+
 /// Controller for a single GoogleMap instance running on the host platform.
 ///
 /// Change listeners are notified upon changes to any of
@@ -15,10 +83,12 @@ final MethodChannel _channel =
 /// * the collection of [Marker]s added to this map
 /// * the [isCameraMoving] property
 /// * the [cameraPosition] property
+/// * the [visibleRegion] property
 ///
 /// Listeners are notified after changes have been applied on the platform side.
 ///
 /// Marker tap events can be received by adding callbacks to [onMarkerTapped].
+/// Taps on markers shown through clustering are reported to [onClusterTapped].
 class GoogleMapController extends ChangeNotifier {
   @visibleForTesting
   GoogleMapController(this._id, GoogleMapOptions options)
@@ -42,6 +112,10 @@ class GoogleMapController extends ChangeNotifier {
   final ArgumentCallbacks<Marker> onInfoWindowTapped =
       new ArgumentCallbacks<Marker>();
 
+  /// Callbacks to receive tap events for markers shown through clustering.
+  final ArgumentCallbacks<ClusterTap> onClusterTapped =
+      new ArgumentCallbacks<ClusterTap>();
+
   /// The configuration options most recently applied via controller
   /// initialization or [updateMapOptions].
   GoogleMapOptions get options => _options;
@@ -53,6 +127,11 @@ class GoogleMapController extends ChangeNotifier {
   Set<Marker> get markers => new Set<Marker>.from(_markers.values);
   final Map<String, Marker> _markers = <String, Marker>{};
 
+  /// Returns the marker added by [applyMarkerBatch] under the given
+  /// application supplied [markerId], if any.
+  Marker keyedMarker(String markerId) => _keyedMarkers[markerId];
+  final Map<String, Marker> _keyedMarkers = <String, Marker>{};
+
   /// True if the map camera is currently moving.
   bool get isCameraMoving => _isCameraMoving;
   bool _isCameraMoving = false;
@@ -63,6 +142,14 @@ class GoogleMapController extends ChangeNotifier {
   CameraPosition get cameraPosition => _cameraPosition;
   CameraPosition _cameraPosition;
 
+  /// Returns the bounding box of the region visible when the camera last
+  /// stopped moving, or null before it first stopped.
+  ///
+  /// Useful for querying data near the viewport without further platform
+  /// calls.
+  LatLngBounds get visibleRegion => _visibleRegion;
+  LatLngBounds _visibleRegion;
+
   final Future<int> _id;
 
   static Map<int, GoogleMapController> _controllers =
@@ -101,6 +188,13 @@ class GoogleMapController extends ChangeNotifier {
           onMarkerTapped(marker);
         }
         break;
+      case 'cluster#onTap':
+        onClusterTapped(new ClusterTap._(
+          LatLng._fromJson(call.arguments['position']),
+          call.arguments['count'],
+          call.arguments['item'],
+        ));
+        break;
       case 'camera#onMoveStarted':
         _isCameraMoving = true;
         notifyListeners();
@@ -111,6 +205,14 @@ class GoogleMapController extends ChangeNotifier {
         break;
       case 'camera#onIdle':
         _isCameraMoving = false;
+        final dynamic position = call.arguments['position'];
+        if (position != null) {
+          _cameraPosition = CameraPosition._fromJson(position);
+        }
+        final Float64List visibleRegion = call.arguments['visibleRegion'];
+        if (visibleRegion != null) {
+          _visibleRegion = LatLngBounds._fromPacked(visibleRegion);
+        }
         notifyListeners();
         break;
       default:
@@ -208,6 +310,167 @@ class GoogleMapController extends ChangeNotifier {
     notifyListeners();
   }
 
+  /// Applies all additions, changes and removals in [batch] with a single
+  /// platform call, in that order.
+  ///
+  /// Markers are identified by the IDs supplied in the batch; use
+  /// [keyedMarker] to look them up. Changes to and removals of unknown IDs are
+  /// ignored.
+  ///
+  /// Change listeners are notified once the batch has been applied on the
+  /// platform side.
+  ///
+  /// The returned [Future] completes once listeners have been notified.
+  Future<void> applyMarkerBatch(MarkerBatch batch) async {
+    assert(batch != null);
+    if (batch.isEmpty) {
+      return;
+    }
+    final int id = await _id;
+
+    // MarkerOptions uses identity equality, so shared instances are encoded
+    // once per batch.
+    final List<dynamic> options = <dynamic>[];
+    final Map<MarkerOptions, int> addIndices = <MarkerOptions, int>{};
+    final Map<MarkerOptions, MarkerOptions> effectiveAddOptions =
+        <MarkerOptions, MarkerOptions>{};
+    final Int32List addOptions = new Int32List(batch._addIds.length);
+    for (int i = 0; i < batch._addIds.length; i++) {
+      final MarkerOptions markerOptions = batch._addOptions[i];
+      addOptions[i] = addIndices.putIfAbsent(markerOptions, () {
+        final MarkerOptions effective =
+            MarkerOptions.defaultOptions.copyWith(markerOptions);
+        effectiveAddOptions[markerOptions] = effective;
+        options.add(effective._toJson());
+        return options.length - 1;
+      });
+    }
+    final Map<MarkerOptions, int> changeIndices = <MarkerOptions, int>{};
+    final Int32List changeOptions = new Int32List(batch._changeIds.length);
+    for (int i = 0; i < batch._changeIds.length; i++) {
+      final MarkerOptions changes = batch._changeOptions[i];
+      changeOptions[i] = changes == null
+          ? -1
+          : changeIndices.putIfAbsent(changes, () {
+              options.add(changes._toJson());
+              return options.length - 1;
+            });
+    }
+
+    final List<dynamic> markerIds = await _channel.invokeMethod(
+      'markers#apply',
+      <String, dynamic>{
+        'map': id,
+        'options': options,
+        'addIds': batch._addIds,
+        'addPositions': _positionsToPacked(batch._addPositions),
+        'addOptions': addOptions,
+        'changeIds': batch._changeIds,
+        'changePositions': _positionsToPacked(batch._changePositions),
+        'changeOptions': changeOptions,
+        'removeIds': batch._removeIds,
+      },
+    );
+
+    for (int i = 0; i < batch._addIds.length; i++) {
+      _removeKeyedMarker(batch._addIds[i]);
+      final MarkerOptions markerOptions = effectiveAddOptions[
+              batch._addOptions[i]]
+          .copyWith(new MarkerOptions(position: batch._addPositions[i]));
+      final Marker marker = new Marker(markerIds[i], markerOptions);
+      _markers[marker._id] = marker;
+      _keyedMarkers[batch._addIds[i]] = marker;
+    }
+    for (int i = 0; i < batch._changeIds.length; i++) {
+      final Marker marker = _keyedMarkers[batch._changeIds[i]];
+      if (marker != null) {
+        marker._options = marker._options
+            .copyWith(batch._changeOptions[i])
+            .copyWith(new MarkerOptions(position: batch._changePositions[i]));
+      }
+    }
+    batch._removeIds.forEach(_removeKeyedMarker);
+    notifyListeners();
+  }
+
+  void _removeKeyedMarker(String markerId) {
+    final Marker marker = _keyedMarkers.remove(markerId);
+    if (marker != null) {
+      _markers.remove(marker._id);
+    }
+  }
+
+  /// Replaces the items shown on the map through marker clustering.
+  ///
+  /// Items are indexed and clustered natively: items closer to each other
+  /// than [radius] logical pixels at the current zoom level are grouped into a
+  /// single cluster marker labeled with their count, up to and including zoom
+  /// level [maxClusterZoom]. Clusters are recomputed on a background thread
+  /// whenever the camera stops moving, and only the clusters and items near
+  /// the visible region are shown as markers. This keeps the map responsive
+  /// with tens of thousands of items.
+  ///
+  /// Clustered items are not part of [markers]. Pass an empty list to remove
+  /// all items.
+  ///
+  /// Android only.
+  ///
+  /// The returned [Future] completes once the items have been replaced on the
+  /// platform side.
+  Future<void> setClusterItems(
+    List<ClusterItem> items, {
+    double radius = 60.0,
+    int maxClusterZoom = 16,
+  }) async {
+    assert(items != null);
+    assert(radius != null && radius > 0.0);
+    assert(maxClusterZoom != null);
+    final int id = await _id;
+
+    // Shared MarkerOptions instances are encoded once, as in applyMarkerBatch.
+    final List<dynamic> options = <dynamic>[];
+    final Map<MarkerOptions, int> optionIndices = <MarkerOptions, int>{};
+    final Int32List itemOptions = new Int32List(items.length);
+    final Float64List positions = new Float64List(items.length * 2);
+    final List<String> ids = new List<String>(items.length);
+    for (int i = 0; i < items.length; i++) {
+      final ClusterItem item = items[i];
+      ids[i] = item.id;
+      positions[2 * i] = item.position.latitude;
+      positions[2 * i + 1] = item.position.longitude;
+      if (item.options == null) {
+        itemOptions[i] = -1;
+        continue;
+      }
+      itemOptions[i] = optionIndices.putIfAbsent(item.options, () {
+        final MarkerOptions effective =
+            MarkerOptions.defaultOptions.copyWith(item.options);
+        options.add(effective._toJson());
+        return options.length - 1;
+      });
+    }
+    await _channel.invokeMethod('clusters#set', <String, dynamic>{
+      'map': id,
+      'ids': ids,
+      'positions': positions,
+      'itemOptions': itemOptions,
+      'options': options,
+      'radius': radius,
+      'maxClusterZoom': maxClusterZoom,
+    });
+  }
+
+  /// Returns frame timing statistics collected since the map was created or
+  /// since the last call with [reset] set to true.
+  Future<MapFrameTimings> getFrameTimings({bool reset = false}) async {
+    final int id = await _id;
+    final Map<dynamic, dynamic> json = await _channel.invokeMethod(
+      'map#frameTimings',
+      <String, dynamic>{'map': id, 'reset': reset},
+    );
+    return new MapFrameTimings._fromJson(json);
+  }
+
   /// Removes the specified [marker] from the map. The marker must be a current
   /// member of the [markers] set.
   ///
@@ -224,6 +487,7 @@ class GoogleMapController extends ChangeNotifier {
       'marker': marker._id,
     });
     _markers.remove(marker._id);
+    _keyedMarkers.removeWhere((String key, Marker value) => value == marker);
     notifyListeners();
   }
 }
@@ -244,24 +508,31 @@ class GoogleMapController extends ChangeNotifier {
 /// other widgets. See [PlatformOverlayController] for caveats and
 /// limitations.
 class GoogleMapOverlayController {
-  GoogleMapOverlayController._(this.mapController, this.overlayController);
+  GoogleMapOverlayController._(
+      this.mapController, this.overlayController, this.renderMode);
 
   /// Creates a controller for a GoogleMaps of the specified size and with the
   /// specified custom [options], if any.
+  ///
+  /// The [renderMode] determines how the map is rendered into the texture
+  /// shown while the platform overlay is hidden.
   factory GoogleMapOverlayController.fromSize({
     @required double width,
     @required double height,
     GoogleMapOptions options,
+    GoogleMapRenderMode renderMode = GoogleMapRenderMode.snapshot,
   }) {
     assert(width != null);
     assert(height != null);
+    assert(renderMode != null);
     final GoogleMapOptions effectiveOptions =
         GoogleMapOptions.defaultOptions.copyWith(options);
     final _GoogleMapsPlatformOverlay overlay =
-        new _GoogleMapsPlatformOverlay(effectiveOptions);
+        new _GoogleMapsPlatformOverlay(effectiveOptions, renderMode);
     return new GoogleMapOverlayController._(
       new GoogleMapController(overlay._textureId.future, effectiveOptions),
       new PlatformOverlayController(width, height, overlay),
+      renderMode,
     );
   }
 
@@ -271,15 +542,19 @@ class GoogleMapOverlayController {
   /// The controller of the platform overlay.
   final PlatformOverlayController overlayController;
 
+  /// The requested render mode of the map.
+  final GoogleMapRenderMode renderMode;
+
   void dispose() {
     overlayController.dispose();
   }
 }
 
 class _GoogleMapsPlatformOverlay extends PlatformOverlay {
-  _GoogleMapsPlatformOverlay(this.options);
+  _GoogleMapsPlatformOverlay(this.options, this.renderMode);
 
   final GoogleMapOptions options;
+  final GoogleMapRenderMode renderMode;
   Completer<int> _textureId = new Completer<int>();
 
   @override
@@ -288,6 +563,7 @@ class _GoogleMapsPlatformOverlay extends PlatformOverlay {
       'width': size.width,
       'height': size.height,
       'options': options._toJson(),
+      'renderMode': renderMode.toString().split('.').last,
     }).then<int>((dynamic value) => value));
     return _textureId.future;
   }
@@ -342,6 +618,71 @@ class GoogleMapOverlay extends StatefulWidget {
 }
 
 class _GoogleMapOverlayState extends State<GoogleMapOverlay> {
+  // Android MotionEvent action constants.
+  static const int _actionDown = 0;
+  static const int _actionUp = 1;
+  static const int _actionMove = 2;
+  static const int _actionCancel = 3;
+  static const int _actionPointerDown = 5;
+  static const int _actionPointerUp = 6;
+
+  // Local positions of the pointers currently in contact, in the order they
+  // went down.
+  final Map<int, Offset> _pointers = <int, Offset>{};
+
+  // Forwards the pointers currently in contact, with [pointer] as the one
+  // that changed. The payload is built right away, as [_pointers] changes
+  // once the calling event handler returns.
+  void _forwardTouch(int action, int pointer) {
+    final List<int> ids = _pointers.keys.toList();
+    final Float64List packed = new Float64List(ids.length * 3);
+    for (int i = 0; i < ids.length; i++) {
+      packed[3 * i] = ids[i].toDouble();
+      packed[3 * i + 1] = _pointers[ids[i]].dx;
+      packed[3 * i + 2] = _pointers[ids[i]].dy;
+    }
+    _sendTouch(action, pointer == null ? 0 : ids.indexOf(pointer), packed);
+  }
+
+  Future<void> _sendTouch(
+      int action, int actionIndex, Float64List packed) async {
+    final int id = await widget.controller.mapController._id;
+    await _channel.invokeMethod('map#touch', <String, dynamic>{
+      'map': id,
+      'action': action,
+      'actionIndex': actionIndex,
+      'pointers': packed,
+    });
+  }
+
+  Offset _toLocal(PointerEvent event) {
+    final RenderBox box = context.findRenderObject();
+    return box.globalToLocal(event.position);
+  }
+
+  void _onPointerDown(PointerDownEvent event) {
+    _pointers[event.pointer] = _toLocal(event);
+    _forwardTouch(_pointers.length == 1 ? _actionDown : _actionPointerDown,
+        event.pointer);
+  }
+
+  void _onPointerMove(PointerMoveEvent event) {
+    _pointers[event.pointer] = _toLocal(event);
+    _forwardTouch(_actionMove, null);
+  }
+
+  void _onPointerUp(PointerUpEvent event) {
+    _pointers[event.pointer] = _toLocal(event);
+    _forwardTouch(
+        _pointers.length == 1 ? _actionUp : _actionPointerUp, event.pointer);
+    _pointers.remove(event.pointer);
+  }
+
+  void _onPointerCancel(PointerCancelEvent event) {
+    _forwardTouch(_actionCancel, null);
+    _pointers.clear();
+  }
+
   @override
   void initState() {
     super.initState();
@@ -360,11 +701,22 @@ class _GoogleMapOverlayState extends State<GoogleMapOverlay> {
       child: new FutureBuilder<int>(
         future: widget.controller.mapController._id,
         builder: (_, AsyncSnapshot<int> snapshot) {
-          if (snapshot.hasData) {
-            return new Texture(textureId: snapshot.data);
-          } else {
+          if (!snapshot.hasData) {
             return new Container();
           }
+          final Widget texture = new Texture(textureId: snapshot.data);
+          if (widget.controller.renderMode ==
+              GoogleMapRenderMode.virtualDisplay) {
+            return new Listener(
+              onPointerDown: _onPointerDown,
+              onPointerMove: _onPointerMove,
+              onPointerUp: _onPointerUp,
+              onPointerCancel: _onPointerCancel,
+              child: texture,
+            );
+          } else {
+            return texture;
+          }
         },
       ),
       width: widget.controller.overlayController.width,
@@ -89,6 +89,17 @@ class LatLngBounds {
     );
   }
 
+  // Unpacks [swLat, swLng, neLat, neLng] as sent with camera events.
+  static LatLngBounds _fromPacked(Float64List packed) {
+    if (packed == null) {
+      return null;
+    }
+    return new LatLngBounds(
+      southwest: new LatLng(packed[0], packed[1]),
+      northeast: new LatLng(packed[2], packed[3]),
+    );
+  }
+
   @override
   String toString() {
     return '$runtimeType[$southwest, $northeast]';
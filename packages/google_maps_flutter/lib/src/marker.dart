@@ -209,3 +209,62 @@ class MarkerOptions {
     return json;
   }
 }
+
+/// A set of marker additions, changes and removals keyed by application
+/// supplied marker IDs, applied with a single platform call by
+/// [GoogleMapController.applyMarkerBatch].
+///
+/// Positions are sent as packed arrays of doubles. Options are sent once per
+/// distinct [MarkerOptions] instance, so markers that look alike should share
+/// the same options object.
+class MarkerBatch {
+  final List<String> _addIds = <String>[];
+  final List<LatLng> _addPositions = <LatLng>[];
+  final List<MarkerOptions> _addOptions = <MarkerOptions>[];
+  final List<String> _changeIds = <String>[];
+  final List<LatLng> _changePositions = <LatLng>[];
+  final List<MarkerOptions> _changeOptions = <MarkerOptions>[];
+  final List<String> _removeIds = <String>[];
+
+  /// Adds a marker at [position], replacing any marker with the same
+  /// [markerId].
+  ///
+  /// Options not specified in [options] take their default values.
+  void add(String markerId, LatLng position, [MarkerOptions options]) {
+    assert(markerId != null);
+    assert(position != null);
+    _addIds.add(markerId);
+    _addPositions.add(position);
+    _addOptions.add(options);
+  }
+
+  /// Moves the marker with the given [markerId] to [position] and/or applies
+  /// the given [changes].
+  void change(String markerId, {LatLng position, MarkerOptions changes}) {
+    assert(markerId != null);
+    assert(position != null || changes != null);
+    _changeIds.add(markerId);
+    _changePositions.add(position);
+    _changeOptions.add(changes);
+  }
+
+  /// Removes the marker with the given [markerId].
+  void remove(String markerId) {
+    assert(markerId != null);
+    _removeIds.add(markerId);
+  }
+
+  /// True if this batch contains no operations.
+  bool get isEmpty =>
+      _addIds.isEmpty && _changeIds.isEmpty && _removeIds.isEmpty;
+}
+
+Float64List _positionsToPacked(List<LatLng> positions) {
+  final Float64List packed = new Float64List(positions.length * 2);
+  for (int i = 0; i < positions.length; i++) {
+    final LatLng position = positions[i];
+    packed[2 * i] = position?.latitude ?? double.nan;
+    packed[2 * i + 1] = position?.longitude ?? double.nan;
+  }
+  return packed;
+}
@@ -79,6 +79,14 @@ class GoogleMapOptions {
   /// reflect movements caused by user touch events.
   final CameraPosition cameraPosition;
 
+  /// Minimum interval between two camera move events relayed to Flutter
+  /// while [trackCameraPosition] is true.
+  ///
+  /// Move events are coalesced on the platform side, so each event carries
+  /// the latest camera position. [Duration.zero] relays at most one event per
+  /// rendered frame.
+  final Duration cameraMoveInterval;
+
   /// True if the map should show a compass when rotated.
   final bool compassEnabled;
 
@@ -114,6 +122,7 @@ class GoogleMapOptions {
   /// user interface defaults or current configuration.
   GoogleMapOptions({
     this.cameraPosition,
+    this.cameraMoveInterval,
     this.compassEnabled,
     this.cameraTargetBounds,
     this.mapType,
@@ -130,6 +139,7 @@ class GoogleMapOptions {
   /// Specifies a map view that
   /// * displays a compass when rotated; [compassEnabled] is true
   /// * positions the camera at 0,0; [cameraPosition] has target `LatLng(0.0, 0.0)`
+  /// * does not throttle camera move events; [cameraMoveInterval] is `Duration.zero`
   /// * does not bound the camera target; [cameraTargetBounds] is `CameraTargetBounds.unbounded`
   /// * uses normal map tiles; [mapType] is `MapType.normal`
   /// * does not bound zooming; [minMaxZoomPreference] is `MinMaxZoomPreference.unbounded`
@@ -141,6 +151,7 @@ class GoogleMapOptions {
   static final GoogleMapOptions defaultOptions = GoogleMapOptions(
     compassEnabled: true,
     cameraPosition: const CameraPosition(target: LatLng(0.0, 0.0)),
+    cameraMoveInterval: Duration.zero,
     cameraTargetBounds: CameraTargetBounds.unbounded,
     mapType: MapType.normal,
     minMaxZoomPreference: MinMaxZoomPreference.unbounded,
@@ -161,6 +172,7 @@ class GoogleMapOptions {
     }
     return new GoogleMapOptions(
       cameraPosition: change.cameraPosition ?? cameraPosition,
+      cameraMoveInterval: change.cameraMoveInterval ?? cameraMoveInterval,
       compassEnabled: change.compassEnabled ?? compassEnabled,
       cameraTargetBounds: change.cameraTargetBounds ?? cameraTargetBounds,
       mapType: change.mapType ?? mapType,
@@ -185,6 +197,7 @@ class GoogleMapOptions {
     }
 
     addIfPresent('cameraPosition', cameraPosition?._toJson());
+    addIfPresent('cameraMoveInterval', cameraMoveInterval?.inMilliseconds);
     addIfPresent('compassEnabled', compassEnabled);
     addIfPresent('cameraTargetBounds', cameraTargetBounds?._toJson());
     addIfPresent('mapType', mapType?.index);
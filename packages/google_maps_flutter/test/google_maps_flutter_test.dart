@@ -0,0 +1,117 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:typed_data';
+
+import 'package:flutter/services.dart';
+import 'package:flutter/widgets.dart';
+import 'package:flutter_test/flutter_test.dart';
+import 'package:google_maps_flutter/google_maps_flutter.dart';
+
+void main() {
+  group('GoogleMapOverlay', () {
+    const MethodChannel channel =
+        const MethodChannel('plugins.flutter.io/google_maps');
+    final List<MethodCall> touches = <MethodCall>[];
+    GoogleMapOverlayController controller;
+
+    setUp(() {
+      touches.clear();
+      channel.setMockMethodCallHandler((MethodCall methodCall) async {
+        switch (methodCall.method) {
+          case 'map#create':
+            return 7;
+          case 'map#touch':
+            touches.add(methodCall);
+            return null;
+          default:
+            return null;
+        }
+      });
+      controller = new GoogleMapOverlayController.fromSize(
+        width: 100.0,
+        height: 100.0,
+        renderMode: GoogleMapRenderMode.virtualDisplay,
+      );
+    });
+
+    tearDown(() {
+      channel.setMockMethodCallHandler(null);
+    });
+
+    Future<void> pumpOverlay(WidgetTester tester) async {
+      await tester.pumpWidget(new Directionality(
+        textDirection: TextDirection.ltr,
+        child: new Center(
+          child: new GoogleMapOverlay(controller: controller),
+        ),
+      ));
+      // Lets the map be created, and the texture replace the placeholder.
+      await tester.pump();
+      await tester.pump();
+    }
+
+    void expectTouch(MethodCall touch, int action, int pointerCount) {
+      expect(touch.arguments['map'], 7);
+      expect(touch.arguments['action'], action);
+      final Float64List pointers = touch.arguments['pointers'];
+      expect(pointers.length, 3 * pointerCount);
+      expect(touch.arguments['actionIndex'], greaterThanOrEqualTo(0));
+      expect(touch.arguments['actionIndex'], lessThan(pointerCount));
+    }
+
+    testWidgets('forwards the lifted pointer on up',
+        (WidgetTester tester) async {
+      await pumpOverlay(tester);
+
+      final TestGesture gesture =
+          await tester.startGesture(tester.getCenter(find.byType(Texture)));
+      await gesture.up();
+      await tester.pump();
+
+      expect(touches, hasLength(2));
+      expectTouch(touches[0], 0, 1);
+      expectTouch(touches[1], 1, 1);
+
+      await tester.pumpWidget(new Container());
+    });
+
+    testWidgets('forwards the remaining pointers on pointer up',
+        (WidgetTester tester) async {
+      await pumpOverlay(tester);
+
+      final Offset center = tester.getCenter(find.byType(Texture));
+      final TestGesture first = await tester.startGesture(center);
+      final TestGesture second = await tester.startGesture(
+          center + const Offset(10.0, 10.0),
+          pointer: 2);
+      await second.up();
+      await first.up();
+      await tester.pump();
+
+      expect(touches, hasLength(4));
+      expectTouch(touches[1], 5, 2);
+      expectTouch(touches[2], 6, 2);
+      expect(touches[2].arguments['actionIndex'], 1);
+      expectTouch(touches[3], 1, 1);
+
+      await tester.pumpWidget(new Container());
+    });
+
+    testWidgets('forwards the pointers on cancel',
+        (WidgetTester tester) async {
+      await pumpOverlay(tester);
+
+      final TestGesture gesture =
+          await tester.startGesture(tester.getCenter(find.byType(Texture)));
+      await gesture.cancel();
+      await tester.pump();
+
+      expect(touches, hasLength(2));
+      expectTouch(touches[1], 3, 1);
+
+      await tester.pumpWidget(new Container());
+    });
+  });
+}
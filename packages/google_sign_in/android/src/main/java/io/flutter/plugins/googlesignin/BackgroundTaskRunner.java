@@ -10,12 +10,18 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A class for running tasks in a background thread.
  *
+ * <p>Runners have a fixed number of named threads, and report how many tasks are queued and
+ * running. Tasks are cancelled by cancelling the future returned for them; a task that has not
+ * started yet is then skipped.
+ *
  * <p>TODO(jackson): If this class is useful for other plugins, consider including it in a shared
  * library or in the Flutter engine
  */
@@ -42,16 +48,52 @@ public final class BackgroundTaskRunner {
    * @param threads The fixed number of threads in ther pool.
    */
   public BackgroundTaskRunner(int threads) {
+    this("BackgroundTaskRunner", threads);
+  }
+
+  /**
+   * Creates a new background processor with the given number of threads.
+   *
+   * @param name The prefix of the names of the threads in the pool.
+   * @param threads The fixed number of threads in ther pool.
+   */
+  public BackgroundTaskRunner(final String name, int threads) {
     BlockingQueue<Runnable> workQueue = new LinkedBlockingQueue<>();
-    // Only keeps idle threads open for 1 second if we've got more threads than cores.
-    executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.SECONDS, workQueue);
+    ThreadFactory threadFactory =
+        new ThreadFactory() {
+          private final AtomicInteger count = new AtomicInteger();
+
+          @Override
+          public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, name + "-" + count.incrementAndGet());
+          }
+        };
+    executor =
+        new ThreadPoolExecutor(threads, threads, 1, TimeUnit.SECONDS, workQueue, threadFactory);
+    // Only keeps idle threads open for 1 second.
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /** Returns the number of tasks waiting for a thread, including cancelled ones not yet skipped. */
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  /** Returns the approximate number of tasks currently running. */
+  public int getActiveTaskCount() {
+    return executor.getActiveCount();
+  }
+
+  /** Returns the approximate number of tasks that have completed or were skipped. */
+  public long getCompletedTaskCount() {
+    return executor.getCompletedTaskCount();
   }
 
   /**
    * Executes the specified task in a background thread and notifies the specified callback once the
    * task has completed (either successfully or with an exception).
    *
-   * <p>The callback will be notified on the UI thread.
+   * <p>The callback will be notified on the UI thread, also if the task is cancelled.
    */
   public <T> void runInBackground(Callable<T> task, final Callback<T> callback) {
     final ListenableFuture<T> future = runInBackground(task);
@@ -18,6 +18,7 @@ public final class Executors {
 
   private static final class UiThreadExecutor implements Executor {
     private static final Handler UI_THREAD = new Handler(Looper.getMainLooper());
+    private static final UiThreadExecutor INSTANCE = new UiThreadExecutor();
 
     @Override
     public void execute(Runnable command) {
@@ -27,7 +28,7 @@ public final class Executors {
 
   /** Returns an {@code Executor} that will post commands to the UI thread. */
   public static Executor uiThreadExecutor() {
-    return new UiThreadExecutor();
+    return UiThreadExecutor.INSTANCE;
   }
 
   // Should never be instantiated.
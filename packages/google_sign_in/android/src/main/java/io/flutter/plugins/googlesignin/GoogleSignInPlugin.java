@@ -56,6 +56,7 @@ public class GoogleSignInPlugin implements MethodCallHandler {
   private static final String METHOD_SIGN_OUT = "signOut";
   private static final String METHOD_DISCONNECT = "disconnect";
   private static final String METHOD_IS_SIGNED_IN = "isSignedIn";
+  private static final String METHOD_CLEAR_AUTH_CACHE = "clearAuthCache";
 
   private final IDelegate delegate;
 
@@ -104,6 +105,11 @@ public class GoogleSignInPlugin implements MethodCallHandler {
         delegate.isSignedIn(result);
         break;
 
+      case METHOD_CLEAR_AUTH_CACHE:
+        String token = call.argument("token");
+        delegate.clearAuthCache(result, token);
+        break;
+
       default:
         result.notImplemented();
     }
@@ -148,6 +154,12 @@ public class GoogleSignInPlugin implements MethodCallHandler {
 
     /** Checks if there is a signed in user. */
     public void isSignedIn(Result result);
+
+    /**
+     * Clears {@code token} from the token cache, so that a new one is fetched by the next call to
+     * {@link #getTokens}. Used when the token was rejected by the server it was sent to.
+     */
+    public void clearAuthCache(Result result, String token);
   }
 
   /**
@@ -178,7 +190,10 @@ public class GoogleSignInPlugin implements MethodCallHandler {
 
     private final PluginRegistry.Registrar registrar;
     private final Handler handler = new Handler();
-    private final BackgroundTaskRunner backgroundTaskRunner = new BackgroundTaskRunner(1);
+    // A single thread, so that clearing a token is ordered with fetching tokens.
+    private final BackgroundTaskRunner backgroundTaskRunner =
+        new BackgroundTaskRunner("google_sign_in", 1);
+    private final TokenCache tokenCache = new TokenCache(backgroundTaskRunner);
 
     private boolean resolvingError = false; // Whether we are currently resolving a sign-in error
     private GoogleApiClient googleApiClient;
@@ -318,17 +333,19 @@ public class GoogleSignInPlugin implements MethodCallHandler {
         return;
       }
 
+      final String scopesStr = "oauth2:" + Joiner.on(' ').join(requestedScopes);
       Callable<String> getTokenTask =
           new Callable<String>() {
             @Override
             public String call() throws Exception {
               Account account = new Account(email, "com.google");
-              String scopesStr = "oauth2:" + Joiner.on(' ').join(requestedScopes);
               return GoogleAuthUtil.getToken(registrar.context(), account, scopesStr);
             }
           };
 
-      backgroundTaskRunner.runInBackground(
+      // Tokens are cached per account and scopes, and concurrent requests share one fetch.
+      tokenCache.get(
+          email + " " + scopesStr,
           getTokenTask,
           new BackgroundTaskRunner.Callback<String>() {
             @Override
@@ -360,6 +377,7 @@ public class GoogleSignInPlugin implements MethodCallHandler {
     @Override
     public void signOut(Result result) {
       checkAndSetPendingOperation(METHOD_SIGN_OUT, result);
+      tokenCache.clear();
 
       Auth.GoogleSignInApi.signOut(googleApiClient)
           .setResultCallback(
@@ -376,6 +394,7 @@ public class GoogleSignInPlugin implements MethodCallHandler {
     @Override
     public void disconnect(Result result) {
       checkAndSetPendingOperation(METHOD_DISCONNECT, result);
+      tokenCache.clear();
 
       Auth.GoogleSignInApi.revokeAccess(googleApiClient)
           .setResultCallback(
@@ -396,6 +415,48 @@ public class GoogleSignInPlugin implements MethodCallHandler {
       result.success(value);
     }
 
+    /**
+     * Clears {@code token} from the token cache, so that a new one is fetched by the next call to
+     * {@link #getTokens}. Used when the token was rejected by the server it was sent to.
+     */
+    @Override
+    public void clearAuthCache(final Result result, final String token) {
+      if (token == null) {
+        result.error(ERROR_REASON_EXCEPTION, "Token is null", null);
+        return;
+      }
+      tokenCache.invalidate(token);
+
+      Callable<Void> clearTokenTask =
+          new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+              GoogleAuthUtil.clearToken(registrar.context(), token);
+              return null;
+            }
+          };
+
+      // Runs on the same thread as token fetches, so that later fetches do not return the token
+      // that is being cleared.
+      backgroundTaskRunner.runInBackground(
+          clearTokenTask,
+          new BackgroundTaskRunner.Callback<Void>() {
+            @Override
+            public void run(Future<Void> clearTokenFuture) {
+              try {
+                clearTokenFuture.get();
+                result.success(null);
+              } catch (ExecutionException e) {
+                Log.e(TAG, "Exception clearing access token", e);
+                result.error(ERROR_REASON_EXCEPTION, e.getCause().getMessage(), null);
+              } catch (InterruptedException e) {
+                result.error(ERROR_REASON_EXCEPTION, e.getMessage(), null);
+                Thread.currentThread().interrupt();
+              }
+            }
+          });
+    }
+
     private void onSignInResult(GoogleSignInResult result) {
       if (result.isSuccess()) {
         GoogleSignInAccount account = result.getSignInAccount();
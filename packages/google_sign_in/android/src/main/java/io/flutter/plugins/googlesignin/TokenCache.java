@@ -0,0 +1,132 @@
+// Copyright 2018, the Flutter project authors.  Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package io.flutter.plugins.googlesignin;
+
+import android.os.SystemClock;
+import com.google.common.util.concurrent.Futures;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * In-memory cache of access tokens, keyed by account and scopes.
+ *
+ * <p>{@code GoogleAuthUtil} does not report when a token expires. Access tokens are valid for an
+ * hour, but the token returned may have been issued earlier, so cached tokens are only used for
+ * {@link #TOKEN_LIFETIME_MILLIS}. Tokens used during the last {@link #REFRESH_AHEAD_MILLIS} of
+ * that are returned immediately and refreshed in the background. A refresh that returns the same
+ * token does not extend its lifetime.
+ *
+ * <p>Callers asking for the same key while a token is being fetched share that fetch. All methods
+ * must be called on the UI thread, and callbacks are invoked on the UI thread.
+ */
+final class TokenCache {
+  static final long TOKEN_LIFETIME_MILLIS = 20 * 60 * 1000;
+  static final long REFRESH_AHEAD_MILLIS = 5 * 60 * 1000;
+
+  private static final class Entry {
+    String token;
+    long expiresAtMillis;
+    // Whether a refresh ahead of expiry returned the cached token again, in which case the token is
+    // not refreshed ahead again.
+    boolean refreshedUnchanged;
+    // Callbacks waiting for the fetch in flight, or null if there is none.
+    List<BackgroundTaskRunner.Callback<String>> waiting;
+  }
+
+  private final BackgroundTaskRunner backgroundTaskRunner;
+  private final Map<String, Entry> entries = new HashMap<>();
+
+  TokenCache(BackgroundTaskRunner backgroundTaskRunner) {
+    this.backgroundTaskRunner = backgroundTaskRunner;
+  }
+
+  /**
+   * Notifies {@code callback} with the token for {@code key}, fetching it with {@code fetchTask} if
+   * it is not cached or has expired.
+   */
+  void get(String key, Callable<String> fetchTask, BackgroundTaskRunner.Callback<String> callback) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      entry = new Entry();
+      entries.put(key, entry);
+    }
+    final long now = SystemClock.elapsedRealtime();
+    if (entry.token != null && now < entry.expiresAtMillis) {
+      callback.run(Futures.immediateFuture(entry.token));
+      if (entry.expiresAtMillis - now < REFRESH_AHEAD_MILLIS
+          && entry.waiting == null
+          && !entry.refreshedUnchanged) {
+        fetch(key, entry, fetchTask);
+      }
+      return;
+    }
+    if (entry.waiting == null) {
+      fetch(key, entry, fetchTask);
+    }
+    entry.waiting.add(callback);
+  }
+
+  /**
+   * Removes {@code token} from the cache, so that it is fetched again on next use. A refresh of
+   * the token that is in flight no longer updates the cache.
+   */
+  void invalidate(String token) {
+    final Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      if (token.equals(iterator.next().token)) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Removes all tokens, for example when the user signs out. Fetches in flight still notify their
+   * callers, but no longer update the cache.
+   */
+  void clear() {
+    entries.clear();
+  }
+
+  private void fetch(final String key, final Entry entry, Callable<String> fetchTask) {
+    entry.waiting = new ArrayList<>();
+    backgroundTaskRunner.runInBackground(
+        fetchTask,
+        new BackgroundTaskRunner.Callback<String>() {
+          @Override
+          public void run(Future<String> tokenFuture) {
+            final List<BackgroundTaskRunner.Callback<String>> waiting = entry.waiting;
+            entry.waiting = null;
+            if (entries.get(key) == entry) {
+              try {
+                final String token = tokenFuture.get();
+                if (token.equals(entry.token)) {
+                  // GoogleAuthUtil returned the token it had cached, which is no younger than
+                  // when it was first fetched, so it keeps its original expiry.
+                  entry.refreshedUnchanged = true;
+                } else {
+                  entry.token = token;
+                  entry.expiresAtMillis = SystemClock.elapsedRealtime() + TOKEN_LIFETIME_MILLIS;
+                  entry.refreshedUnchanged = false;
+                }
+              } catch (ExecutionException e) {
+                // Waiting callers are notified of the failure. A token that is still cached
+                // remains usable until it expires.
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            }
+            for (BackgroundTaskRunner.Callback<String> callback : waiting) {
+              callback.run(tokenFuture);
+            }
+          }
+        });
+  }
+}
@@ -106,6 +106,9 @@ static NSString *const kErrorReasonSignInFailed = @"sign_in_failed";
         @"accessToken" : authentication.accessToken,
       });
     }];
+  } else if ([call.method isEqualToString:@"clearAuthCache"]) {
+    // Tokens are cached and refreshed by GIDAuthentication itself.
+    result(nil);
   } else if ([call.method isEqualToString:@"signOut"]) {
     [[GIDSignIn sharedInstance] signOut];
     result(nil);
@@ -74,6 +74,19 @@ class GoogleSignInAccount implements GoogleIdentity {
     return new GoogleSignInAuthentication._(response);
   }
 
+  /// Clears the access token of this account from the authentication cache,
+  /// so that a new one is obtained by the next call to [authentication].
+  ///
+  /// Call this when a server rejects the access token. Access tokens are
+  /// cached on Android; on iOS this has no effect.
+  Future<void> clearAuthCache() async {
+    final String token = (await authentication).accessToken;
+    await GoogleSignIn.channel.invokeMethod(
+      'clearAuthCache',
+      <String, dynamic>{'token': token},
+    );
+  }
+
   Future<Map<String, String>> get authHeaders async {
     final String token = (await authentication).accessToken;
     return <String, String>{
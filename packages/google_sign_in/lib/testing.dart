@@ -54,6 +54,8 @@ class FakeSignInBackend {
         return <String, String>{};
       case 'disconnect':
         return <String, String>{};
+      case 'clearAuthCache':
+        return null;
     }
   }
 }
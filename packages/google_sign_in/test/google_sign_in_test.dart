@@ -29,6 +29,8 @@ void main() {
       'signOut': null,
       'disconnect': null,
       'isSignedIn': true,
+      'getTokens': <String, String>{'accessToken': 'token'},
+      'clearAuthCache': null,
     };
 
     final List<MethodCall> log = <MethodCall>[];
@@ -291,6 +293,24 @@ void main() {
       expect(await googleSignIn.signIn(), isNotNull);
     });
 
+    test('clearAuthCache clears the current access token', () async {
+      await googleSignIn.signIn();
+      log.clear();
+
+      await googleSignIn.currentUser.clearAuthCache();
+      expect(
+        log,
+        <Matcher>[
+          isMethodCall('getTokens', arguments: <String, dynamic>{
+            'email': 'john.doe@gmail.com',
+          }),
+          isMethodCall('clearAuthCache', arguments: <String, dynamic>{
+            'token': 'token',
+          }),
+        ],
+      );
+    });
+
     test('created with standard factory uses correct options', () async {
       googleSignIn = new GoogleSignIn.standard();
 
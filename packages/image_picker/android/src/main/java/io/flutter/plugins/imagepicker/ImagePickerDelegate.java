@@ -11,6 +11,8 @@ import android.content.pm.PackageManager;
 import android.content.pm.ResolveInfo;
 import android.media.MediaScannerConnection;
 import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
 import android.provider.MediaStore;
 import android.support.annotation.VisibleForTesting;
 import android.support.v4.app.ActivityCompat;
@@ -22,6 +24,11 @@ import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A delegate class doing the heavy lifting for the plugin.
@@ -74,6 +81,16 @@ public class ImagePickerDelegate
   @VisibleForTesting static final int REQUEST_EXTERNAL_VIDEO_STORAGE_PERMISSION = 2354;
   @VisibleForTesting static final int REQUEST_CAMERA_VIDEO_PERMISSION = 2355;
 
+  // Resizes one picked image at a time; its thread is let go when idle.
+  private static final Executor BACKGROUND_EXECUTOR = newBackgroundExecutor();
+  private static final Executor DIRECT_EXECUTOR =
+      new Executor() {
+        @Override
+        public void execute(Runnable command) {
+          command.run();
+        }
+      };
+
   @VisibleForTesting final String fileProviderName;
 
   private final Activity activity;
@@ -83,6 +100,10 @@ public class ImagePickerDelegate
   private final IntentResolver intentResolver;
   private final FileUriResolver fileUriResolver;
   private final FileUtils fileUtils;
+  // Picked images are resized on the background executor and the result is delivered on the main
+  // executor, as resizing a full-size photo can take long enough to drop frames.
+  private final Executor backgroundExecutor;
+  private final Executor mainExecutor;
 
   interface PermissionManager {
     boolean isPermissionGranted(String permissionName);
@@ -154,7 +175,16 @@ public class ImagePickerDelegate
                 });
           }
         },
-        new FileUtils());
+        new FileUtils(),
+        BACKGROUND_EXECUTOR,
+        new Executor() {
+          private final Handler handler = new Handler(Looper.getMainLooper());
+
+          @Override
+          public void execute(Runnable command) {
+            handler.post(command);
+          }
+        });
   }
 
   /**
@@ -172,6 +202,32 @@ public class ImagePickerDelegate
       IntentResolver intentResolver,
       FileUriResolver fileUriResolver,
       FileUtils fileUtils) {
+    this(
+        activity,
+        externalFilesDirectory,
+        imageResizer,
+        result,
+        methodCall,
+        permissionManager,
+        intentResolver,
+        fileUriResolver,
+        fileUtils,
+        DIRECT_EXECUTOR,
+        DIRECT_EXECUTOR);
+  }
+
+  private ImagePickerDelegate(
+      Activity activity,
+      File externalFilesDirectory,
+      ImageResizer imageResizer,
+      MethodChannel.Result result,
+      MethodCall methodCall,
+      PermissionManager permissionManager,
+      IntentResolver intentResolver,
+      FileUriResolver fileUriResolver,
+      FileUtils fileUtils,
+      Executor backgroundExecutor,
+      Executor mainExecutor) {
     this.activity = activity;
     this.externalFilesDirectory = externalFilesDirectory;
     this.imageResizer = imageResizer;
@@ -182,6 +238,8 @@ public class ImagePickerDelegate
     this.intentResolver = intentResolver;
     this.fileUriResolver = fileUriResolver;
     this.fileUtils = fileUtils;
+    this.backgroundExecutor = backgroundExecutor;
+    this.mainExecutor = mainExecutor;
   }
 
   public void chooseVideoFromGallery(MethodCall methodCall, MethodChannel.Result result) {
@@ -446,13 +504,27 @@ public class ImagePickerDelegate
     finishWithSuccess(null);
   }
 
-  private void handleImageResult(String path) {
+  private void handleImageResult(final String path) {
     if (pendingResult != null) {
-      Double maxWidth = methodCall.argument("maxWidth");
-      Double maxHeight = methodCall.argument("maxHeight");
+      final Double maxWidth = methodCall.argument("maxWidth");
+      final Double maxHeight = methodCall.argument("maxHeight");
 
-      String finalImagePath = imageResizer.resizeImageIfNeeded(path, maxWidth, maxHeight);
-      finishWithSuccess(finalImagePath);
+      // The pending result stays set while resizing, so concurrent requests are still rejected.
+      backgroundExecutor.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              final String finalImagePath =
+                  imageResizer.resizeImageIfNeeded(path, maxWidth, maxHeight);
+              mainExecutor.execute(
+                  new Runnable() {
+                    @Override
+                    public void run() {
+                      finishWithSuccess(finalImagePath);
+                    }
+                  });
+            }
+          });
     } else {
       throw new IllegalStateException("Received image from picker that was not requested");
     }
@@ -466,6 +538,24 @@ public class ImagePickerDelegate
     }
   }
 
+  private static Executor newBackgroundExecutor() {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            30,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new ThreadFactory() {
+              @Override
+              public Thread newThread(Runnable runnable) {
+                return new Thread(runnable, "image_picker-resize");
+              }
+            });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   private boolean setPendingMethodCallAndResult(
       MethodCall methodCall, MethodChannel.Result result) {
     if (pendingResult != null) {
@@ -4,16 +4,11 @@
 
 package io.flutter.plugins.packageinfo;
 
-import android.content.Context;
-import android.content.pm.PackageInfo;
-import android.content.pm.PackageManager;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
 import io.flutter.plugin.common.MethodChannel.Result;
 import io.flutter.plugin.common.PluginRegistry.Registrar;
-import java.util.HashMap;
-import java.util.Map;
 
 /** PackageInfoPlugin */
 public class PackageInfoPlugin implements MethodCallHandler {
@@ -28,28 +23,16 @@ public class PackageInfoPlugin implements MethodCallHandler {
 
   private PackageInfoPlugin(Registrar registrar) {
     this.mRegistrar = registrar;
+    // Starts reading the package information, so that it is ready when first asked for.
+    PackageInfoSnapshot.get(registrar.context());
   }
 
   @Override
   public void onMethodCall(MethodCall call, Result result) {
-    try {
-      Context context = mRegistrar.context();
-      if (call.method.equals("getAll")) {
-        PackageManager pm = context.getPackageManager();
-        PackageInfo info = pm.getPackageInfo(context.getPackageName(), 0);
-
-        Map<String, String> map = new HashMap<String, String>();
-        map.put("appName", info.applicationInfo.loadLabel(pm).toString());
-        map.put("packageName", context.getPackageName());
-        map.put("version", info.versionName);
-        map.put("buildNumber", String.valueOf(info.versionCode));
-
-        result.success(map);
-      } else {
-        result.notImplemented();
-      }
-    } catch (PackageManager.NameNotFoundException ex) {
-      result.error("Name not found", ex.getMessage(), null);
+    if (call.method.equals("getAll")) {
+      PackageInfoSnapshot.get(mRegistrar.context()).reply(result);
+    } else {
+      result.notImplemented();
     }
   }
 }
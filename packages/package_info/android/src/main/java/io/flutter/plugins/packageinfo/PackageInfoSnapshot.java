@@ -0,0 +1,102 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.packageinfo;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.os.Handler;
+import android.os.Looper;
+import io.flutter.plugin.common.MethodChannel.Result;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The package information of the application, read once per process.
+ *
+ * <p>Reading it takes a call to the package manager and loading the application label, so it is
+ * started on a background thread as soon as the plugin is registered. Requests made before it is
+ * done are answered once it is.
+ */
+final class PackageInfoSnapshot {
+  private static PackageInfoSnapshot instance;
+
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  // Accessed on the main thread only.
+  private Map<String, String> packageInfo;
+  private String errorMessage;
+  private final List<Result> waiting = new ArrayList<>();
+
+  /** Returns the snapshot of this process, starting to read it if this is the first call. */
+  static synchronized PackageInfoSnapshot get(Context context) {
+    if (instance == null) {
+      instance = new PackageInfoSnapshot();
+      instance.read(context.getApplicationContext());
+    }
+    return instance;
+  }
+
+  private PackageInfoSnapshot() {}
+
+  /** Answers {@code result} with the package information. Must be called on the main thread. */
+  void reply(Result result) {
+    if (packageInfo != null) {
+      result.success(packageInfo);
+    } else if (errorMessage != null) {
+      result.error("Name not found", errorMessage, null);
+    } else {
+      waiting.add(result);
+    }
+  }
+
+  private void read(final Context context) {
+    final Thread thread =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                Map<String, String> map = null;
+                String error = null;
+                try {
+                  map = readPackageInfo(context);
+                } catch (PackageManager.NameNotFoundException e) {
+                  error = e.getMessage();
+                }
+                final Map<String, String> readPackageInfo = map;
+                final String readErrorMessage = error;
+                mainHandler.post(
+                    new Runnable() {
+                      @Override
+                      public void run() {
+                        packageInfo = readPackageInfo;
+                        errorMessage = readErrorMessage;
+                        for (Result result : waiting) {
+                          reply(result);
+                        }
+                        waiting.clear();
+                      }
+                    });
+              }
+            },
+            "package_info");
+    thread.start();
+  }
+
+  private static Map<String, String> readPackageInfo(Context context)
+      throws PackageManager.NameNotFoundException {
+    PackageManager pm = context.getPackageManager();
+    PackageInfo info = pm.getPackageInfo(context.getPackageName(), 0);
+
+    Map<String, String> map = new HashMap<String, String>();
+    map.put("appName", info.applicationInfo.loadLabel(pm).toString());
+    map.put("packageName", context.getPackageName());
+    map.put("version", info.versionName);
+    map.put("buildNumber", String.valueOf(info.versionCode));
+    return Collections.unmodifiableMap(map);
+  }
+}
@@ -0,0 +1,228 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sensors;
+
+import android.content.Context;
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+import android.hardware.SensorEventListener;
+import android.hardware.SensorManager;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import io.flutter.plugin.common.EventChannel;
+import java.util.Map;
+
+/**
+ * Streams accelerometer, gyroscope, magnetometer and rotation vector readings as a single fused
+ * frame.
+ *
+ * <p>Sensor callbacks, low-pass filtering and orientation fusion all run on a dedicated {@link
+ * HandlerThread}; only the finished frames are posted to the platform thread. Each frame is a
+ * {@code double[]} laid out as described by the {@code FRAME_*} offsets.
+ */
+class FusedSensorStreamHandler implements EventChannel.StreamHandler {
+  static final int FRAME_TIMESTAMP_MICROS = 0;
+  static final int FRAME_ACCELERATION = 1;
+  static final int FRAME_USER_ACCELERATION = 4;
+  static final int FRAME_GYROSCOPE = 7;
+  static final int FRAME_MAGNETOMETER = 10;
+  static final int FRAME_ORIENTATION = 13;
+  static final int FRAME_LENGTH = 16;
+
+  private static final int DEFAULT_SAMPLING_PERIOD_US = 20000;
+  private static final float DEFAULT_LOW_PASS_ALPHA = 0.8f;
+  // Readings older than this, relative to the accelerometer sample driving the frame, are
+  // considered stale and not used for orientation.
+  private static final long MAX_SAMPLE_SKEW_NS = 200000000L;
+
+  private final SensorManager sensorManager;
+  private final Sensor accelerometer;
+  private final Sensor gyroscope;
+  private final Sensor magnetometer;
+  private final Sensor rotationVector;
+  private final Handler platformHandler = new Handler(Looper.getMainLooper());
+
+  private HandlerThread fusionThread;
+  private SensorEventListener sensorEventListener;
+
+  FusedSensorStreamHandler(Context context) {
+    sensorManager = (SensorManager) context.getSystemService(Context.SENSOR_SERVICE);
+    accelerometer = sensorManager.getDefaultSensor(Sensor.TYPE_ACCELEROMETER);
+    gyroscope = sensorManager.getDefaultSensor(Sensor.TYPE_GYROSCOPE);
+    magnetometer = sensorManager.getDefaultSensor(Sensor.TYPE_MAGNETIC_FIELD);
+    rotationVector = sensorManager.getDefaultSensor(Sensor.TYPE_ROTATION_VECTOR);
+  }
+
+  @Override
+  public void onListen(Object arguments, EventChannel.EventSink events) {
+    if (accelerometer == null) {
+      events.error("NO_SENSOR", "Fused sensor stream requires an accelerometer.", null);
+      return;
+    }
+    int samplingPeriodUs = DEFAULT_SAMPLING_PERIOD_US;
+    float lowPassAlpha = DEFAULT_LOW_PASS_ALPHA;
+    if (arguments instanceof Map) {
+      Map<?, ?> options = (Map<?, ?>) arguments;
+      Object period = options.get("samplingPeriodUs");
+      if (period != null) {
+        samplingPeriodUs = ((Number) period).intValue();
+      }
+      Object alpha = options.get("lowPassAlpha");
+      if (alpha != null) {
+        lowPassAlpha = ((Number) alpha).floatValue();
+      }
+    }
+
+    fusionThread = new HandlerThread("SensorsFusion", Process.THREAD_PRIORITY_DISPLAY);
+    fusionThread.start();
+    Handler fusionHandler = new Handler(fusionThread.getLooper());
+
+    sensorEventListener = new FusionListener(events, samplingPeriodUs, lowPassAlpha);
+    registerListener(accelerometer, samplingPeriodUs, fusionHandler);
+    registerListener(gyroscope, samplingPeriodUs, fusionHandler);
+    registerListener(magnetometer, samplingPeriodUs, fusionHandler);
+    registerListener(rotationVector, samplingPeriodUs, fusionHandler);
+  }
+
+  @Override
+  public void onCancel(Object arguments) {
+    if (sensorEventListener != null) {
+      sensorManager.unregisterListener(sensorEventListener);
+      sensorEventListener = null;
+    }
+    if (fusionThread != null) {
+      fusionThread.quit();
+      fusionThread = null;
+    }
+  }
+
+  private void registerListener(Sensor sensor, int samplingPeriodUs, Handler handler) {
+    if (sensor != null) {
+      sensorManager.registerListener(sensorEventListener, sensor, samplingPeriodUs, handler);
+    }
+  }
+
+  private class FusionListener implements SensorEventListener {
+    private final EventChannel.EventSink events;
+    private final long minFrameIntervalNs;
+    private final float alpha;
+
+    private final float[] gravity = new float[3];
+    private final float[] acceleration = new float[3];
+    private final float[] gyro = new float[3];
+    private final float[] magnetic = new float[3];
+    private final float[] rotation = new float[4];
+    private final float[] rotationMatrix = new float[9];
+    private final float[] orientation = new float[3];
+
+    private boolean hasGravity;
+    private boolean hasMagnetic;
+    private long gyroTimestamp;
+    private long magneticTimestamp;
+    private long rotationTimestamp;
+    private boolean hasRotation;
+    private long lastFrameTimestamp;
+
+    FusionListener(EventChannel.EventSink events, int samplingPeriodUs, float alpha) {
+      this.events = events;
+      // Sensor timestamps jitter around the sampling period, so samples that arrive up to a quarter
+      // period early still start a frame instead of every other one being dropped.
+      this.minFrameIntervalNs = samplingPeriodUs * 1000L * 3 / 4;
+      this.alpha = alpha;
+    }
+
+    @Override
+    public void onAccuracyChanged(Sensor sensor, int accuracy) {}
+
+    @Override
+    public void onSensorChanged(SensorEvent event) {
+      switch (event.sensor.getType()) {
+        case Sensor.TYPE_ACCELEROMETER:
+          System.arraycopy(event.values, 0, acceleration, 0, 3);
+          lowPass(event.values, gravity, hasGravity);
+          hasGravity = true;
+          maybeEmitFrame(event.timestamp);
+          break;
+        case Sensor.TYPE_GYROSCOPE:
+          System.arraycopy(event.values, 0, gyro, 0, 3);
+          gyroTimestamp = event.timestamp;
+          break;
+        case Sensor.TYPE_MAGNETIC_FIELD:
+          lowPass(event.values, magnetic, hasMagnetic);
+          hasMagnetic = true;
+          magneticTimestamp = event.timestamp;
+          break;
+        case Sensor.TYPE_ROTATION_VECTOR:
+          // Older devices report only x, y and z; newer ones append the scalar component and a
+          // heading accuracy that getRotationMatrixFromVector rejects on some releases.
+          System.arraycopy(event.values, 0, rotation, 0, 3);
+          rotation[3] = event.values.length > 3 ? event.values[3] : scalarComponent(rotation);
+          hasRotation = true;
+          rotationTimestamp = event.timestamp;
+          break;
+      }
+    }
+
+    private void lowPass(float[] input, float[] output, boolean initialized) {
+      for (int i = 0; i < 3; i++) {
+        output[i] = initialized ? alpha * output[i] + (1 - alpha) * input[i] : input[i];
+      }
+    }
+
+    private boolean isFresh(long sampleTimestamp, long frameTimestamp) {
+      return sampleTimestamp != 0
+          && Math.abs(frameTimestamp - sampleTimestamp) <= MAX_SAMPLE_SKEW_NS;
+    }
+
+    private float scalarComponent(float[] q) {
+      return (float) Math.sqrt(Math.max(0, 1 - q[0] * q[0] - q[1] * q[1] - q[2] * q[2]));
+    }
+
+    private boolean computeOrientation(long timestamp) {
+      if (hasRotation && isFresh(rotationTimestamp, timestamp)) {
+        SensorManager.getRotationMatrixFromVector(rotationMatrix, rotation);
+      } else if (!hasMagnetic
+          || !isFresh(magneticTimestamp, timestamp)
+          || !SensorManager.getRotationMatrix(rotationMatrix, null, gravity, magnetic)) {
+        return false;
+      }
+      SensorManager.getOrientation(rotationMatrix, orientation);
+      return true;
+    }
+
+    private void maybeEmitFrame(long timestamp) {
+      if (timestamp - lastFrameTimestamp < minFrameIntervalNs) {
+        return;
+      }
+      lastFrameTimestamp = timestamp;
+
+      final double[] frame = new double[FRAME_LENGTH];
+      frame[FRAME_TIMESTAMP_MICROS] = timestamp / 1000L;
+      for (int i = 0; i < 3; i++) {
+        frame[FRAME_ACCELERATION + i] = acceleration[i];
+        frame[FRAME_USER_ACCELERATION + i] = acceleration[i] - gravity[i];
+        frame[FRAME_GYROSCOPE + i] = isFresh(gyroTimestamp, timestamp) ? gyro[i] : Double.NaN;
+        frame[FRAME_MAGNETOMETER + i] = hasMagnetic ? magnetic[i] : Double.NaN;
+      }
+      boolean hasOrientation = computeOrientation(timestamp);
+      for (int i = 0; i < 3; i++) {
+        frame[FRAME_ORIENTATION + i] = hasOrientation ? orientation[i] : Double.NaN;
+      }
+
+      platformHandler.post(
+          new Runnable() {
+            @Override
+            public void run() {
+              // The stream may have been cancelled while this frame was in flight.
+              if (sensorEventListener == FusionListener.this) {
+                events.success(frame);
+              }
+            }
+          });
+    }
+  }
+}
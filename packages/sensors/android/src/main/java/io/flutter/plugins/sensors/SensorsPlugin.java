@@ -19,6 +19,7 @@ public class SensorsPlugin implements EventChannel.StreamHandler {
   private static final String GYROSCOPE_CHANNEL_NAME = "plugins.flutter.io/sensors/gyroscope";
   private static final String USER_ACCELEROMETER_CHANNEL_NAME =
       "plugins.flutter.io/sensors/user_accel";
+  private static final String FUSED_CHANNEL_NAME = "plugins.flutter.io/sensors/fused";
 
   /** Plugin registration. */
   public static void registerWith(Registrar registrar) {
@@ -36,6 +37,9 @@ public class SensorsPlugin implements EventChannel.StreamHandler {
         new EventChannel(registrar.messenger(), GYROSCOPE_CHANNEL_NAME);
     gyroscopeChannel.setStreamHandler(
         new SensorsPlugin(registrar.context(), Sensor.TYPE_GYROSCOPE));
+
+    final EventChannel fusedChannel = new EventChannel(registrar.messenger(), FUSED_CHANNEL_NAME);
+    fusedChannel.setStreamHandler(new FusedSensorStreamHandler(registrar.context()));
   }
 
   private SensorEventListener sensorEventListener;
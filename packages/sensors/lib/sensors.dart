@@ -10,6 +10,9 @@ const EventChannel _userAccelerometerEventChannel =
 const EventChannel _gyroscopeEventChannel =
     const EventChannel('plugins.flutter.io/sensors/gyroscope');
 
+const EventChannel _fusedEventChannel =
+    const EventChannel('plugins.flutter.io/sensors/fused');
+
 class AccelerometerEvent {
   /// Acceleration force along the x axis (including gravity) measured in m/s^2.
   final double x;
@@ -58,6 +61,62 @@ class UserAccelerometerEvent {
   String toString() => '[UserAccelerometerEvent (x: $x, y: $y, z: $z)]';
 }
 
+/// A single frame of accelerometer, gyroscope and magnetometer readings
+/// aligned to one accelerometer sample, together with the fused device
+/// orientation.
+///
+/// Readings that were unavailable or too old to be aligned with the frame are
+/// reported as [double.nan].
+class FusedSensorEvent {
+  /// Sensor timestamp of the accelerometer sample driving this frame, in
+  /// microseconds.
+  final int timestampMicros;
+
+  /// Acceleration including gravity, in m/s^2.
+  final AccelerometerEvent accelerometer;
+
+  /// Acceleration with the low-pass filtered gravity removed, in m/s^2.
+  final UserAccelerometerEvent userAccelerometer;
+
+  /// Rate of rotation, in rad/s.
+  final GyroscopeEvent gyroscope;
+
+  /// Low-pass filtered magnetic field along the x axis, in μT.
+  final double magneticX;
+
+  /// Low-pass filtered magnetic field along the y axis, in μT.
+  final double magneticY;
+
+  /// Low-pass filtered magnetic field along the z axis, in μT.
+  final double magneticZ;
+
+  /// Rotation around the z axis, in radians.
+  final double azimuth;
+
+  /// Rotation around the x axis, in radians.
+  final double pitch;
+
+  /// Rotation around the y axis, in radians.
+  final double roll;
+
+  FusedSensorEvent._(List<double> frame)
+      : timestampMicros = frame[0].toInt(),
+        accelerometer = new AccelerometerEvent(frame[1], frame[2], frame[3]),
+        userAccelerometer =
+            new UserAccelerometerEvent(frame[4], frame[5], frame[6]),
+        gyroscope = new GyroscopeEvent(frame[7], frame[8], frame[9]),
+        magneticX = frame[10],
+        magneticY = frame[11],
+        magneticZ = frame[12],
+        azimuth = frame[13],
+        pitch = frame[14],
+        roll = frame[15];
+
+  @override
+  String toString() => '[FusedSensorEvent (timestampMicros: $timestampMicros, '
+      'azimuth: $azimuth, pitch: $pitch, roll: $roll)]';
+}
+
 AccelerometerEvent _listToAccelerometerEvent(List<double> list) {
   return new AccelerometerEvent(list[0], list[1], list[2]);
 }
@@ -105,3 +164,22 @@ Stream<UserAccelerometerEvent> get userAccelerometerEvents {
   }
   return _userAccelerometerEvents;
 }
+
+/// Frames combining the accelerometer, gyroscope, magnetometer and rotation
+/// vector sensors.
+///
+/// Filtering and orientation fusion run natively on a background thread, so
+/// high sampling rates do not cost work on the Dart side. At most one frame is
+/// emitted per [samplingPeriod]. [lowPassAlpha] is the smoothing factor used to
+/// isolate gravity and the magnetic field; values closer to 1.0 smooth more.
+///
+/// Currently only supported on Android.
+Stream<FusedSensorEvent> fusedSensorEvents({
+  Duration samplingPeriod = const Duration(milliseconds: 20),
+  double lowPassAlpha = 0.8,
+}) {
+  return _fusedEventChannel.receiveBroadcastStream(<String, dynamic>{
+    'samplingPeriodUs': samplingPeriod.inMicroseconds,
+    'lowPassAlpha': lowPassAlpha,
+  }).map((dynamic event) => new FusedSensorEvent._(event.cast<double>()));
+}
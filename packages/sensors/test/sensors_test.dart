@@ -43,4 +43,51 @@ void main() {
     await new Future<Null>.delayed(Duration.zero);
     expect(isCanceled, isTrue);
   });
+
+  test('fusedSensorEvents are streamed', () async {
+    const String channelName = 'plugins.flutter.io/sensors/fused';
+    const List<double> sensorData = const <double>[
+      1000.0, 0.1, 0.2, 9.8, 0.1, 0.2, 0.0, 0.01, 0.02, 0.03, 20.0, 30.0, //
+      40.0, 1.5, -0.1, 0.2
+    ];
+
+    const StandardMethodCodec standardMethod = const StandardMethodCodec();
+
+    void emitEvent(ByteData event) {
+      BinaryMessages.handlePlatformMessage(
+        channelName,
+        event,
+        (ByteData reply) {},
+      );
+    }
+
+    dynamic listenArguments;
+    BinaryMessages.setMockMessageHandler(channelName, (ByteData message) async {
+      final MethodCall methodCall = standardMethod.decodeMethodCall(message);
+      if (methodCall.method == 'listen') {
+        listenArguments = methodCall.arguments;
+        emitEvent(standardMethod.encodeSuccessEnvelope(sensorData));
+        emitEvent(null);
+        return standardMethod.encodeSuccessEnvelope(null);
+      } else if (methodCall.method == 'cancel') {
+        return standardMethod.encodeSuccessEnvelope(null);
+      } else {
+        fail('Expected listen or cancel');
+      }
+    });
+
+    final FusedSensorEvent event = await fusedSensorEvents(
+      samplingPeriod: const Duration(milliseconds: 10),
+    ).first;
+    expect(listenArguments, <String, dynamic>{
+      'samplingPeriodUs': 10000,
+      'lowPassAlpha': 0.8,
+    });
+    expect(event.timestampMicros, 1000);
+    expect(event.accelerometer.z, 9.8);
+    expect(event.gyroscope.y, 0.02);
+    expect(event.magneticZ, 40.0);
+    expect(event.azimuth, 1.5);
+    expect(event.roll, 0.2);
+  });
 }
@@ -0,0 +1,585 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * A {@link SharedPreferences} implementation backed by an append-only log file.
+ *
+ * <p>The log is memory-mapped and replayed once when the store is opened. Every edit appends one
+ * CRC-checked record per changed key instead of rewriting the whole store, and the log is
+ * compacted into a snapshot in the background once it mostly holds superseded records. A record
+ * that fails its checksum, such as one torn by a crash mid-write, ends the replay and is
+ * truncated away.
+ *
+ * <p>Record layout: {@code [int payloadLength][int crc32(payload)][payload]}, where the payload is
+ * an operation byte followed by the key and, for puts, a type byte and the value.
+ */
+class MappedLogPreferences implements SharedPreferences {
+  private static final String TAG = "MappedLogPreferences";
+
+  private static final int MAGIC = 0x46535031; // "FSP1"
+  private static final int HEADER_SIZE = 4;
+  private static final int RECORD_HEADER_SIZE = 8;
+
+  private static final byte OP_PUT = 1;
+  private static final byte OP_REMOVE = 2;
+  private static final byte OP_CLEAR = 3;
+
+  private static final byte TYPE_STRING = 1;
+  private static final byte TYPE_BOOLEAN = 2;
+  private static final byte TYPE_INT = 3;
+  private static final byte TYPE_LONG = 4;
+  private static final byte TYPE_FLOAT = 5;
+  private static final byte TYPE_STRING_SET = 6;
+
+  // Compact once the log holds this many records and at least twice as many as live keys.
+  private static final int MIN_RECORDS_BEFORE_COMPACTION = 512;
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+  private static final Object REMOVED = new Object();
+
+  private final File file;
+  private final Map<String, Object> values = new HashMap<>();
+  private final Set<OnSharedPreferenceChangeListener> listeners =
+      Collections.newSetFromMap(new WeakHashMap<OnSharedPreferenceChangeListener, Boolean>());
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  // All disk access happens on this thread, which keeps appends ordered between apply and commit.
+  private final ExecutorService writer = Executors.newSingleThreadExecutor();
+
+  private RandomAccessFile randomAccessFile;
+  private FileChannel channel;
+  private int recordCount;
+
+  /** Seeds a newly created store with the values it starts out with. */
+  interface Importer {
+    void importInto(SharedPreferences preferences) throws IOException;
+  }
+
+  MappedLogPreferences(File file) throws IOException {
+    this.file = file;
+    load();
+  }
+
+  /**
+   * Opens the store logged to {@code file}, first creating it with the values written by {@code
+   * importer} if it doesn't exist yet.
+   *
+   * <p>A new log is built in a temporary file and only renamed to {@code file} once the import has
+   * been committed, so an import that fails or is interrupted by a crash leaves no log behind and
+   * is run again the next time the store is opened.
+   */
+  static MappedLogPreferences open(File file, Importer importer) throws IOException {
+    if (!file.exists()) {
+      File importFile = new File(file.getPath() + ".import");
+      if (importFile.exists() && !importFile.delete()) {
+        throw new IOException("Could not delete " + importFile);
+      }
+      MappedLogPreferences imported = new MappedLogPreferences(importFile);
+      try {
+        importer.importInto(imported);
+      } finally {
+        imported.close();
+      }
+      if (!importFile.renameTo(file)) {
+        throw new IOException("Could not replace " + file + " with imported log");
+      }
+    }
+    return new MappedLogPreferences(file);
+  }
+
+  /** Waits for pending writes and closes the log. The store must not be used afterwards. */
+  void close() throws IOException {
+    Future<Void> closed =
+        writer.submit(
+            new Callable<Void>() {
+              @Override
+              public Void call() throws IOException {
+                randomAccessFile.close();
+                return null;
+              }
+            });
+    writer.shutdown();
+    try {
+      closed.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while closing " + file);
+    } catch (ExecutionException e) {
+      throw new IOException("Could not close " + file, e.getCause());
+    }
+  }
+
+  private void load() throws IOException {
+    randomAccessFile = new RandomAccessFile(file, "rw");
+    channel = randomAccessFile.getChannel();
+    long size = channel.size();
+    if (size < HEADER_SIZE) {
+      resetLog();
+      return;
+    }
+
+    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    if (buffer.getInt() != MAGIC) {
+      Log.w(TAG, "Unrecognized log header, discarding " + file);
+      resetLog();
+      return;
+    }
+    CRC32 crc = new CRC32();
+    long validEnd = HEADER_SIZE;
+    while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+      int length = buffer.getInt();
+      int checksum = buffer.getInt();
+      if (length < 0 || length > buffer.remaining()) {
+        break;
+      }
+      byte[] payload = new byte[length];
+      buffer.get(payload);
+      crc.reset();
+      crc.update(payload);
+      if ((int) crc.getValue() != checksum) {
+        break;
+      }
+      replay(payload);
+      recordCount++;
+      validEnd = buffer.position();
+    }
+    if (validEnd < size) {
+      Log.w(TAG, "Dropping " + (size - validEnd) + " corrupt trailing bytes from " + file);
+      channel.truncate(validEnd);
+    }
+    channel.position(validEnd);
+  }
+
+  private void resetLog() throws IOException {
+    channel.truncate(0);
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(MAGIC).flip();
+    channel.write(header, 0);
+    channel.position(HEADER_SIZE);
+    channel.force(false);
+    values.clear();
+    recordCount = 0;
+  }
+
+  private void replay(byte[] payload) throws IOException {
+    DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+    byte op = input.readByte();
+    if (op == OP_CLEAR) {
+      values.clear();
+      return;
+    }
+    String key = readString(input);
+    if (op == OP_REMOVE) {
+      values.remove(key);
+    } else {
+      values.put(key, readValue(input));
+    }
+  }
+
+  private static String readString(DataInputStream input) throws IOException {
+    byte[] bytes = new byte[input.readInt()];
+    input.readFully(bytes);
+    return new String(bytes, UTF8);
+  }
+
+  private static void writeString(DataOutputStream output, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static Object readValue(DataInputStream input) throws IOException {
+    byte type = input.readByte();
+    switch (type) {
+      case TYPE_STRING:
+        return readString(input);
+      case TYPE_BOOLEAN:
+        return input.readBoolean();
+      case TYPE_INT:
+        return input.readInt();
+      case TYPE_LONG:
+        return input.readLong();
+      case TYPE_FLOAT:
+        return input.readFloat();
+      case TYPE_STRING_SET:
+        int count = input.readInt();
+        Set<String> set = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+          set.add(readString(input));
+        }
+        return set;
+      default:
+        throw new IOException("Unknown value type " + type);
+    }
+  }
+
+  private static void writeValue(DataOutputStream output, Object value) throws IOException {
+    if (value instanceof String) {
+      output.writeByte(TYPE_STRING);
+      writeString(output, (String) value);
+    } else if (value instanceof Boolean) {
+      output.writeByte(TYPE_BOOLEAN);
+      output.writeBoolean((Boolean) value);
+    } else if (value instanceof Integer) {
+      output.writeByte(TYPE_INT);
+      output.writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      output.writeByte(TYPE_LONG);
+      output.writeLong((Long) value);
+    } else if (value instanceof Float) {
+      output.writeByte(TYPE_FLOAT);
+      output.writeFloat((Float) value);
+    } else {
+      Set<?> set = (Set<?>) value;
+      output.writeByte(TYPE_STRING_SET);
+      output.writeInt(set.size());
+      for (Object element : set) {
+        writeString(output, (String) element);
+      }
+    }
+  }
+
+  // Appends a single framed record to the given stream.
+  private static void writeRecord(ByteArrayOutputStream records, byte op, String key, Object value)
+      throws IOException {
+    ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+    DataOutputStream payload = new DataOutputStream(payloadBytes);
+    payload.writeByte(op);
+    if (key != null) {
+      writeString(payload, key);
+    }
+    if (op == OP_PUT) {
+      writeValue(payload, value);
+    }
+    byte[] bytes = payloadBytes.toByteArray();
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    DataOutputStream frame = new DataOutputStream(records);
+    frame.writeInt(bytes.length);
+    frame.writeInt((int) crc.getValue());
+    frame.write(bytes);
+  }
+
+  // Runs on the writer thread.
+  private void append(byte[] records, int count, boolean sync) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(records);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    if (sync) {
+      channel.force(false);
+    }
+    recordCount += count;
+    int liveKeys;
+    synchronized (values) {
+      liveKeys = values.size();
+    }
+    if (recordCount >= MIN_RECORDS_BEFORE_COMPACTION && recordCount > 2 * liveKeys) {
+      compact();
+    }
+  }
+
+  // Runs on the writer thread. Writes a snapshot of the live keys to a temporary file and swaps it
+  // in, so a crash during compaction leaves the previous log intact.
+  private void compact() throws IOException {
+    Map<String, Object> snapshot;
+    synchronized (values) {
+      snapshot = new HashMap<>(values);
+    }
+    ByteArrayOutputStream records = new ByteArrayOutputStream();
+    new DataOutputStream(records).writeInt(MAGIC);
+    for (Map.Entry<String, Object> entry : snapshot.entrySet()) {
+      writeRecord(records, OP_PUT, entry.getKey(), entry.getValue());
+    }
+
+    File compacted = new File(file.getPath() + ".compact");
+    RandomAccessFile output = new RandomAccessFile(compacted, "rw");
+    try {
+      output.setLength(0);
+      output.write(records.toByteArray());
+      output.getFD().sync();
+    } finally {
+      output.close();
+    }
+    randomAccessFile.close();
+    if (!compacted.renameTo(file)) {
+      throw new IOException("Could not replace " + file + " with compacted log");
+    }
+    randomAccessFile = new RandomAccessFile(file, "rw");
+    channel = randomAccessFile.getChannel();
+    channel.position(channel.size());
+    recordCount = snapshot.size();
+  }
+
+  private void notifyListeners(final List<String> changedKeys) {
+    if (changedKeys.isEmpty()) {
+      return;
+    }
+    if (Looper.myLooper() != Looper.getMainLooper()) {
+      mainHandler.post(
+          new Runnable() {
+            @Override
+            public void run() {
+              notifyListeners(changedKeys);
+            }
+          });
+      return;
+    }
+    List<OnSharedPreferenceChangeListener> snapshot;
+    synchronized (listeners) {
+      snapshot = new ArrayList<>(listeners);
+    }
+    for (String key : changedKeys) {
+      for (OnSharedPreferenceChangeListener listener : snapshot) {
+        listener.onSharedPreferenceChanged(this, key);
+      }
+    }
+  }
+
+  @Override
+  public Map<String, ?> getAll() {
+    synchronized (values) {
+      return new HashMap<>(values);
+    }
+  }
+
+  private Object get(String key) {
+    synchronized (values) {
+      return values.get(key);
+    }
+  }
+
+  @Override
+  public String getString(String key, String defValue) {
+    Object value = get(key);
+    return value != null ? (String) value : defValue;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Set<String> getStringSet(String key, Set<String> defValues) {
+    Object value = get(key);
+    return value != null ? (Set<String>) value : defValues;
+  }
+
+  @Override
+  public int getInt(String key, int defValue) {
+    Object value = get(key);
+    return value != null ? (Integer) value : defValue;
+  }
+
+  @Override
+  public long getLong(String key, long defValue) {
+    Object value = get(key);
+    return value != null ? (Long) value : defValue;
+  }
+
+  @Override
+  public float getFloat(String key, float defValue) {
+    Object value = get(key);
+    return value != null ? (Float) value : defValue;
+  }
+
+  @Override
+  public boolean getBoolean(String key, boolean defValue) {
+    Object value = get(key);
+    return value != null ? (Boolean) value : defValue;
+  }
+
+  @Override
+  public boolean contains(String key) {
+    synchronized (values) {
+      return values.containsKey(key);
+    }
+  }
+
+  @Override
+  public Editor edit() {
+    return new MappedLogEditor();
+  }
+
+  @Override
+  public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+    synchronized (listeners) {
+      listeners.add(listener);
+    }
+  }
+
+  @Override
+  public void unregisterOnSharedPreferenceChangeListener(
+      OnSharedPreferenceChangeListener listener) {
+    synchronized (listeners) {
+      listeners.remove(listener);
+    }
+  }
+
+  private final class MappedLogEditor implements Editor {
+    private final Map<String, Object> modifications = new HashMap<>();
+    private boolean clear;
+
+    @Override
+    public Editor putString(String key, String value) {
+      return put(key, value);
+    }
+
+    @Override
+    public Editor putStringSet(String key, Set<String> values) {
+      return put(key, values != null ? new HashSet<>(values) : null);
+    }
+
+    @Override
+    public Editor putInt(String key, int value) {
+      return put(key, value);
+    }
+
+    @Override
+    public Editor putLong(String key, long value) {
+      return put(key, value);
+    }
+
+    @Override
+    public Editor putFloat(String key, float value) {
+      return put(key, value);
+    }
+
+    @Override
+    public Editor putBoolean(String key, boolean value) {
+      return put(key, value);
+    }
+
+    @Override
+    public Editor remove(String key) {
+      return put(key, REMOVED);
+    }
+
+    @Override
+    public Editor clear() {
+      clear = true;
+      return this;
+    }
+
+    private Editor put(String key, Object value) {
+      modifications.put(key, value != null ? value : REMOVED);
+      return this;
+    }
+
+    @Override
+    public boolean commit() {
+      final List<String> changedKeys = new ArrayList<>();
+      final ByteArrayOutputStream records = new ByteArrayOutputStream();
+      final int count = commitToMemory(changedKeys, records);
+      notifyListeners(changedKeys);
+      try {
+        return writer
+            .submit(
+                new Callable<Boolean>() {
+                  @Override
+                  public Boolean call() throws IOException {
+                    append(records.toByteArray(), count, true);
+                    return true;
+                  }
+                })
+            .get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      } catch (ExecutionException e) {
+        Log.e(TAG, "Failed to write " + file, e.getCause());
+        return false;
+      }
+    }
+
+    @Override
+    public void apply() {
+      final List<String> changedKeys = new ArrayList<>();
+      final ByteArrayOutputStream records = new ByteArrayOutputStream();
+      final int count = commitToMemory(changedKeys, records);
+      notifyListeners(changedKeys);
+      if (count == 0) {
+        return;
+      }
+      writer.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              try {
+                append(records.toByteArray(), count, false);
+              } catch (IOException e) {
+                Log.e(TAG, "Failed to write " + file, e);
+              }
+            }
+          });
+    }
+
+    // Applies the edits to the in-memory map and encodes a record for every effective change.
+    private int commitToMemory(List<String> changedKeys, ByteArrayOutputStream records) {
+      int count = 0;
+      try {
+        synchronized (values) {
+          if (clear && !values.isEmpty()) {
+            changedKeys.addAll(values.keySet());
+            values.clear();
+            writeRecord(records, OP_CLEAR, null, null);
+            count++;
+          }
+          for (Map.Entry<String, Object> entry : modifications.entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+            if (value == REMOVED) {
+              if (!values.containsKey(key)) {
+                continue;
+              }
+              values.remove(key);
+              writeRecord(records, OP_REMOVE, key, null);
+            } else {
+              if (value.equals(values.get(key))) {
+                continue;
+              }
+              values.put(key, value);
+              writeRecord(records, OP_PUT, key, value);
+            }
+            changedKeys.add(key);
+            count++;
+          }
+        }
+      } catch (IOException e) {
+        // Only thrown by the in-memory streams, which never fail.
+        throw new IllegalStateException(e);
+      }
+      return count;
+    }
+  }
+}
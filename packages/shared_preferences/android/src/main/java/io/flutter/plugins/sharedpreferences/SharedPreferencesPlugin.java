@@ -6,16 +6,18 @@ package io.flutter.plugins.sharedpreferences;
 
 import android.content.Context;
 import android.content.SharedPreferences.Editor;
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Base64;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.MethodChannel.MethodCallHandler;
 import io.flutter.plugin.common.PluginRegistry;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -27,13 +29,40 @@ import java.util.Set;
 @SuppressWarnings("unchecked")
 public class SharedPreferencesPlugin implements MethodCallHandler {
   private static final String SHARED_PREFERENCES_NAME = "FlutterSharedPreferences";
+  private static final String MAPPED_LOG_FILE_NAME = "FlutterSharedPreferences.kvlog";
   private static final String CHANNEL_NAME = "plugins.flutter.io/shared_preferences";
 
   // Fun fact: The following is a base64 encoding of the string "This is the prefix for a list."
   private static final String LIST_IDENTIFIER = "VGhpcyBpcyB0aGUgcHJlZml4IGZvciBhIGxpc3Qu";
+  // Base64 encoding of "This is the prefix for a compacted list". Values with the legacy
+  // LIST_IDENTIFIER are migrated to this format the first time they are read.
+  private static final String COMPACT_LIST_IDENTIFIER =
+      "VGhpcyBpcyB0aGUgcHJlZml4IGZvciBhIGNvbXBhY3RlZCBsaXN0";
   private static final String BIG_INTEGER_PREFIX = "VGhpcyBpcyB0aGUgcHJlZml4IGZvciBCaWdJbnRlZ2Vy";
 
-  private final android.content.SharedPreferences preferences;
+  private final Context context;
+  private android.content.SharedPreferences preferences;
+  private MappedLogPreferences mappedLogPreferences;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+  // When enabled, writes update the in-memory preferences immediately and are persisted with
+  // apply(), which lets the framework coalesce consecutive edits into a single disk write.
+  private boolean writeBehind = false;
+
+  // Decoded result of the last getAll, reused until the preferences change.
+  private Map<String, Object> cachedPrefs;
+
+  // Also catches edits made to the same preferences file from outside the plugin. Held in a field
+  // because SharedPreferences only keeps a weak reference to its listeners.
+  private final android.content.SharedPreferences.OnSharedPreferenceChangeListener
+      invalidationListener =
+          new android.content.SharedPreferences.OnSharedPreferenceChangeListener() {
+            @Override
+            public void onSharedPreferenceChanged(
+                android.content.SharedPreferences sharedPreferences, String key) {
+              cachedPrefs = null;
+            }
+          };
 
   public static void registerWith(PluginRegistry.Registrar registrar) {
     MethodChannel channel = new MethodChannel(registrar.messenger(), CHANNEL_NAME);
@@ -42,10 +71,68 @@ public class SharedPreferencesPlugin implements MethodCallHandler {
   }
 
   private SharedPreferencesPlugin(Context context) {
+    this.context = context;
     preferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
+    preferences.registerOnSharedPreferenceChangeListener(invalidationListener);
   }
 
-  private List<String> decodeList(String encodedList) throws IOException {
+  // Switches between the platform's XML SharedPreferences and the memory-mapped log store. The
+  // first time the log store is opened, it is seeded with the values from the XML file.
+  private void setStorageEngine(String engine) throws IOException {
+    final android.content.SharedPreferences xmlPreferences =
+        context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
+    android.content.SharedPreferences newPreferences;
+    switch (engine) {
+      case "platformDefault":
+        newPreferences = xmlPreferences;
+        break;
+      case "mappedLog":
+        if (mappedLogPreferences == null) {
+          mappedLogPreferences =
+              MappedLogPreferences.open(
+                  new File(context.getFilesDir(), MAPPED_LOG_FILE_NAME),
+                  new MappedLogPreferences.Importer() {
+                    @Override
+                    public void importInto(android.content.SharedPreferences preferences)
+                        throws IOException {
+                      migrate(xmlPreferences, preferences);
+                    }
+                  });
+        }
+        newPreferences = mappedLogPreferences;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown storage engine " + engine);
+    }
+    if (newPreferences != preferences) {
+      preferences.unregisterOnSharedPreferenceChangeListener(invalidationListener);
+      preferences = newPreferences;
+      preferences.registerOnSharedPreferenceChangeListener(invalidationListener);
+      cachedPrefs = null;
+    }
+  }
+
+  private void migrate(
+      android.content.SharedPreferences from, android.content.SharedPreferences to)
+      throws IOException {
+    Editor editor = to.edit();
+    for (Map.Entry<String, ?> entry : from.getAll().entrySet()) {
+      if (!entry.getKey().startsWith("flutter.")) {
+        continue;
+      }
+      Object value = entry.getValue();
+      if (value instanceof Set) {
+        value = new ArrayList<>((Set<String>) value);
+      }
+      putValue(editor, entry.getKey(), value);
+    }
+    if (!editor.commit()) {
+      throw new IOException("Could not migrate preferences to the mapped log store");
+    }
+  }
+
+  // Decodes lists written by earlier versions of the plugin using Java serialization.
+  private List<String> decodeLegacyList(String encodedList) throws IOException {
     ObjectInputStream stream = null;
     try {
       stream = new ObjectInputStream(new ByteArrayInputStream(Base64.decode(encodedList, 0)));
@@ -59,32 +146,118 @@ public class SharedPreferencesPlugin implements MethodCallHandler {
     }
   }
 
-  private String encodeList(List<String> list) throws IOException {
-    ObjectOutputStream stream = null;
+  // Lists are stored as a sequence of "<length>:<value>" entries, with a length of -1 for null.
+  private List<String> decodeList(String encodedList) throws IOException {
+    List<String> list = new ArrayList<>();
+    int position = 0;
     try {
-      ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-      stream = new ObjectOutputStream(byteStream);
-      stream.writeObject(list);
-      stream.flush();
-      return Base64.encodeToString(byteStream.toByteArray(), 0);
-    } finally {
-      if (stream != null) {
-        stream.close();
+      while (position < encodedList.length()) {
+        int separator = encodedList.indexOf(':', position);
+        int length = Integer.parseInt(encodedList.substring(position, separator));
+        position = separator + 1;
+        if (length < 0) {
+          list.add(null);
+        } else {
+          list.add(encodedList.substring(position, position + length));
+          position += length;
+        }
       }
+    } catch (NumberFormatException | IndexOutOfBoundsException e) {
+      throw new IOException("Malformed list at offset " + position, e);
     }
+    return list;
+  }
+
+  private String encodeList(List<String> list) {
+    StringBuilder builder = new StringBuilder(COMPACT_LIST_IDENTIFIER);
+    for (String value : list) {
+      if (value == null) {
+        builder.append("-1:");
+      } else {
+        builder.append(value.length()).append(':').append(value);
+      }
+    }
+    return builder.toString();
+  }
+
+  // Stages a value of any type supported by the Dart side. A null value removes the key.
+  private void putValue(Editor editor, String key, Object value) {
+    if (value == null) {
+      editor.remove(key);
+    } else if (value instanceof Boolean) {
+      editor.putBoolean(key, (boolean) value);
+    } else if (value instanceof BigInteger) {
+      BigInteger integerValue = (BigInteger) value;
+      editor.putString(key, BIG_INTEGER_PREFIX + integerValue.toString(Character.MAX_RADIX));
+    } else if (value instanceof Double || value instanceof Float) {
+      editor.putFloat(key, ((Number) value).floatValue());
+    } else if (value instanceof Number) {
+      editor.putLong(key, ((Number) value).longValue());
+    } else if (value instanceof String) {
+      editor.putString(key, (String) value);
+    } else if (value instanceof List) {
+      editor.putString(key, encodeList((List<String>) value));
+    } else {
+      throw new IllegalArgumentException("Unsupported value type for key " + key);
+    }
+  }
+
+  private boolean save(Editor editor) {
+    cachedPrefs = null;
+    if (writeBehind) {
+      editor.apply();
+      return true;
+    }
+    return editor.commit();
+  }
+
+  // Waits for all pending apply() writes off the main thread. SharedPreferences serializes disk
+  // writes, so an empty commit only completes once every earlier edit has been persisted.
+  private void flush(final MethodChannel.Result result) {
+    if (!writeBehind) {
+      // We've been committing the whole time.
+      result.success(true);
+      return;
+    }
+    AsyncTask.THREAD_POOL_EXECUTOR.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            final boolean status = preferences.edit().commit();
+            mainHandler.post(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    result.success(status);
+                  }
+                });
+          }
+        });
   }
 
   // Filter preferences to only those set by the flutter app.
   private Map<String, Object> getAllPrefs() throws IOException {
+    if (cachedPrefs != null) {
+      return cachedPrefs;
+    }
     Map<String, ?> allPrefs = preferences.getAll();
     Map<String, Object> filteredPrefs = new HashMap<>();
+    Editor migrationEditor = null;
     for (String key : allPrefs.keySet()) {
       if (key.startsWith("flutter.")) {
         Object value = allPrefs.get(key);
         if (value instanceof String) {
           String stringValue = (String) value;
-          if (stringValue.startsWith(LIST_IDENTIFIER)) {
-            value = decodeList(stringValue.substring(LIST_IDENTIFIER.length()));
+          if (stringValue.startsWith(COMPACT_LIST_IDENTIFIER)) {
+            value = decodeList(stringValue.substring(COMPACT_LIST_IDENTIFIER.length()));
+          } else if (stringValue.startsWith(LIST_IDENTIFIER)) {
+            List<String> listValue =
+                decodeLegacyList(stringValue.substring(LIST_IDENTIFIER.length()));
+            if (migrationEditor == null) {
+              migrationEditor = preferences.edit();
+            }
+            migrationEditor.putString(key, encodeList(listValue));
+            value = listValue;
           } else if (stringValue.startsWith(BIG_INTEGER_PREFIX)) {
             String encoded = stringValue.substring(BIG_INTEGER_PREFIX.length());
             value = new BigInteger(encoded, Character.MAX_RADIX);
@@ -94,11 +267,7 @@ public class SharedPreferencesPlugin implements MethodCallHandler {
           List<String> listValue = new ArrayList<>((Set) value);
           // Let's migrate the value too while we are at it.
           boolean success =
-              preferences
-                  .edit()
-                  .remove(key)
-                  .putString(key, LIST_IDENTIFIER + encodeList(listValue))
-                  .commit();
+              preferences.edit().remove(key).putString(key, encodeList(listValue)).commit();
           if (!success) {
             // If we are unable to migrate the existing preferences, it means we potentially lost them.
             // In this case, an error from getAllPrefs() is appropriate since it will alert the app during plugin initialization.
@@ -109,6 +278,11 @@ public class SharedPreferencesPlugin implements MethodCallHandler {
         filteredPrefs.put(key, value);
       }
     }
+    if (migrationEditor != null) {
+      // Legacy lists decode fine, so a failed migration only means it is retried on next launch.
+      migrationEditor.apply();
+    }
+    cachedPrefs = filteredPrefs;
     return filteredPrefs;
   }
 
@@ -119,11 +293,11 @@ public class SharedPreferencesPlugin implements MethodCallHandler {
     try {
       switch (call.method) {
         case "setBool":
-          status = preferences.edit().putBoolean(key, (boolean) call.argument("value")).commit();
+          status = save(preferences.edit().putBoolean(key, (boolean) call.argument("value")));
           break;
         case "setDouble":
           float floatValue = ((Number) call.argument("value")).floatValue();
-          status = preferences.edit().putFloat(key, floatValue).commit();
+          status = save(preferences.edit().putFloat(key, floatValue));
           break;
         case "setInt":
           Number number = call.argument("value");
@@ -134,24 +308,40 @@ public class SharedPreferencesPlugin implements MethodCallHandler {
           } else {
             editor.putLong(key, number.longValue());
           }
-          status = editor.commit();
+          status = save(editor);
           break;
         case "setString":
-          status = preferences.edit().putString(key, (String) call.argument("value")).commit();
+          status = save(preferences.edit().putString(key, (String) call.argument("value")));
           break;
         case "setStringList":
           List<String> list = call.argument("value");
-          status = preferences.edit().putString(key, LIST_IDENTIFIER + encodeList(list)).commit();
+          status = save(preferences.edit().putString(key, encodeList(list)));
           break;
-        case "commit":
-          // We've been committing the whole time.
+        case "setAll":
+          Map<String, Object> values = call.argument("values");
+          Editor batchEditor = preferences.edit();
+          for (Map.Entry<String, Object> entry : values.entrySet()) {
+            putValue(batchEditor, entry.getKey(), entry.getValue());
+          }
+          status = save(batchEditor);
+          break;
+        case "setStorageEngine":
+          setStorageEngine((String) call.argument("engine"));
           status = true;
           break;
+        case "setWriteBehind":
+          writeBehind = call.argument("enabled");
+          status = true;
+          break;
+        case "commit":
+        case "flush":
+          flush(result);
+          return;
         case "getAll":
           result.success(getAllPrefs());
           return;
         case "remove":
-          status = preferences.edit().remove(key).commit();
+          status = save(preferences.edit().remove(key));
           break;
         case "clear":
           Set<String> keySet = getAllPrefs().keySet();
@@ -159,15 +349,17 @@ public class SharedPreferencesPlugin implements MethodCallHandler {
           for (String keyToDelete : keySet) {
             clearEditor.remove(keyToDelete);
           }
-          status = clearEditor.commit();
+          status = save(clearEditor);
           break;
         default:
           result.notImplemented();
-          break;
+          return;
       }
       result.success(status);
     } catch (IOException e) {
       result.error("IOException encountered", call.method, e);
+    } catch (IllegalArgumentException e) {
+      result.error("IllegalArgumentException encountered", call.method, e.getMessage());
     }
   }
 }
@@ -0,0 +1,167 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import android.content.SharedPreferences;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedLogPreferencesTest {
+  private static final MappedLogPreferences.Importer NO_IMPORT =
+      new MappedLogPreferences.Importer() {
+        @Override
+        public void importInto(SharedPreferences preferences) {}
+      };
+
+  private static final MappedLogPreferences.Importer UNEXPECTED_IMPORT =
+      new MappedLogPreferences.Importer() {
+        @Override
+        public void importInto(SharedPreferences preferences) {
+          fail("Imported into an existing log");
+        }
+      };
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private File file;
+
+  @Before
+  public void setUp() {
+    file = new File(folder.getRoot(), "test.kvlog");
+  }
+
+  @Test
+  public void commit_IsReadBackAfterReopening() throws IOException {
+    Set<String> set = new HashSet<>(Arrays.asList("a", "b"));
+    MappedLogPreferences preferences = MappedLogPreferences.open(file, NO_IMPORT);
+    assertTrue(
+        preferences
+            .edit()
+            .putString("string", "value")
+            .putBoolean("boolean", true)
+            .putInt("int", 1)
+            .putLong("long", 2L)
+            .putFloat("float", 3.5f)
+            .putStringSet("set", set)
+            .commit());
+    assertTrue(preferences.edit().remove("int").commit());
+    preferences.close();
+
+    preferences = MappedLogPreferences.open(file, UNEXPECTED_IMPORT);
+    assertEquals("value", preferences.getString("string", null));
+    assertTrue(preferences.getBoolean("boolean", false));
+    assertFalse(preferences.contains("int"));
+    assertEquals(2L, preferences.getLong("long", 0L));
+    assertEquals(3.5f, preferences.getFloat("float", 0f), 0f);
+    assertEquals(set, preferences.getStringSet("set", null));
+    preferences.close();
+  }
+
+  @Test
+  public void clear_IsReadBackAfterReopening() throws IOException {
+    MappedLogPreferences preferences = MappedLogPreferences.open(file, NO_IMPORT);
+    assertTrue(preferences.edit().putString("key", "value").commit());
+    assertTrue(preferences.edit().clear().putString("other", "value").commit());
+    preferences.close();
+
+    preferences = MappedLogPreferences.open(file, UNEXPECTED_IMPORT);
+    assertFalse(preferences.contains("key"));
+    assertEquals("value", preferences.getString("other", null));
+    preferences.close();
+  }
+
+  @Test
+  public void open_WhenLogEndsWithTornRecord_DropsOnlyThatRecord() throws IOException {
+    MappedLogPreferences preferences = MappedLogPreferences.open(file, NO_IMPORT);
+    assertTrue(preferences.edit().putString("key", "value").commit());
+    preferences.close();
+    FileOutputStream output = new FileOutputStream(file, true);
+    try {
+      // A record header announcing more bytes than follow it.
+      output.write(new byte[] {0, 0, 0, 42, 1, 2, 3, 4, 5});
+    } finally {
+      output.close();
+    }
+    long intactLength = file.length() - 9;
+
+    preferences = MappedLogPreferences.open(file, UNEXPECTED_IMPORT);
+    assertEquals("value", preferences.getString("key", null));
+    assertEquals(intactLength, file.length());
+    assertTrue(preferences.edit().putString("next", "value").commit());
+    preferences.close();
+
+    preferences = MappedLogPreferences.open(file, UNEXPECTED_IMPORT);
+    assertEquals("value", preferences.getString("key", null));
+    assertEquals("value", preferences.getString("next", null));
+    preferences.close();
+  }
+
+  @Test
+  public void open_WhenLogIsMissing_ImportsOnce() throws IOException {
+    MappedLogPreferences preferences =
+        MappedLogPreferences.open(
+            file,
+            new MappedLogPreferences.Importer() {
+              @Override
+              public void importInto(SharedPreferences preferences) throws IOException {
+                if (!preferences.edit().putString("imported", "value").commit()) {
+                  throw new IOException("Import failed");
+                }
+              }
+            });
+    assertEquals("value", preferences.getString("imported", null));
+    assertTrue(preferences.edit().remove("imported").commit());
+    preferences.close();
+
+    preferences = MappedLogPreferences.open(file, UNEXPECTED_IMPORT);
+    assertFalse(preferences.contains("imported"));
+    preferences.close();
+  }
+
+  @Test
+  public void open_WhenImportFails_LeavesNoLogAndImportsAgain() throws IOException {
+    try {
+      MappedLogPreferences.open(
+          file,
+          new MappedLogPreferences.Importer() {
+            @Override
+            public void importInto(SharedPreferences preferences) throws IOException {
+              preferences.edit().putString("partial", "value").commit();
+              throw new IOException("Import failed");
+            }
+          });
+      fail("Expected the import failure to be thrown");
+    } catch (IOException e) {
+      assertEquals("Import failed", e.getMessage());
+    }
+    assertFalse(file.exists());
+
+    MappedLogPreferences preferences =
+        MappedLogPreferences.open(
+            file,
+            new MappedLogPreferences.Importer() {
+              @Override
+              public void importInto(SharedPreferences preferences) {
+                preferences.edit().putString("imported", "value").commit();
+              }
+            });
+    assertFalse(preferences.contains("partial"));
+    assertEquals("value", preferences.getString("imported", null));
+    preferences.close();
+  }
+}
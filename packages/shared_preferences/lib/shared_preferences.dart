@@ -10,6 +10,21 @@ import 'package:meta/meta.dart';
 const MethodChannel _kChannel =
     const MethodChannel('plugins.flutter.io/shared_preferences');
 
+/// Storage engines that can back [SharedPreferences] on Android.
+enum SharedPreferencesStorageEngine {
+  /// The platform's own store: NSUserDefaults on iOS and the XML-backed
+  /// SharedPreferences on Android.
+  platformDefault,
+
+  /// An append-only, memory-mapped log with CRC-checked records.
+  ///
+  /// Each write appends only the changed keys instead of rewriting the whole
+  /// file, which keeps startup and writes fast for apps storing thousands of
+  /// keys. Existing values are imported from the platform store the first time
+  /// this engine is used. Android only; ignored on iOS.
+  mappedLog,
+}
+
 /// Wraps NSUserDefaults (on iOS) and SharedPreferences (on Android), providing
 /// a persistent store for simple data.
 ///
@@ -19,6 +34,18 @@ class SharedPreferences {
 
   static const String _prefix = 'flutter.';
   static SharedPreferences _instance;
+
+  /// Selects the storage engine used to persist preferences.
+  ///
+  /// Must be called before the first call to [getInstance].
+  static Future<void> setStorageEngine(
+      SharedPreferencesStorageEngine engine) async {
+    assert(_instance == null);
+    await _kChannel.invokeMethod('setStorageEngine', <String, dynamic>{
+      'engine': engine.toString().split('.').last,
+    });
+  }
+
   static Future<SharedPreferences> getInstance() async {
     if (_instance == null) {
       final Map<Object, Object> fromSystem =
@@ -108,6 +135,25 @@ class SharedPreferences {
   Future<bool> setStringList(String key, List<String> value) =>
       _setValue('StringList', key, value);
 
+  /// Saves all [values] to persistent storage in a single write.
+  ///
+  /// Values may be of any type supported by the individual setters. A null
+  /// value removes the corresponding key.
+  Future<bool> setAll(Map<String, Object> values) {
+    final Map<String, Object> prefixedValues = <String, Object>{};
+    values.forEach((String key, Object value) {
+      if (value == null) {
+        _preferenceCache.remove(key);
+      } else {
+        _preferenceCache[key] = value;
+      }
+      prefixedValues['$_prefix$key'] = value;
+    });
+    return _kChannel.invokeMethod('setAll', <String, dynamic>{
+      'values': prefixedValues,
+    }).then<bool>((dynamic result) => result);
+  }
+
   /// Removes an entry from persistent storage.
   Future<bool> remove(String key) => _setValue(null, key, null);
 
@@ -134,6 +180,22 @@ class SharedPreferences {
   @deprecated
   Future<bool> commit() async => await _kChannel.invokeMethod('commit');
 
+  /// Enables or disables write-behind mode.
+  ///
+  /// On Android, every write is committed to disk synchronously by default.
+  /// With write-behind enabled, writes only update the in-memory preferences
+  /// and are persisted in the background, coalescing consecutive writes into
+  /// a single disk write. Use [flush] to wait until pending writes have been
+  /// persisted. This has no effect on iOS, where writes are always persisted
+  /// asynchronously.
+  Future<bool> setWriteBehind(bool enabled) async {
+    return await _kChannel.invokeMethod(
+        'setWriteBehind', <String, dynamic>{'enabled': enabled});
+  }
+
+  /// Completes with true once all pending writes have been persisted to disk.
+  Future<bool> flush() async => await _kChannel.invokeMethod('flush');
+
   /// Completes with true once the user preferences for the app has been cleared.
   Future<bool> clear() async {
     _preferenceCache.clear();
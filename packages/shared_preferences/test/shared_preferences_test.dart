@@ -104,6 +104,39 @@ void main() {
       expect(log, equals(<MethodCall>[]));
     });
 
+    test('writing all', () async {
+      await preferences.setAll(<String, Object>{
+        'String': kTestValues2['flutter.String'],
+        'int': kTestValues2['flutter.int'],
+        'List': kTestValues2['flutter.List'],
+        'bool': null,
+      });
+      expect(log, <Matcher>[
+        isMethodCall('setAll', arguments: <String, dynamic>{
+          'values': <String, dynamic>{
+            'flutter.String': kTestValues2['flutter.String'],
+            'flutter.int': kTestValues2['flutter.int'],
+            'flutter.List': kTestValues2['flutter.List'],
+            'flutter.bool': null,
+          },
+        }),
+      ]);
+      expect(preferences.getString('String'), kTestValues2['flutter.String']);
+      expect(preferences.getInt('int'), kTestValues2['flutter.int']);
+      expect(preferences.getStringList('List'), kTestValues2['flutter.List']);
+      expect(preferences.getBool('bool'), null);
+    });
+
+    test('write-behind', () async {
+      await preferences.setWriteBehind(true);
+      await preferences.flush();
+      expect(log, <Matcher>[
+        isMethodCall('setWriteBehind',
+            arguments: <String, dynamic>{'enabled': true}),
+        isMethodCall('flush', arguments: null),
+      ]);
+    });
+
     test('removing', () async {
       const String key = 'testKey';
       preferences